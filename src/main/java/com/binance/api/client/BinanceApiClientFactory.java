@@ -1,19 +1,51 @@
 package com.binance.api.client;
 
+import com.binance.api.client.config.ApiEndpoints;
 import com.binance.api.client.config.BinanceApiConfig;
+import com.binance.api.client.config.HedgingPolicy;
+import com.binance.api.client.config.TrafficClass;
+import com.binance.api.client.config.TrafficLaneConfig;
+import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.impl.BinanceApiAsyncMarginRestClientImpl;
 import com.binance.api.client.impl.BinanceApiAsyncRestClientImpl;
 import com.binance.api.client.impl.BinanceApiMarginRestClientImpl;
 import com.binance.api.client.impl.BinanceApiRestClientImpl;
 import com.binance.api.client.impl.BinanceApiSwapRestClientImpl;
 import com.binance.api.client.impl.BinanceApiWebSocketClientImpl;
+import com.binance.api.client.impl.CachingBinanceApiRestClient;
+import com.binance.api.client.impl.ConnectionWarmer;
+import com.binance.api.client.impl.EndpointSelector;
+import com.binance.api.client.impl.HistoryFetcher;
+import com.binance.api.client.impl.RequestCoalescer;
+import com.binance.api.client.impl.TrafficLanes;
+import com.binance.api.client.impl.WeightBudget;
+import okhttp3.Authenticator;
+import okhttp3.ConnectionPool;
+import okhttp3.Credentials;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static com.binance.api.client.impl.BinanceApiServiceGenerator.getSharedClient;
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.getSharedEndpointSelector;
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.getSharedRequestCoalescer;
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.getSharedWeightBudget;
+import static com.binance.api.client.impl.BinanceApiServiceGenerator.getSharedLanes;
 
 /**
  * A factory for creating BinanceApi com.binance.api.client objects.
  */
-public class BinanceApiClientFactory {
+public class BinanceApiClientFactory implements Closeable {
 
     /**
      * API Key
@@ -25,6 +57,41 @@ public class BinanceApiClientFactory {
      */
     private String secret;
 
+    /**
+     * HTTP client owned by this factory, or null when the JVM-wide shared client is used.
+     */
+    private OkHttpClient client;
+
+    /**
+     * Traffic lanes derived from {@link #client}, or null when the JVM-wide shared lanes are used.
+     */
+    private TrafficLanes lanes;
+
+    /**
+     * Routes the calls of {@link #client} across API hosts, or null when the shared client is used.
+     */
+    private EndpointSelector endpointSelector;
+
+    /**
+     * Coalesces identical concurrent reads of {@link #client}, or null when disabled or the shared client is used.
+     */
+    private RequestCoalescer requestCoalescer;
+
+    /**
+     * Request weight budget of {@link #client}, or null when the shared client is used.
+     */
+    private WeightBudget weightBudget;
+
+    /**
+     * Keeps connections of selected lanes warm, or null when not enabled.
+     */
+    private ConnectionWarmer warmer;
+
+    /**
+     * URLs of this factory, or null when the static settings of {@link BinanceApiConfig} are used.
+     */
+    private ApiEndpoints endpoints;
+
     /**
      * Instantiates a new binance api com.binance.api.client factory.
      *
@@ -54,6 +121,46 @@ public class BinanceApiClientFactory {
         }
     }
 
+    /**
+     * Instantiates a new binance api com.binance.api.client factory owning its HTTP client.
+     *
+     * @param builder the builder holding the factory configuration
+     */
+    private BinanceApiClientFactory(Builder builder) {
+        this.apiKey = builder.apiKey;
+        this.secret = builder.secret;
+        this.endpoints = builder.buildEndpoints();
+        this.endpointSelector = new EndpointSelector(endpoints.getApiHosts());
+        this.weightBudget = new WeightBudget(builder.weightLimit);
+        this.requestCoalescer = builder.coalesceRequests ? new RequestCoalescer() : null;
+        this.client = builder.buildClient(requestCoalescer, endpointSelector, weightBudget);
+        Map<TrafficClass, TrafficLaneConfig> laneConfigs = builder.buildLaneConfigs();
+        TrafficLanes factoryLanes = new TrafficLanes(client, laneConfigs);
+        this.lanes = builder.hedgingPolicy != null ? factoryLanes.withHedging(builder.hedgingPolicy, weightBudget) : factoryLanes;
+        if (builder.warmConnections > 0) {
+            List<OkHttpClient> warmedClients = new ArrayList<>();
+            for (TrafficClass trafficClass : builder.warmTrafficClasses) {
+                if (builder.warmHeartbeatMillis >= laneConfigs.get(trafficClass).getKeepAliveMillis()) {
+                    throw new IllegalArgumentException("Heartbeat interval must be shorter than the keep-alive of the " + trafficClass + " lane");
+                }
+                warmedClients.add(factoryLanes.getClient(trafficClass));
+            }
+            this.warmer = new ConnectionWarmer(warmedClients, endpoints.getApiBaseUrl(), endpointSelector,
+                    builder.warmConnections, builder.warmHeartbeatMillis);
+            this.warmer.start();
+        }
+    }
+
+    /**
+     * New builder for a factory that owns its HTTP client, connection pools and dispatchers, isolated from
+     * every other factory in the JVM.
+     *
+     * @return the factory builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
     /**
      * New instance.
      *
@@ -102,19 +209,41 @@ public class BinanceApiClientFactory {
      * Creates a new synchronous/blocking REST com.binance.api.client.
      */
     public BinanceApiRestClient newRestClient() {
-        return new BinanceApiRestClientImpl(apiKey, secret);
+        return endpoints != null ? new BinanceApiRestClientImpl(apiKey, secret, lanes, endpoints) : new BinanceApiRestClientImpl(apiKey, secret, getLanes());
+    }
+
+    /**
+     * Creates a new synchronous/blocking REST com.binance.api.client caching exchange information, assets and coin
+     * information (see {@link CachingBinanceApiRestClient}).
+     */
+    public CachingBinanceApiRestClient newCachingRestClient() {
+        return new CachingBinanceApiRestClient(newRestClient());
+    }
+
+    /**
+     * Creates a fetcher of history ranges spanning many pages, paced by the weight budget of this factory (see
+     * {@link HistoryFetcher}).
+     */
+    public HistoryFetcher newHistoryFetcher() {
+        return new HistoryFetcher(newRestClient(), getWeightBudget());
     }
 
     /**
      * Creates a new synchronous/blocking REST com.binance.api.client with proxy.
+     *
+     * @deprecated replaces the JVM-wide shared client; use {@link Builder#proxy(Proxy)} instead.
      */
+    @Deprecated
     public BinanceApiRestClient newRestClientWithProxy() {
         return new BinanceApiRestClientImpl(apiKey, secret, true);
     }
 
     /**
      * Creates a new synchronous/blocking REST com.binance.api.client with proxy.
+     *
+     * @deprecated replaces the JVM-wide shared client; use {@link Builder#proxy(String, int, String, String)} instead.
      */
+    @Deprecated
     public BinanceApiRestClient newRestClientWithProxy(String ip, String port, String login, String password) {
         return new BinanceApiRestClientImpl(apiKey, secret, ip, port, login, password);
     }
@@ -123,34 +252,367 @@ public class BinanceApiClientFactory {
      * Creates a new asynchronous/non-blocking REST com.binance.api.client.
      */
     public BinanceApiAsyncRestClient newAsyncRestClient() {
-        return new BinanceApiAsyncRestClientImpl(apiKey, secret);
+        return endpoints != null ? new BinanceApiAsyncRestClientImpl(apiKey, secret, lanes, endpoints) : new BinanceApiAsyncRestClientImpl(apiKey, secret, getLanes());
     }
 
     /**
      * Creates a new asynchronous/non-blocking Margin REST com.binance.api.client.
      */
     public BinanceApiAsyncMarginRestClient newAsyncMarginRestClient() {
-        return new BinanceApiAsyncMarginRestClientImpl(apiKey, secret);
+        return endpoints != null ? new BinanceApiAsyncMarginRestClientImpl(apiKey, secret, lanes, endpoints) : new BinanceApiAsyncMarginRestClientImpl(apiKey, secret, getLanes());
     }
 
     /**
      * Creates a new synchronous/blocking Margin REST com.binance.api.client.
      */
     public BinanceApiMarginRestClient newMarginRestClient() {
-        return new BinanceApiMarginRestClientImpl(apiKey, secret);
+        return endpoints != null ? new BinanceApiMarginRestClientImpl(apiKey, secret, lanes, endpoints) : new BinanceApiMarginRestClientImpl(apiKey, secret, getLanes());
     }
 
     /**
      * Creates a new web socket com.binance.api.client used for handling data streams.
      */
     public BinanceApiWebSocketClient newWebSocketClient() {
-        return new BinanceApiWebSocketClientImpl(getSharedClient());
+        return new BinanceApiWebSocketClientImpl(getHttpClient(), endpoints != null ? endpoints.getStreamApiBaseUrl() : null);
     }
 
     /**
      * Creates a new synchronous/blocking Swap REST com.binance.api.client.
      */
     public BinanceApiSwapRestClient newSwapRestClient() {
-        return new BinanceApiSwapRestClientImpl(apiKey, secret);
+        return endpoints != null ? new BinanceApiSwapRestClientImpl(apiKey, secret, lanes, endpoints) : new BinanceApiSwapRestClientImpl(apiKey, secret, getLanes());
+    }
+
+    /**
+     * @return the HTTP client owned by this factory, or the JVM-wide shared client.
+     */
+    public OkHttpClient getHttpClient() {
+        return client != null ? client : getSharedClient();
+    }
+
+    /**
+     * Stops the connection warmer, if any. Clients created by this factory remain usable.
+     */
+    @Override
+    public void close() {
+        if (warmer != null) {
+            warmer.close();
+        }
+    }
+
+    /**
+     * @return the URLs of this factory; for factories not built with {@link #builder()}, those currently configured in
+     * {@link BinanceApiConfig}.
+     */
+    public ApiEndpoints getEndpoints() {
+        return endpoints != null ? endpoints : ApiEndpoints.current();
+    }
+
+    /**
+     * @return the selector routing this factory's REST calls across API hosts.
+     */
+    public EndpointSelector getEndpointSelector() {
+        return endpointSelector != null ? endpointSelector : getSharedEndpointSelector();
+    }
+
+    /**
+     * @return the request weight budget of this factory's REST calls.
+     */
+    public WeightBudget getWeightBudget() {
+        return weightBudget != null ? weightBudget : getSharedWeightBudget();
+    }
+
+    /**
+     * @return the request coalescer of this factory's REST calls, or null if coalescing is disabled.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return client != null ? requestCoalescer : getSharedRequestCoalescer();
+    }
+
+    private TrafficLanes getLanes() {
+        return lanes != null ? lanes : getSharedLanes();
+    }
+
+    /**
+     * Builder of a {@link BinanceApiClientFactory} owning its own {@link OkHttpClient}.
+     * <p>
+     * Connection pool and dispatcher settings apply to the web socket client and to every traffic lane that has
+     * not been configured with {@link #trafficLane(TrafficClass, TrafficLaneConfig)}; when none of them is set, the
+     * lanes use {@link TrafficClass#defaultConfig()}.
+     */
+    public static class Builder {
+
+        private String apiKey;
+
+        private String secret;
+
+        private boolean useTestnet;
+
+        private boolean useTestnetStreaming;
+
+        private String baseDomain;
+
+        private List<String> apiHostPrefixes;
+
+        private Integer maxIdleConnections;
+
+        private Long keepAliveMillis;
+
+        private Integer maxRequests;
+
+        private Integer maxRequestsPerHost;
+
+        private long connectTimeoutMillis = 10_000L;
+
+        private long readTimeoutMillis = 10_000L;
+
+        private long writeTimeoutMillis = 10_000L;
+
+        private long callTimeoutMillis;
+
+        private long pingIntervalMillis = 20_000L;
+
+        private Proxy proxy;
+
+        private Authenticator proxyAuthenticator;
+
+        private List<Protocol> protocols;
+
+        private final Map<TrafficClass, TrafficLaneConfig> laneConfigs = new EnumMap<>(TrafficClass.class);
+
+        private int warmConnections;
+
+        private long warmHeartbeatMillis;
+
+        private List<TrafficClass> warmTrafficClasses;
+
+        private int weightLimit = BinanceApiConstants.DEFAULT_REQUEST_WEIGHT_LIMIT;
+
+        private HedgingPolicy hedgingPolicy;
+
+        private boolean coalesceRequests = true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param apiKey the API key
+         * @param secret the Secret
+         */
+        public Builder credentials(String apiKey, String secret) {
+            this.apiKey = apiKey;
+            this.secret = secret;
+            return this;
+        }
+
+        /**
+         * @param useTestnet          true if endpoint is spot test network URL; false if endpoint is production spot API URL.
+         * @param useTestnetStreaming true for spot test network websocket streaming; false for no streaming.
+         */
+        public Builder testnet(boolean useTestnet, boolean useTestnetStreaming) {
+            this.useTestnet = useTestnet;
+            this.useTestnetStreaming = useTestnetStreaming;
+            return this;
+        }
+
+        /**
+         * @param baseDomain base domain of the URLs (e.g., binance.com); {@link BinanceApiConfig#getBaseDomain()} by default
+         */
+        public Builder baseDomain(String baseDomain) {
+            this.baseDomain = baseDomain;
+            return this;
+        }
+
+        /**
+         * @param apiHostPrefixes prefixes of the equivalent REST API cluster hosts (e.g., api, api1, api2), the first
+         *                        one being the default host; {@link BinanceApiConfig#getApiHostPrefixes()} by default
+         */
+        public Builder apiHostPrefixes(String... apiHostPrefixes) {
+            this.apiHostPrefixes = Arrays.asList(apiHostPrefixes);
+            return this;
+        }
+
+        /**
+         * @param maxIdleConnections maximum number of idle connections kept per connection pool
+         * @param keepAlive          time an idle connection is kept in the pool
+         * @param unit               unit of <code>keepAlive</code>
+         */
+        public Builder connectionPool(int maxIdleConnections, long keepAlive, TimeUnit unit) {
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAliveMillis = unit.toMillis(keepAlive);
+            return this;
+        }
+
+        /**
+         * @param maxRequests        maximum number of concurrent asynchronous requests per dispatcher
+         * @param maxRequestsPerHost maximum number of concurrent asynchronous requests per dispatcher and host
+         */
+        public Builder dispatcher(int maxRequests, int maxRequestsPerHost) {
+            this.maxRequests = maxRequests;
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Overrides the limits of a single traffic lane.
+         */
+        public Builder trafficLane(TrafficClass trafficClass, TrafficLaneConfig config) {
+            laneConfigs.put(trafficClass, config);
+            return this;
+        }
+
+        public Builder connectTimeout(long timeout, TimeUnit unit) {
+            this.connectTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder readTimeout(long timeout, TimeUnit unit) {
+            this.readTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder writeTimeout(long timeout, TimeUnit unit) {
+            this.writeTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * @param timeout complete call timeout, 0 for none
+         */
+        public Builder callTimeout(long timeout, TimeUnit unit) {
+            this.callTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * @param interval web socket ping interval, 0 to disable pings
+         */
+        public Builder pingInterval(long interval, TimeUnit unit) {
+            this.pingIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        public Builder proxy(Proxy proxy) {
+            this.proxy = proxy;
+            return this;
+        }
+
+        public Builder proxyAuthenticator(Authenticator proxyAuthenticator) {
+            this.proxyAuthenticator = proxyAuthenticator;
+            return this;
+        }
+
+        /**
+         * Routes all traffic of the factory through an HTTP proxy using basic authentication.
+         */
+        public Builder proxy(String host, int port, String login, String password) {
+            this.proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(host, port));
+            this.proxyAuthenticator = (route, response) -> response.request().newBuilder()
+                    .header("Proxy-Authorization", Credentials.basic(login, password))
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param protocols HTTP protocols to negotiate, e.g. to pin HTTP/1.1
+         */
+        public Builder protocols(List<Protocol> protocols) {
+            this.protocols = new ArrayList<>(protocols);
+            return this;
+        }
+
+        /**
+         * Opens <code>connections</code> connections per lane when the factory is built, and keeps them hot with
+         * cheap pings every <code>heartbeatInterval</code>, which must be shorter than the lanes' keep-alive.
+         * Stop the heartbeats with {@link BinanceApiClientFactory#close()}.
+         *
+         * @param trafficClasses lanes to warm; the trading and account lanes when none are given
+         */
+        public Builder warmConnections(int connections, long heartbeatInterval, TimeUnit unit, TrafficClass... trafficClasses) {
+            this.warmConnections = connections;
+            this.warmHeartbeatMillis = unit.toMillis(heartbeatInterval);
+            this.warmTrafficClasses = trafficClasses.length > 0
+                    ? Arrays.asList(trafficClasses)
+                    : Arrays.asList(TrafficClass.TRADING, TrafficClass.ACCOUNT);
+            return this;
+        }
+
+        /**
+         * @param weightLimit request weight allowed per minute, tracked by the factory's {@link WeightBudget}
+         */
+        public Builder weightLimit(int weightLimit) {
+            this.weightLimit = weightLimit;
+            return this;
+        }
+
+        /**
+         * Enables hedged market data reads, charged against the factory's {@link WeightBudget}.
+         */
+        public Builder hedging(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * @param coalesceRequests whether identical concurrent unsigned GET requests share a single HTTP call,
+         *                         enabled by default
+         */
+        public Builder coalesceRequests(boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+
+        public BinanceApiClientFactory build() {
+            return new BinanceApiClientFactory(this);
+        }
+
+        private ApiEndpoints buildEndpoints() {
+            return new ApiEndpoints(baseDomain != null ? baseDomain : BinanceApiConfig.getBaseDomain(),
+                    apiHostPrefixes != null ? apiHostPrefixes : BinanceApiConfig.getApiHostPrefixes(),
+                    useTestnet, useTestnet && useTestnetStreaming);
+        }
+
+        private OkHttpClient buildClient(RequestCoalescer requestCoalescer, EndpointSelector endpointSelector, WeightBudget weightBudget) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(maxRequests != null ? maxRequests : 500);
+            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost != null ? maxRequestsPerHost : 500);
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(new ConnectionPool(maxIdleConnections != null ? maxIdleConnections : 5,
+                            keepAliveMillis != null ? keepAliveMillis : TrafficLaneConfig.DEFAULT_KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS))
+                    .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .writeTimeout(writeTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .callTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .pingInterval(pingIntervalMillis, TimeUnit.MILLISECONDS);
+            if (requestCoalescer != null) {
+                builder.addInterceptor(requestCoalescer);
+            }
+            builder.addInterceptor(endpointSelector)
+                    .addInterceptor(weightBudget);
+            if (proxy != null) {
+                builder.proxy(proxy);
+            }
+            if (proxyAuthenticator != null) {
+                builder.proxyAuthenticator(proxyAuthenticator);
+            }
+            if (protocols != null) {
+                builder.protocols(protocols);
+            }
+            return builder.build();
+        }
+
+        private Map<TrafficClass, TrafficLaneConfig> buildLaneConfigs() {
+            Map<TrafficClass, TrafficLaneConfig> configs = new EnumMap<>(TrafficClass.class);
+            for (TrafficClass trafficClass : TrafficClass.values()) {
+                TrafficLaneConfig defaults = trafficClass.defaultConfig();
+                configs.put(trafficClass, laneConfigs.getOrDefault(trafficClass, new TrafficLaneConfig(
+                        maxRequests != null ? maxRequests : defaults.getMaxRequests(),
+                        maxRequestsPerHost != null ? maxRequestsPerHost : defaults.getMaxRequestsPerHost(),
+                        maxIdleConnections != null ? maxIdleConnections : defaults.getMaxIdleConnections(),
+                        keepAliveMillis != null ? keepAliveMillis : defaults.getKeepAliveMillis())));
+            }
+            return configs;
+        }
     }
 }
@@ -5,8 +5,12 @@ import com.binance.api.client.domain.event.BookTickerEvent;
 import com.binance.api.client.domain.event.CandlestickEvent;
 import com.binance.api.client.domain.event.DepthEvent;
 import com.binance.api.client.domain.event.TickerEvent;
+import com.binance.api.client.domain.event.TopOrdersEvent;
 import com.binance.api.client.domain.event.UserDataUpdateEvent;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.DepthLevels;
+import com.binance.api.client.domain.market.DepthUpdateSpeed;
+import com.binance.api.client.marketdata.MarketBoard;
 
 import java.io.Closeable;
 import java.util.List;
@@ -25,6 +29,29 @@ public interface BinanceApiWebSocketClient extends Closeable {
      */
     Closeable onDepthEvent(String symbols, BinanceApiCallback<DepthEvent> callback);
 
+    /**
+     * Open a new web socket to receive {@link DepthEvent depthEvents} on a callback, at an update speed.
+     *
+     * @param symbols     market (one or coma-separated) symbol(s) to subscribe to
+     * @param updateSpeed the update speed of the depth events
+     * @param callback    the callback to call on new events
+     * @return a {@link Closeable} that allows the underlying web socket to be closed.
+     */
+    Closeable onDepthEvent(String symbols, DepthUpdateSpeed updateSpeed, BinanceApiCallback<DepthEvent> callback);
+
+    /**
+     * Open a new web socket to receive the top levels of the order book of a symbol as {@link TopOrdersEvent topOrdersEvents}
+     * on a callback. The event and its entries are reused for every message of the web socket, and only valid until the
+     * callback returns.
+     *
+     * @param symbol      market symbol to subscribe to
+     * @param levels      the number of levels per side
+     * @param updateSpeed the update speed of the events
+     * @param callback    the callback to call on new events
+     * @return a {@link Closeable} that allows the underlying web socket to be closed.
+     */
+    Closeable onTopOrdersEvent(String symbol, DepthLevels levels, DepthUpdateSpeed updateSpeed, BinanceApiCallback<TopOrdersEvent> callback);
+
     /**
      * Open a new web socket to receive {@link CandlestickEvent candlestickEvents} on a callback.
      *
@@ -70,6 +97,14 @@ public interface BinanceApiWebSocketClient extends Closeable {
      */
     Closeable onAllMarketTickersEvent(BinanceApiCallback<List<TickerEvent>> callback);
 
+    /**
+     * Open a new web socket to receive all market tickers, decoded straight into a {@link MarketBoard}.
+     *
+     * @param board the board to update on new events
+     * @return a {@link Closeable} that allows the underlying web socket to be closed.
+     */
+    Closeable onAllMarketTickersEvent(MarketBoard board);
+
     /**
      * Open a new web socket to receive {@link BookTickerEvent bookTickerEvents} on a callback.
      *
@@ -0,0 +1,103 @@
+package com.binance.api.client.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The URLs a {@link com.binance.api.client.BinanceApiClientFactory} connects to: base domain, REST API cluster hosts
+ * and Spot Test Network options, fixed when the factory is built.
+ * <p>
+ * Unlike the static settings of {@link BinanceApiConfig}, which every legacy factory shares, each factory built with
+ * {@link com.binance.api.client.BinanceApiClientFactory#builder()} holds its own instance.
+ */
+public final class ApiEndpoints {
+
+    private static final String TESTNET_DOMAIN = "testnet.binance.vision";
+
+    private final String baseDomain;
+
+    private final List<String> apiHostPrefixes;
+
+    private final boolean useTestnet;
+
+    private final boolean useTestnetStreaming;
+
+    /**
+     * @param baseDomain          base domain of the URLs, e.g. binance.com
+     * @param apiHostPrefixes     prefixes of the REST API cluster hosts, the first one being the default host
+     * @param useTestnet          true if endpoint is spot test network URL; false if endpoint is production spot API URL.
+     * @param useTestnetStreaming true for spot test network websocket streaming; false for production streaming.
+     */
+    public ApiEndpoints(String baseDomain, List<String> apiHostPrefixes, boolean useTestnet, boolean useTestnetStreaming) {
+        if (apiHostPrefixes.isEmpty()) {
+            throw new IllegalArgumentException("At least one API host prefix is required");
+        }
+        this.baseDomain = baseDomain;
+        this.apiHostPrefixes = Collections.unmodifiableList(new ArrayList<>(apiHostPrefixes));
+        this.useTestnet = useTestnet;
+        this.useTestnetStreaming = useTestnetStreaming;
+    }
+
+    /**
+     * @return the endpoints currently configured in the static settings of {@link BinanceApiConfig}.
+     */
+    public static ApiEndpoints current() {
+        return new ApiEndpoints(BinanceApiConfig.getBaseDomain(), BinanceApiConfig.getApiHostPrefixes(),
+                BinanceApiConfig.useTestnet, BinanceApiConfig.useTestnetStreaming);
+    }
+
+    public String getBaseDomain() {
+        return baseDomain;
+    }
+
+    public List<String> getApiHostPrefixes() {
+        return apiHostPrefixes;
+    }
+
+    public boolean isUseTestnet() {
+        return useTestnet;
+    }
+
+    public boolean isUseTestnetStreaming() {
+        return useTestnetStreaming;
+    }
+
+    /**
+     * REST API base URL, on the Spot Test Network if enabled.
+     */
+    public String getApiBaseUrl() {
+        return useTestnet ? String.format("https://%s", TESTNET_DOMAIN)
+                : String.format("https://%s.%s", apiHostPrefixes.get(0), baseDomain);
+    }
+
+    /**
+     * REST API host names calls may be routed to, the first one being the host of {@link #getApiBaseUrl()}. The Spot
+     * Test Network has a single host.
+     */
+    public List<String> getApiHosts() {
+        if (useTestnet) {
+            return Collections.singletonList(TESTNET_DOMAIN);
+        }
+        List<String> hosts = new ArrayList<>(apiHostPrefixes.size());
+        for (String prefix : apiHostPrefixes) {
+            hosts.add(String.format("%s.%s", prefix, baseDomain));
+        }
+        return hosts;
+    }
+
+    /**
+     * Streaming API base URL, on the Spot Test Network if enabled.
+     */
+    public String getStreamApiBaseUrl() {
+        return useTestnetStreaming ? String.format("wss://%s/ws", TESTNET_DOMAIN)
+                : String.format("wss://stream.%s:9443/ws", baseDomain);
+    }
+
+    /**
+     * Asset info base URL.
+     */
+    public String getAssetInfoApiBaseUrl() {
+        return String.format("https://%s/", baseDomain);
+    }
+}
@@ -1,5 +1,10 @@
 package com.binance.api.client.config;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Configuration used for Binance operations.
  */
@@ -10,6 +15,11 @@ public class BinanceApiConfig {
 	 */
 	private static String BASE_DOMAIN = "binance.com";
 
+	/**
+	 * Prefixes of the equivalent REST API cluster hosts on the base domain; the first one is the default host.
+	 */
+	private static List<String> API_HOST_PREFIXES = Collections.unmodifiableList(Arrays.asList("api", "api1", "api2", "api3"));
+
     /**
      * Spot Test Network URL.
      */
@@ -49,7 +59,38 @@ public class BinanceApiConfig {
 	 * REST API base URL.
 	 */
 	public static String getApiBaseUrl() {
-		return String.format("https://api.%s", getBaseDomain());
+		return String.format("https://%s.%s", API_HOST_PREFIXES.get(0), getBaseDomain());
+	}
+
+	/**
+	 * Set the prefixes of the equivalent REST API cluster hosts (e.g., api, api1, api2).
+	 * A single prefix disables routing across hosts.
+	 *
+	 * @param apiHostPrefixes host prefixes, the first one being the default host
+	 */
+	public static void setApiHostPrefixes(final List<String> apiHostPrefixes) {
+		if (apiHostPrefixes.isEmpty()) {
+			throw new IllegalArgumentException("At least one API host prefix is required");
+		}
+		API_HOST_PREFIXES = Collections.unmodifiableList(new ArrayList<>(apiHostPrefixes));
+	}
+
+	/**
+	 * Prefixes of the equivalent REST API cluster hosts, the first one being the default host.
+	 */
+	public static List<String> getApiHostPrefixes() {
+		return API_HOST_PREFIXES;
+	}
+
+	/**
+	 * REST API host names of the cluster, the first one being the host of {@link #getApiBaseUrl()}.
+	 */
+	public static List<String> getApiHosts() {
+		List<String> hosts = new ArrayList<>(API_HOST_PREFIXES.size());
+		for (String prefix : API_HOST_PREFIXES) {
+			hosts.add(String.format("%s.%s", prefix, getBaseDomain()));
+		}
+		return hosts;
 	}
 
 	/**
@@ -0,0 +1,89 @@
+package com.binance.api.client.config;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Policy for hedged market data reads.
+ * <p>
+ * A hedgeable read still running after the given percentile of the recent latencies of its endpoint is duplicated;
+ * the first response wins and the other call is cancelled. Hedges are only sent while the client-side request
+ * weight budget has room for them.
+ */
+public class HedgingPolicy {
+
+    /**
+     * Paths of the idempotent, single-page reads hedged by default: order book, prices and book tickers.
+     */
+    public static final Set<String> DEFAULT_PATHS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "/api/v1/depth", "/api/v3/ticker/price", "/api/v1/ticker/allPrices", "/api/v1/ticker/allBookTickers")));
+
+    /**
+     * Latency percentile, between 0 and 1, after which a hedge is sent.
+     */
+    private final double percentile;
+
+    /**
+     * Minimum delay in milliseconds before a hedge is sent, whatever the recent latencies.
+     */
+    private final long minDelayMillis;
+
+    /**
+     * Fraction of the weight limit above which no hedge is sent.
+     */
+    private final double maxBudgetUtilization;
+
+    /**
+     * Paths of the unsigned GET endpoints to hedge.
+     */
+    private final Set<String> paths;
+
+    public HedgingPolicy(double percentile, long minDelayMillis, double maxBudgetUtilization, Set<String> paths) {
+        if (percentile <= 0 || percentile >= 1 || maxBudgetUtilization <= 0 || maxBudgetUtilization > 1) {
+            throw new IllegalArgumentException("Percentile and budget utilization must be between 0 and 1");
+        }
+        this.percentile = percentile;
+        this.minDelayMillis = minDelayMillis;
+        this.maxBudgetUtilization = maxBudgetUtilization;
+        this.paths = Collections.unmodifiableSet(new HashSet<>(paths));
+    }
+
+    /**
+     * @return a policy hedging the {@link #DEFAULT_PATHS} after their 95th latency percentile, at least 5ms, while
+     * less than 80% of the weight budget is used.
+     */
+    public static HedgingPolicy defaultPolicy() {
+        return new HedgingPolicy(0.95, 5, 0.8, DEFAULT_PATHS);
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    public double getMaxBudgetUtilization() {
+        return maxBudgetUtilization;
+    }
+
+    public Set<String> getPaths() {
+        return paths;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+                .append("percentile", percentile)
+                .append("minDelayMillis", minDelayMillis)
+                .append("maxBudgetUtilization", maxBudgetUtilization)
+                .append("paths", paths)
+                .toString();
+    }
+}
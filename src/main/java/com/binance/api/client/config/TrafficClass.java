@@ -0,0 +1,63 @@
+package com.binance.api.client.config;
+
+/**
+ * Traffic classes used to route REST calls through dedicated HTTP lanes.
+ * <p>
+ * Every lane owns its own dispatcher (concurrency limits and executor) and connection pool, so a burst of
+ * market data or history backfill requests never takes the dispatcher slots or pooled connections of order placement
+ * and cancellation. Lanes are isolated, not prioritized: they share the CPU and the network, and synchronous calls run
+ * on the caller thread, outside the dispatcher limits.
+ */
+public enum TrafficClass {
+
+    /**
+     * Order placement and cancellation. Its dispatcher threads are given the maximum thread priority, a hint most
+     * operating systems (Linux in particular) ignore for unprivileged processes.
+     */
+    TRADING(64, 64, 8, Thread.MAX_PRIORITY),
+
+    /**
+     * Signed account, wallet and user stream endpoints.
+     */
+    ACCOUNT(32, 32, 4, Thread.NORM_PRIORITY),
+
+    /**
+     * Public market data endpoints.
+     */
+    MARKET_DATA(128, 128, 8, Thread.NORM_PRIORITY),
+
+    /**
+     * Paged historical data (klines, aggregate trades, trade history).
+     */
+    BULK_HISTORY(8, 8, 4, Thread.MIN_PRIORITY);
+
+    private final int defaultMaxRequests;
+
+    private final int defaultMaxRequestsPerHost;
+
+    private final int defaultMaxIdleConnections;
+
+    private final int threadPriority;
+
+    TrafficClass(int defaultMaxRequests, int defaultMaxRequestsPerHost, int defaultMaxIdleConnections, int threadPriority) {
+        this.defaultMaxRequests = defaultMaxRequests;
+        this.defaultMaxRequestsPerHost = defaultMaxRequestsPerHost;
+        this.defaultMaxIdleConnections = defaultMaxIdleConnections;
+        this.threadPriority = threadPriority;
+    }
+
+    /**
+     * Priority of the dispatcher threads executing asynchronous calls of this class; a scheduling hint only.
+     */
+    public int getThreadPriority() {
+        return threadPriority;
+    }
+
+    /**
+     * @return the limits used for this class when none are configured explicitly.
+     */
+    public TrafficLaneConfig defaultConfig() {
+        return new TrafficLaneConfig(defaultMaxRequests, defaultMaxRequestsPerHost, defaultMaxIdleConnections,
+                TrafficLaneConfig.DEFAULT_KEEP_ALIVE_MILLIS);
+    }
+}
@@ -0,0 +1,74 @@
+package com.binance.api.client.config;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Concurrency and connection pool limits of a single {@link TrafficClass} lane.
+ */
+public class TrafficLaneConfig {
+
+    /**
+     * Default time an idle pooled connection is kept alive (5 minutes, as OkHttp's default pool).
+     */
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 300_000L;
+
+    /**
+     * Maximum number of asynchronous requests executing concurrently in the lane.
+     */
+    private final int maxRequests;
+
+    /**
+     * Maximum number of asynchronous requests executing concurrently against a single host.
+     */
+    private final int maxRequestsPerHost;
+
+    /**
+     * Maximum number of idle connections kept in the lane's connection pool.
+     */
+    private final int maxIdleConnections;
+
+    /**
+     * Time in milliseconds an idle connection is kept in the pool.
+     */
+    private final long keepAliveMillis;
+
+    public TrafficLaneConfig(int maxRequests, int maxRequestsPerHost, int maxIdleConnections, long keepAliveMillis) {
+        if (maxRequests < 1 || maxRequestsPerHost < 1) {
+            throw new IllegalArgumentException("Lane request limits must be positive");
+        }
+        if (maxIdleConnections < 0 || keepAliveMillis <= 0) {
+            throw new IllegalArgumentException("Invalid lane connection pool settings");
+        }
+        this.maxRequests = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.maxIdleConnections = maxIdleConnections;
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+                .append("maxRequests", maxRequests)
+                .append("maxRequestsPerHost", maxRequestsPerHost)
+                .append("maxIdleConnections", maxIdleConnections)
+                .append("keepAliveMillis", keepAliveMillis)
+                .toString();
+    }
+}
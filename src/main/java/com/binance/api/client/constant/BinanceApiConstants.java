@@ -24,6 +24,14 @@ public class BinanceApiConstants {
   public static final String ENDPOINT_SECURITY_TYPE_SIGNED = "SIGNED";
   public static final String ENDPOINT_SECURITY_TYPE_SIGNED_HEADER = ENDPOINT_SECURITY_TYPE_SIGNED + ": #";
 
+  /**
+   * Decorator to route an endpoint through a dedicated traffic lane. Endpoints without it go through the
+   * ACCOUNT lane when they need an API key or a signature, and through the MARKET_DATA lane otherwise.
+   */
+  public static final String ENDPOINT_TRAFFIC_CLASS = "TRAFFIC-CLASS";
+  public static final String ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER = ENDPOINT_TRAFFIC_CLASS + ": TRADING";
+  public static final String ENDPOINT_TRAFFIC_CLASS_BULK_HISTORY_HEADER = ENDPOINT_TRAFFIC_CLASS + ": BULK_HISTORY";
+
   /**
    * Default receiving window.
    */
@@ -34,6 +42,18 @@ public class BinanceApiConstants {
    */
   public static final long DEFAULT_MARGIN_RECEIVING_WINDOW = 5_000L;
 
+  /**
+   * Default REQUEST_WEIGHT limit per minute and IP.
+   */
+  public static final int DEFAULT_REQUEST_WEIGHT_LIMIT = 6_000;
+
+  /**
+   * Whether order book entries and streamed balances are decoded straight into
+   * {@link com.binance.api.client.domain.Decimal} values, their String forms being created only on demand.
+   * Override this to parse each price and quantity exactly once, from the JSON text buffer.
+   */
+  public static boolean DECODE_DECIMALS = false;
+
   /**
    * Default ToStringStyle used by toString methods.
    * Override this to change the output format of the overridden toString methods.
@@ -0,0 +1,518 @@
+package com.binance.api.client.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Immutable fixed-point decimal number: a long unscaled value and a scale, i.e. <code>unscaled * 10^-scale</code>.
+ * <p>
+ * It holds the prices and quantities of the API, which have at most 18 significant digits, without the allocations
+ * of {@link BigDecimal}. Parsing and formatting work directly on ASCII characters, and additions, subtractions and
+ * multiplications are exact: they throw an {@link ArithmeticException} rather than overflow or lose digits.
+ * <p>
+ * Decimals are the values of the domain objects. Hot paths, such as order books, positions and order validation,
+ * compute on longs scaled by 10^{@value com.binance.api.client.domain.general.ExchangeInfoIndex#SCALE} instead, with
+ * the arithmetic of {@link com.binance.api.client.domain.general.ExchangeInfoIndex}; {@link #unscaledValue(int)}
+ * converts a decimal to them, and {@link #parseScaled(CharSequence, int)} parses text into them with the same
+ * parser. Volumes, which exceed the range of those longs for tokens with a large supply, are doubles parsed by
+ * {@link #parseDouble(CharSequence)}.
+ * <p>
+ * Like {@link BigDecimal}, a decimal keeps the scale it was parsed with ("1.50" has scale 2) and formats with it.
+ * Unlike {@link BigDecimal}, {@link #equals(Object)} compares numeric values, so "1.50" equals "1.5".
+ * Instances are immutable and can be freely cached and shared between threads.
+ */
+@JsonDeserialize(using = DecimalDeserializer.class)
+@JsonSerialize(using = DecimalSerializer.class)
+public final class Decimal implements Comparable<Decimal>, Serializable {
+
+  private static final long serialVersionUID = 4913064412378205711L;
+
+  /**
+   * Maximum scale, the number of decimals of the smallest long power of ten.
+   */
+  public static final int MAX_SCALE = 18;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+  /**
+   * Powers of ten which are exact doubles.
+   */
+  private static final double[] DOUBLE_POWERS_OF_TEN = new double[23];
+
+  /**
+   * Largest long whose conversion to a double is exact.
+   */
+  private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i <= MAX_SCALE; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+    DOUBLE_POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+      DOUBLE_POWERS_OF_TEN[i] = DOUBLE_POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  public static final Decimal ZERO = new Decimal(0, 0);
+
+  public static final Decimal ONE = new Decimal(1, 0);
+
+  private final long unscaled;
+
+  private final byte scale;
+
+  private Decimal(long unscaled, int scale) {
+    this.unscaled = unscaled;
+    this.scale = (byte) scale;
+  }
+
+  /**
+   * @return the decimal <code>unscaled * 10^-scale</code>.
+   */
+  public static Decimal valueOf(long unscaled, int scale) {
+    if (scale < 0 || scale > MAX_SCALE) {
+      throw new ArithmeticException("Scale out of range: " + scale);
+    }
+    return unscaled == 0 && scale == 0 ? ZERO : new Decimal(unscaled, scale);
+  }
+
+  public static Decimal valueOf(long value) {
+    return valueOf(value, 0);
+  }
+
+  /**
+   * Parses a plain decimal such as "-0.00100000".
+   *
+   * @throws NumberFormatException if the value is malformed, uses an exponent or does not fit
+   */
+  public static Decimal parse(CharSequence value) {
+    return parse(value, 0, value.length());
+  }
+
+  /**
+   * Parses a plain decimal from characters, e.g. the text buffer of a JSON parser.
+   *
+   * @throws NumberFormatException if the value is malformed, uses an exponent or does not fit
+   */
+  public static Decimal parse(char[] chars, int offset, int length) {
+    return parse((Object) chars, offset, length);
+  }
+
+  /**
+   * Parses a plain decimal from ASCII bytes, e.g. a raw message payload.
+   *
+   * @throws NumberFormatException if the value is malformed, uses an exponent or does not fit
+   */
+  public static Decimal parse(byte[] ascii, int offset, int length) {
+    return parse((Object) ascii, offset, length);
+  }
+
+  /**
+   * Parses a plain decimal directly into a long scaled by 10^scale, without creating a Decimal, e.g. into the scaled
+   * longs of {@link com.binance.api.client.domain.general.ExchangeInfoIndex}. Zeros beyond the scale are accepted.
+   *
+   * @throws NumberFormatException if the value is malformed, has non-zero digits beyond the scale or does not fit
+   */
+  public static long parseScaled(CharSequence value, int scale) {
+    return parseScaled(value, 0, value.length(), scale);
+  }
+
+  /**
+   * Parses a plain decimal held in characters directly into a long scaled by 10^scale, as
+   * {@link #parseScaled(CharSequence, int)} does.
+   */
+  public static long parseScaled(char[] chars, int offset, int length, int scale) {
+    return parseScaled((Object) chars, offset, length, scale);
+  }
+
+  /**
+   * Parses a plain decimal into the nearest double, for values which may not fit in a long scaled by 10^8, such as
+   * the volumes of tokens with a large supply.
+   *
+   * @throws NumberFormatException if the value is malformed or uses an exponent
+   */
+  public static double parseDouble(CharSequence value) {
+    return parseDouble(value, 0, value.length());
+  }
+
+  /**
+   * Parses a plain decimal held in characters into the nearest double, as {@link #parseDouble(CharSequence)} does.
+   */
+  public static double parseDouble(char[] chars, int offset, int length) {
+    return parseDouble((Object) chars, offset, length);
+  }
+
+  /**
+   * Formats a double as the shortest plain decimal which {@link #parseDouble(CharSequence)} parses back into it,
+   * without trailing zeros.
+   */
+  public static String formatDouble(double value) {
+    return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+  }
+
+  /**
+   * Accumulates the significant digits in a long, trailing zeros apart, so that the common values are converted with
+   * one exact division or multiplication, which rounds correctly. Others are left to {@link Double#parseDouble}.
+   */
+  private static double parseDouble(Object source, int offset, int length) {
+    int end = offset + length;
+    int i = offset;
+    boolean negative = false;
+    if (length > 0 && (charAt(source, i) == '-' || charAt(source, i) == '+')) {
+      negative = charAt(source, i) == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int zeros = 0;
+    int decimals = -1;
+    boolean digits = false;
+    boolean exact = true;
+    for (; i < end; i++) {
+      char c = charAt(source, i);
+      if (c >= '0' && c <= '9') {
+        digits = true;
+        if (decimals >= 0) {
+          decimals++;
+        }
+        if (c == '0') {
+          zeros++;
+          continue;
+        }
+        for (; zeros > 0 && exact; zeros--) {
+          exact = mantissa <= Long.MAX_VALUE / 10;
+          mantissa *= 10;
+        }
+        exact &= mantissa <= (Long.MAX_VALUE - 9) / 10;
+        mantissa = mantissa * 10 + (c - '0');
+      } else if (c == '.' && decimals < 0) {
+        decimals = 0;
+      } else {
+        throw new NumberFormatException("Invalid decimal: " + text(source, offset, length));
+      }
+    }
+    if (!digits) {
+      throw new NumberFormatException("Invalid decimal: " + text(source, offset, length));
+    }
+    int exponent = zeros - Math.max(decimals, 0);
+    if (!exact || mantissa > MAX_EXACT_DOUBLE || Math.abs(exponent) >= DOUBLE_POWERS_OF_TEN.length) {
+      return Double.parseDouble(text(source, offset, length));
+    }
+    double value = exponent < 0 ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent] : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses a decimal keeping the scale it is written with: the number of characters after its point.
+   */
+  private static Decimal parse(Object source, int offset, int length) {
+    int scale = 0;
+    for (int i = offset + length - 1; i >= offset; i--) {
+      if (charAt(source, i) == '.') {
+        scale = offset + length - 1 - i;
+        break;
+      }
+    }
+    if (scale > MAX_SCALE) {
+      throw new NumberFormatException("Too many decimals: " + text(source, offset, length));
+    }
+    return valueOf(parseScaled(source, offset, length, scale), scale);
+  }
+
+  /**
+   * The single parsing loop behind every parse method, reading a CharSequence, a char[] or an ASCII byte[].
+   */
+  private static long parseScaled(Object source, int offset, int length, int scale) {
+    int end = offset + length;
+    int i = offset;
+    boolean negative = false;
+    if (length > 0 && (charAt(source, i) == '-' || charAt(source, i) == '+')) {
+      negative = charAt(source, i) == '-';
+      i++;
+    }
+    long result = 0;
+    int decimals = -1;
+    boolean digits = false;
+    for (; i < end; i++) {
+      char c = charAt(source, i);
+      if (c >= '0' && c <= '9') {
+        digits = true;
+        if (decimals >= scale) {
+          if (c != '0') {
+            throw new NumberFormatException("More than " + scale + " decimals: " + text(source, offset, length));
+          }
+          continue;
+        }
+        if (result > (Long.MAX_VALUE - 9) / 10) {
+          throw new NumberFormatException("Too many digits: " + text(source, offset, length));
+        }
+        result = result * 10 + (c - '0');
+        if (decimals >= 0) {
+          decimals++;
+        }
+      } else if (c == '.' && decimals < 0) {
+        decimals = 0;
+      } else {
+        throw new NumberFormatException("Invalid decimal: " + text(source, offset, length));
+      }
+    }
+    if (!digits) {
+      throw new NumberFormatException("Invalid decimal: " + text(source, offset, length));
+    }
+    for (int d = Math.max(decimals, 0); d < scale; d++) {
+      if (result > Long.MAX_VALUE / 10) {
+        throw new NumberFormatException("Too many digits: " + text(source, offset, length));
+      }
+      result *= 10;
+    }
+    return negative ? -result : result;
+  }
+
+  private static char charAt(Object source, int index) {
+    if (source instanceof char[]) {
+      return ((char[]) source)[index];
+    } else if (source instanceof byte[]) {
+      return (char) ((byte[]) source)[index];
+    }
+    return ((CharSequence) source).charAt(index);
+  }
+
+  /**
+   * @return the parsed text, for error messages only.
+   */
+  private static String text(Object source, int offset, int length) {
+    if (source instanceof char[]) {
+      return new String((char[]) source, offset, length);
+    } else if (source instanceof byte[]) {
+      return new String((byte[]) source, offset, length, StandardCharsets.US_ASCII);
+    }
+    return ((CharSequence) source).subSequence(offset, offset + length).toString();
+  }
+
+  public long unscaledValue() {
+    return unscaled;
+  }
+
+  public int scale() {
+    return scale;
+  }
+
+  public int signum() {
+    return Long.signum(unscaled);
+  }
+
+  /**
+   * @return this value as a long scaled by 10^scale, e.g. for {@link com.binance.api.client.domain.general.ExchangeInfoIndex}.
+   * @throws ArithmeticException if digits would be lost or the result overflows
+   */
+  public long unscaledValue(int scale) {
+    if (scale >= this.scale) {
+      return Math.multiplyExact(unscaled, pow10(scale - this.scale));
+    }
+    long divisor = pow10(this.scale - scale);
+    if (unscaled % divisor != 0) {
+      throw new ArithmeticException("Rounding necessary: " + this + " to scale " + scale);
+    }
+    return unscaled / divisor;
+  }
+
+  public Decimal add(Decimal other) {
+    if (scale == other.scale) {
+      return valueOf(Math.addExact(unscaled, other.unscaled), scale);
+    }
+    int commonScale = Math.max(scale, other.scale);
+    return valueOf(Math.addExact(unscaledValue(commonScale), other.unscaledValue(commonScale)), commonScale);
+  }
+
+  public Decimal subtract(Decimal other) {
+    return add(other.negate());
+  }
+
+  public Decimal negate() {
+    return valueOf(Math.negateExact(unscaled), scale);
+  }
+
+  /**
+   * @return the exact product, with the sum of both scales, or a smaller one where the product would not fit with
+   * all of its trailing zeros, e.g. for two API values of 8 decimals each.
+   * @throws ArithmeticException if the product does not fit or needs more than {@link #MAX_SCALE} decimals
+   */
+  public Decimal multiply(Decimal other) {
+    // Trailing zeros are dropped first, so that they do not overflow the product of the unscaled values
+    Decimal a = stripTrailingZeros();
+    Decimal b = other.stripTrailingZeros();
+    long product = Math.multiplyExact(a.unscaled, b.unscaled);
+    int productScale = a.scale + b.scale;
+    if (productScale > MAX_SCALE) {
+      throw new ArithmeticException("Product needs more than " + MAX_SCALE + " decimals");
+    }
+    int targetScale = Math.min(scale + other.scale, MAX_SCALE);
+    while (productScale < targetScale && product < Long.MAX_VALUE / 10 && product > Long.MIN_VALUE / 10) {
+      product *= 10;
+      productScale++;
+    }
+    return valueOf(product, productScale);
+  }
+
+  /**
+   * @return the quotient with the given scale, rounded with the given mode.
+   * @throws ArithmeticException on division by zero, on overflow, or if rounding is necessary with {@link RoundingMode#UNNECESSARY}
+   */
+  public Decimal divide(Decimal divisor, int scale, RoundingMode roundingMode) {
+    if (divisor.unscaled == 0) {
+      throw new ArithmeticException("Division by zero");
+    }
+    // this / divisor = unscaled * 10^(scale + divisor.scale - this.scale) / divisor.unscaled, at the target scale
+    int shift = scale + divisor.scale - this.scale;
+    long dividend = unscaled;
+    long div = divisor.unscaled;
+    if (shift >= 0) {
+      dividend = Math.multiplyExact(dividend, pow10(shift));
+    } else {
+      div = Math.multiplyExact(div, pow10(-shift));
+    }
+    return valueOf(divideRounded(dividend, div, roundingMode), scale);
+  }
+
+  /**
+   * @return this value with the given scale, rounded with the given mode if digits are dropped.
+   */
+  public Decimal setScale(int scale, RoundingMode roundingMode) {
+    if (scale >= this.scale) {
+      return valueOf(unscaledValue(scale), scale);
+    }
+    return valueOf(divideRounded(unscaled, pow10(this.scale - scale), roundingMode), scale);
+  }
+
+  /**
+   * @return the same value with the smallest scale, e.g. 1.5 for 1.500.
+   */
+  public Decimal stripTrailingZeros() {
+    long value = unscaled;
+    int s = scale;
+    while (s > 0 && value % 10 == 0) {
+      value /= 10;
+      s--;
+    }
+    return s == scale ? this : valueOf(value, s);
+  }
+
+  public double doubleValue() {
+    return (double) unscaled / POWERS_OF_TEN[scale];
+  }
+
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(unscaled, scale);
+  }
+
+  @Override
+  public int compareTo(Decimal other) {
+    if (scale == other.scale) {
+      return Long.compare(unscaled, other.unscaled);
+    }
+    int signum = signum();
+    if (signum != other.signum()) {
+      return Integer.compare(signum, other.signum());
+    }
+    // Same sign: compare integral parts, then fractional parts aligned to the larger scale, which cannot overflow
+    long integral = unscaled / POWERS_OF_TEN[scale];
+    long otherIntegral = other.unscaled / POWERS_OF_TEN[other.scale];
+    if (integral != otherIntegral) {
+      return Long.compare(integral, otherIntegral);
+    }
+    int commonScale = Math.max(scale, other.scale);
+    long fraction = (unscaled % POWERS_OF_TEN[scale]) * POWERS_OF_TEN[commonScale - scale];
+    long otherFraction = (other.unscaled % POWERS_OF_TEN[other.scale]) * POWERS_OF_TEN[commonScale - other.scale];
+    return Long.compare(fraction, otherFraction);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || o instanceof Decimal && compareTo((Decimal) o) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    Decimal stripped = stripTrailingZeros();
+    return 31 * Long.hashCode(stripped.unscaled) + stripped.scale;
+  }
+
+  /**
+   * Appends the plain representation of this value, with all the decimals of its scale.
+   */
+  public StringBuilder appendTo(StringBuilder sb) {
+    if (unscaled < 0) {
+      sb.append('-');
+    }
+    if (scale == 0) {
+      return sb.append(Math.abs(unscaled));
+    }
+    long abs = Math.abs(unscaled);
+    long divisor = POWERS_OF_TEN[scale];
+    sb.append(abs / divisor).append('.');
+    long fraction = abs % divisor;
+    for (long p = divisor / 10; p > fraction && p > 1; p /= 10) {
+      sb.append('0');
+    }
+    return sb.append(fraction);
+  }
+
+  @Override
+  public String toString() {
+    return appendTo(new StringBuilder(21)).toString();
+  }
+
+  private static long pow10(int exponent) {
+    if (exponent > MAX_SCALE) {
+      throw new ArithmeticException("Overflow: 10^" + exponent);
+    }
+    return POWERS_OF_TEN[exponent];
+  }
+
+  private static long divideRounded(long dividend, long divisor, RoundingMode roundingMode) {
+    long quotient = dividend / divisor;
+    long remainder = dividend % divisor;
+    if (remainder == 0) {
+      return quotient;
+    }
+    int sign = Long.signum(dividend) * Long.signum(divisor);
+    boolean awayFromZero;
+    switch (roundingMode) {
+      case DOWN:
+        awayFromZero = false;
+        break;
+      case UP:
+        awayFromZero = true;
+        break;
+      case FLOOR:
+        awayFromZero = sign < 0;
+        break;
+      case CEILING:
+        awayFromZero = sign > 0;
+        break;
+      case HALF_UP:
+      case HALF_DOWN:
+      case HALF_EVEN:
+        long twice = Math.abs(remainder) * 2;
+        long absDivisor = Math.abs(divisor);
+        if (twice < 0 || twice > absDivisor) {
+          awayFromZero = true;
+        } else if (twice < absDivisor) {
+          awayFromZero = false;
+        } else {
+          awayFromZero = roundingMode == RoundingMode.HALF_UP
+              || roundingMode == RoundingMode.HALF_EVEN && (quotient & 1) != 0;
+        }
+        break;
+      default:
+        throw new ArithmeticException("Rounding necessary");
+    }
+    return awayFromZero ? quotient + sign : quotient;
+  }
+}
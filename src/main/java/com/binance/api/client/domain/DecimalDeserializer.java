@@ -0,0 +1,31 @@
+package com.binance.api.client.domain;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Custom deserializer for a Decimal, parsed from the text buffer of the parser without creating a String. The API
+ * sends decimals as JSON strings, but JSON numbers are accepted as well.
+ */
+public class DecimalDeserializer extends JsonDeserializer<Decimal> {
+
+  @Override
+  public Decimal deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+    JsonToken token = jp.currentToken();
+    if (token != JsonToken.VALUE_STRING && token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+      return (Decimal) ctx.handleUnexpectedToken(Decimal.class, jp);
+    }
+    return parse(jp);
+  }
+
+  /**
+   * Parses the current string or number token of the parser.
+   */
+  public static Decimal parse(JsonParser jp) throws IOException {
+    return Decimal.parse(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+  }
+}
@@ -0,0 +1,18 @@
+package com.binance.api.client.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Custom serializer for a Decimal, written as a JSON string like the API does.
+ */
+public class DecimalSerializer extends JsonSerializer<Decimal> {
+
+  @Override
+  public void serialize(Decimal decimal, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+    gen.writeString(decimal.toString());
+  }
+}
@@ -1,6 +1,8 @@
 package com.binance.api.client.domain.account;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
@@ -22,11 +24,15 @@ public class AssetBalance {
    */
   private String free;
 
+  private transient Decimal freeDecimal;
+
   /**
    * Locked by open orders.
    */
   private String locked;
 
+  private transient Decimal lockedDecimal;
+
   public String getAsset() {
     return asset;
   }
@@ -36,27 +42,69 @@ public class AssetBalance {
   }
 
   public String getFree() {
+    if (free == null && freeDecimal != null) {
+      free = freeDecimal.toString();
+    }
     return free;
   }
 
   public void setFree(String free) {
     this.free = free;
+    this.freeDecimal = null;
+  }
+
+  /**
+   * @return the free as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getFreeDecimal() {
+    if (freeDecimal == null && free != null) {
+      freeDecimal = Decimal.parse(free);
+    }
+    return freeDecimal;
+  }
+
+  @JsonIgnore
+  public void setFreeDecimal(Decimal freeDecimal) {
+    this.freeDecimal = freeDecimal;
+    this.free = null;
   }
 
   public String getLocked() {
+    if (locked == null && lockedDecimal != null) {
+      locked = lockedDecimal.toString();
+    }
     return locked;
   }
 
   public void setLocked(String locked) {
     this.locked = locked;
+    this.lockedDecimal = null;
+  }
+
+  /**
+   * @return the locked as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getLockedDecimal() {
+    if (lockedDecimal == null && locked != null) {
+      lockedDecimal = Decimal.parse(locked);
+    }
+    return lockedDecimal;
+  }
+
+  @JsonIgnore
+  public void setLockedDecimal(Decimal lockedDecimal) {
+    this.lockedDecimal = lockedDecimal;
+    this.locked = null;
   }
 
   @Override
   public String toString() {
     return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
         .append("asset", asset)
-        .append("free", free)
-        .append("locked", locked)
+        .append("free", getFree())
+        .append("locked", getLocked())
         .toString();
   }
 }
@@ -1,10 +1,12 @@
 package com.binance.api.client.domain.account;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
 import com.binance.api.client.domain.OrderSide;
 import com.binance.api.client.domain.OrderStatus;
 import com.binance.api.client.domain.OrderType;
 import com.binance.api.client.domain.TimeInForce;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -35,16 +37,22 @@ public class Order {
    */
   private String price;
 
+  private transient Decimal priceDecimal;
+
   /**
    * Original quantity.
    */
   private String origQty;
 
+  private transient Decimal origQtyDecimal;
+
   /**
    * Original quantity.
    */
   private String executedQty;
 
+  private transient Decimal executedQtyDecimal;
+
   /**
    * Order status.
    */
@@ -136,6 +144,18 @@ public class Order {
 
   public void setPrice(String price) {
     this.price = price;
+    this.priceDecimal = null;
+  }
+
+  /**
+   * @return the price as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getPriceDecimal() {
+    if (priceDecimal == null && price != null) {
+      priceDecimal = Decimal.parse(price);
+    }
+    return priceDecimal;
   }
 
   public String getOrigQty() {
@@ -144,6 +164,18 @@ public class Order {
 
   public void setOrigQty(String origQty) {
     this.origQty = origQty;
+    this.origQtyDecimal = null;
+  }
+
+  /**
+   * @return the orig qty as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getOrigQtyDecimal() {
+    if (origQtyDecimal == null && origQty != null) {
+      origQtyDecimal = Decimal.parse(origQty);
+    }
+    return origQtyDecimal;
   }
 
   public String getExecutedQty() {
@@ -152,6 +184,18 @@ public class Order {
 
   public void setExecutedQty(String executedQty) {
     this.executedQty = executedQty;
+    this.executedQtyDecimal = null;
+  }
+
+  /**
+   * @return the executed qty as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getExecutedQtyDecimal() {
+    if (executedQtyDecimal == null && executedQty != null) {
+      executedQtyDecimal = Decimal.parse(executedQty);
+    }
+    return executedQtyDecimal;
   }
 
   public OrderStatus getStatus() {
@@ -1,6 +1,8 @@
 package com.binance.api.client.domain.account;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
@@ -22,11 +24,15 @@ public class Trade {
    */
   private String price;
 
+  private transient Decimal priceDecimal;
+
   /**
    * Quantity.
    */
   private String qty;
 
+  private transient Decimal qtyDecimal;
+
 
   /**
    * Quote quantity for the trade (price * qty).
@@ -86,6 +92,18 @@ public class Trade {
 
   public void setPrice(String price) {
     this.price = price;
+    this.priceDecimal = null;
+  }
+
+  /**
+   * @return the price as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getPriceDecimal() {
+    if (priceDecimal == null && price != null) {
+      priceDecimal = Decimal.parse(price);
+    }
+    return priceDecimal;
   }
 
   public String getQty() {
@@ -94,6 +112,18 @@ public class Trade {
 
   public void setQty(String qty) {
     this.qty = qty;
+    this.qtyDecimal = null;
+  }
+
+  /**
+   * @return the qty as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getQtyDecimal() {
+    if (qtyDecimal == null && qty != null) {
+      qtyDecimal = Decimal.parse(qty);
+    }
+    return qtyDecimal;
   }
 
   public String getQuoteQty() {
@@ -1,7 +1,10 @@
 package com.binance.api.client.domain.event;
 
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.DecimalDeserializer;
 import com.binance.api.client.domain.account.AssetBalance;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
@@ -17,6 +20,24 @@ public class AssetBalanceDeserializer extends JsonDeserializer<AssetBalance> {
 
   @Override
   public AssetBalance deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+    if (BinanceApiConstants.DECODE_DECIMALS) {
+      AssetBalance assetBalance = new AssetBalance();
+      JsonToken token = jp.currentToken() == JsonToken.START_OBJECT ? jp.nextToken() : jp.currentToken();
+      for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+        String field = jp.getCurrentName();
+        jp.nextToken();
+        if ("a".equals(field)) {
+          assetBalance.setAsset(jp.getText());
+        } else if ("f".equals(field)) {
+          assetBalance.setFreeDecimal(DecimalDeserializer.parse(jp));
+        } else if ("l".equals(field)) {
+          assetBalance.setLockedDecimal(DecimalDeserializer.parse(jp));
+        } else {
+          jp.skipChildren();
+        }
+      }
+      return assetBalance;
+    }
     ObjectCodec oc = jp.getCodec();
     JsonNode node = oc.readTree(jp);
     final String asset = node.get("a").asText();
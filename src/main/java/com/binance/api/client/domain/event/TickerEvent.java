@@ -1,6 +1,8 @@
 package com.binance.api.client.domain.event;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -35,18 +37,24 @@ public class TickerEvent {
     @JsonProperty("c")
     private String currentDaysClosePrice;
 
+    private transient Decimal currentDaysClosePriceDecimal;
+
     @JsonProperty("Q")
     private String closeTradesQuantity;
 
     @JsonProperty("b")
     private String bestBidPrice;
 
+    private transient Decimal bestBidPriceDecimal;
+
     @JsonProperty("B")
     private String bestBidQuantity;
 
     @JsonProperty("a")
     private String bestAskPrice;
 
+    private transient Decimal bestAskPriceDecimal;
+
     @JsonProperty("A")
     private String bestAskQuantity;
 
@@ -142,6 +150,18 @@ public class TickerEvent {
 
     public void setCurrentDaysClosePrice(String currentDaysClosePrice) {
         this.currentDaysClosePrice = currentDaysClosePrice;
+        this.currentDaysClosePriceDecimal = null;
+    }
+
+    /**
+     * @return the current days close price as a {@link Decimal}, parsed on first use.
+     */
+    @JsonIgnore
+    public Decimal getCurrentDaysClosePriceDecimal() {
+        if (currentDaysClosePriceDecimal == null && currentDaysClosePrice != null) {
+            currentDaysClosePriceDecimal = Decimal.parse(currentDaysClosePrice);
+        }
+        return currentDaysClosePriceDecimal;
     }
 
     public String getCloseTradesQuantity() {
@@ -158,6 +178,18 @@ public class TickerEvent {
 
     public void setBestBidPrice(String bestBidPrice) {
         this.bestBidPrice = bestBidPrice;
+        this.bestBidPriceDecimal = null;
+    }
+
+    /**
+     * @return the best bid price as a {@link Decimal}, parsed on first use.
+     */
+    @JsonIgnore
+    public Decimal getBestBidPriceDecimal() {
+        if (bestBidPriceDecimal == null && bestBidPrice != null) {
+            bestBidPriceDecimal = Decimal.parse(bestBidPrice);
+        }
+        return bestBidPriceDecimal;
     }
 
     public String getBestBidQuantity() {
@@ -174,6 +206,18 @@ public class TickerEvent {
 
     public void setBestAskPrice(String bestAskPrice) {
         this.bestAskPrice = bestAskPrice;
+        this.bestAskPriceDecimal = null;
+    }
+
+    /**
+     * @return the best ask price as a {@link Decimal}, parsed on first use.
+     */
+    @JsonIgnore
+    public Decimal getBestAskPriceDecimal() {
+        if (bestAskPriceDecimal == null && bestAskPrice != null) {
+            bestAskPriceDecimal = Decimal.parse(bestAskPrice);
+        }
+        return bestAskPriceDecimal;
     }
 
     public String getBestAskQuantity() {
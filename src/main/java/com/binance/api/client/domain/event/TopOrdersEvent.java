@@ -2,6 +2,7 @@ package com.binance.api.client.domain.event;
 
 import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.domain.market.OrderBookEntry;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
@@ -12,10 +13,25 @@ import java.util.List;
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TopOrdersEvent {
+  /**
+   * Not part of the event, which the stream sends without a symbol: set from the subscription.
+   */
+  @JsonIgnore
+  private String symbol;
   private Long lastUpdateId;
   private List<OrderBookEntry> bids;
   private List<OrderBookEntry> asks;
 
+  @JsonIgnore
+  public String getSymbol() {
+    return symbol;
+  }
+
+  @JsonIgnore
+  public void setSymbol(String symbol) {
+    this.symbol = symbol;
+  }
+
   public Long getLastUpdateId() {
     return lastUpdateId;
   }
@@ -43,6 +59,7 @@ public class TopOrdersEvent {
   @Override
   public String toString() {
     return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+        .append("symbol", symbol)
         .append("lastUpdateId", lastUpdateId)
         .append("bids", bids)
         .append("asks", asks)
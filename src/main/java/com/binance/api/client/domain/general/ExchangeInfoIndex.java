@@ -0,0 +1,425 @@
+package com.binance.api.client.domain.general;
+
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.exception.BinanceApiException;
+
+import java.util.List;
+
+/**
+ * Immutable, indexed view of an {@link ExchangeInfo}, built once per exchange information refresh.
+ * <p>
+ * Symbols get dense ids from 0 to {@link #size()} - 1, in the order of {@link ExchangeInfo#getSymbols()}, and are
+ * looked up in an open-addressed hash table. Filter values are parsed once into longs scaled by 10^{@value #SCALE}
+ * and stored in arrays indexed by symbol id; a value of 0 means that the symbol has no such filter. PERCENT_PRICE
+ * multipliers are scaled the same way. MARKET_LOT_SIZE bounds are kept apart from LOT_SIZE ones, as MARKET orders must
+ * satisfy both. Notional bounds come from either the MIN_NOTIONAL or the NOTIONAL filter,
+ * which {@link #getNotionalFilterType(int)} tells apart.
+ */
+public final class ExchangeInfoIndex {
+
+  /**
+   * Number of decimals of the scaled filter values, which is the precision of every price and quantity on Binance.
+   */
+  public static final int SCALE = 8;
+
+  /**
+   * Scaled value of 1.
+   */
+  public static final long ONE = 100_000_000L;
+
+  private final ExchangeInfo exchangeInfo;
+
+  private final String[] symbols;
+
+  private final SymbolInfo[] symbolInfos;
+
+  /**
+   * Open-addressed table of symbol id + 1, 0 marking an empty slot.
+   */
+  private final int[] table;
+
+  private final int mask;
+
+  private final long[] minPrice;
+
+  private final long[] maxPrice;
+
+  private final long[] tickSize;
+
+  private final long[] minQty;
+
+  private final long[] maxQty;
+
+  private final long[] stepSize;
+
+  private final long[] marketMinQty;
+
+  private final long[] marketMaxQty;
+
+  private final long[] marketStepSize;
+
+  private final long[] minNotional;
+
+  private final boolean[] minNotionalAppliesToMarket;
+
+  private final long[] maxNotional;
+
+  private final boolean[] maxNotionalAppliesToMarket;
+
+  private final FilterType[] notionalFilterType;
+
+  private final long[] multiplierUp;
+
+  private final long[] multiplierDown;
+
+  private final int[] maxNumOrders;
+
+  private ExchangeInfoIndex(ExchangeInfo exchangeInfo) {
+    List<SymbolInfo> infos = exchangeInfo.getSymbols();
+    int size = infos.size();
+    this.exchangeInfo = exchangeInfo;
+    this.symbols = new String[size];
+    this.symbolInfos = new SymbolInfo[size];
+    this.minPrice = new long[size];
+    this.maxPrice = new long[size];
+    this.tickSize = new long[size];
+    this.minQty = new long[size];
+    this.maxQty = new long[size];
+    this.stepSize = new long[size];
+    this.marketMinQty = new long[size];
+    this.marketMaxQty = new long[size];
+    this.marketStepSize = new long[size];
+    this.minNotional = new long[size];
+    this.minNotionalAppliesToMarket = new boolean[size];
+    this.maxNotional = new long[size];
+    this.maxNotionalAppliesToMarket = new boolean[size];
+    this.notionalFilterType = new FilterType[size];
+    this.multiplierUp = new long[size];
+    this.multiplierDown = new long[size];
+    this.maxNumOrders = new int[size];
+
+    int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+    this.table = new int[capacity];
+    this.mask = capacity - 1;
+
+    for (int id = 0; id < size; id++) {
+      SymbolInfo info = infos.get(id);
+      symbols[id] = info.getSymbol();
+      symbolInfos[id] = info;
+      int slot = hash(info.getSymbol()) & mask;
+      while (table[slot] != 0) {
+        if (symbols[table[slot] - 1].equals(info.getSymbol())) {
+          throw new BinanceApiException("Duplicate symbol " + info.getSymbol());
+        }
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = id + 1;
+
+      if (info.getFilters() == null) {
+        continue;
+      }
+      for (SymbolFilter filter : info.getFilters()) {
+        if (filter.getFilterType() == null) {
+          continue;
+        }
+        switch (filter.getFilterType()) {
+          case PRICE_FILTER:
+            minPrice[id] = parse(filter.getMinPrice());
+            maxPrice[id] = parse(filter.getMaxPrice());
+            tickSize[id] = parse(filter.getTickSize());
+            break;
+          case LOT_SIZE:
+            minQty[id] = parse(filter.getMinQty());
+            maxQty[id] = parse(filter.getMaxQty());
+            stepSize[id] = parse(filter.getStepSize());
+            break;
+          case MARKET_LOT_SIZE:
+            marketMinQty[id] = parse(filter.getMinQty());
+            marketMaxQty[id] = parse(filter.getMaxQty());
+            marketStepSize[id] = parse(filter.getStepSize());
+            break;
+          case MIN_NOTIONAL:
+            minNotional[id] = parse(filter.getMinNotional());
+            minNotionalAppliesToMarket[id] = Boolean.TRUE.equals(filter.getApplyToMarket());
+            notionalFilterType[id] = FilterType.MIN_NOTIONAL;
+            break;
+          case NOTIONAL:
+            minNotional[id] = parse(filter.getMinNotional());
+            minNotionalAppliesToMarket[id] = Boolean.TRUE.equals(filter.getApplyMinToMarket());
+            maxNotional[id] = parse(filter.getMaxNotional());
+            maxNotionalAppliesToMarket[id] = Boolean.TRUE.equals(filter.getApplyMaxToMarket());
+            notionalFilterType[id] = FilterType.NOTIONAL;
+            break;
+          case PERCENT_PRICE:
+            multiplierUp[id] = parse(filter.getMultiplierUp());
+            multiplierDown[id] = parse(filter.getMultiplierDown());
+            break;
+          case MAX_NUM_ORDERS:
+            maxNumOrders[id] = filter.getMaxNumOrders() != null ? filter.getMaxNumOrders() : 0;
+            break;
+          default:
+            break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Indexes the given exchange information.
+   */
+  public static ExchangeInfoIndex of(ExchangeInfo exchangeInfo) {
+    return new ExchangeInfoIndex(exchangeInfo);
+  }
+
+  /**
+   * @return the indexed exchange information.
+   */
+  public ExchangeInfo getExchangeInfo() {
+    return exchangeInfo;
+  }
+
+  /**
+   * @return the number of symbols.
+   */
+  public int size() {
+    return symbols.length;
+  }
+
+  /**
+   * @param symbol the symbol (e.g. ETHBTC)
+   * @return the id of the symbol, or -1 if the symbol is unknown.
+   */
+  public int idOf(String symbol) {
+    int slot = hash(symbol) & mask;
+    int entry;
+    while ((entry = table[slot]) != 0) {
+      if (symbols[entry - 1].equals(symbol)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Looks up a symbol held in characters, e.g. the text buffer of a JSON parser, without creating a String.
+   *
+   * @return the id of the symbol, or -1 if it is unknown
+   */
+  public int idOf(char[] chars, int offset, int length) {
+    int h = 0;
+    for (int i = offset; i < offset + length; i++) {
+      h = 31 * h + chars[i];
+    }
+    int slot = mix(h) & mask;
+    int entry;
+    while ((entry = table[slot]) != 0) {
+      if (regionEquals(symbols[entry - 1], chars, offset, length)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private static boolean regionEquals(String symbol, char[] chars, int offset, int length) {
+    if (symbol.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (symbol.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the id of the symbol.
+   * @throws BinanceApiException if the symbol is unknown
+   */
+  public int requireId(String symbol) {
+    int id = idOf(symbol);
+    if (id < 0) {
+      throw new BinanceApiException("Unable to obtain information for symbol " + symbol);
+    }
+    return id;
+  }
+
+  public String getSymbol(int id) {
+    return symbols[id];
+  }
+
+  public SymbolInfo getSymbolInfo(int id) {
+    return symbolInfos[id];
+  }
+
+  public long getMinPrice(int id) {
+    return minPrice[id];
+  }
+
+  public long getMaxPrice(int id) {
+    return maxPrice[id];
+  }
+
+  public long getTickSize(int id) {
+    return tickSize[id];
+  }
+
+  public long getMinQty(int id) {
+    return minQty[id];
+  }
+
+  public long getMaxQty(int id) {
+    return maxQty[id];
+  }
+
+  public long getStepSize(int id) {
+    return stepSize[id];
+  }
+
+  public long getMarketMinQty(int id) {
+    return marketMinQty[id];
+  }
+
+  public long getMarketMaxQty(int id) {
+    return marketMaxQty[id];
+  }
+
+  public long getMarketStepSize(int id) {
+    return marketStepSize[id];
+  }
+
+  public long getMinNotional(int id) {
+    return minNotional[id];
+  }
+
+  public boolean isMinNotionalAppliedToMarket(int id) {
+    return minNotionalAppliesToMarket[id];
+  }
+
+  public long getMaxNotional(int id) {
+    return maxNotional[id];
+  }
+
+  public boolean isMaxNotionalAppliedToMarket(int id) {
+    return maxNotionalAppliesToMarket[id];
+  }
+
+  /**
+   * @return the filter the notional bounds of the symbol come from, MIN_NOTIONAL or NOTIONAL, or null if it has none.
+   */
+  public FilterType getNotionalFilterType(int id) {
+    return notionalFilterType[id];
+  }
+
+  public long getMultiplierUp(int id) {
+    return multiplierUp[id];
+  }
+
+  public long getMultiplierDown(int id) {
+    return multiplierDown[id];
+  }
+
+  public int getMaxNumOrders(int id) {
+    return maxNumOrders[id];
+  }
+
+  /**
+   * Parses a decimal string into a long scaled by 10^{@value #SCALE}.
+   *
+   * @param value a decimal such as "0.00100000", or null
+   * @return the scaled value, 0 for null
+   * @throws NumberFormatException if the value is malformed, has non-zero digits beyond the scale or overflows
+   */
+  public static long parse(String value) {
+    return value != null ? Decimal.parseScaled(value, SCALE) : 0;
+  }
+
+  /**
+   * Parses a volume, which exceeds the range of the scaled longs for tokens with a large supply, into a double.
+   *
+   * @param value a decimal such as "5123456789012.00", or null
+   * @return the value, 0 for null
+   * @throws NumberFormatException if the value is malformed
+   */
+  public static double parseVolume(String value) {
+    return value != null ? Decimal.parseDouble(value) + 0.0 : 0;
+  }
+
+  /**
+   * Parses a decimal held in characters, e.g. the text buffer of a JSON parser, into a long scaled by
+   * 10^{@value #SCALE}, without creating a String.
+   *
+   * @throws NumberFormatException if the value is malformed, has non-zero digits beyond the scale or overflows
+   */
+  public static long parse(char[] chars, int offset, int length) {
+    return Decimal.parseScaled(chars, offset, length, SCALE);
+  }
+
+  /**
+   * Formats a value scaled by 10^{@value #SCALE} as a plain decimal string without trailing zeros.
+   */
+  public static String format(long scaled) {
+    StringBuilder sb = new StringBuilder(24);
+    if (scaled < 0) {
+      sb.append('-');
+    }
+    long abs = Math.abs(scaled);
+    sb.append(abs / ONE);
+    long fraction = abs % ONE;
+    if (fraction != 0) {
+      int decimals = SCALE;
+      while (fraction % 10 == 0) {
+        fraction /= 10;
+        decimals--;
+      }
+      sb.append('.');
+      String digits = Long.toString(fraction);
+      for (int i = digits.length(); i < decimals; i++) {
+        sb.append('0');
+      }
+      sb.append(digits);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @return the product of two values scaled by 10^{@value #SCALE}, rounded towards zero.
+   * @throws ArithmeticException on overflow
+   */
+  public static long multiply(long a, long b) {
+    long aHigh = a / ONE;
+    long aLow = a % ONE;
+    long bHigh = b / ONE;
+    long bLow = b % ONE;
+    long high = Math.multiplyExact(Math.multiplyExact(aHigh, bHigh), ONE);
+    long middle = Math.addExact(Math.multiplyExact(aHigh, bLow), Math.multiplyExact(aLow, bHigh));
+    return Math.addExact(Math.addExact(high, middle), aLow * bLow / ONE);
+  }
+
+  /**
+   * @return the quotient of two non-negative values scaled by 10^{@value #SCALE}, rounded down, computed one decimal
+   * at a time so that the dividend is never scaled up as a whole.
+   * @throws ArithmeticException on overflow
+   */
+  public static long divide(long dividend, long divisor) {
+    long quotient = dividend / divisor;
+    long remainder = dividend % divisor;
+    for (int i = 0; i < SCALE; i++) {
+      remainder = Math.multiplyExact(remainder, 10);
+      quotient = Math.addExact(Math.multiplyExact(quotient, 10), remainder / divisor);
+      remainder %= divisor;
+    }
+    return quotient;
+  }
+
+  private static int hash(String symbol) {
+    return mix(symbol.hashCode());
+  }
+
+  private static int mix(int hashCode) {
+    int h = hashCode * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -62,6 +62,50 @@ public class SymbolFilter {
    */
   private String minNotional;
 
+  /**
+   * Whether the MIN_NOTIONAL filter applies to MARKET orders, using the average price over the last avgPriceMins minutes.
+   */
+  private Boolean applyToMarket;
+
+  /**
+   * Whether the minimum of the NOTIONAL filter applies to MARKET orders.
+   */
+  private Boolean applyMinToMarket;
+
+  /**
+   * Defines the maximum notional value allowed for an order on a symbol by the NOTIONAL filter.
+   */
+  private String maxNotional;
+
+  /**
+   * Whether the maximum of the NOTIONAL filter applies to MARKET orders.
+   */
+  private Boolean applyMaxToMarket;
+
+  /**
+   * Number of minutes the average price used by MIN_NOTIONAL and PERCENT_PRICE is calculated over. 0 is the last price.
+   */
+  private Integer avgPriceMins;
+
+  // PERCENT_PRICE
+
+  /**
+   * Defines how high above the average price the price can be, as a multiplier of the average price.
+   */
+  private String multiplierUp;
+
+  /**
+   * Defines how low below the average price the price can be, as a multiplier of the average price.
+   */
+  private String multiplierDown;
+
+  // MAX_NUM_ORDERS
+
+  /**
+   * Defines the maximum number of orders an account is allowed to have open on a symbol.
+   */
+  private Integer maxNumOrders;
+
 
   // MAX_NUM_ALGO_ORDERS
 
@@ -141,6 +185,70 @@ public class SymbolFilter {
     this.minNotional = minNotional;
   }
 
+  public Boolean getApplyToMarket() {
+    return applyToMarket;
+  }
+
+  public void setApplyToMarket(Boolean applyToMarket) {
+    this.applyToMarket = applyToMarket;
+  }
+
+  public Boolean getApplyMinToMarket() {
+    return applyMinToMarket;
+  }
+
+  public void setApplyMinToMarket(Boolean applyMinToMarket) {
+    this.applyMinToMarket = applyMinToMarket;
+  }
+
+  public String getMaxNotional() {
+    return maxNotional;
+  }
+
+  public void setMaxNotional(String maxNotional) {
+    this.maxNotional = maxNotional;
+  }
+
+  public Boolean getApplyMaxToMarket() {
+    return applyMaxToMarket;
+  }
+
+  public void setApplyMaxToMarket(Boolean applyMaxToMarket) {
+    this.applyMaxToMarket = applyMaxToMarket;
+  }
+
+  public Integer getAvgPriceMins() {
+    return avgPriceMins;
+  }
+
+  public void setAvgPriceMins(Integer avgPriceMins) {
+    this.avgPriceMins = avgPriceMins;
+  }
+
+  public String getMultiplierUp() {
+    return multiplierUp;
+  }
+
+  public void setMultiplierUp(String multiplierUp) {
+    this.multiplierUp = multiplierUp;
+  }
+
+  public String getMultiplierDown() {
+    return multiplierDown;
+  }
+
+  public void setMultiplierDown(String multiplierDown) {
+    this.multiplierDown = multiplierDown;
+  }
+
+  public Integer getMaxNumOrders() {
+    return maxNumOrders;
+  }
+
+  public void setMaxNumOrders(Integer maxNumOrders) {
+    this.maxNumOrders = maxNumOrders;
+  }
+
   public String getMaxNumAlgoOrders() {
     return maxNumAlgoOrders;
   }
@@ -1,6 +1,8 @@
 package com.binance.api.client.domain.market;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
@@ -20,6 +22,8 @@ public class BookTicker {
    */
   private String bidPrice;
 
+  private transient Decimal bidPriceDecimal;
+
   /**
    * Bid quantity
    */
@@ -30,6 +34,8 @@ public class BookTicker {
    */
   private String askPrice;
 
+  private transient Decimal askPriceDecimal;
+
   /**
    * Ask quantity.
    */
@@ -49,6 +55,18 @@ public class BookTicker {
 
   public void setBidPrice(String bidPrice) {
     this.bidPrice = bidPrice;
+    this.bidPriceDecimal = null;
+  }
+
+  /**
+   * @return the bid price as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getBidPriceDecimal() {
+    if (bidPriceDecimal == null && bidPrice != null) {
+      bidPriceDecimal = Decimal.parse(bidPrice);
+    }
+    return bidPriceDecimal;
   }
 
   public String getBidQty() {
@@ -65,6 +83,18 @@ public class BookTicker {
 
   public void setAskPrice(String askPrice) {
     this.askPrice = askPrice;
+    this.askPriceDecimal = null;
+  }
+
+  /**
+   * @return the ask price as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getAskPriceDecimal() {
+    if (askPriceDecimal == null && askPrice != null) {
+      askPriceDecimal = Decimal.parse(askPrice);
+    }
+    return askPriceDecimal;
   }
 
   public String getAskQty() {
@@ -1,7 +1,9 @@
 package com.binance.api.client.domain.market;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -18,14 +20,24 @@ public class Candlestick {
 
   private String open;
 
+  private transient Decimal openDecimal;
+
   private String high;
 
+  private transient Decimal highDecimal;
+
   private String low;
 
+  private transient Decimal lowDecimal;
+
   private String close;
 
+  private transient Decimal closeDecimal;
+
   private String volume;
 
+  private transient Decimal volumeDecimal;
+
   private Long closeTime;
 
   private String quoteAssetVolume;
@@ -50,6 +62,18 @@ public class Candlestick {
 
   public void setOpen(String open) {
     this.open = open;
+    this.openDecimal = null;
+  }
+
+  /**
+   * @return the open as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getOpenDecimal() {
+    if (openDecimal == null && open != null) {
+      openDecimal = Decimal.parse(open);
+    }
+    return openDecimal;
   }
 
   public String getHigh() {
@@ -58,6 +82,18 @@ public class Candlestick {
 
   public void setHigh(String high) {
     this.high = high;
+    this.highDecimal = null;
+  }
+
+  /**
+   * @return the high as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getHighDecimal() {
+    if (highDecimal == null && high != null) {
+      highDecimal = Decimal.parse(high);
+    }
+    return highDecimal;
   }
 
   public String getLow() {
@@ -66,6 +102,18 @@ public class Candlestick {
 
   public void setLow(String low) {
     this.low = low;
+    this.lowDecimal = null;
+  }
+
+  /**
+   * @return the low as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getLowDecimal() {
+    if (lowDecimal == null && low != null) {
+      lowDecimal = Decimal.parse(low);
+    }
+    return lowDecimal;
   }
 
   public String getClose() {
@@ -74,6 +122,18 @@ public class Candlestick {
 
   public void setClose(String close) {
     this.close = close;
+    this.closeDecimal = null;
+  }
+
+  /**
+   * @return the close as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getCloseDecimal() {
+    if (closeDecimal == null && close != null) {
+      closeDecimal = Decimal.parse(close);
+    }
+    return closeDecimal;
   }
 
   public String getVolume() {
@@ -82,6 +142,18 @@ public class Candlestick {
 
   public void setVolume(String volume) {
     this.volume = volume;
+    this.volumeDecimal = null;
+  }
+
+  /**
+   * @return the volume as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getVolumeDecimal() {
+    if (volumeDecimal == null && volume != null) {
+      volumeDecimal = Decimal.parse(volume);
+    }
+    return volumeDecimal;
   }
 
   public Long getCloseTime() {
@@ -8,29 +8,52 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public enum CandlestickInterval {
-  ONE_MINUTE("1m"),
-  THREE_MINUTES("3m"),
-  FIVE_MINUTES("5m"),
-  FIFTEEN_MINUTES("15m"),
-  HALF_HOURLY("30m"),
-  HOURLY("1h"),
-  TWO_HOURLY("2h"),
-  FOUR_HOURLY("4h"),
-  SIX_HOURLY("6h"),
-  EIGHT_HOURLY("8h"),
-  TWELVE_HOURLY("12h"),
-  DAILY("1d"),
-  THREE_DAILY("3d"),
-  WEEKLY("1w"),
-  MONTHLY("1M");
+  ONE_MINUTE("1m", 60_000L),
+  THREE_MINUTES("3m", 3 * 60_000L),
+  FIVE_MINUTES("5m", 5 * 60_000L),
+  FIFTEEN_MINUTES("15m", 15 * 60_000L),
+  HALF_HOURLY("30m", 30 * 60_000L),
+  HOURLY("1h", 3_600_000L),
+  TWO_HOURLY("2h", 2 * 3_600_000L),
+  FOUR_HOURLY("4h", 4 * 3_600_000L),
+  SIX_HOURLY("6h", 6 * 3_600_000L),
+  EIGHT_HOURLY("8h", 8 * 3_600_000L),
+  TWELVE_HOURLY("12h", 12 * 3_600_000L),
+  DAILY("1d", 86_400_000L),
+  THREE_DAILY("3d", 3 * 86_400_000L),
+  WEEKLY("1w", 7 * 86_400_000L),
+  MONTHLY("1M", 31 * 86_400_000L);
 
   private final String intervalId;
 
-  CandlestickInterval(String intervalId) {
+  private final long durationMillis;
+
+  CandlestickInterval(String intervalId, long durationMillis) {
     this.intervalId = intervalId;
+    this.durationMillis = durationMillis;
   }
 
   public String getIntervalId() {
     return intervalId;
   }
+
+  /**
+   * @return the duration of a bar in milliseconds; for MONTHLY, the duration of the longest month.
+   */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  /**
+   * @return the interval with the given id (e.g. "1m"), as found in candlestick events.
+   * @throws IllegalArgumentException if the id is unknown
+   */
+  public static CandlestickInterval fromIntervalId(String intervalId) {
+    for (CandlestickInterval interval : values()) {
+      if (interval.intervalId.equals(intervalId)) {
+        return interval;
+      }
+    }
+    throw new IllegalArgumentException("Unknown candlestick interval " + intervalId);
+  }
 }
@@ -0,0 +1,20 @@
+package com.binance.api.client.domain.market;
+
+/**
+ * Number of levels per side of a partial book depth stream.
+ */
+public enum DepthLevels {
+  FIVE(5),
+  TEN(10),
+  TWENTY(20);
+
+  private final int levels;
+
+  DepthLevels(int levels) {
+    this.levels = levels;
+  }
+
+  public int getLevels() {
+    return levels;
+  }
+}
@@ -0,0 +1,29 @@
+package com.binance.api.client.domain.market;
+
+/**
+ * Update speed of a depth stream: events are pushed every second, or every 100ms.
+ */
+public enum DepthUpdateSpeed {
+  ONE_SECOND("", 1000),
+  HUNDRED_MILLISECONDS("@100ms", 100);
+
+  private final String suffix;
+
+  private final int periodMillis;
+
+  DepthUpdateSpeed(String suffix, int periodMillis) {
+    this.suffix = suffix;
+    this.periodMillis = periodMillis;
+  }
+
+  /**
+   * @return the suffix of the stream name, e.g. "@100ms", empty for the default speed.
+   */
+  public String getSuffix() {
+    return suffix;
+  }
+
+  public int getPeriodMillis() {
+    return periodMillis;
+  }
+}
@@ -1,6 +1,8 @@
 package com.binance.api.client.domain.market;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -15,29 +17,76 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 public class OrderBookEntry {
 
   private String price;
+
+  private transient Decimal priceDecimal;
+
   private String qty;
 
+  private transient Decimal qtyDecimal;
+
   public String getPrice() {
+    if (price == null && priceDecimal != null) {
+      price = priceDecimal.toString();
+    }
     return price;
   }
 
   public void setPrice(String price) {
     this.price = price;
+    this.priceDecimal = null;
+  }
+
+  /**
+   * @return the price as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getPriceDecimal() {
+    if (priceDecimal == null && price != null) {
+      priceDecimal = Decimal.parse(price);
+    }
+    return priceDecimal;
+  }
+
+  @JsonIgnore
+  public void setPriceDecimal(Decimal priceDecimal) {
+    this.priceDecimal = priceDecimal;
+    this.price = null;
   }
 
   public String getQty() {
+    if (qty == null && qtyDecimal != null) {
+      qty = qtyDecimal.toString();
+    }
     return qty;
   }
 
   public void setQty(String qty) {
     this.qty = qty;
+    this.qtyDecimal = null;
+  }
+
+  /**
+   * @return the qty as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getQtyDecimal() {
+    if (qtyDecimal == null && qty != null) {
+      qtyDecimal = Decimal.parse(qty);
+    }
+    return qtyDecimal;
+  }
+
+  @JsonIgnore
+  public void setQtyDecimal(Decimal qtyDecimal) {
+    this.qtyDecimal = qtyDecimal;
+    this.qty = null;
   }
 
   @Override
   public String toString() {
     return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
-        .append("price", price)
-        .append("qty", qty)
+        .append("price", getPrice())
+        .append("qty", getQty())
         .toString();
   }
 }
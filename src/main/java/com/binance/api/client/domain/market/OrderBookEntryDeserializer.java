@@ -1,6 +1,9 @@
 package com.binance.api.client.domain.market;
 
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.DecimalDeserializer;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
@@ -15,6 +18,17 @@ public class OrderBookEntryDeserializer extends JsonDeserializer<OrderBookEntry>
 
   @Override
   public OrderBookEntry deserialize(JsonParser jp, DeserializationContext ctx) throws IOException {
+    if (BinanceApiConstants.DECODE_DECIMALS && jp.isExpectedStartArrayToken()) {
+      OrderBookEntry orderBookEntry = new OrderBookEntry();
+      jp.nextToken();
+      orderBookEntry.setPriceDecimal(DecimalDeserializer.parse(jp));
+      jp.nextToken();
+      orderBookEntry.setQtyDecimal(DecimalDeserializer.parse(jp));
+      while (jp.nextToken() != JsonToken.END_ARRAY) {
+        jp.skipChildren();
+      }
+      return orderBookEntry;
+    }
     ObjectCodec oc = jp.getCodec();
     JsonNode node = oc.readTree(jp);
     final String price = node.get(0).asText();
@@ -1,6 +1,8 @@
 package com.binance.api.client.domain.market;
 
 import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
@@ -20,6 +22,8 @@ public class TickerPrice {
    */
   private String price;
 
+  private transient Decimal priceDecimal;
+
   public String getSymbol() {
     return symbol;
   }
@@ -34,6 +38,18 @@ public class TickerPrice {
 
   public void setPrice(String price) {
     this.price = price;
+    this.priceDecimal = null;
+  }
+
+  /**
+   * @return the price as a {@link Decimal}, parsed on first use.
+   */
+  @JsonIgnore
+  public Decimal getPriceDecimal() {
+    if (priceDecimal == null && price != null) {
+      priceDecimal = Decimal.parse(price);
+    }
+    return priceDecimal;
   }
 
   @Override
@@ -0,0 +1,34 @@
+package com.binance.api.client.exception;
+
+import com.binance.api.client.domain.general.FilterType;
+
+/**
+ * An order rejected locally because it violates a symbol filter, before being sent to Binance.
+ */
+public class OrderValidationException extends BinanceApiException {
+
+  private static final long serialVersionUID = -5246279314527581206L;
+
+  /**
+   * Filter violated by the order.
+   */
+  private final FilterType filterType;
+
+  /**
+   * Instantiates a new order validation exception.
+   *
+   * @param filterType the violated filter
+   * @param message the message
+   */
+  public OrderValidationException(FilterType filterType, String message) {
+    super("Filter failure: " + filterType + ": " + message);
+    this.filterType = filterType;
+  }
+
+  /**
+   * @return the filter violated by the order.
+   */
+  public FilterType getFilterType() {
+    return filterType;
+  }
+}
@@ -2,6 +2,7 @@ package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiAsyncMarginRestClient;
 import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.config.ApiEndpoints;
 import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.domain.TransferType;
 import com.binance.api.client.domain.account.MarginAccount;
@@ -31,6 +32,14 @@ public class BinanceApiAsyncMarginRestClientImpl implements BinanceApiAsyncMargi
         binanceApiService = createService(BinanceApiService.class, apiKey, secret);
     }
 
+    public BinanceApiAsyncMarginRestClientImpl(String apiKey, String secret, TrafficLanes lanes) {
+        binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes);
+    }
+
+    public BinanceApiAsyncMarginRestClientImpl(String apiKey, String secret, TrafficLanes lanes, ApiEndpoints endpoints) {
+        binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes, endpoints.getApiBaseUrl());
+    }
+
     // Margin Account endpoints
 
     @Override
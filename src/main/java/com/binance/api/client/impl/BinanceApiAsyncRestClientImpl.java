@@ -2,6 +2,7 @@ package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiAsyncRestClient;
 import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.config.ApiEndpoints;
 import com.binance.api.client.config.BinanceApiConfig;
 import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.domain.account.Account;
@@ -42,10 +43,24 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
 
   private final BinanceApiService binanceApiService;
 
+  /**
+   * Asset info base URL, or null to follow {@link BinanceApiConfig}.
+   */
+  private String assetInfoApiBaseUrl;
+
   public BinanceApiAsyncRestClientImpl(String apiKey, String secret) {
     binanceApiService = createService(BinanceApiService.class, apiKey, secret);
   }
 
+  public BinanceApiAsyncRestClientImpl(String apiKey, String secret, TrafficLanes lanes) {
+    binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes);
+  }
+
+  public BinanceApiAsyncRestClientImpl(String apiKey, String secret, TrafficLanes lanes, ApiEndpoints endpoints) {
+    binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes, endpoints.getApiBaseUrl());
+    assetInfoApiBaseUrl = endpoints.getAssetInfoApiBaseUrl();
+  }
+
   // General endpoints
 
   @Override
@@ -65,7 +80,7 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
 
   @Override
   public void getAllAssets(BinanceApiCallback<List<Asset>> callback) {
-    binanceApiService.getAllAssets(BinanceApiConfig.getAssetInfoApiBaseUrl() + "assetWithdraw/getAllAsset.html")
+    binanceApiService.getAllAssets(getAssetInfoApiBaseUrl() + "assetWithdraw/getAllAsset.html")
         .enqueue(new BinanceApiCallbackAdapter<>(callback));
   }
 
@@ -269,4 +284,8 @@ public class BinanceApiAsyncRestClientImpl implements BinanceApiAsyncRestClient
   public void closeUserDataStream(String listenKey, BinanceApiCallback<Void> callback) {
     binanceApiService.closeAliveUserDataStream(listenKey).enqueue(new BinanceApiCallbackAdapter<>(callback));
   }
+
+  private String getAssetInfoApiBaseUrl() {
+    return assetInfoApiBaseUrl != null ? assetInfoApiBaseUrl : BinanceApiConfig.getAssetInfoApiBaseUrl();
+  }
 }
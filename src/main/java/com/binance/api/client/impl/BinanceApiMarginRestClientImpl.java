@@ -1,6 +1,7 @@
 package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiMarginRestClient;
+import com.binance.api.client.config.ApiEndpoints;
 import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.domain.TransferType;
 import com.binance.api.client.domain.account.LoanQueryResult;
@@ -16,6 +17,7 @@ import com.binance.api.client.domain.account.request.CancelOrderRequest;
 import com.binance.api.client.domain.account.request.CancelOrderResponse;
 import com.binance.api.client.domain.account.request.OrderRequest;
 import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.trading.OrderValidator;
 
 import java.util.List;
 
@@ -29,10 +31,27 @@ public class BinanceApiMarginRestClientImpl implements BinanceApiMarginRestClien
 
     private final BinanceApiService binanceApiService;
 
+    private OrderValidator orderValidator;
+
     public BinanceApiMarginRestClientImpl(String apiKey, String secret) {
         binanceApiService = createService(BinanceApiService.class, apiKey, secret);
     }
 
+    public BinanceApiMarginRestClientImpl(String apiKey, String secret, TrafficLanes lanes) {
+        binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes);
+    }
+
+    public BinanceApiMarginRestClientImpl(String apiKey, String secret, TrafficLanes lanes, ApiEndpoints endpoints) {
+        binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes, endpoints.getApiBaseUrl());
+    }
+
+    /**
+     * Sets a validator checking orders against the symbol filters before they are sent, or null to send them as is.
+     */
+    public void setOrderValidator(OrderValidator orderValidator) {
+        this.orderValidator = orderValidator;
+    }
+
     @Override
     public MarginAccount getAccount() {
         long timestamp = System.currentTimeMillis();
@@ -47,6 +66,9 @@ public class BinanceApiMarginRestClientImpl implements BinanceApiMarginRestClien
 
     @Override
     public MarginNewOrderResponse newOrder(MarginNewOrder order) {
+        if (orderValidator != null) {
+            orderValidator.validate(order);
+        }
         return executeSync(binanceApiService.newMarginOrder(order.getSymbol(), order.getSide(), order.getType(),
                 order.getTimeInForce(), order.getQuantity(), order.getPrice(), order.getNewClientOrderId(), order.getStopPrice(),
                 order.getIcebergQty(), order.getNewOrderRespType(), order.getSideEffectType(), order.getRecvWindow(), order.getTimestamp()));
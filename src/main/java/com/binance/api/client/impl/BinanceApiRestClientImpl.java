@@ -1,6 +1,7 @@
 package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.config.ApiEndpoints;
 import com.binance.api.client.config.BinanceApiConfig;
 import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.domain.account.Account;
@@ -37,6 +38,8 @@ import com.binance.api.client.domain.market.CandlestickInterval;
 import com.binance.api.client.domain.market.OrderBook;
 import com.binance.api.client.domain.market.TickerPrice;
 import com.binance.api.client.domain.market.TickerStatistics;
+import com.binance.api.client.trading.OrderTracker;
+import com.binance.api.client.trading.OrderValidator;
 import retrofit2.Call;
 
 import java.util.List;
@@ -53,10 +56,32 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
 
     private final BinanceApiService binanceApiService;
 
+    /**
+     * Asset info base URL, or null to follow {@link BinanceApiConfig}.
+     */
+    private String assetInfoApiBaseUrl;
+
+    private OrderValidator orderValidator;
+
+    private OrderTracker orderTracker;
+
     public BinanceApiRestClientImpl(String apiKey, String secret) {
         binanceApiService = createService(BinanceApiService.class, apiKey, secret);
     }
 
+    public BinanceApiRestClientImpl(String apiKey, String secret, TrafficLanes lanes) {
+        binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes);
+    }
+
+    public BinanceApiRestClientImpl(String apiKey, String secret, TrafficLanes lanes, ApiEndpoints endpoints) {
+        binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes, endpoints.getApiBaseUrl());
+        assetInfoApiBaseUrl = endpoints.getAssetInfoApiBaseUrl();
+    }
+
+    /**
+     * @deprecated replaces the JVM-wide shared client; use a factory built with a proxy instead.
+     */
+    @Deprecated
     public BinanceApiRestClientImpl(String apiKey, String secret, boolean useProxy) {
         if (useProxy) {
             changeSharedClientProxy();
@@ -64,6 +89,10 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
         binanceApiService = createService(BinanceApiService.class, apiKey, secret);
     }
 
+    /**
+     * @deprecated replaces the JVM-wide shared client; use a factory built with a proxy instead.
+     */
+    @Deprecated
     public BinanceApiRestClientImpl(String apiKey, String secret, String ip, String port, String login, String password) {
         if (ip != null && port != null && login != null && password != null) {
             changeSharedClientProxy(ip, port, login, password);
@@ -71,6 +100,20 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
         binanceApiService = createService(BinanceApiService.class, apiKey, secret);
     }
 
+    /**
+     * Sets a validator checking orders against the symbol filters before they are sent, or null to send them as is.
+     */
+    public void setOrderValidator(OrderValidator orderValidator) {
+        this.orderValidator = orderValidator;
+    }
+
+    /**
+     * Sets a tracker registering every order placed with {@link #newOrder(NewOrder)}, or null to track none.
+     */
+    public void setOrderTracker(OrderTracker orderTracker) {
+        this.orderTracker = orderTracker;
+    }
+
     // General endpoints
 
     @Override
@@ -91,7 +134,7 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
     @Override
     public List<Asset> getAllAssets() {
         return executeSync(binanceApiService
-                .getAllAssets(BinanceApiConfig.getAssetInfoApiBaseUrl() + "assetWithdraw/getAllAsset.html"));
+                .getAllAssets(getAssetInfoApiBaseUrl() + "assetWithdraw/getAllAsset.html"));
     }
 
     // Market Data endpoints
@@ -160,6 +203,13 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
 
     @Override
     public NewOrderResponse newOrder(NewOrder order) {
+        if (orderValidator != null) {
+            orderValidator.validate(order);
+        }
+        if (orderTracker != null) {
+            // Before building the call, as it assigns a client order id if the order has none
+            orderTracker.register(order);
+        }
         final Call<NewOrderResponse> call;
         if (order.getQuoteOrderQty() == null) {
             call = binanceApiService.newOrder(order.getSymbol(), order.getSide(), order.getType(),
@@ -172,11 +222,25 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
                     order.getStopPrice(), order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(),
                     order.getTimestamp());
         }
-        return executeSync(call);
+        if (orderTracker == null) {
+            return executeSync(call);
+        }
+        final NewOrderResponse response;
+        try {
+            response = executeSync(call);
+        } catch (RuntimeException e) {
+            orderTracker.onNewOrderFailure(order.getNewClientOrderId(), e);
+            throw e;
+        }
+        orderTracker.onNewOrderResponse(response);
+        return response;
     }
 
     @Override
     public void newOrderTest(NewOrder order) {
+        if (orderValidator != null) {
+            orderValidator.validate(order);
+        }
         executeSync(binanceApiService.newOrderTest(order.getSymbol(), order.getSide(), order.getType(),
                 order.getTimeInForce(), order.getQuantity(), order.getPrice(), order.getNewClientOrderId(),
                 order.getStopPrice(), order.getIcebergQty(), order.getNewOrderRespType(), order.getRecvWindow(),
@@ -214,6 +278,9 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
 
     @Override
     public NewOCOResponse newOCO(NewOCO oco) {
+        if (orderValidator != null) {
+            orderValidator.validate(oco);
+        }
         return executeSync(binanceApiService.newOCO(oco.getSymbol(), oco.getListClientOrderId(), oco.getSide(),
                 oco.getQuantity(), oco.getLimitClientOrderId(), oco.getPrice(), oco.getLimitIcebergQty(),
                 oco.getStopClientOrderId(), oco.getStopPrice(), oco.getStopLimitPrice(), oco.getStopIcebergQty(),
@@ -343,4 +410,8 @@ public class BinanceApiRestClientImpl implements BinanceApiRestClient {
     public List<CoinInformation> coinsAvailable() {
         return executeSync(binanceApiService.coinsAvailable(BinanceApiConstants.DEFAULT_RECEIVING_WINDOW, System.currentTimeMillis()));
     }
+
+    private String getAssetInfoApiBaseUrl() {
+        return assetInfoApiBaseUrl != null ? assetInfoApiBaseUrl : BinanceApiConfig.getAssetInfoApiBaseUrl();
+    }
 }
@@ -83,14 +83,16 @@ public interface BinanceApiService {
     @GET("/api/v1/trades")
     Call<List<TradeHistoryItem>> getTrades(@Query("symbol") String symbol, @Query("limit") Integer limit);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_BULK_HISTORY_HEADER})
     @GET("/api/v1/historicalTrades")
     Call<List<TradeHistoryItem>> getHistoricalTrades(@Query("symbol") String symbol, @Query("limit") Integer limit, @Query("fromId") Long fromId);
 
+    @Headers(BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_BULK_HISTORY_HEADER)
     @GET("/api/v1/aggTrades")
     Call<List<AggTrade>> getAggTrades(@Query("symbol") String symbol, @Query("fromId") String fromId, @Query("limit") Integer limit,
                                       @Query("startTime") Long startTime, @Query("endTime") Long endTime);
 
+    @Headers(BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_BULK_HISTORY_HEADER)
     @GET("/api/v1/klines")
     Call<List<Candlestick>> getCandlestickBars(@Query("symbol") String symbol, @Query("interval") String interval, @Query("limit") Integer limit,
                                                @Query("startTime") Long startTime, @Query("endTime") Long endTime);
@@ -112,7 +114,7 @@ public interface BinanceApiService {
 
     // Account endpoints
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER})
     @POST("/api/v3/order")
     Call<NewOrderResponse> newOrder(@Query("symbol") String symbol, @Query("side") OrderSide side, @Query("type") OrderType type,
                                     @Query("timeInForce") TimeInForce timeInForce, @Query("quantity") String quantity, @Query("price") String price,
@@ -120,7 +122,7 @@ public interface BinanceApiService {
                                     @Query("icebergQty") String icebergQty, @Query("newOrderRespType") NewOrderResponseType newOrderRespType,
                                     @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER})
     @POST("/api/v3/order")
     Call<NewOrderResponse> newOrderQuoteQty(@Query("symbol") String symbol, @Query("side") OrderSide side, @Query("type") OrderType type,
                                             @Query("timeInForce") TimeInForce timeInForce, @Query("quoteOrderQty") String quoteOrderQty, @Query("price") String price,
@@ -128,7 +130,7 @@ public interface BinanceApiService {
                                             @Query("icebergQty") String icebergQty, @Query("newOrderRespType") NewOrderResponseType newOrderRespType,
                                             @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER})
     @POST("/api/v3/order/test")
     Call<Void> newOrderTest(@Query("symbol") String symbol, @Query("side") OrderSide side, @Query("type") OrderType type,
                             @Query("timeInForce") TimeInForce timeInForce, @Query("quantity") String quantity, @Query("price") String price,
@@ -142,7 +144,7 @@ public interface BinanceApiService {
                                @Query("origClientOrderId") String origClientOrderId, @Query("recvWindow") Long recvWindow,
                                @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER})
     @DELETE("/api/v3/order")
     Call<CancelOrderResponse> cancelOrder(@Query("symbol") String symbol, @Query("orderId") Long orderId,
                                           @Query("origClientOrderId") String origClientOrderId, @Query("newClientOrderId") String newClientOrderId,
@@ -152,12 +154,12 @@ public interface BinanceApiService {
     @GET("/api/v3/openOrders")
     Call<List<Order>> getOpenOrders(@Query("symbol") String symbol, @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_BULK_HISTORY_HEADER})
     @GET("/api/v3/allOrders")
     Call<List<Order>> getAllOrders(@Query("symbol") String symbol, @Query("orderId") Long orderId,
                                    @Query("limit") Integer limit, @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER})
     @POST("/api/v3/order/oco")
     Call<NewOCOResponse> newOCO(@Query("symbol") String symbol, @Query("listClientOrderId") String listClientOrderId, @Query("side") OrderSide side,
                                 @Query("quantity") String quantity, @Query("limitClientOrderId") String limitClientOrderId, @Query("price") String price,
@@ -165,7 +167,7 @@ public interface BinanceApiService {
                                 @Query("stopLimitPrice") String stopLimitPrice, @Query("stopIcebergQty") String stopIcebergQty, @Query("stopLimitTimeInForce") TimeInForce stopLimitTimeInForce,
                                 @Query("newOrderRespType") NewOrderResponseType newOrderRespType, @Query("recvWindow") Long recvWindow, @Query("timestamp") long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER})
     @DELETE("/api/v3/orderList")
     Call<CancelOrderListResponse> cancelOrderList(@Query("symbol") String symbol, @Query("orderListId") Long orderListId, @Query("listClientOrderId") String listClientOrderId,
                                                   @Query("newClientOrderId") String newClientOrderId, @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
@@ -175,7 +177,7 @@ public interface BinanceApiService {
     Call<OrderList> getOrderListStatus(@Query("orderListId") Long orderListId, @Query("origClientOrderId") String origClientOrderId,
                                        @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_BULK_HISTORY_HEADER})
     @GET("/api/v3/allOrderList")
     Call<List<OrderList>> getAllOrderList(@Query("fromId") Long fromId, @Query("startTime") Long startTime, @Query("endTime") Long endTime,
                                           @Query("limit") Integer limit, @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
@@ -184,7 +186,7 @@ public interface BinanceApiService {
     @GET("/api/v3/account")
     Call<Account> getAccount(@Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_BULK_HISTORY_HEADER})
     @GET("/api/v3/myTrades")
     Call<List<Trade>> getMyTrades(@Query("symbol") String symbol, @Query("limit") Integer limit, @Query("fromId") Long fromId,
                                   @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
@@ -282,7 +284,7 @@ public interface BinanceApiService {
     @GET("/sapi/v1/margin/openOrders")
     Call<List<Order>> getOpenMarginOrders(@Query("symbol") String symbol, @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER})
     @POST("/sapi/v1/margin/order")
     Call<MarginNewOrderResponse> newMarginOrder(@Query("symbol") String symbol, @Query("side") OrderSide side, @Query("type") OrderType type,
                                                 @Query("timeInForce") TimeInForce timeInForce, @Query("quantity") String quantity,
@@ -290,7 +292,7 @@ public interface BinanceApiService {
                                                 @Query("icebergQty") String icebergQty, @Query("newOrderRespType") NewOrderResponseType newOrderRespType,
                                                 @Query("sideEffectType") SideEffectType sideEffectType, @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_TRADING_HEADER})
     @DELETE("/sapi/v1/margin/order")
     Call<CancelOrderResponse> cancelMarginOrder(@Query("symbol") String symbol, @Query("orderId") Long orderId,
                                                 @Query("origClientOrderId") String origClientOrderId, @Query("newClientOrderId") String newClientOrderId,
@@ -302,7 +304,7 @@ public interface BinanceApiService {
                                      @Query("origClientOrderId") String origClientOrderId, @Query("recvWindow") Long recvWindow,
                                      @Query("timestamp") Long timestamp);
 
-    @Headers(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER)
+    @Headers({BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED_HEADER, BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS_BULK_HISTORY_HEADER})
     @GET("/sapi/v1/margin/myTrades")
     Call<List<Trade>> getMyMarginTrades(@Query("symbol") String symbol, @Query("limit") Integer limit, @Query("fromId") Long fromId,
                                         @Query("recvWindow") Long recvWindow, @Query("timestamp") Long timestamp);
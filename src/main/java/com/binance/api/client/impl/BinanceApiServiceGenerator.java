@@ -2,6 +2,10 @@ package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiError;
 import com.binance.api.client.config.BinanceApiConfig;
+import com.binance.api.client.config.HedgingPolicy;
+import com.binance.api.client.config.TrafficClass;
+import com.binance.api.client.config.TrafficLaneConfig;
+import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.exception.BinanceApiException;
 import com.binance.api.client.security.AuthenticationInterceptor;
 import okhttp3.Authenticator;
@@ -20,6 +24,8 @@ import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 
@@ -29,6 +35,12 @@ import java.util.concurrent.TimeUnit;
 public class BinanceApiServiceGenerator {
 
     private static OkHttpClient sharedClient;
+    private static final RequestCoalescer sharedRequestCoalescer = new RequestCoalescer();
+    private static final EndpointSelector sharedEndpointSelector = new EndpointSelector();
+    private static final WeightBudget sharedWeightBudget = new WeightBudget(BinanceApiConstants.DEFAULT_REQUEST_WEIGHT_LIMIT);
+    private static HedgingPolicy sharedHedgingPolicy;
+    private static final Map<TrafficClass, TrafficLaneConfig> sharedLaneConfigs = new EnumMap<>(TrafficClass.class);
+    private static TrafficLanes sharedLanes;
     private static final Converter.Factory converterFactory = JacksonConverterFactory.create();
 
     static {
@@ -38,7 +50,11 @@ public class BinanceApiServiceGenerator {
         sharedClient = new OkHttpClient.Builder()
                 .dispatcher(dispatcher)
                 .pingInterval(20, TimeUnit.SECONDS)
+                .addInterceptor(sharedRequestCoalescer)
+                .addInterceptor(sharedEndpointSelector)
+                .addInterceptor(sharedWeightBudget)
                 .build();
+        rebuildSharedLanes();
     }
 
     @SuppressWarnings("unchecked")
@@ -59,32 +75,64 @@ public class BinanceApiServiceGenerator {
      * @return a new implementation of the API endpoints for the Binance API service.
      */
     public static <S> S createService(Class<S> serviceClass, String apiKey, String secret) {
-        String baseUrl = null;
-        if (!BinanceApiConfig.useTestnet) {
-            baseUrl = BinanceApiConfig.getApiBaseUrl();
-        } else {
-            baseUrl = /*BinanceApiConfig.useTestnetStreaming ?
-                BinanceApiConfig.getStreamTestNetBaseUrl() :*/
-                    BinanceApiConfig.getTestNetBaseUrl();
-        }
+        return createService(serviceClass, apiKey, secret, sharedLanes);
+    }
 
+    /**
+     * Create a Binance API service on dedicated traffic lanes instead of the shared ones.
+     *
+     * @param serviceClass the type of service.
+     * @param apiKey       Binance API key.
+     * @param secret       Binance secret.
+     * @param lanes        traffic lanes executing the service's HTTP calls.
+     * @return a new implementation of the API endpoints for the Binance API service.
+     */
+    public static <S> S createService(Class<S> serviceClass, String apiKey, String secret, TrafficLanes lanes) {
+        return createService(serviceClass, apiKey, secret, lanes, getBaseUrl());
+    }
+
+    /**
+     * Create a Binance API service on dedicated traffic lanes and base URL, e.g. those of a factory built with
+     * {@link com.binance.api.client.BinanceApiClientFactory#builder()}.
+     *
+     * @param serviceClass the type of service.
+     * @param apiKey       Binance API key.
+     * @param secret       Binance secret.
+     * @param lanes        traffic lanes executing the service's HTTP calls.
+     * @param baseUrl      REST API base URL.
+     * @return a new implementation of the API endpoints for the Binance API service.
+     */
+    public static <S> S createService(Class<S> serviceClass, String apiKey, String secret, TrafficLanes lanes, String baseUrl) {
         Retrofit.Builder retrofitBuilder = new Retrofit.Builder()
                 .baseUrl(baseUrl)
                 .addConverterFactory(converterFactory);
 
         if (StringUtils.isEmpty(apiKey) || StringUtils.isEmpty(secret)) {
-            retrofitBuilder.client(sharedClient);
+            retrofitBuilder.callFactory(lanes);
         } else {
-            // `adaptedClient` will use its own interceptor, but share thread pool etc with the 'parent' com.binance.api.client
+            // `adaptedLanes` will use their own interceptor, but share thread pools etc with the 'parent' lanes
             AuthenticationInterceptor interceptor = new AuthenticationInterceptor(apiKey, secret);
-            OkHttpClient adaptedClient = sharedClient.newBuilder().addInterceptor(interceptor).build();
-            retrofitBuilder.client(adaptedClient);
+            TrafficLanes adaptedLanes = lanes.withInterceptor(interceptor);
+            retrofitBuilder.callFactory(adaptedLanes);
         }
 
         Retrofit retrofit = retrofitBuilder.build();
         return retrofit.create(serviceClass);
     }
 
+    /**
+     * Returns the REST API base URL, depending on whether the Spot Test Network is used.
+     */
+    public static String getBaseUrl() {
+        if (!BinanceApiConfig.useTestnet) {
+            return BinanceApiConfig.getApiBaseUrl();
+        } else {
+            return /*BinanceApiConfig.useTestnetStreaming ?
+                BinanceApiConfig.getStreamTestNetBaseUrl() :*/
+                    BinanceApiConfig.getTestNetBaseUrl();
+        }
+    }
+
     /**
      * Execute a REST call and block until the response is received.
      */
@@ -116,6 +164,67 @@ public class BinanceApiServiceGenerator {
         return sharedClient;
     }
 
+    /**
+     * Returns the endpoint selector routing the calls of the shared client across API hosts.
+     */
+    public static EndpointSelector getSharedEndpointSelector() {
+        return sharedEndpointSelector;
+    }
+
+    /**
+     * Returns the request coalescer of the shared client.
+     */
+    public static RequestCoalescer getSharedRequestCoalescer() {
+        return sharedRequestCoalescer;
+    }
+
+    /**
+     * Returns the request weight budget of the shared client.
+     */
+    public static WeightBudget getSharedWeightBudget() {
+        return sharedWeightBudget;
+    }
+
+    /**
+     * Enables hedged market data reads on the shared lanes. Only services created afterwards hedge their reads.
+     *
+     * @param policy the hedging policy, or null to disable hedging.
+     */
+    public static synchronized void setHedgingPolicy(HedgingPolicy policy) {
+        sharedHedgingPolicy = policy;
+        rebuildSharedLanes();
+    }
+
+    private static void rebuildSharedLanes() {
+        TrafficLanes lanes = new TrafficLanes(sharedClient, sharedLaneConfigs);
+        sharedLanes = sharedHedgingPolicy != null ? lanes.withHedging(sharedHedgingPolicy, sharedWeightBudget) : lanes;
+    }
+
+    /**
+     * Returns the traffic lanes shared by all REST clients.
+     */
+    public static TrafficLanes getSharedLanes() {
+        return sharedLanes;
+    }
+
+    /**
+     * Overrides the limits of a shared traffic lane. Only services created afterwards use the new lane.
+     *
+     * @param trafficClass the traffic class to configure.
+     * @param config       concurrency and connection pool limits of the lane.
+     */
+    public static synchronized void setTrafficLaneConfig(TrafficClass trafficClass, TrafficLaneConfig config) {
+        sharedLaneConfigs.put(trafficClass, config);
+        rebuildSharedLanes();
+    }
+
+    /**
+     * Replaces the shared client with one going through the proxy configured in the system properties.
+     *
+     * @deprecated this affects every client created afterwards in the JVM; configure the proxy on a dedicated
+     * factory through {@link com.binance.api.client.BinanceApiClientFactory#builder()} instead.
+     */
+    @Deprecated
     public static void changeSharedClientProxy() {
         Properties systemProperties = System.getProperties();
 
@@ -125,14 +234,25 @@ public class BinanceApiServiceGenerator {
         sharedClient = new OkHttpClient.Builder()
                 .dispatcher(dispatcher)
                 .pingInterval(20, TimeUnit.SECONDS)
+                .addInterceptor(sharedRequestCoalescer)
+                .addInterceptor(sharedEndpointSelector)
+                .addInterceptor(sharedWeightBudget)
                 .proxy(new Proxy(Proxy.Type.HTTP, new InetSocketAddress(
                         systemProperties.getProperty("https.proxyHost"),
                         Integer.parseInt(systemProperties.getProperty("https.proxyPort")))))
                 .proxyAuthenticator(Authenticator.JAVA_NET_AUTHENTICATOR)
                 .build();
+        rebuildSharedLanes();
 
     }
 
+    /**
+     * Replaces the shared client with one going through the given authenticated proxy.
+     *
+     * @deprecated this affects every client created afterwards in the JVM; configure the proxy on a dedicated
+     * factory through {@link com.binance.api.client.BinanceApiClientFactory#builder()} instead.
+     */
+    @Deprecated
     public static void changeSharedClientProxy(String ip, String port, String login, String password) {
         Dispatcher dispatcher = new Dispatcher();
         dispatcher.setMaxRequestsPerHost(500);
@@ -148,9 +268,13 @@ public class BinanceApiServiceGenerator {
         sharedClient = new OkHttpClient.Builder()
                 .dispatcher(dispatcher)
                 .pingInterval(20, TimeUnit.SECONDS)
+                .addInterceptor(sharedRequestCoalescer)
+                .addInterceptor(sharedEndpointSelector)
+                .addInterceptor(sharedWeightBudget)
                 .proxy(new Proxy(Proxy.Type.HTTP, new InetSocketAddress(ip, Integer.parseInt(port))))
                 .proxyAuthenticator(proxyAuthenticator)
                 .build();
+        rebuildSharedLanes();
 
     }
 }
@@ -1,6 +1,7 @@
 package com.binance.api.client.impl;
 
 import com.binance.api.client.BinanceApiSwapRestClient;
+import com.binance.api.client.config.ApiEndpoints;
 import com.binance.api.client.constant.BinanceApiConstants;
 import com.binance.api.client.domain.SwapRemoveType;
 import com.binance.api.client.domain.account.Liquidity;
@@ -26,6 +27,14 @@ public class BinanceApiSwapRestClientImpl implements BinanceApiSwapRestClient {
         binanceApiService = createService(BinanceApiService.class, apiKey, secret);
     }
 
+    public BinanceApiSwapRestClientImpl(String apiKey, String secret, TrafficLanes lanes) {
+        binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes);
+    }
+
+    public BinanceApiSwapRestClientImpl(String apiKey, String secret, TrafficLanes lanes, ApiEndpoints endpoints) {
+        binanceApiService = createService(BinanceApiService.class, apiKey, secret, lanes, endpoints.getApiBaseUrl());
+    }
+
     @Override
     public List<Pool> listAllSwapPools() {
         return executeSync(binanceApiService.listAllSwapPools());
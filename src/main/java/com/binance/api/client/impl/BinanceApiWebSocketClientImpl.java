@@ -8,8 +8,12 @@ import com.binance.api.client.domain.event.BookTickerEvent;
 import com.binance.api.client.domain.event.CandlestickEvent;
 import com.binance.api.client.domain.event.DepthEvent;
 import com.binance.api.client.domain.event.TickerEvent;
+import com.binance.api.client.domain.event.TopOrdersEvent;
 import com.binance.api.client.domain.event.UserDataUpdateEvent;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.DepthLevels;
+import com.binance.api.client.domain.market.DepthUpdateSpeed;
+import com.binance.api.client.marketdata.MarketBoard;
 import com.fasterxml.jackson.core.type.TypeReference;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -27,19 +31,44 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
 
     private final OkHttpClient client;
 
+    /**
+     * Streaming API base URL, or null to follow {@link BinanceApiConfig}.
+     */
+    private final String streamApiBaseUrl;
+
     public BinanceApiWebSocketClientImpl(OkHttpClient client) {
+        this(client, null);
+    }
+
+    /**
+     * @param streamApiBaseUrl streaming API base URL, e.g. that of a factory's {@link com.binance.api.client.config.ApiEndpoints}
+     */
+    public BinanceApiWebSocketClientImpl(OkHttpClient client, String streamApiBaseUrl) {
         this.client = client;
+        this.streamApiBaseUrl = streamApiBaseUrl;
     }
 
     @Override
     public Closeable onDepthEvent(String symbols, BinanceApiCallback<DepthEvent> callback) {
+        return onDepthEvent(symbols, DepthUpdateSpeed.ONE_SECOND, callback);
+    }
+
+    @Override
+    public Closeable onDepthEvent(String symbols, DepthUpdateSpeed updateSpeed, BinanceApiCallback<DepthEvent> callback) {
         final String channel = Arrays.stream(symbols.split(","))
                 .map(String::trim)
-                .map(s -> String.format("%s@depth", s))
+                .map(s -> String.format("%s@depth%s", s, updateSpeed.getSuffix()))
                 .collect(Collectors.joining("/"));
         return createNewWebSocket(channel, new BinanceApiWebSocketListener<>(callback, DepthEvent.class));
     }
 
+    @Override
+    public Closeable onTopOrdersEvent(String symbol, DepthLevels levels, DepthUpdateSpeed updateSpeed, BinanceApiCallback<TopOrdersEvent> callback) {
+        final String channel = String.format("%s@depth%d%s", symbol.trim().toLowerCase(), levels.getLevels(), updateSpeed.getSuffix());
+        TopOrdersEventDecoder decoder = new TopOrdersEventDecoder(symbol.trim().toUpperCase(), levels.getLevels(), callback);
+        return createNewWebSocket(channel, BinanceApiWebSocketListener.ofText(decoder));
+    }
+
     @Override
     public Closeable onCandlestickEvent(String symbols, CandlestickInterval interval, BinanceApiCallback<CandlestickEvent> callback) {
         final String channel = Arrays.stream(symbols.split(","))
@@ -76,6 +105,12 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
         }));
     }
 
+    @Override
+    public Closeable onAllMarketTickersEvent(MarketBoard board) {
+        final String channel = "!ticker@arr";
+        return createNewWebSocket(channel, BinanceApiWebSocketListener.ofText(board::onMessage));
+    }
+
     @Override
     public Closeable onBookTickerEvent(String symbols, BinanceApiCallback<BookTickerEvent> callback) {
         final String channel = Arrays.stream(symbols.split(","))
@@ -98,7 +133,9 @@ public class BinanceApiWebSocketClientImpl implements BinanceApiWebSocketClient,
     }
 
     private Closeable createNewWebSocket(String channel, BinanceApiWebSocketListener<?> listener) {
-        String streamingUrl = String.format("%s/%s", BinanceApiConfig.useTestnetStreaming?BinanceApiConfig.getStreamTestNetBaseUrl():BinanceApiConfig.getStreamApiBaseUrl(), channel);
+        String baseUrl = streamApiBaseUrl != null ? streamApiBaseUrl
+                : BinanceApiConfig.useTestnetStreaming ? BinanceApiConfig.getStreamTestNetBaseUrl() : BinanceApiConfig.getStreamApiBaseUrl();
+        String streamingUrl = String.format("%s/%s", baseUrl, channel);
         Request request = new Request.Builder().url(streamingUrl).build();
         final WebSocket webSocket = client.newWebSocket(request, listener);
         return () -> {
@@ -34,10 +34,24 @@ public class BinanceApiWebSocketListener<T> extends WebSocketListener {
     this.objectReader = mapper.readerFor(eventTypeReference);
   }
 
+  private BinanceApiWebSocketListener(BinanceApiCallback<T> callback) {
+    this.callback = callback;
+    this.objectReader = null;
+  }
+
+  /**
+   * @return a listener passing the text of each message to the callback undecoded, for callbacks decoding it
+   * themselves.
+   */
+  public static BinanceApiWebSocketListener<String> ofText(BinanceApiCallback<String> callback) {
+    return new BinanceApiWebSocketListener<>(callback);
+  }
+
   @Override
   public void onMessage(WebSocket webSocket, String text) {
     try {
-      T event = objectReader.readValue(text);
+      @SuppressWarnings("unchecked")
+      T event = objectReader != null ? objectReader.readValue(text) : (T) text;
       callback.onResponse(event);
     } catch (IOException e) {
       throw new BinanceApiException(e);
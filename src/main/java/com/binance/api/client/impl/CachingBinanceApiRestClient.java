@@ -0,0 +1,389 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.CoinInformation;
+import com.binance.api.client.domain.account.Deposit;
+import com.binance.api.client.domain.account.DepositAddress;
+import com.binance.api.client.domain.account.DustTransferResponse;
+import com.binance.api.client.domain.account.NewOCO;
+import com.binance.api.client.domain.account.NewOCOResponse;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.account.NewOrderResponse;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.account.OrderList;
+import com.binance.api.client.domain.account.SubAccountTransfer;
+import com.binance.api.client.domain.account.Trade;
+import com.binance.api.client.domain.account.TradeHistoryItem;
+import com.binance.api.client.domain.account.Withdraw;
+import com.binance.api.client.domain.account.WithdrawResult;
+import com.binance.api.client.domain.account.request.AllOrderListRequest;
+import com.binance.api.client.domain.account.request.AllOrdersRequest;
+import com.binance.api.client.domain.account.request.CancelOrderListRequest;
+import com.binance.api.client.domain.account.request.CancelOrderListResponse;
+import com.binance.api.client.domain.account.request.CancelOrderRequest;
+import com.binance.api.client.domain.account.request.CancelOrderResponse;
+import com.binance.api.client.domain.account.request.OrderListStatusRequest;
+import com.binance.api.client.domain.account.request.OrderRequest;
+import com.binance.api.client.domain.account.request.OrderStatusRequest;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.market.AggTrade;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.domain.market.TickerStatistics;
+import com.binance.api.client.trading.OrderValidator;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link BinanceApiRestClient} decorator caching slow-changing reference data: exchange information, assets
+ * and coin information.
+ * <p>
+ * Each of them is loaded on first use, then served from memory and refreshed in the background once it is older
+ * than a fraction of its TTL, whether it is read or not, so that callers do not wait for the multi-megabyte
+ * downloads. Every other call goes straight to the decorated client. {@link #close()} stops the refreshes.
+ * <p>
+ * Every caller receives the same cached instances: the lists are unmodifiable, and the {@link ExchangeInfo} and the
+ * elements of the lists must not be modified.
+ */
+public class CachingBinanceApiRestClient implements BinanceApiRestClient, Closeable {
+
+    /**
+     * Default time to live of the exchange information and assets.
+     */
+    public static final long DEFAULT_REFERENCE_DATA_TTL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    /**
+     * Default time to live of the coin information, which includes account balances.
+     */
+    public static final long DEFAULT_COINS_TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Default fraction of the TTL after which a value is refreshed in the background.
+     */
+    public static final double DEFAULT_REFRESH_AHEAD_RATIO = 0.8;
+
+    private final BinanceApiRestClient delegate;
+
+    private final RefreshAheadCache<ExchangeInfo> exchangeInfoCache;
+
+    private final RefreshAheadCache<List<Asset>> assetsCache;
+
+    private volatile ExchangeInfoIndex exchangeInfoIndex;
+
+    private final RefreshAheadCache<List<CoinInformation>> coinsCache;
+
+    public CachingBinanceApiRestClient(BinanceApiRestClient delegate) {
+        this(delegate, DEFAULT_REFERENCE_DATA_TTL_MILLIS, DEFAULT_REFERENCE_DATA_TTL_MILLIS, DEFAULT_COINS_TTL_MILLIS,
+                DEFAULT_REFRESH_AHEAD_RATIO);
+    }
+
+    /**
+     * @param delegate              the client to decorate
+     * @param exchangeInfoTtlMillis time to live of the exchange information
+     * @param assetsTtlMillis       time to live of the asset list
+     * @param coinsTtlMillis        time to live of the coin information
+     * @param refreshAheadRatio     fraction of the TTL, between 0 and 1, after which a value is refreshed in the background
+     */
+    public CachingBinanceApiRestClient(BinanceApiRestClient delegate, long exchangeInfoTtlMillis, long assetsTtlMillis,
+                                       long coinsTtlMillis, double refreshAheadRatio) {
+        if (refreshAheadRatio <= 0 || refreshAheadRatio > 1) {
+            throw new IllegalArgumentException("Refresh ahead ratio must be between 0 and 1");
+        }
+        this.delegate = delegate;
+        this.exchangeInfoCache = new RefreshAheadCache<>(delegate::getExchangeInfo, exchangeInfoTtlMillis,
+                (long) (exchangeInfoTtlMillis * refreshAheadRatio));
+        this.assetsCache = new RefreshAheadCache<>(() -> Collections.unmodifiableList(delegate.getAllAssets()),
+                assetsTtlMillis, (long) (assetsTtlMillis * refreshAheadRatio));
+        this.coinsCache = new RefreshAheadCache<>(() -> Collections.unmodifiableList(delegate.coinsAvailable()),
+                coinsTtlMillis, (long) (coinsTtlMillis * refreshAheadRatio));
+    }
+
+    /**
+     * @return the cache of {@link #getExchangeInfo()}, exposing its hit and miss counts.
+     */
+    public RefreshAheadCache<ExchangeInfo> getExchangeInfoCache() {
+        return exchangeInfoCache;
+    }
+
+    /**
+     * @return an index of the cached exchange information, rebuilt whenever the exchange information is refreshed.
+     */
+    public ExchangeInfoIndex getExchangeInfoIndex() {
+        ExchangeInfo exchangeInfo = exchangeInfoCache.get();
+        ExchangeInfoIndex index = exchangeInfoIndex;
+        if (index == null || index.getExchangeInfo() != exchangeInfo) {
+            index = ExchangeInfoIndex.of(exchangeInfo);
+            exchangeInfoIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * @return a validator checking orders against the filters of the cached exchange information.
+     */
+    public OrderValidator newOrderValidator() {
+        return new OrderValidator(this::getExchangeInfoIndex);
+    }
+
+    /**
+     * @return the cache of {@link #getAllAssets()}, exposing its hit and miss counts.
+     */
+    public RefreshAheadCache<List<Asset>> getAssetsCache() {
+        return assetsCache;
+    }
+
+    /**
+     * @return the cache of {@link #coinsAvailable()}, exposing its hit and miss counts.
+     */
+    public RefreshAheadCache<List<CoinInformation>> getCoinsCache() {
+        return coinsCache;
+    }
+
+    @Override
+    public void ping() {
+        delegate.ping();
+    }
+
+    @Override
+    public Long getServerTime() {
+        return delegate.getServerTime();
+    }
+
+    /**
+     * @return the cached exchange information, shared by every caller: it must not be modified.
+     */
+    @Override
+    public ExchangeInfo getExchangeInfo() {
+        return exchangeInfoCache.get();
+    }
+
+    /**
+     * @return the cached, unmodifiable asset list.
+     */
+    @Override
+    public List<Asset> getAllAssets() {
+        return assetsCache.get();
+    }
+
+    @Override
+    public OrderBook getOrderBook(String symbol, Integer limit) {
+        return delegate.getOrderBook(symbol, limit);
+    }
+
+    @Override
+    public List<TradeHistoryItem> getTrades(String symbol, Integer limit) {
+        return delegate.getTrades(symbol, limit);
+    }
+
+    @Override
+    public List<TradeHistoryItem> getHistoricalTrades(String symbol, Integer limit, Long fromId) {
+        return delegate.getHistoricalTrades(symbol, limit, fromId);
+    }
+
+    @Override
+    public List<AggTrade> getAggTrades(String symbol, String fromId, Integer limit, Long startTime, Long endTime) {
+        return delegate.getAggTrades(symbol, fromId, limit, startTime, endTime);
+    }
+
+    @Override
+    public List<AggTrade> getAggTrades(String symbol) {
+        return delegate.getAggTrades(symbol);
+    }
+
+    @Override
+    public List<Candlestick> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime) {
+        return delegate.getCandlestickBars(symbol, interval, limit, startTime, endTime);
+    }
+
+    @Override
+    public List<Candlestick> getCandlestickBars(String symbol, CandlestickInterval interval) {
+        return delegate.getCandlestickBars(symbol, interval);
+    }
+
+    @Override
+    public TickerStatistics get24HrPriceStatistics(String symbol) {
+        return delegate.get24HrPriceStatistics(symbol);
+    }
+
+    @Override
+    public List<TickerStatistics> getAll24HrPriceStatistics() {
+        return delegate.getAll24HrPriceStatistics();
+    }
+
+    @Override
+    public List<TickerPrice> getAllPrices() {
+        return delegate.getAllPrices();
+    }
+
+    @Override
+    public TickerPrice getPrice(String symbol) {
+        return delegate.getPrice(symbol);
+    }
+
+    @Override
+    public List<BookTicker> getBookTickers() {
+        return delegate.getBookTickers();
+    }
+
+    @Override
+    public NewOrderResponse newOrder(NewOrder order) {
+        return delegate.newOrder(order);
+    }
+
+    @Override
+    public void newOrderTest(NewOrder order) {
+        delegate.newOrderTest(order);
+    }
+
+    @Override
+    public Order getOrderStatus(OrderStatusRequest orderStatusRequest) {
+        return delegate.getOrderStatus(orderStatusRequest);
+    }
+
+    @Override
+    public CancelOrderResponse cancelOrder(CancelOrderRequest cancelOrderRequest) {
+        return delegate.cancelOrder(cancelOrderRequest);
+    }
+
+    @Override
+    public List<Order> getOpenOrders(OrderRequest orderRequest) {
+        return delegate.getOpenOrders(orderRequest);
+    }
+
+    @Override
+    public List<Order> getAllOrders(AllOrdersRequest orderRequest) {
+        return delegate.getAllOrders(orderRequest);
+    }
+
+    @Override
+    public NewOCOResponse newOCO(NewOCO oco) {
+        return delegate.newOCO(oco);
+    }
+
+    @Override
+    public CancelOrderListResponse cancelOrderList(CancelOrderListRequest cancelOrderListRequest) {
+        return delegate.cancelOrderList(cancelOrderListRequest);
+    }
+
+    @Override
+    public OrderList getOrderListStatus(OrderListStatusRequest orderListStatusRequest) {
+        return delegate.getOrderListStatus(orderListStatusRequest);
+    }
+
+    @Override
+    public List<OrderList> getAllOrderList(AllOrderListRequest allOrderListRequest) {
+        return delegate.getAllOrderList(allOrderListRequest);
+    }
+
+    @Override
+    public Account getAccount(Long recvWindow, Long timestamp) {
+        return delegate.getAccount(recvWindow, timestamp);
+    }
+
+    @Override
+    public Account getAccount() {
+        return delegate.getAccount();
+    }
+
+    @Override
+    public List<Trade> getMyTrades(String symbol, Integer limit, Long fromId, Long recvWindow, Long timestamp) {
+        return delegate.getMyTrades(symbol, limit, fromId, recvWindow, timestamp);
+    }
+
+    @Override
+    public List<Trade> getMyTrades(String symbol, Integer limit) {
+        return delegate.getMyTrades(symbol, limit);
+    }
+
+    @Override
+    public List<Trade> getMyTrades(String symbol) {
+        return delegate.getMyTrades(symbol);
+    }
+
+    @Override
+    public List<Trade> getMyTrades(String symbol, Long fromId) {
+        return delegate.getMyTrades(symbol, fromId);
+    }
+
+    @Override
+    public WithdrawResult withdraw(String coin, String withdrawOrderId, String network, String address, String amount, String name, String addressTag, Boolean transactionFeeFlag) {
+        return delegate.withdraw(coin, withdrawOrderId, network, address, amount, name, addressTag, transactionFeeFlag);
+    }
+
+    @Override
+    public DustTransferResponse dustTranfer(List<String> asset) {
+        return delegate.dustTranfer(asset);
+    }
+
+    @Override
+    public List<Deposit> getDepositHistory(String coin) {
+        return delegate.getDepositHistory(coin);
+    }
+
+    @Override
+    public List<Deposit> getDepositHistory(String coin, int status, Long startTime, Long endTime, int offset, int limit) {
+        return delegate.getDepositHistory(coin, status, startTime, endTime, offset, limit);
+    }
+
+    @Override
+    public List<Withdraw> getWithdrawHistory(String coin) {
+        return delegate.getWithdrawHistory(coin);
+    }
+
+    @Override
+    public List<Withdraw> getWithdrawHistory(String coin, String withdrawOrderId, Integer status, Long startTime, Long endTime, Integer offset, Integer limit) {
+        return delegate.getWithdrawHistory(coin, withdrawOrderId, status, startTime, endTime, offset, limit);
+    }
+
+    @Override
+    public List<SubAccountTransfer> getSubAccountTransfers() {
+        return delegate.getSubAccountTransfers();
+    }
+
+    @Override
+    public DepositAddress getDepositAddress(String asset, String network) {
+        return delegate.getDepositAddress(asset, network);
+    }
+
+    @Override
+    public String startUserDataStream() {
+        return delegate.startUserDataStream();
+    }
+
+    @Override
+    public void keepAliveUserDataStream(String listenKey) {
+        delegate.keepAliveUserDataStream(listenKey);
+    }
+
+    @Override
+    public void closeUserDataStream(String listenKey) {
+        delegate.closeUserDataStream(listenKey);
+    }
+
+    /**
+     * @return the cached, unmodifiable coin information.
+     */
+    @Override
+    public List<CoinInformation> coinsAvailable() {
+        return coinsCache.get();
+    }
+
+    /**
+     * Stops the background refreshes of the caches. Cached values are still served until they expire.
+     */
+    @Override
+    public void close() {
+        exchangeInfoCache.close();
+        assetsCache.close();
+        coinsCache.close();
+    }
+}
@@ -0,0 +1,132 @@
+package com.binance.api.client.impl;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a number of pooled connections open and hot by sending concurrent <code>/api/v1/ping</code> calls.
+ * <p>
+ * The first round runs on {@link #start()}, so DNS, TCP and TLS setup are paid before the first real request. Later
+ * rounds run every heartbeat interval, which must be shorter than the pool's keep-alive so connections are reused
+ * before they get evicted. Each round costs one request weight per connection.
+ * <p>
+ * Concurrent pings force distinct HTTP/1.1 connections; over HTTP/2 a single multiplexed connection is kept warm.
+ * Given the {@link EndpointSelector} of the clients, every round pings the host it currently prefers.
+ */
+public class ConnectionWarmer implements Closeable {
+
+    static final String PING_PATH = "/api/v1/ping";
+
+    private final List<OkHttpClient> clients;
+
+    private final HttpUrl pingUrl;
+
+    private final EndpointSelector endpointSelector;
+
+    private final int connections;
+
+    private final long heartbeatIntervalMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param clients                 clients whose connection pools are kept warm
+     * @param baseUrl                 REST API base URL
+     * @param connections             number of connections to keep open per client
+     * @param heartbeatIntervalMillis interval between two heartbeat rounds
+     */
+    public ConnectionWarmer(List<OkHttpClient> clients, String baseUrl, int connections, long heartbeatIntervalMillis) {
+        this(clients, baseUrl, null, connections, heartbeatIntervalMillis);
+    }
+
+    /**
+     * @param clients                 clients whose connection pools are kept warm
+     * @param baseUrl                 REST API base URL
+     * @param endpointSelector        selector routing the clients' calls, whose preferred host is warmed at every
+     *                                round, or null to warm the host of the base URL
+     * @param connections             number of connections to keep open per client
+     * @param heartbeatIntervalMillis interval between two heartbeat rounds
+     */
+    public ConnectionWarmer(List<OkHttpClient> clients, String baseUrl, EndpointSelector endpointSelector, int connections,
+                            long heartbeatIntervalMillis) {
+        if (connections < 1 || heartbeatIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid connection warmer settings");
+        }
+        this.clients = clients;
+        this.pingUrl = HttpUrl.get(baseUrl + PING_PATH);
+        this.endpointSelector = endpointSelector;
+        this.connections = connections;
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "binance-connection-warmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the connections and schedules the heartbeats.
+     */
+    public void start() {
+        warm();
+        scheduler.scheduleWithFixedDelay(this::warm, heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends one concurrent round of pings on every client.
+     */
+    public void warm() {
+        Request ping = newPing();
+        for (OkHttpClient client : clients) {
+            for (int i = 0; i < connections; i++) {
+                client.newCall(ping).enqueue(DISCARDING_CALLBACK);
+            }
+        }
+    }
+
+    /**
+     * A ping to the preferred host, tagged so that the endpoint selector neither reroutes nor scores it: spreading
+     * the pings across hosts would warm connections the next calls do not use.
+     */
+    private Request newPing() {
+        Request.Builder ping = new Request.Builder().tag(ConnectionWarmer.class, this);
+        if (endpointSelector != null) {
+            ping.url(pingUrl.newBuilder().host(endpointSelector.getBestHost()).build())
+                    .tag(EndpointSelector.class, endpointSelector);
+        } else {
+            ping.url(pingUrl);
+        }
+        return ping.build();
+    }
+
+    /**
+     * Stops the heartbeats. Open connections are left to the pool's eviction.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static final Callback DISCARDING_CALLBACK = new Callback() {
+        @Override
+        public void onResponse(Call call, Response response) {
+            response.close();
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            // Heartbeats are best effort: the next round or the next real request reconnects
+        }
+    };
+}
@@ -0,0 +1,310 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.config.BinanceApiConfig;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes REST calls across the equivalent API cluster hosts (see {@link BinanceApiConfig#getApiHosts()}, or the hosts
+ * given to the constructor).
+ * <p>
+ * Every request addressed to the default API host is sent to the host with the lowest expected latency, i.e. the
+ * smoothed round-trip time of its recent calls multiplied by the number of calls it currently has in flight. Round
+ * trips are measured passively on real calls, and optionally with periodic pings (see {@link #startProbing}).
+ * <p>
+ * A host failing a call, with a connection error, a 5xx status or a rate limit status (429 or 418), is avoided for an
+ * exponentially growing back-off; cancelled calls are not held against it. Calls which certainly never reached the
+ * server (connection failures), as well as idempotent GET calls not rate limited, are retried once per remaining
+ * host. Other calls, such as orders, are never replayed since their execution status is unknown.
+ */
+public class EndpointSelector implements Interceptor {
+
+    /**
+     * Weight of the latest sample in the smoothed round-trip time.
+     */
+    private static final double RTT_SMOOTHING = 0.2;
+
+    /**
+     * Round-trip time assumed for hosts without any sample, so that they get explored.
+     */
+    private static final long INITIAL_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final boolean fixedHosts;
+
+    private volatile List<HostStats> hosts = new ArrayList<>();
+
+    private volatile String domain;
+
+    /**
+     * Routes calls across the hosts of {@link BinanceApiConfig#getApiHosts()}, following changes of that setting.
+     */
+    public EndpointSelector() {
+        this.fixedHosts = false;
+    }
+
+    /**
+     * Routes calls across fixed hosts, e.g. those of a factory's {@link com.binance.api.client.config.ApiEndpoints}.
+     *
+     * @param apiHosts host names, the first one being the default host which requests are addressed to
+     */
+    public EndpointSelector(List<String> apiHosts) {
+        this.fixedHosts = true;
+        List<HostStats> stats = new ArrayList<>(apiHosts.size());
+        for (String host : apiHosts) {
+            stats.add(new HostStats(host));
+        }
+        this.hosts = stats;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        List<HostStats> candidates = getHosts();
+        if (candidates.size() < 2 || !candidates.get(0).host.equals(request.url().host())
+                || request.tag(EndpointSelector.class) != null) {
+            return chain.proceed(request);
+        }
+
+        List<HostStats> tried = new ArrayList<>(candidates.size());
+        while (true) {
+            HostStats target = select(candidates, tried);
+            tried.add(target);
+            Request routed = request.newBuilder().url(request.url().newBuilder().host(target.host).build()).build();
+            boolean lastAttempt = tried.size() == candidates.size();
+
+            long start = target.begin();
+            Response response;
+            try {
+                response = chain.proceed(routed);
+            } catch (IOException e) {
+                if (chain.call().isCanceled()) {
+                    // Not the host's fault, e.g. the losing attempt of a hedged read
+                    target.end();
+                    throw e;
+                }
+                target.failure();
+                if (lastAttempt || !(isIdempotent(request) || isConnectFailure(e))) {
+                    throw e;
+                }
+                continue;
+            } catch (RuntimeException | Error e) {
+                target.end();
+                throw e;
+            }
+            if (response.code() >= 500) {
+                target.failure();
+                if (!lastAttempt && isIdempotent(request)) {
+                    response.close();
+                    continue;
+                }
+            } else if (isRateLimited(response)) {
+                // Backs off the host, without replaying a call the limits already refused
+                target.failure();
+            } else {
+                target.success(System.nanoTime() - start);
+            }
+            return response;
+        }
+    }
+
+    /**
+     * @return the host currently preferred for new calls.
+     */
+    public String getBestHost() {
+        return select(getHosts(), new ArrayList<>()).host;
+    }
+
+    /**
+     * @return the smoothed round-trip time of a host in nanoseconds, or -1 if it has no sample yet.
+     */
+    public long getRttNanos(String host) {
+        for (HostStats stats : getHosts()) {
+            if (stats.host.equals(host)) {
+                return stats.sampled ? stats.rttNanos : -1;
+            }
+        }
+        throw new IllegalArgumentException("Unknown API host " + host);
+    }
+
+    /**
+     * Pings every host once, feeding the round-trip statistics even of hosts which receive no real traffic.
+     *
+     * @param client client used to send the pings
+     */
+    public void probe(OkHttpClient client) {
+        for (HostStats stats : getHosts()) {
+            Request ping = new Request.Builder()
+                    .url(new HttpUrl.Builder().scheme("https").host(stats.host).encodedPath(ConnectionWarmer.PING_PATH).build())
+                    .tag(EndpointSelector.class, this)
+                    .build();
+            long start = stats.begin();
+            client.newCall(ping).enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    if (response.isSuccessful()) {
+                        stats.success(System.nanoTime() - start);
+                    } else {
+                        stats.failure();
+                    }
+                    response.close();
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    stats.failure();
+                }
+            });
+        }
+    }
+
+    /**
+     * Probes every host periodically.
+     *
+     * @param client   client used to send the pings
+     * @param interval interval between two probes
+     * @param unit     unit of <code>interval</code>
+     * @return a {@link Closeable} stopping the probes.
+     */
+    public Closeable startProbing(OkHttpClient client, long interval, TimeUnit unit) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "binance-endpoint-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> probe(client), 0, interval, unit);
+        return scheduler::shutdownNow;
+    }
+
+    /**
+     * Returns the statistics of the configured hosts, resetting them whenever the base domain or hosts change, unless
+     * the hosts are fixed.
+     */
+    private List<HostStats> getHosts() {
+        if (fixedHosts) {
+            return hosts;
+        }
+        List<String> apiHosts = BinanceApiConfig.getApiHosts();
+        List<HostStats> current = hosts;
+        if (!BinanceApiConfig.getBaseDomain().equals(domain) || current.size() != apiHosts.size()
+                || !current.get(0).host.equals(apiHosts.get(0))) {
+            synchronized (this) {
+                List<HostStats> updated = new ArrayList<>(apiHosts.size());
+                for (String host : apiHosts) {
+                    updated.add(new HostStats(host));
+                }
+                hosts = current = updated;
+                domain = BinanceApiConfig.getBaseDomain();
+            }
+        }
+        return current;
+    }
+
+    private static HostStats select(List<HostStats> candidates, List<HostStats> excluded) {
+        long now = System.nanoTime();
+        HostStats best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (HostStats stats : candidates) {
+            if (excluded.contains(stats)) {
+                continue;
+            }
+            double score = stats.score(now);
+            if (score < bestScore) {
+                best = stats;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isIdempotent(Request request) {
+        return "GET".equals(request.method());
+    }
+
+    /**
+     * @return true for 429 (too many requests) and 418 (IP banned after repeated 429s) responses.
+     */
+    private static boolean isRateLimited(Response response) {
+        return response.code() == 429 || response.code() == 418;
+    }
+
+    private static boolean isConnectFailure(IOException e) {
+        return e instanceof ConnectException || e instanceof UnknownHostException || e instanceof NoRouteToHostException;
+    }
+
+    /**
+     * Rolling statistics of a single host.
+     */
+    private static final class HostStats {
+
+        private final String host;
+
+        private volatile long rttNanos = INITIAL_RTT_NANOS;
+
+        private volatile boolean sampled;
+
+        private int inFlight;
+
+        private int consecutiveErrors;
+
+        private long blockedUntilNanos;
+
+        private HostStats(String host) {
+            this.host = host;
+        }
+
+        private synchronized long begin() {
+            inFlight++;
+            return System.nanoTime();
+        }
+
+        private synchronized void success(long elapsedNanos) {
+            inFlight--;
+            consecutiveErrors = 0;
+            rttNanos = sampled ? (long) (rttNanos + RTT_SMOOTHING * (elapsedNanos - rttNanos)) : elapsedNanos;
+            sampled = true;
+        }
+
+        /**
+         * Ends a call without scoring the host.
+         */
+        private synchronized void end() {
+            inFlight--;
+        }
+
+        private synchronized void failure() {
+            inFlight--;
+            long backoff = Math.min(MAX_BACKOFF_NANOS, MIN_BACKOFF_NANOS << Math.min(consecutiveErrors, 6));
+            consecutiveErrors++;
+            blockedUntilNanos = System.nanoTime() + backoff;
+        }
+
+        private synchronized double score(long now) {
+            double score = (double) rttNanos * (1 + inFlight);
+            if (consecutiveErrors > 0 && now - blockedUntilNanos < 0) {
+                // Only used when every host is backing off, preferring the one recovering first
+                score = Long.MAX_VALUE / 2.0 + (blockedUntilNanos - now);
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.account.Trade;
+import com.binance.api.client.domain.market.AggTrade;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.exception.BinanceApiException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Fetches ranges of history larger than a single page of {@link BinanceApiRestClient#getCandlestickBars},
+ * {@link BinanceApiRestClient#getAggTrades} or {@link BinanceApiRestClient#getMyTrades}.
+ * <p>
+ * Time ranges are split into windows of one page each, using the interval duration for candlesticks and one hour
+ * (the longest range Binance accepts) for aggregate trades, and aggregate trade id ranges into windows of one page
+ * of ids. Up to {@link #parallelism(int)} windows are fetched at once, each waiting until its request fits in
+ * {@link #maxWeightUtilization(double)} of the weight budget, so a backfill never starves live traffic. Results are
+ * stitched, deduplicated by open time or id, and passed to the consumer in order, while later windows are being
+ * fetched. Account trades can only be paged with an id cursor, so they are fetched one page at a time.
+ */
+public class HistoryFetcher {
+
+    /**
+     * Largest page size of the paged endpoints.
+     */
+    public static final int PAGE_SIZE = 1000;
+
+    /**
+     * Longest time range of an aggregate trades request.
+     */
+    private static final long AGG_TRADES_WINDOW_MILLIS = 3_600_000L;
+
+    private static final ExecutorService FETCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "binance-history-fetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BinanceApiRestClient client;
+
+    private final WeightBudget weightBudget;
+
+    private int parallelism = 4;
+
+    private double maxWeightUtilization = 0.5;
+
+    public HistoryFetcher(BinanceApiRestClient client, WeightBudget weightBudget) {
+        this.client = client;
+        this.weightBudget = weightBudget;
+    }
+
+    /**
+     * Sets the number of windows fetched at once, 4 by default.
+     */
+    public HistoryFetcher parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the fraction of the weight budget the fetcher may use, 0.5 by default.
+     */
+    public HistoryFetcher maxWeightUtilization(double maxWeightUtilization) {
+        this.maxWeightUtilization = maxWeightUtilization;
+        return this;
+    }
+
+    /**
+     * Streams the candlesticks opened between two times, inclusive, in order.
+     */
+    public void fetchCandlesticks(String symbol, CandlestickInterval interval, long startTime, long endTime,
+                                  Consumer<? super Candlestick> consumer) {
+        int weight = RequestWeights.of("/api/v1/klines");
+        long windowMillis = interval.getDurationMillis() * PAGE_SIZE;
+        List<Callable<List<Candlestick>>> windows = new ArrayList<>();
+        for (long start = startTime; start <= endTime; start += windowMillis) {
+            long windowStart = start;
+            long windowEnd = Math.min(endTime, start + windowMillis - 1);
+            windows.add(() -> {
+                awaitCapacity(weight);
+                return client.getCandlestickBars(symbol, interval, PAGE_SIZE, windowStart, windowEnd);
+            });
+        }
+        stream(windows, Candlestick::getOpenTime, consumer);
+    }
+
+    /**
+     * @return the candlesticks opened between two times, inclusive, in order.
+     */
+    public List<Candlestick> getCandlesticks(String symbol, CandlestickInterval interval, long startTime, long endTime) {
+        List<Candlestick> candlesticks = new ArrayList<>();
+        fetchCandlesticks(symbol, interval, startTime, endTime, candlesticks::add);
+        return candlesticks;
+    }
+
+    /**
+     * Streams the aggregate trades executed between two times, inclusive, in order. Windows holding more than one
+     * page of trades are completed with id cursors.
+     */
+    public void fetchAggTrades(String symbol, long startTime, long endTime, Consumer<? super AggTrade> consumer) {
+        int weight = RequestWeights.of("/api/v1/aggTrades");
+        List<Callable<List<AggTrade>>> windows = new ArrayList<>();
+        for (long start = startTime; start <= endTime; start += AGG_TRADES_WINDOW_MILLIS) {
+            long windowStart = start;
+            long windowEnd = Math.min(endTime, start + AGG_TRADES_WINDOW_MILLIS - 1);
+            windows.add(() -> {
+                awaitCapacity(weight);
+                List<AggTrade> trades = new ArrayList<>(client.getAggTrades(symbol, null, PAGE_SIZE, windowStart, windowEnd));
+                List<AggTrade> page = trades;
+                while (page.size() == PAGE_SIZE) {
+                    awaitCapacity(weight);
+                    String fromId = Long.toString(page.get(page.size() - 1).getAggregatedTradeId() + 1);
+                    page = client.getAggTrades(symbol, fromId, PAGE_SIZE, null, null);
+                    for (AggTrade trade : page) {
+                        if (trade.getTradeTime() > windowEnd) {
+                            return trades;
+                        }
+                        trades.add(trade);
+                    }
+                }
+                return trades;
+            });
+        }
+        stream(windows, AggTrade::getAggregatedTradeId, consumer);
+    }
+
+    /**
+     * Streams the aggregate trades with ids between two ids, inclusive, in order. Aggregate trade ids of a symbol are
+     * consecutive, so each window is one page of ids.
+     */
+    public void fetchAggTradesById(String symbol, long fromId, long toId, Consumer<? super AggTrade> consumer) {
+        int weight = RequestWeights.of("/api/v1/aggTrades");
+        List<Callable<List<AggTrade>>> windows = new ArrayList<>();
+        for (long from = fromId; from <= toId; from += PAGE_SIZE) {
+            String windowFrom = Long.toString(from);
+            int limit = (int) Math.min(PAGE_SIZE, toId - from + 1);
+            windows.add(() -> {
+                awaitCapacity(weight);
+                return client.getAggTrades(symbol, windowFrom, limit, null, null);
+            });
+        }
+        stream(windows, AggTrade::getAggregatedTradeId, trade -> {
+            if (trade.getAggregatedTradeId() <= toId) {
+                consumer.accept(trade);
+            }
+        });
+    }
+
+    /**
+     * Streams the trades of the account on a symbol from a trade id, in order, until the most recent one.
+     */
+    public void fetchMyTrades(String symbol, long fromId, Consumer<? super Trade> consumer) {
+        int weight = RequestWeights.of("/api/v3/myTrades");
+        long from = fromId;
+        while (true) {
+            try {
+                awaitCapacity(weight);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BinanceApiException(e);
+            }
+            List<Trade> page = client.getMyTrades(symbol, PAGE_SIZE, from, BinanceApiConstants.DEFAULT_RECEIVING_WINDOW,
+                    System.currentTimeMillis());
+            for (Trade trade : page) {
+                if (trade.getId() >= from) {
+                    consumer.accept(trade);
+                    from = trade.getId() + 1;
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private void awaitCapacity(int weight) throws InterruptedException {
+        if (weightBudget != null) {
+            weightBudget.awaitCapacity(weight, maxWeightUtilization);
+        }
+    }
+
+    /**
+     * Fetches windows with up to {@link #parallelism} of them in flight, and passes their items to the consumer in
+     * window order, skipping items whose key is not greater than the last key passed.
+     */
+    private <T> void stream(List<Callable<List<T>>> windows, ToLongFunction<T> key, Consumer<? super T> consumer) {
+        Deque<Future<List<T>>> inFlight = new ArrayDeque<>();
+        int next = 0;
+        long lastKey = Long.MIN_VALUE;
+        try {
+            while (next < windows.size() && inFlight.size() < parallelism) {
+                inFlight.add(FETCH_EXECUTOR.submit(windows.get(next++)));
+            }
+            while (!inFlight.isEmpty()) {
+                List<T> page = inFlight.poll().get();
+                if (next < windows.size()) {
+                    inFlight.add(FETCH_EXECUTOR.submit(windows.get(next++)));
+                }
+                for (T item : page) {
+                    long itemKey = key.applyAsLong(item);
+                    if (itemKey > lastKey) {
+                        lastKey = itemKey;
+                        consumer.accept(item);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BinanceApiException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BinanceApiException) {
+                throw (BinanceApiException) e.getCause();
+            }
+            throw new BinanceApiException(e.getCause());
+        } finally {
+            for (Future<List<T>> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.binance.api.client.impl;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A single cached value, loaded on first use and reloaded in the background before it expires.
+ * <p>
+ * Once a value is loaded, a refresh is scheduled when it reaches the refresh-ahead age, whether it is read or not, so
+ * that callers only block when it has expired because background refreshes kept failing. A failed background refresh
+ * keeps the current value until it expires and is retried after an eighth of the refresh-ahead age. Refreshes go on
+ * until the cache is {@link #close() closed}.
+ *
+ * @param <T> the type of the cached value
+ */
+public class RefreshAheadCache<T> implements Closeable {
+
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "binance-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Only hands refreshes over to the {@link #REFRESH_EXECUTOR}, so that slow loads do not delay each other.
+     */
+    private static final ScheduledExecutorService REFRESH_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "binance-cache-refresh-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<T> loader;
+
+    private final long ttlMillis;
+
+    private final long refreshAfterMillis;
+
+    private volatile Entry<T> entry;
+
+    private Future<?> nextRefresh;
+
+    private boolean closed;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong refreshCount = new AtomicLong();
+
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+
+    /**
+     * @param loader             loads the value, typically through a REST call
+     * @param ttlMillis          time after which a value is no longer served
+     * @param refreshAfterMillis age at which a value is refreshed in the background, lower than <code>ttlMillis</code>
+     */
+    public RefreshAheadCache(Supplier<T> loader, long ttlMillis, long refreshAfterMillis) {
+        if (ttlMillis <= 0 || refreshAfterMillis <= 0 || refreshAfterMillis > ttlMillis) {
+            throw new IllegalArgumentException("Refresh delay must be positive and not exceed the TTL");
+        }
+        this.loader = loader;
+        this.ttlMillis = ttlMillis;
+        this.refreshAfterMillis = refreshAfterMillis;
+    }
+
+    /**
+     * @return the cached value, loading it first if there is none or it has expired.
+     */
+    public T get() {
+        Entry<T> current = entry;
+        long now = System.currentTimeMillis();
+        if (current == null || now - current.loadedAt >= ttlMillis) {
+            return load();
+        }
+        hitCount.incrementAndGet();
+        return current.value;
+    }
+
+    /**
+     * Drops the cached value, so that the next read loads it again.
+     */
+    public synchronized void invalidate() {
+        entry = null;
+        cancelRefresh();
+    }
+
+    /**
+     * Stops the background refreshes. The cached value is still served until it expires, then loaded on reads.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        cancelRefresh();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    private synchronized T load() {
+        Entry<T> current = entry;
+        if (current != null && System.currentTimeMillis() - current.loadedAt < ttlMillis) {
+            // Loaded by another caller while this one was waiting
+            hitCount.incrementAndGet();
+            return current.value;
+        }
+        missCount.incrementAndGet();
+        T value = loader.get();
+        entry = new Entry<>(value, System.currentTimeMillis());
+        scheduleRefresh(refreshAfterMillis);
+        return value;
+    }
+
+    private void refresh() {
+        T value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            refreshFailureCount.incrementAndGet();
+            synchronized (this) {
+                scheduleRefresh(Math.max(1, refreshAfterMillis / 8));
+            }
+            return;
+        }
+        synchronized (this) {
+            entry = new Entry<>(value, System.currentTimeMillis());
+            scheduleRefresh(refreshAfterMillis);
+        }
+        refreshCount.incrementAndGet();
+    }
+
+    /**
+     * Replaces the pending refresh, if any, with one after the given delay. Called with the lock held.
+     */
+    private void scheduleRefresh(long delayMillis) {
+        cancelRefresh();
+        if (!closed) {
+            nextRefresh = REFRESH_SCHEDULER.schedule(() -> REFRESH_EXECUTOR.execute(this::refresh), delayMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelRefresh() {
+        if (nextRefresh != null) {
+            nextRefresh.cancel(false);
+            nextRefresh = null;
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+
+        private final long loadedAt;
+
+        private Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
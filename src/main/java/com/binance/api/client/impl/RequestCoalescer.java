@@ -0,0 +1,127 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces concurrent identical unsigned GET requests into a single HTTP call.
+ * <p>
+ * The first request for a given URL (path and query) is sent; requests for the same URL arriving while it is in
+ * flight wait for it and receive a copy of its response instead of being sent, saving bandwidth and request weight.
+ * Nothing is cached: a request arriving after the response is received is sent again.
+ * <p>
+ * Calls must go through this interceptor before the authentication interceptor, which strips the endpoint
+ * decorators telling signed and keyed requests apart. Pings opening or probing connections are never coalesced.
+ */
+public class RequestCoalescer implements Interceptor {
+
+    private final Map<String, CompletableFuture<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!isCoalescable(request)) {
+            return chain.proceed(request);
+        }
+
+        String key = request.url().toString();
+        CompletableFuture<SharedResponse> flight = new CompletableFuture<>();
+        CompletableFuture<SharedResponse> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalescedCount.incrementAndGet();
+            return await(chain, leader);
+        }
+
+        try {
+            SharedResponse shared = new SharedResponse(chain.proceed(request));
+            flight.complete(shared);
+            return shared.copy(request);
+        } catch (IOException | RuntimeException e) {
+            if (chain.call().isCanceled()) {
+                // Cancelled by its own caller, which says nothing about the waiting calls: let them proceed
+                flight.complete(null);
+            } else {
+                flight.completeExceptionally(e);
+            }
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return the number of requests served by another request's call since this coalescer was created.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    private Response await(Chain chain, CompletableFuture<SharedResponse> leader) throws IOException {
+        SharedResponse shared;
+        try {
+            shared = leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + chain.request().url());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? new IOException(cause.getMessage(), cause) : new IOException(cause);
+        }
+        if (shared == null) {
+            coalescedCount.decrementAndGet();
+            return chain.proceed(chain.request());
+        }
+        return shared.copy(chain.request());
+    }
+
+    private static boolean isCoalescable(Request request) {
+        return "GET".equals(request.method())
+                && request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY) == null
+                && request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED) == null
+                && request.tag(EndpointSelector.class) == null
+                && request.tag(ConnectionWarmer.class) == null
+                && !RequestHedger.isHedge(request);
+    }
+
+    /**
+     * A response with its body read in memory, handed out to every coalesced request.
+     */
+    private static final class SharedResponse {
+
+        private final Response response;
+
+        private final byte[] body;
+
+        private final MediaType contentType;
+
+        private SharedResponse(Response response) throws IOException {
+            try (ResponseBody responseBody = response.body()) {
+                this.response = response;
+                this.body = responseBody != null ? responseBody.bytes() : null;
+                this.contentType = responseBody != null ? responseBody.contentType() : null;
+            }
+        }
+
+        private Response copy(Request request) {
+            Response.Builder builder = response.newBuilder().request(request);
+            if (body != null) {
+                builder.body(ResponseBody.create(body, contentType));
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.config.HedgingPolicy;
+import com.binance.api.client.constant.BinanceApiConstants;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends hedged calls for the reads selected by a {@link HedgingPolicy}.
+ */
+class RequestHedger {
+
+    /**
+     * Number of recent latencies kept per endpoint.
+     */
+    private static final int LATENCY_WINDOW = 128;
+
+    /**
+     * Number of latencies an endpoint needs before it gets hedged.
+     */
+    private static final int MIN_SAMPLES = 20;
+
+    private final HedgingPolicy policy;
+
+    private final WeightBudget budget;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "binance-request-hedger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    RequestHedger(HedgingPolicy policy, WeightBudget budget) {
+        this.policy = policy;
+        this.budget = budget;
+    }
+
+    boolean isHedgeable(Request request) {
+        return "GET".equals(request.method())
+                && policy.getPaths().contains(request.url().encodedPath())
+                && request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY) == null
+                && request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED) == null;
+    }
+
+    Call newCall(OkHttpClient client, Request request) {
+        return new HedgedCall(client, request);
+    }
+
+    /**
+     * @return true if the request is the duplicate of a hedged call.
+     */
+    static boolean isHedge(Request request) {
+        return request.tag(HedgedCall.class) != null;
+    }
+
+    /**
+     * @return the delay after which a call to the given path is hedged, or -1 if it is not hedged yet.
+     */
+    private long hedgeDelayNanos(String path) {
+        LatencyWindow window = latencies.get(path);
+        long threshold = window != null ? window.threshold() : -1;
+        return threshold < 0 ? -1 : Math.max(threshold, TimeUnit.MILLISECONDS.toNanos(policy.getMinDelayMillis()));
+    }
+
+    private void recordLatency(String path, long latencyNanos) {
+        latencies.computeIfAbsent(path, p -> new LatencyWindow(policy.getPercentile())).record(latencyNanos);
+    }
+
+    /**
+     * Ring of recent latencies, with its percentile recomputed every few samples.
+     */
+    private static final class LatencyWindow {
+
+        private final double percentile;
+
+        private final long[] samples = new long[LATENCY_WINDOW];
+
+        private int count;
+
+        private long threshold = -1;
+
+        private LatencyWindow(double percentile) {
+            this.percentile = percentile;
+        }
+
+        private synchronized void record(long latencyNanos) {
+            samples[count % LATENCY_WINDOW] = latencyNanos;
+            count++;
+            if (count >= MIN_SAMPLES && count % 8 == 0) {
+                int size = Math.min(count, LATENCY_WINDOW);
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                threshold = sorted[Math.min(size - 1, (int) (percentile * size))];
+            }
+        }
+
+        private synchronized long threshold() {
+            return threshold;
+        }
+    }
+
+    /**
+     * A call sending a duplicate of its request when the first attempt is slower than the hedging threshold.
+     */
+    private final class HedgedCall implements Call {
+
+        private final OkHttpClient client;
+
+        private final Request request;
+
+        private final Call primary;
+
+        private volatile Attempt primaryAttempt;
+
+        private volatile Attempt hedgeAttempt;
+
+        private final AtomicBoolean executed = new AtomicBoolean();
+
+        private final AtomicBoolean canceled = new AtomicBoolean();
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private final AtomicInteger pendingAttempts = new AtomicInteger();
+
+        private HedgedCall(OkHttpClient client, Request request) {
+            this.client = client;
+            this.request = request;
+            this.primary = client.newCall(request);
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            BlockingCallback callback = new BlockingCallback();
+            enqueue(callback);
+            try {
+                callback.latch.await();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+            }
+            if (callback.failure != null) {
+                throw callback.failure;
+            }
+            return callback.response;
+        }
+
+        @Override
+        public void enqueue(Callback callback) {
+            if (!executed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already Executed");
+            }
+            Attempt attempt = new Attempt(callback, primary);
+            primaryAttempt = attempt;
+            pendingAttempts.incrementAndGet();
+            primary.enqueue(attempt);
+
+            long delay = hedgeDelayNanos(request.url().encodedPath());
+            if (delay >= 0) {
+                scheduler.schedule(() -> sendHedge(callback), delay, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void sendHedge(Callback callback) {
+            if (completed.get() || canceled.get()
+                    || !budget.hasCapacity(RequestWeights.of(request), policy.getMaxBudgetUtilization())) {
+                return;
+            }
+            // Tagged so the endpoint selector sees a distinct call; its in-flight accounting steers it to another host
+            Call duplicate = client.newCall(request.newBuilder().tag(HedgedCall.class, this).build());
+            Attempt attempt = new Attempt(callback, duplicate);
+            pendingAttempts.incrementAndGet();
+            hedgeAttempt = attempt;
+            duplicate.enqueue(attempt);
+            if (completed.get() || canceled.get()) {
+                duplicate.cancel();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            canceled.set(true);
+            primary.cancel();
+            Attempt attempt = hedgeAttempt;
+            if (attempt != null) {
+                attempt.call.cancel();
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed.get();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled.get();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return primary.timeout();
+        }
+
+        @Override
+        public Call clone() {
+            return new HedgedCall(client, request);
+        }
+
+        /**
+         * Cancels the attempts still running once another one has won.
+         */
+        private void cancelLosers(Attempt winner) {
+            for (Attempt attempt : new Attempt[]{primaryAttempt, hedgeAttempt}) {
+                if (attempt != null && attempt != winner) {
+                    attempt.abandon();
+                }
+            }
+        }
+
+        /**
+         * Callback of one attempt: the first response wins and cancels the other attempt.
+         */
+        private final class Attempt implements Callback {
+
+            private final Callback callback;
+
+            private final Call call;
+
+            private final long start = System.nanoTime();
+
+            private final AtomicBoolean finished = new AtomicBoolean();
+
+            private Attempt(Callback callback, Call call) {
+                this.callback = callback;
+                this.call = call;
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                pendingAttempts.decrementAndGet();
+                record();
+                if (!completed.compareAndSet(false, true)) {
+                    response.close();
+                    return;
+                }
+                cancelLosers(this);
+                callback.onResponse(HedgedCall.this, response);
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                finished.set(true);
+                if (pendingAttempts.decrementAndGet() > 0 && !canceled.get()) {
+                    return;
+                }
+                if (completed.compareAndSet(false, true)) {
+                    callback.onFailure(HedgedCall.this, e);
+                }
+            }
+
+            /**
+             * Cancels a losing attempt. The time it has run so far is recorded as a lower bound of its latency, so that
+             * the slow attempts hedging cuts short still count towards the percentile.
+             */
+            private void abandon() {
+                record();
+                call.cancel();
+            }
+
+            private void record() {
+                if (finished.compareAndSet(false, true)) {
+                    recordLatency(request.url().encodedPath(), System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    private static final class BlockingCallback implements Callback {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private Response response;
+
+        private IOException failure;
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            this.response = response;
+            latch.countDown();
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            this.failure = e;
+            latch.countDown();
+        }
+    }
+}
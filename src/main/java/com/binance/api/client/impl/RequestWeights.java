@@ -0,0 +1,78 @@
+package com.binance.api.client.impl;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request weights of the REST endpoints, as counted by Binance against the IP's <code>REQUEST_WEIGHT</code> limit.
+ */
+public final class RequestWeights {
+
+    private static final int DEFAULT_WEIGHT = 1;
+
+    /**
+     * Weights of endpoints called without a <code>symbol</code> parameter, when they differ from the default.
+     */
+    private static final Map<String, Integer> ALL_SYMBOLS_WEIGHTS = new HashMap<>();
+
+    /**
+     * Weights of endpoints called for a single symbol, when they differ from the default.
+     */
+    private static final Map<String, Integer> WEIGHTS = new HashMap<>();
+
+    static {
+        WEIGHTS.put("/api/v3/exchangeInfo", 10);
+        WEIGHTS.put("/api/v1/historicalTrades", 5);
+        WEIGHTS.put("/api/v3/openOrders", 3);
+        WEIGHTS.put("/api/v3/allOrders", 10);
+        WEIGHTS.put("/api/v3/account", 10);
+        WEIGHTS.put("/api/v3/myTrades", 10);
+        WEIGHTS.put("/api/v3/allOrderList", 10);
+        WEIGHTS.put("/api/v3/orderList", 2);
+
+        ALL_SYMBOLS_WEIGHTS.put("/api/v1/ticker/24hr", 40);
+        ALL_SYMBOLS_WEIGHTS.put("/api/v3/ticker/price", 2);
+        ALL_SYMBOLS_WEIGHTS.put("/api/v1/ticker/allPrices", 2);
+        ALL_SYMBOLS_WEIGHTS.put("/api/v1/ticker/allBookTickers", 2);
+        ALL_SYMBOLS_WEIGHTS.put("/api/v3/openOrders", 40);
+    }
+
+    private RequestWeights() {
+    }
+
+    /**
+     * @return the weight Binance charges for the given request.
+     */
+    public static int of(Request request) {
+        HttpUrl url = request.url();
+        String path = url.encodedPath();
+        if ("/api/v1/depth".equals(path)) {
+            return depthWeight(url.queryParameter("limit"));
+        }
+        Integer weight = url.queryParameter("symbol") == null ? ALL_SYMBOLS_WEIGHTS.get(path) : null;
+        return weight != null ? weight : of(path);
+    }
+
+    /**
+     * @param path the path of an endpoint, e.g. <code>/api/v3/myTrades</code>
+     * @return the weight Binance charges for a request of the endpoint for a single symbol.
+     */
+    public static int of(String path) {
+        return WEIGHTS.getOrDefault(path, DEFAULT_WEIGHT);
+    }
+
+    private static int depthWeight(String limit) {
+        int levels = limit != null ? Integer.parseInt(limit) : 100;
+        if (levels <= 100) {
+            return 1;
+        } else if (levels <= 500) {
+            return 5;
+        } else if (levels <= 1000) {
+            return 10;
+        }
+        return 50;
+    }
+}
@@ -0,0 +1,104 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.DecimalDeserializer;
+import com.binance.api.client.domain.event.TopOrdersEvent;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the messages of a partial book depth stream into one {@link TopOrdersEvent}, reused for every message of
+ * the web socket along with its lists and entries, so that the stream allocates little more than the decimals of each
+ * level. The event is only valid until the callback returns: copy what must be kept.
+ */
+class TopOrdersEventDecoder implements BinanceApiCallback<String> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final BinanceApiCallback<TopOrdersEvent> callback;
+
+    private final TopOrdersEvent event = new TopOrdersEvent();
+
+    private final List<OrderBookEntry> bids = new ArrayList<>();
+
+    private final List<OrderBookEntry> asks = new ArrayList<>();
+
+    private final List<OrderBookEntry> bidEntries = new ArrayList<>();
+
+    private final List<OrderBookEntry> askEntries = new ArrayList<>();
+
+    TopOrdersEventDecoder(String symbol, int levels, BinanceApiCallback<TopOrdersEvent> callback) {
+        this.callback = callback;
+        for (int i = 0; i < levels; i++) {
+            bidEntries.add(new OrderBookEntry());
+            askEntries.add(new OrderBookEntry());
+        }
+        event.setSymbol(symbol);
+        event.setBids(bids);
+        event.setAsks(asks);
+    }
+
+    @Override
+    public void onResponse(String message) {
+        callback.onResponse(decode(message));
+    }
+
+    @Override
+    public void onFailure(Throwable cause) {
+        callback.onFailure(cause);
+    }
+
+    TopOrdersEvent decode(String message) {
+        bids.clear();
+        asks.clear();
+        try (JsonParser parser = JSON_FACTORY.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BinanceApiException("Expected a partial book depth event: " + message);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("lastUpdateId".equals(field)) {
+                    event.setLastUpdateId(parser.getLongValue());
+                } else if ("bids".equals(field)) {
+                    readLevels(parser, bids, bidEntries);
+                } else if ("asks".equals(field)) {
+                    readLevels(parser, asks, askEntries);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new BinanceApiException(e);
+        }
+        return event;
+    }
+
+    /**
+     * Reads an array of [price, qty] levels into the reused entries.
+     */
+    private static void readLevels(JsonParser parser, List<OrderBookEntry> levels, List<OrderBookEntry> entries)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            if (levels.size() == entries.size()) {
+                entries.add(new OrderBookEntry());
+            }
+            OrderBookEntry entry = entries.get(levels.size());
+            parser.nextToken();
+            entry.setPriceDecimal(DecimalDeserializer.parse(parser));
+            parser.nextToken();
+            entry.setQtyDecimal(DecimalDeserializer.parse(parser));
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            levels.add(entry);
+        }
+    }
+}
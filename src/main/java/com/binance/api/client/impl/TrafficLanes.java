@@ -0,0 +1,147 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.config.HedgingPolicy;
+import com.binance.api.client.config.TrafficClass;
+import com.binance.api.client.config.TrafficLaneConfig;
+import com.binance.api.client.constant.BinanceApiConstants;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Call.Factory} that routes every request through the HTTP lane of its {@link TrafficClass}.
+ * <p>
+ * Each lane is an {@link OkHttpClient} derived from a common base client, with its own {@link Dispatcher} and
+ * {@link ConnectionPool}. Asynchronous order and cancel calls therefore never wait for a dispatcher slot or a
+ * pooled connection held by market data or history traffic. Synchronous calls run on the caller thread and only
+ * benefit from the connection pool isolation.
+ * <p>
+ * Lanes can optionally hedge the market data reads selected by a {@link HedgingPolicy}.
+ */
+public class TrafficLanes implements Call.Factory {
+
+    private final Map<TrafficClass, OkHttpClient> lanes;
+
+    private final RequestHedger hedger;
+
+    /**
+     * Creates lanes with the default limits of every {@link TrafficClass}.
+     *
+     * @param baseClient client providing timeouts, proxy and interceptors shared by all lanes.
+     */
+    public TrafficLanes(OkHttpClient baseClient) {
+        this(baseClient, Collections.emptyMap());
+    }
+
+    /**
+     * Creates lanes, overriding the default limits of some traffic classes.
+     *
+     * @param baseClient client providing timeouts, proxy and interceptors shared by all lanes.
+     * @param configs    lane limits by traffic class; classes not present use {@link TrafficClass#defaultConfig()}.
+     */
+    public TrafficLanes(OkHttpClient baseClient, Map<TrafficClass, TrafficLaneConfig> configs) {
+        Map<TrafficClass, OkHttpClient> clients = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            TrafficLaneConfig config = configs.getOrDefault(trafficClass, trafficClass.defaultConfig());
+            clients.put(trafficClass, baseClient.newBuilder()
+                    .dispatcher(newDispatcher(trafficClass, config))
+                    .connectionPool(new ConnectionPool(config.getMaxIdleConnections(), config.getKeepAliveMillis(), TimeUnit.MILLISECONDS))
+                    .build());
+        }
+        this.lanes = clients;
+        this.hedger = null;
+    }
+
+    private TrafficLanes(Map<TrafficClass, OkHttpClient> lanes, RequestHedger hedger) {
+        this.lanes = lanes;
+        this.hedger = hedger;
+    }
+
+    /**
+     * Returns lanes sharing this instance's dispatchers and connection pools, with an extra interceptor
+     * (e.g. authentication) appended to every lane.
+     */
+    public TrafficLanes withInterceptor(Interceptor interceptor) {
+        Map<TrafficClass, OkHttpClient> clients = new EnumMap<>(TrafficClass.class);
+        lanes.forEach((trafficClass, client) -> clients.put(trafficClass, client.newBuilder().addInterceptor(interceptor).build()));
+        return new TrafficLanes(clients, hedger);
+    }
+
+    /**
+     * Returns lanes sharing this instance's clients, which hedge the reads selected by the given policy.
+     *
+     * @param policy the hedging policy
+     * @param budget the weight budget hedges are charged against; it should also be installed as an interceptor
+     *               of the base client so that every request is accounted for
+     */
+    public TrafficLanes withHedging(HedgingPolicy policy, WeightBudget budget) {
+        return new TrafficLanes(lanes, new RequestHedger(policy, budget));
+    }
+
+    /**
+     * @return the client serving the given traffic class.
+     */
+    public OkHttpClient getClient(TrafficClass trafficClass) {
+        return lanes.get(trafficClass);
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        TrafficClass trafficClass = classify(request);
+        if (request.header(BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS) != null) {
+            request = request.newBuilder().removeHeader(BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS).build();
+        }
+        OkHttpClient client = lanes.get(trafficClass);
+        if (hedger != null && hedger.isHedgeable(request)) {
+            return hedger.newCall(client, request);
+        }
+        return client.newCall(request);
+    }
+
+    /**
+     * Determines the traffic class of a request from its endpoint decorators.
+     */
+    public static TrafficClass classify(Request request) {
+        String trafficClass = request.header(BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS);
+        if (trafficClass != null) {
+            return TrafficClass.valueOf(trafficClass);
+        }
+        if (request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY) != null
+                || request.header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED) != null) {
+            return TrafficClass.ACCOUNT;
+        }
+        return TrafficClass.MARKET_DATA;
+    }
+
+    private static Dispatcher newDispatcher(TrafficClass trafficClass, TrafficLaneConfig config) {
+        Dispatcher dispatcher = new Dispatcher(newExecutor(trafficClass));
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+        return dispatcher;
+    }
+
+    /**
+     * Same executor as OkHttp's default dispatcher, with lane-specific thread names and priority.
+     */
+    private static ExecutorService newExecutor(TrafficClass trafficClass) {
+        String prefix = "binance-" + trafficClass.name().toLowerCase().replace('_', '-') + "-";
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setPriority(trafficClass.getThreadPriority());
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.binance.api.client.impl;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Client-side view of the per-minute <code>REQUEST_WEIGHT</code> budget.
+ * <p>
+ * As an interceptor, it charges every outgoing request with its {@link RequestWeights weight}, and catches up with
+ * the weight reported by the server in the <code>X-MBX-USED-WEIGHT-1M</code> response header, which also accounts
+ * for other processes sharing the same IP. Optional traffic, such as hedged or paged requests, checks the remaining
+ * capacity before being sent.
+ */
+public class WeightBudget implements Interceptor {
+
+    /**
+     * Response header holding the weight used by the IP in the current minute.
+     */
+    public static final String USED_WEIGHT_HEADER = "X-MBX-USED-WEIGHT-1M";
+
+    private static final long WINDOW_MILLIS = 60_000L;
+
+    private final int limit;
+
+    private long window;
+
+    private int used;
+
+    /**
+     * @param limit request weight allowed per minute
+     */
+    public WeightBudget(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Weight limit must be positive");
+        }
+        this.limit = limit;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        charge(RequestWeights.of(request));
+        Response response = chain.proceed(request);
+        String usedWeight = response.header(USED_WEIGHT_HEADER);
+        if (usedWeight != null) {
+            try {
+                update(Integer.parseInt(usedWeight));
+            } catch (NumberFormatException ignored) {
+                // keep the local estimate
+            }
+        }
+        return response;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the weight used in the current minute.
+     */
+    public synchronized int getUsedWeight() {
+        roll();
+        return used;
+    }
+
+    /**
+     * @param weight         weight of the request to send
+     * @param maxUtilization fraction of the limit the request may use up to, between 0 and 1
+     * @return true if sending the request keeps the used weight within <code>maxUtilization</code> of the limit.
+     */
+    public synchronized boolean hasCapacity(int weight, double maxUtilization) {
+        roll();
+        return used + weight <= limit * maxUtilization;
+    }
+
+    /**
+     * Blocks until a request of the given weight fits in the budget. The request is charged when it is sent.
+     */
+    public void awaitCapacity(int weight) throws InterruptedException {
+        awaitCapacity(weight, 1.0);
+    }
+
+    /**
+     * Blocks until a request of the given weight keeps the used weight within <code>maxUtilization</code> of the
+     * limit, leaving the rest of the budget to other traffic. The request is charged when it is sent.
+     */
+    public void awaitCapacity(int weight, double maxUtilization) throws InterruptedException {
+        while (true) {
+            long waitMillis;
+            synchronized (this) {
+                roll();
+                if (used + weight <= limit * maxUtilization || used == 0) {
+                    return;
+                }
+                waitMillis = (window + 1) * WINDOW_MILLIS - System.currentTimeMillis();
+            }
+            Thread.sleep(Math.max(1, waitMillis));
+        }
+    }
+
+    /**
+     * Charges the budget with the weight of a request being sent.
+     */
+    public synchronized void charge(int weight) {
+        roll();
+        used += weight;
+    }
+
+    /**
+     * Catches up with the used weight reported by the server.
+     */
+    public synchronized void update(int usedWeight) {
+        roll();
+        used = Math.max(used, usedWeight);
+    }
+
+    private void roll() {
+        long current = System.currentTimeMillis() / WINDOW_MILLIS;
+        if (current != window) {
+            window = current;
+            used = 0;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives candlesticks of several intervals of one symbol from a single stream, either the one minute candlesticks of
+ * {@link com.binance.api.client.BinanceApiWebSocketClient#onCandlestickEvent} or the trades of
+ * {@link com.binance.api.client.BinanceApiWebSocketClient#onAggTradeEvent}, instead of subscribing once per interval.
+ * <p>
+ * Bars are aligned like those of the exchange: on multiples of their duration since the epoch, on Mondays for
+ * {@link CandlestickInterval#WEEKLY} and on the first day of the month for {@link CandlestickInterval#MONTHLY}, all in
+ * UTC. Every update is written to the {@link CandleSeries} of each interval, see {@link #getSeries}. Volumes are summed
+ * in doubles, like those of the series, since the monthly volume of a token with a large supply exceeds the range of
+ * longs scaled by 10^{@value ExchangeInfoIndex#SCALE}: sums match the exchange to about 15 significant digits. The
+ * quote volume of a trade is its price times its quantity.
+ * <p>
+ * The first bar of each interval only holds what was received since the aggregator started, unless the one minute
+ * candlesticks of the current period are replayed first with {@link #load(List)}. A bar is closed by its last minute,
+ * by the first minute or trade of a later bar, or by {@link #onTime(long)} once its close time has passed. Minutes and
+ * trades should not be mixed.
+ * <p>
+ * Not thread-safe: feed an aggregator from the thread of its stream, or synchronize externally.
+ */
+public class CandleAggregator {
+
+    /**
+     * Number of bars retained per interval by default, the default limit of the candlestick endpoint.
+     */
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    /**
+     * The epoch was a Thursday, the first Monday is four days later.
+     */
+    private static final long FIRST_MONDAY_MILLIS = 4 * DAY_MILLIS;
+
+    private final Bar[] bars;
+
+    private final Map<CandlestickInterval, CandleSeries> series = new EnumMap<>(CandlestickInterval.class);
+
+    /**
+     * The minute received last, if it is not final yet.
+     */
+    private final Bar minute = new Bar(CandlestickInterval.ONE_MINUTE, null);
+
+    private boolean minutePending;
+
+    private long lastMinuteOpenTime = Long.MIN_VALUE;
+
+    private long lastAggTradeId = Long.MIN_VALUE;
+
+    public CandleAggregator(CandlestickInterval... intervals) {
+        this(DEFAULT_CAPACITY, intervals);
+    }
+
+    /**
+     * @param capacity the number of bars to retain per interval
+     * @param intervals the intervals to derive
+     */
+    public CandleAggregator(int capacity, CandlestickInterval... intervals) {
+        if (intervals.length == 0) {
+            throw new IllegalArgumentException("At least one interval is required");
+        }
+        for (CandlestickInterval interval : intervals) {
+            series.computeIfAbsent(interval, i -> new CandleSeries(capacity));
+        }
+        this.bars = new Bar[series.size()];
+        int i = 0;
+        for (Map.Entry<CandlestickInterval, CandleSeries> entry : series.entrySet()) {
+            bars[i++] = new Bar(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @return the series of an interval.
+     * @throws IllegalArgumentException if the interval is not derived by this aggregator
+     */
+    public CandleSeries getSeries(CandlestickInterval interval) {
+        CandleSeries intervalSeries = series.get(interval);
+        if (intervalSeries == null) {
+            throw new IllegalArgumentException("Interval not aggregated: " + interval.getIntervalId());
+        }
+        return intervalSeries;
+    }
+
+    /**
+     * Replays one minute candlesticks from {@link com.binance.api.client.BinanceApiRestClient#getCandlestickBars},
+     * in order, e.g. those since the start of the longest interval. Candlesticks whose close time has not passed yet
+     * are added as open.
+     */
+    public void load(List<Candlestick> minutes) {
+        long now = System.currentTimeMillis();
+        for (Candlestick c : minutes) {
+            update(c.getOpenTime(), c.getCloseTime(), ExchangeInfoIndex.parse(c.getOpen()),
+                    ExchangeInfoIndex.parse(c.getHigh()), ExchangeInfoIndex.parse(c.getLow()),
+                    ExchangeInfoIndex.parse(c.getClose()), ExchangeInfoIndex.parseVolume(c.getVolume()),
+                    ExchangeInfoIndex.parseVolume(c.getQuoteAssetVolume()),
+                    c.getNumberOfTrades() != null ? c.getNumberOfTrades() : 0,
+                    ExchangeInfoIndex.parseVolume(c.getTakerBuyBaseAssetVolume()),
+                    ExchangeInfoIndex.parseVolume(c.getTakerBuyQuoteAssetVolume()), c.getCloseTime() < now);
+        }
+    }
+
+    /**
+     * Applies a one minute candlestick event, so this method can be passed directly to
+     * {@link com.binance.api.client.BinanceApiWebSocketClient#onCandlestickEvent}. Events of other intervals are
+     * ignored.
+     */
+    public void onCandlestickEvent(CandlestickEvent e) {
+        if (!CandlestickInterval.ONE_MINUTE.getIntervalId().equals(e.getIntervalId())) {
+            return;
+        }
+        update(e.getOpenTime(), e.getCloseTime(), ExchangeInfoIndex.parse(e.getOpen()),
+                ExchangeInfoIndex.parse(e.getHigh()), ExchangeInfoIndex.parse(e.getLow()),
+                ExchangeInfoIndex.parse(e.getClose()), ExchangeInfoIndex.parseVolume(e.getVolume()),
+                ExchangeInfoIndex.parseVolume(e.getQuoteAssetVolume()),
+                e.getNumberOfTrades() != null ? e.getNumberOfTrades() : 0,
+                ExchangeInfoIndex.parseVolume(e.getTakerBuyBaseAssetVolume()),
+                ExchangeInfoIndex.parseVolume(e.getTakerBuyQuoteAssetVolume()), Boolean.TRUE.equals(e.getBarFinal()));
+    }
+
+    /**
+     * Applies an aggregate trade event, so this method can be passed directly to
+     * {@link com.binance.api.client.BinanceApiWebSocketClient#onAggTradeEvent}. Trades already applied are ignored.
+     */
+    public void onAggTradeEvent(AggTradeEvent e) {
+        if (e.getAggregatedTradeId() <= lastAggTradeId) {
+            return;
+        }
+        lastAggTradeId = e.getAggregatedTradeId();
+        addTrade(e.getTradeTime(), ExchangeInfoIndex.parse(e.getPrice()),
+                ExchangeInfoIndex.parseVolume(e.getQuantity()),
+                e.getLastBreakdownTradeId() - e.getFirstBreakdownTradeId() + 1, e.isBuyerMaker());
+    }
+
+    /**
+     * Applies a one minute bar. Updates of a minute which was already final are ignored.
+     *
+     * @param closed true if the minute is final, false if it may still change
+     */
+    public void update(long openTime, long closeTime, long open, long high, long low, long close, double volume,
+                       double quoteVolume, long trades, double takerBuyBaseVolume, double takerBuyQuoteVolume,
+                       boolean closed) {
+        if (openTime <= lastMinuteOpenTime) {
+            return;
+        }
+        if (minutePending && minute.openTime < openTime) {
+            // The previous minute was never reported final
+            foldMinute();
+        }
+        minute.reset(openTime, closeTime);
+        minute.add(open, high, low, close, volume, quoteVolume, trades, takerBuyBaseVolume, takerBuyQuoteVolume);
+        minutePending = true;
+        if (closed) {
+            foldMinute();
+            return;
+        }
+        for (Bar bar : bars) {
+            if (bar.roll(openTime)) {
+                bar.publishWith(minute);
+            }
+        }
+    }
+
+    /**
+     * Applies a trade.
+     *
+     * @param time the trade time
+     * @param price the scaled price
+     * @param quantity the quantity
+     * @param trades the number of trades it aggregates
+     * @param buyerMaker true if the seller was the taker
+     */
+    public void addTrade(long time, long price, double quantity, long trades, boolean buyerMaker) {
+        double quoteVolume = (double) price / ExchangeInfoIndex.ONE * quantity;
+        double takerBuyBaseVolume = buyerMaker ? 0 : quantity;
+        double takerBuyQuoteVolume = buyerMaker ? 0 : quoteVolume;
+        for (Bar bar : bars) {
+            if (bar.roll(time)) {
+                bar.add(price, price, price, price, quantity, quoteVolume, trades, takerBuyBaseVolume,
+                        takerBuyQuoteVolume);
+                bar.publish(false);
+            }
+        }
+    }
+
+    /**
+     * Closes the bars whose close time is before a time, for quiet markets where the next minute or trade may come
+     * late. Call it periodically, e.g. every second.
+     */
+    public void onTime(long now) {
+        if (minutePending && minute.closeTime < now) {
+            foldMinute();
+        }
+        for (Bar bar : bars) {
+            if (!bar.empty && !bar.closed && bar.closeTime < now) {
+                bar.closed = true;
+                bar.publish(true);
+            }
+        }
+    }
+
+    private void foldMinute() {
+        minutePending = false;
+        lastMinuteOpenTime = minute.openTime;
+        for (Bar bar : bars) {
+            if (bar.roll(minute.openTime)) {
+                bar.add(minute.open, minute.high, minute.low, minute.close, minute.volume, minute.quoteVolume,
+                        minute.trades, minute.takerBuyBaseVolume, minute.takerBuyQuoteVolume);
+                bar.closed = minute.closeTime >= bar.closeTime;
+                bar.publish(bar.closed);
+            }
+        }
+    }
+
+    /**
+     * @return the open time of the bar of an interval containing a time.
+     */
+    public static long openTimeOf(CandlestickInterval interval, long time) {
+        switch (interval) {
+            case WEEKLY:
+                long week = interval.getDurationMillis();
+                return Math.floorDiv(time - FIRST_MONDAY_MILLIS, week) * week + FIRST_MONDAY_MILLIS;
+            case MONTHLY:
+                LocalDate date = Instant.ofEpochMilli(time).atZone(ZoneOffset.UTC).toLocalDate();
+                return toEpochMilli(date.withDayOfMonth(1));
+            default:
+                long duration = interval.getDurationMillis();
+                return Math.floorDiv(time, duration) * duration;
+        }
+    }
+
+    /**
+     * @return the close time of the bar of an interval opened at a time, one millisecond before the next bar opens.
+     */
+    public static long closeTimeOf(CandlestickInterval interval, long openTime) {
+        if (interval == CandlestickInterval.MONTHLY) {
+            LocalDate date = Instant.ofEpochMilli(openTime).atZone(ZoneOffset.UTC).toLocalDate();
+            return toEpochMilli(date.withDayOfMonth(1).plusMonths(1)) - 1;
+        }
+        return openTime + interval.getDurationMillis() - 1;
+    }
+
+    private static long toEpochMilli(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+
+    /**
+     * The bar being built for one interval.
+     */
+    private static final class Bar {
+
+        final CandlestickInterval interval;
+
+        final CandleSeries series;
+
+        long openTime = Long.MIN_VALUE;
+
+        long closeTime = Long.MIN_VALUE;
+
+        long open;
+
+        long high;
+
+        long low;
+
+        long close;
+
+        double volume;
+
+        double quoteVolume;
+
+        long trades;
+
+        double takerBuyBaseVolume;
+
+        double takerBuyQuoteVolume;
+
+        boolean empty = true;
+
+        boolean closed;
+
+        Bar(CandlestickInterval interval, CandleSeries series) {
+            this.interval = interval;
+            this.series = series;
+        }
+
+        /**
+         * Moves to the bar containing a time if it is later than the current one, closing the current one first.
+         *
+         * @return false if the time is before the current bar
+         */
+        boolean roll(long time) {
+            if (time > closeTime) {
+                if (!empty && !closed) {
+                    closed = true;
+                    publish(true);
+                }
+                long barOpenTime = openTimeOf(interval, time);
+                reset(barOpenTime, closeTimeOf(interval, barOpenTime));
+            }
+            return time >= openTime;
+        }
+
+        void reset(long openTime, long closeTime) {
+            this.openTime = openTime;
+            this.closeTime = closeTime;
+            this.volume = 0;
+            this.quoteVolume = 0;
+            this.trades = 0;
+            this.takerBuyBaseVolume = 0;
+            this.takerBuyQuoteVolume = 0;
+            this.empty = true;
+            this.closed = false;
+        }
+
+        void add(long open, long high, long low, long close, double volume, double quoteVolume, long trades,
+                 double takerBuyBaseVolume, double takerBuyQuoteVolume) {
+            if (empty) {
+                this.open = open;
+                this.high = high;
+                this.low = low;
+                empty = false;
+            } else {
+                this.high = Math.max(this.high, high);
+                this.low = Math.min(this.low, low);
+            }
+            this.close = close;
+            this.volume += volume;
+            this.quoteVolume += quoteVolume;
+            this.trades += trades;
+            this.takerBuyBaseVolume += takerBuyBaseVolume;
+            this.takerBuyQuoteVolume += takerBuyQuoteVolume;
+        }
+
+        void publish(boolean closed) {
+            series.update(openTime, closeTime, open, high, low, close, volume, quoteVolume, trades,
+                    takerBuyBaseVolume, takerBuyQuoteVolume, closed);
+        }
+
+        /**
+         * Publishes the bar as open, including a minute which is not final yet.
+         */
+        void publishWith(Bar m) {
+            series.update(openTime, closeTime, empty ? m.open : open, empty ? m.high : Math.max(high, m.high),
+                    empty ? m.low : Math.min(low, m.low), m.close, volume + m.volume, quoteVolume + m.quoteVolume,
+                    trades + m.trades, takerBuyBaseVolume + m.takerBuyBaseVolume,
+                    takerBuyQuoteVolume + m.takerBuyQuoteVolume, false);
+        }
+    }
+}
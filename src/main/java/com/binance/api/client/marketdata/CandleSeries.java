@@ -0,0 +1,261 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.market.Candlestick;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The most recent candlesticks of one symbol and interval, in fixed-capacity ring buffers of primitives.
+ * <p>
+ * Every field is a column of primitives: prices are longs scaled by 10^{@value ExchangeInfoIndex#SCALE}, volumes are
+ * doubles since they exceed the range of those longs for tokens with a large supply. The newest
+ * bar may still be open: updates with its open time overwrite it in place, and the first update with a later open time
+ * rolls the series forward, overwriting the oldest bar once the capacity is reached. Bars are addressed by index, from
+ * 0 for the oldest retained bar to {@link #size()} - 1 for the newest, so reading and updating never allocate.
+ * <p>
+ * Not thread-safe: update and read a series from the thread of its candlestick stream, or synchronize externally.
+ */
+public class CandleSeries {
+
+    /**
+     * Receives every applied update of a series.
+     */
+    public interface Listener {
+
+        /**
+         * @param series the series, whose newest bar ({@link #size()} - 1) is the updated one
+         * @param closed true if the bar is final, false if it may still change
+         */
+        void onBar(CandleSeries series, boolean closed);
+    }
+
+    private final int mask;
+
+    private final long[] openTime;
+
+    private final long[] closeTime;
+
+    private final long[] open;
+
+    private final long[] high;
+
+    private final long[] low;
+
+    private final long[] close;
+
+    private final double[] volume;
+
+    private final double[] quoteVolume;
+
+    private final long[] trades;
+
+    private final double[] takerBuyBaseVolume;
+
+    private final double[] takerBuyQuoteVolume;
+
+    /**
+     * Number of bars ever added.
+     */
+    private long count;
+
+    private boolean lastClosed;
+
+    private Listener[] listeners = new Listener[0];
+
+    /**
+     * @param capacity the number of bars to retain, rounded up to a power of two
+     */
+    public CandleSeries(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.openTime = new long[size];
+        this.closeTime = new long[size];
+        this.open = new long[size];
+        this.high = new long[size];
+        this.low = new long[size];
+        this.close = new long[size];
+        this.volume = new double[size];
+        this.quoteVolume = new double[size];
+        this.trades = new long[size];
+        this.takerBuyBaseVolume = new double[size];
+        this.takerBuyQuoteVolume = new double[size];
+    }
+
+    public void addListener(Listener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Seeds the series with candlesticks from {@link com.binance.api.client.BinanceApiRestClient#getCandlestickBars},
+     * in order. Candlesticks whose close time has not passed yet are added as open.
+     */
+    public void load(List<Candlestick> candlesticks) {
+        long now = System.currentTimeMillis();
+        for (Candlestick c : candlesticks) {
+            update(c.getOpenTime(), c.getCloseTime(), ExchangeInfoIndex.parse(c.getOpen()),
+                    ExchangeInfoIndex.parse(c.getHigh()), ExchangeInfoIndex.parse(c.getLow()),
+                    ExchangeInfoIndex.parse(c.getClose()), ExchangeInfoIndex.parseVolume(c.getVolume()),
+                    ExchangeInfoIndex.parseVolume(c.getQuoteAssetVolume()),
+                    c.getNumberOfTrades() != null ? c.getNumberOfTrades() : 0,
+                    ExchangeInfoIndex.parseVolume(c.getTakerBuyBaseAssetVolume()),
+                    ExchangeInfoIndex.parseVolume(c.getTakerBuyQuoteAssetVolume()), c.getCloseTime() < now);
+        }
+    }
+
+    /**
+     * Applies a candlestick event, so this method can be passed directly to
+     * {@link com.binance.api.client.BinanceApiWebSocketClient#onCandlestickEvent}.
+     */
+    public void onCandlestickEvent(CandlestickEvent e) {
+        update(e.getOpenTime(), e.getCloseTime(), ExchangeInfoIndex.parse(e.getOpen()),
+                ExchangeInfoIndex.parse(e.getHigh()), ExchangeInfoIndex.parse(e.getLow()),
+                ExchangeInfoIndex.parse(e.getClose()), ExchangeInfoIndex.parseVolume(e.getVolume()),
+                ExchangeInfoIndex.parseVolume(e.getQuoteAssetVolume()),
+                e.getNumberOfTrades() != null ? e.getNumberOfTrades() : 0,
+                ExchangeInfoIndex.parseVolume(e.getTakerBuyBaseAssetVolume()),
+                ExchangeInfoIndex.parseVolume(e.getTakerBuyQuoteAssetVolume()), Boolean.TRUE.equals(e.getBarFinal()));
+    }
+
+    /**
+     * Updates the newest bar if it has the same open time, or adds a bar if it is newer. Older bars are ignored.
+     *
+     * @return true if the update was applied
+     */
+    public boolean update(long openTime, long closeTime, long open, long high, long low, long close, double volume,
+                          double quoteVolume, long trades, double takerBuyBaseVolume, double takerBuyQuoteVolume,
+                          boolean closed) {
+        if (count > 0) {
+            long newestOpenTime = this.openTime[(int) (count - 1) & mask];
+            if (openTime < newestOpenTime) {
+                return false;
+            }
+            if (openTime > newestOpenTime) {
+                count++;
+            }
+        } else {
+            count++;
+        }
+        int slot = (int) (count - 1) & mask;
+        this.openTime[slot] = openTime;
+        this.closeTime[slot] = closeTime;
+        this.open[slot] = open;
+        this.high[slot] = high;
+        this.low[slot] = low;
+        this.close[slot] = close;
+        this.volume[slot] = volume;
+        this.quoteVolume[slot] = quoteVolume;
+        this.trades[slot] = trades;
+        this.takerBuyBaseVolume[slot] = takerBuyBaseVolume;
+        this.takerBuyQuoteVolume[slot] = takerBuyQuoteVolume;
+        this.lastClosed = closed;
+        for (Listener listener : listeners) {
+            listener.onBar(this, closed);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of retained bars.
+     */
+    public int size() {
+        return (int) Math.min(count, mask + 1);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the number of bars ever added, which identifies bars across roll-overs.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return true if the newest bar is final, false if it may still change.
+     */
+    public boolean isLastClosed() {
+        return lastClosed;
+    }
+
+    /**
+     * @return the index of the bar with the given open time, or -1 if it is not retained.
+     */
+    public int indexOf(long time) {
+        int index = indexAtOrAfter(time);
+        return index < size() && getOpenTime(index) == time ? index : -1;
+    }
+
+    /**
+     * @return the index of the oldest bar opened at or after the given time, or {@link #size()} if there is none.
+     */
+    public int indexAtOrAfter(long time) {
+        int lo = 0;
+        int hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (getOpenTime(mid) < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public long getOpenTime(int index) {
+        return openTime[slot(index)];
+    }
+
+    public long getCloseTime(int index) {
+        return closeTime[slot(index)];
+    }
+
+    public long getOpen(int index) {
+        return open[slot(index)];
+    }
+
+    public long getHigh(int index) {
+        return high[slot(index)];
+    }
+
+    public long getLow(int index) {
+        return low[slot(index)];
+    }
+
+    public long getClose(int index) {
+        return close[slot(index)];
+    }
+
+    public double getVolume(int index) {
+        return volume[slot(index)];
+    }
+
+    public double getQuoteAssetVolume(int index) {
+        return quoteVolume[slot(index)];
+    }
+
+    public long getNumberOfTrades(int index) {
+        return trades[slot(index)];
+    }
+
+    public double getTakerBuyBaseAssetVolume(int index) {
+        return takerBuyBaseVolume[slot(index)];
+    }
+
+    public double getTakerBuyQuoteAssetVolume(int index) {
+        return takerBuyQuoteVolume[slot(index)];
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size());
+        }
+        return (int) (count - size() + index) & mask;
+    }
+}
@@ -0,0 +1,331 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A local order book of one symbol, kept from a REST snapshot and the diff depth stream of
+ * {@link com.binance.api.client.BinanceApiWebSocketClient#onDepthEvent(String, com.binance.api.client.BinanceApiCallback)}.
+ * <p>
+ * Each side is a pair of sorted primitive arrays, best level first, with prices and quantities as longs scaled by
+ * 10^{@value ExchangeInfoIndex#SCALE}. Depth events received before {@link #load(OrderBook)} are buffered, and those
+ * the snapshot already covers are dropped. If the update ids of the stream skip, the book is no longer
+ * {@link #isSynced() synced} and buffers again until the next snapshot.
+ * <p>
+ * The book has a single writer, the thread of the stream; {@link #load(OrderBook)} may be called from another thread,
+ * the writer methods being synchronized with each other. Any number of readers copy the top levels into their own
+ * arrays under a sequence lock: the copy is made optimistically and retried if an event was applied meanwhile, and
+ * only taken under a read lock after {@value #OPTIMISTIC_READS} attempts, so readers neither block the stream nor see a
+ * half applied event.
+ */
+public class DepthBook {
+
+    /**
+     * Optimistic copies attempted before a reader takes the read lock.
+     */
+    static final int OPTIMISTIC_READS = 4;
+
+    private static final int INITIAL_LEVELS = 256;
+
+    private final StampedLock lock = new StampedLock();
+
+    private final Side bids = new Side(true);
+
+    private final Side asks = new Side(false);
+
+    private final List<DepthEvent> pending = new ArrayList<>();
+
+    private long lastUpdateId = -1;
+
+    private boolean synced;
+
+    /**
+     * Applies a depth event, or buffers it until the book is synced with a snapshot.
+     */
+    public synchronized void onDepthEvent(DepthEvent event) {
+        if (!synced) {
+            pending.add(event);
+        } else {
+            apply(event);
+        }
+    }
+
+    /**
+     * Replaces the levels with a snapshot of the REST API, then applies the buffered depth events which follow it.
+     * The snapshot should be taken after subscribing to the stream, so that no event is missed in between.
+     */
+    public synchronized void load(OrderBook snapshot) {
+        long stamp = lock.writeLock();
+        try {
+            bids.clear();
+            asks.clear();
+            for (OrderBookEntry bid : snapshot.getBids()) {
+                bids.set(price(bid), quantity(bid));
+            }
+            for (OrderBookEntry ask : snapshot.getAsks()) {
+                asks.set(price(ask), quantity(ask));
+            }
+            lastUpdateId = snapshot.getLastUpdateId();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        synced = true;
+        List<DepthEvent> events = new ArrayList<>(pending);
+        pending.clear();
+        for (DepthEvent event : events) {
+            onDepthEvent(event);
+        }
+    }
+
+    private void apply(DepthEvent event) {
+        if (event.getFinalUpdateId() <= lastUpdateId) {
+            return;
+        }
+        if (event.getFirstUpdateId() > lastUpdateId + 1) {
+            synced = false;
+            pending.add(event);
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            update(bids, event.getBids());
+            update(asks, event.getAsks());
+            lastUpdateId = event.getFinalUpdateId();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static void update(Side side, List<OrderBookEntry> entries) {
+        if (entries != null) {
+            for (OrderBookEntry entry : entries) {
+                side.set(price(entry), quantity(entry));
+            }
+        }
+    }
+
+    private static long price(OrderBookEntry entry) {
+        return entry.getPriceDecimal().unscaledValue(ExchangeInfoIndex.SCALE);
+    }
+
+    private static long quantity(OrderBookEntry entry) {
+        return entry.getQtyDecimal().unscaledValue(ExchangeInfoIndex.SCALE);
+    }
+
+    /**
+     * @return true if a snapshot was loaded and no update was missed since.
+     */
+    public synchronized boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * @return the number of depth events buffered until the next snapshot.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return the update id of the last event applied, or -1 before the first snapshot.
+     */
+    public long getLastUpdateId() {
+        long stamp = lock.tryOptimisticRead();
+        long updateId = lastUpdateId;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                updateId = lastUpdateId;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return updateId;
+    }
+
+    /**
+     * Copies the best bids, highest price first.
+     *
+     * @return the number of levels copied, at most the length of the arrays
+     */
+    public int copyBids(long[] prices, long[] quantities) {
+        return copy(bids, prices, quantities);
+    }
+
+    /**
+     * Copies the best asks, lowest price first.
+     *
+     * @return the number of levels copied, at most the length of the arrays
+     */
+    public int copyAsks(long[] prices, long[] quantities) {
+        return copy(asks, prices, quantities);
+    }
+
+    /**
+     * Copies the best levels of both sides as of the same update. The levels past the depth of the book are zeroed.
+     *
+     * @return the update id of the copied book
+     */
+    public long copyTop(long[] bidPrices, long[] bidQuantities, long[] askPrices, long[] askQuantities) {
+        for (int attempt = 0; attempt < OPTIMISTIC_READS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            long updateId = copyTo(bidPrices, bidQuantities, askPrices, askQuantities);
+            if (lock.validate(stamp)) {
+                return updateId;
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            return copyTo(bidPrices, bidQuantities, askPrices, askQuantities);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long copyTo(long[] bidPrices, long[] bidQuantities, long[] askPrices, long[] askQuantities) {
+        int bidCount = bids.copyTo(bidPrices, bidQuantities);
+        Arrays.fill(bidPrices, bidCount, bidPrices.length, 0);
+        Arrays.fill(bidQuantities, bidCount, bidQuantities.length, 0);
+        int askCount = asks.copyTo(askPrices, askQuantities);
+        Arrays.fill(askPrices, askCount, askPrices.length, 0);
+        Arrays.fill(askQuantities, askCount, askQuantities.length, 0);
+        return lastUpdateId;
+    }
+
+    private int copy(Side side, long[] prices, long[] quantities) {
+        for (int attempt = 0; attempt < OPTIMISTIC_READS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            int count = side.copyTo(prices, quantities);
+            if (lock.validate(stamp)) {
+                return count;
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            return side.copyTo(prices, quantities);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return the number of bid levels.
+     */
+    public int getBidCount() {
+        return count(bids);
+    }
+
+    /**
+     * @return the number of ask levels.
+     */
+    public int getAskCount() {
+        return count(asks);
+    }
+
+    private int count(Side side) {
+        long stamp = lock.tryOptimisticRead();
+        int count = side.count;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = side.count;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The levels of one side, best first, written under the write lock.
+     */
+    private static final class Side {
+
+        private final boolean descending;
+
+        private long[] prices = new long[INITIAL_LEVELS];
+
+        private long[] quantities = new long[INITIAL_LEVELS];
+
+        private int count;
+
+        private Side(boolean descending) {
+            this.descending = descending;
+        }
+
+        private void clear() {
+            count = 0;
+        }
+
+        /**
+         * Sets the quantity at a price, removing the level if the quantity is zero.
+         */
+        private void set(long price, long quantity) {
+            int index = indexOf(price);
+            if (index >= 0) {
+                if (quantity == 0) {
+                    System.arraycopy(prices, index + 1, prices, index, count - index - 1);
+                    System.arraycopy(quantities, index + 1, quantities, index, count - index - 1);
+                    count--;
+                } else {
+                    quantities[index] = quantity;
+                }
+            } else if (quantity != 0) {
+                index = -index - 1;
+                if (count == prices.length) {
+                    prices = Arrays.copyOf(prices, count * 2);
+                    quantities = Arrays.copyOf(quantities, count * 2);
+                }
+                System.arraycopy(prices, index, prices, index + 1, count - index);
+                System.arraycopy(quantities, index, quantities, index + 1, count - index);
+                prices[index] = price;
+                quantities[index] = quantity;
+                count++;
+            }
+        }
+
+        /**
+         * Binary search from the best level.
+         *
+         * @return the index of the price, or (-(insertion point) - 1) if it has no level
+         */
+        private int indexOf(long price) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midPrice = prices[mid];
+                if (midPrice == price) {
+                    return mid;
+                }
+                if (descending ? midPrice > price : midPrice < price) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * Copies the best levels. May run concurrently with the writer, so it reads each field once and stays within
+         * the bounds of what it read; the caller discards the copy if the lock stamp is no longer valid.
+         */
+        private int copyTo(long[] toPrices, long[] toQuantities) {
+            long[] fromPrices = prices;
+            long[] fromQuantities = quantities;
+            int n = Math.min(Math.min(count, Math.min(fromPrices.length, fromQuantities.length)),
+                    Math.min(toPrices.length, toQuantities.length));
+            System.arraycopy(fromPrices, 0, toPrices, 0, n);
+            System.arraycopy(fromQuantities, 0, toQuantities, 0, n);
+            return n;
+        }
+    }
+}
@@ -0,0 +1,540 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.domain.event.TickerEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The 24 hour tickers of the whole market, from {@link com.binance.api.client.BinanceApiWebSocketClient#onAllMarketTickersEvent(MarketBoard)},
+ * stored as one primitive array per field indexed by the symbol ids of an {@link ExchangeInfoIndex}.
+ * <p>
+ * Each frame of the stream is decoded straight from the text buffer of a streaming JSON parser, without creating a
+ * {@link TickerEvent} or a String per field, then published at once. Prices are longs scaled by
+ * 10^{@value ExchangeInfoIndex#SCALE}; quantities and volumes, which exceed the range of those longs for tokens with
+ * a large supply, are doubles stored as their {@link Double#doubleToLongBits bits} (see {@link #isDouble(int)}).
+ * Symbols unknown to the index are skipped, and so are tickers with a malformed value, which keep their previous
+ * fields while the rest of the frame is published. The stream only sends the symbols which changed, which are
+ * recorded per frame.
+ * <p>
+ * The board has a single writer, the thread of the stream. Readers copy it into a {@link Snapshot} (or a row of it
+ * with {@link #read(int, long[])}) under a sequence lock: the copy is made optimistically and repeated under a read
+ * lock only if a frame was published meanwhile, so readers never block the stream. Scanning a snapshot walks one
+ * contiguous array per field.
+ */
+public class MarketBoard {
+
+    public static final int EVENT_TIME = 0;
+    public static final int PRICE_CHANGE = 1;
+    public static final int PRICE_CHANGE_PERCENT = 2;
+    public static final int WEIGHTED_AVERAGE_PRICE = 3;
+    public static final int PREVIOUS_DAYS_CLOSE_PRICE = 4;
+    public static final int CURRENT_DAYS_CLOSE_PRICE = 5;
+    public static final int CLOSE_TRADES_QUANTITY = 6;
+    public static final int BEST_BID_PRICE = 7;
+    public static final int BEST_BID_QUANTITY = 8;
+    public static final int BEST_ASK_PRICE = 9;
+    public static final int BEST_ASK_QUANTITY = 10;
+    public static final int OPEN_PRICE = 11;
+    public static final int HIGH_PRICE = 12;
+    public static final int LOW_PRICE = 13;
+    public static final int TOTAL_TRADED_BASE_ASSET_VOLUME = 14;
+    public static final int TOTAL_TRADED_QUOTE_ASSET_VOLUME = 15;
+    public static final int STATISTICS_OPEN_TIME = 16;
+    public static final int STATISTICS_CLOSE_TIME = 17;
+    public static final int FIRST_TRADE_ID = 18;
+    public static final int LAST_TRADE_ID = 19;
+    public static final int TOTAL_NUMBER_OF_TRADES = 20;
+
+    /**
+     * Number of fields.
+     */
+    public static final int FIELDS = 21;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ExchangeInfoIndex index;
+
+    private final StampedLock lock = new StampedLock();
+
+    private final long[][] columns;
+
+    private final long[] updateFrames;
+
+    private final int[] changedIds;
+
+    private int changedCount;
+
+    private long frame;
+
+    private long malformedCount;
+
+    /**
+     * Rows of the frame being decoded, published at once.
+     */
+    private long[][] staged = new long[FIELDS][256];
+
+    private int[] stagedIds = new int[256];
+
+    private int stagedCount;
+
+    public MarketBoard(ExchangeInfoIndex index) {
+        this.index = index;
+        this.columns = new long[FIELDS][index.size()];
+        this.updateFrames = new long[index.size()];
+        this.changedIds = new int[index.size()];
+    }
+
+    /**
+     * Decodes and publishes a frame of the all market tickers stream, a JSON array of ticker objects.
+     *
+     * @throws BinanceApiException if the frame is malformed
+     */
+    public void onMessage(String text) {
+        stagedCount = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BinanceApiException("Expected an array of tickers");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int row = stageRow();
+                int id = -1;
+                boolean malformed = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    JsonToken token = parser.nextToken();
+                    if (name.length() != 1) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    char key = name.charAt(0);
+                    if (key == 's') {
+                        id = index.idOf(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                        continue;
+                    }
+                    int field = fieldOf(key);
+                    if (field < 0) {
+                        parser.skipChildren();
+                    } else if (token == JsonToken.VALUE_STRING) {
+                        try {
+                            staged[field][row] = parse(field, parser.getTextCharacters(), parser.getTextOffset(),
+                                    parser.getTextLength());
+                        } catch (NumberFormatException e) {
+                            malformed = true;
+                        }
+                    } else {
+                        staged[field][row] = parser.getLongValue();
+                    }
+                }
+                if (malformed) {
+                    malformedCount++;
+                } else if (id >= 0) {
+                    stagedIds[row] = id;
+                    stagedCount++;
+                }
+            }
+        } catch (IOException e) {
+            throw new BinanceApiException(e);
+        }
+        publish();
+    }
+
+    /**
+     * Publishes decoded tickers, e.g. those of {@link com.binance.api.client.BinanceApiWebSocketClient#onAllMarketTickersEvent(com.binance.api.client.BinanceApiCallback)},
+     * as one frame.
+     */
+    public void update(List<TickerEvent> tickers) {
+        stagedCount = 0;
+        for (TickerEvent ticker : tickers) {
+            int id = index.idOf(ticker.getSymbol());
+            if (id < 0) {
+                continue;
+            }
+            int row = stageRow();
+            try {
+                staged[PRICE_CHANGE][row] = ExchangeInfoIndex.parse(ticker.getPriceChange());
+                staged[PRICE_CHANGE_PERCENT][row] = ExchangeInfoIndex.parse(ticker.getPriceChangePercent());
+                staged[WEIGHTED_AVERAGE_PRICE][row] = ExchangeInfoIndex.parse(ticker.getWeightedAveragePrice());
+                staged[PREVIOUS_DAYS_CLOSE_PRICE][row] = ExchangeInfoIndex.parse(ticker.getPreviousDaysClosePrice());
+                staged[CURRENT_DAYS_CLOSE_PRICE][row] = ExchangeInfoIndex.parse(ticker.getCurrentDaysClosePrice());
+                staged[CLOSE_TRADES_QUANTITY][row] = parseDouble(ticker.getCloseTradesQuantity());
+                staged[BEST_BID_PRICE][row] = ExchangeInfoIndex.parse(ticker.getBestBidPrice());
+                staged[BEST_BID_QUANTITY][row] = parseDouble(ticker.getBestBidQuantity());
+                staged[BEST_ASK_PRICE][row] = ExchangeInfoIndex.parse(ticker.getBestAskPrice());
+                staged[BEST_ASK_QUANTITY][row] = parseDouble(ticker.getBestAskQuantity());
+                staged[OPEN_PRICE][row] = ExchangeInfoIndex.parse(ticker.getOpenPrice());
+                staged[HIGH_PRICE][row] = ExchangeInfoIndex.parse(ticker.getHighPrice());
+                staged[LOW_PRICE][row] = ExchangeInfoIndex.parse(ticker.getLowPrice());
+                staged[TOTAL_TRADED_BASE_ASSET_VOLUME][row] = parseDouble(ticker.getTotalTradedBaseAssetVolume());
+                staged[TOTAL_TRADED_QUOTE_ASSET_VOLUME][row] = parseDouble(ticker.getTotalTradedQuoteAssetVolume());
+            } catch (NumberFormatException e) {
+                malformedCount++;
+                continue;
+            }
+            staged[EVENT_TIME][row] = ticker.getEventTime();
+            staged[STATISTICS_OPEN_TIME][row] = ticker.getStatisticsOpenTime();
+            staged[STATISTICS_CLOSE_TIME][row] = ticker.getStatisticsCloseTime();
+            staged[FIRST_TRADE_ID][row] = ticker.getFirstTradeId();
+            staged[LAST_TRADE_ID][row] = ticker.getLastTradeId();
+            staged[TOTAL_NUMBER_OF_TRADES][row] = ticker.getTotalNumberOfTrades();
+            stagedIds[row] = id;
+            stagedCount++;
+        }
+        publish();
+    }
+
+    /**
+     * @return the index of the next staged row, cleared of the fields of a skipped ticker or of a previous frame,
+     * growing the staging arrays if needed.
+     */
+    private int stageRow() {
+        if (stagedCount == stagedIds.length) {
+            stagedIds = Arrays.copyOf(stagedIds, stagedCount * 2);
+            for (int field = 0; field < FIELDS; field++) {
+                staged[field] = Arrays.copyOf(staged[field], stagedCount * 2);
+            }
+        }
+        for (int field = 0; field < FIELDS; field++) {
+            staged[field][stagedCount] = 0;
+        }
+        return stagedCount;
+    }
+
+    /**
+     * @return a string field in its column representation: the bits of a double for quantities and volumes, a long
+     * scaled by 10^{@value ExchangeInfoIndex#SCALE} otherwise.
+     */
+    private static long parse(int field, char[] chars, int offset, int length) {
+        if (isDouble(field)) {
+            return Double.doubleToLongBits(Decimal.parseDouble(chars, offset, length) + 0.0);
+        }
+        return ExchangeInfoIndex.parse(chars, offset, length);
+    }
+
+    private static long parseDouble(String value) {
+        return Double.doubleToLongBits(ExchangeInfoIndex.parseVolume(value));
+    }
+
+    /**
+     * @return true if a field holds a quantity or a volume, stored as the {@link Double#doubleToLongBits bits} of a
+     * double, false if it holds a price, a percentage, a time, an id or a count, stored as a long.
+     */
+    public static boolean isDouble(int field) {
+        switch (field) {
+            case CLOSE_TRADES_QUANTITY:
+            case BEST_BID_QUANTITY:
+            case BEST_ASK_QUANTITY:
+            case TOTAL_TRADED_BASE_ASSET_VOLUME:
+            case TOTAL_TRADED_QUOTE_ASSET_VOLUME:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void publish() {
+        long stamp = lock.writeLock();
+        try {
+            frame++;
+            for (int row = 0; row < stagedCount; row++) {
+                int id = stagedIds[row];
+                for (int field = 0; field < FIELDS; field++) {
+                    columns[field][id] = staged[field][row];
+                }
+                updateFrames[id] = frame;
+                if (row < changedIds.length) {
+                    changedIds[row] = id;
+                }
+            }
+            changedCount = Math.min(stagedCount, changedIds.length);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static int fieldOf(char key) {
+        switch (key) {
+            case 'E': return EVENT_TIME;
+            case 'p': return PRICE_CHANGE;
+            case 'P': return PRICE_CHANGE_PERCENT;
+            case 'w': return WEIGHTED_AVERAGE_PRICE;
+            case 'x': return PREVIOUS_DAYS_CLOSE_PRICE;
+            case 'c': return CURRENT_DAYS_CLOSE_PRICE;
+            case 'Q': return CLOSE_TRADES_QUANTITY;
+            case 'b': return BEST_BID_PRICE;
+            case 'B': return BEST_BID_QUANTITY;
+            case 'a': return BEST_ASK_PRICE;
+            case 'A': return BEST_ASK_QUANTITY;
+            case 'o': return OPEN_PRICE;
+            case 'h': return HIGH_PRICE;
+            case 'l': return LOW_PRICE;
+            case 'v': return TOTAL_TRADED_BASE_ASSET_VOLUME;
+            case 'q': return TOTAL_TRADED_QUOTE_ASSET_VOLUME;
+            case 'O': return STATISTICS_OPEN_TIME;
+            case 'C': return STATISTICS_CLOSE_TIME;
+            case 'F': return FIRST_TRADE_ID;
+            case 'L': return LAST_TRADE_ID;
+            case 'n': return TOTAL_NUMBER_OF_TRADES;
+            default: return -1;
+        }
+    }
+
+    /**
+     * @return a snapshot sized for this board, to be filled by {@link #snapshot(Snapshot)}.
+     */
+    public Snapshot newSnapshot() {
+        return new Snapshot(index);
+    }
+
+    /**
+     * Copies the board, consistently, into a snapshot created by {@link #newSnapshot()}.
+     */
+    public void snapshot(Snapshot snapshot) {
+        long stamp = lock.tryOptimisticRead();
+        copyTo(snapshot);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                copyTo(snapshot);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    private void copyTo(Snapshot snapshot) {
+        for (int field = 0; field < FIELDS; field++) {
+            System.arraycopy(columns[field], 0, snapshot.columns[field], 0, columns[field].length);
+        }
+        System.arraycopy(updateFrames, 0, snapshot.updateFrames, 0, updateFrames.length);
+        System.arraycopy(changedIds, 0, snapshot.changedIds, 0, changedCount);
+        snapshot.changedCount = changedCount;
+        snapshot.frame = frame;
+    }
+
+    /**
+     * Copies the fields of one symbol, consistently, into a row indexed by the field constants of this class.
+     *
+     * @return the frame which last updated the symbol, 0 if none
+     */
+    public long read(int symbolId, long[] row) {
+        long stamp = lock.tryOptimisticRead();
+        long updateFrame = copyRow(symbolId, row);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                updateFrame = copyRow(symbolId, row);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return updateFrame;
+    }
+
+    private long copyRow(int symbolId, long[] row) {
+        for (int field = 0; field < FIELDS; field++) {
+            row[field] = columns[field][symbolId];
+        }
+        return updateFrames[symbolId];
+    }
+
+    /**
+     * @return the number of frames published.
+     */
+    public long getFrame() {
+        long stamp = lock.readLock();
+        try {
+            return frame;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return the number of tickers skipped because one of their values was malformed, e.g. out of range.
+     */
+    public long getMalformedCount() {
+        long stamp = lock.readLock();
+        try {
+            return malformedCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public ExchangeInfoIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * A consistent copy of a {@link MarketBoard}, reused from one snapshot to the next.
+     */
+    public static final class Snapshot {
+
+        private final ExchangeInfoIndex index;
+
+        private final long[][] columns;
+
+        private final long[] updateFrames;
+
+        private final int[] changedIds;
+
+        private int changedCount;
+
+        private long frame;
+
+        private Snapshot(ExchangeInfoIndex index) {
+            this.index = index;
+            this.columns = new long[FIELDS][index.size()];
+            this.updateFrames = new long[index.size()];
+            this.changedIds = new int[index.size()];
+        }
+
+        /**
+         * @return the number of symbols, whose ids go from 0 to size - 1.
+         */
+        public int size() {
+            return updateFrames.length;
+        }
+
+        public String getSymbol(int id) {
+            return index.getSymbol(id);
+        }
+
+        /**
+         * @return the number of frames published when the snapshot was taken.
+         */
+        public long getFrame() {
+            return frame;
+        }
+
+        /**
+         * @return the frame which last updated a symbol, 0 if none, e.g. to find the symbols changed since a frame.
+         */
+        public long getUpdateFrame(int id) {
+            return updateFrames[id];
+        }
+
+        /**
+         * @return the number of symbols changed by the last frame.
+         */
+        public int getChangedCount() {
+            return changedCount;
+        }
+
+        /**
+         * @return the id of a symbol changed by the last frame.
+         */
+        public int getChangedId(int i) {
+            return changedIds[i];
+        }
+
+        /**
+         * @return a field of a symbol, by the field constants of {@link MarketBoard}: the bits of a double for the
+         * fields for which {@link MarketBoard#isDouble(int)} is true.
+         */
+        public long get(int field, int id) {
+            return columns[field][id];
+        }
+
+        /**
+         * @return a field of a symbol as a double: the value itself for quantities and volumes, the scaled long
+         * otherwise.
+         */
+        public double getDouble(int field, int id) {
+            return isDouble(field) ? Double.longBitsToDouble(columns[field][id]) : columns[field][id];
+        }
+
+        public long getEventTime(int id) {
+            return columns[EVENT_TIME][id];
+        }
+
+        public long getPriceChange(int id) {
+            return columns[PRICE_CHANGE][id];
+        }
+
+        public long getPriceChangePercent(int id) {
+            return columns[PRICE_CHANGE_PERCENT][id];
+        }
+
+        public long getWeightedAveragePrice(int id) {
+            return columns[WEIGHTED_AVERAGE_PRICE][id];
+        }
+
+        public long getPreviousDaysClosePrice(int id) {
+            return columns[PREVIOUS_DAYS_CLOSE_PRICE][id];
+        }
+
+        public long getCurrentDaysClosePrice(int id) {
+            return columns[CURRENT_DAYS_CLOSE_PRICE][id];
+        }
+
+        public double getCloseTradesQuantity(int id) {
+            return Double.longBitsToDouble(columns[CLOSE_TRADES_QUANTITY][id]);
+        }
+
+        public long getBestBidPrice(int id) {
+            return columns[BEST_BID_PRICE][id];
+        }
+
+        public double getBestBidQuantity(int id) {
+            return Double.longBitsToDouble(columns[BEST_BID_QUANTITY][id]);
+        }
+
+        public long getBestAskPrice(int id) {
+            return columns[BEST_ASK_PRICE][id];
+        }
+
+        public double getBestAskQuantity(int id) {
+            return Double.longBitsToDouble(columns[BEST_ASK_QUANTITY][id]);
+        }
+
+        public long getOpenPrice(int id) {
+            return columns[OPEN_PRICE][id];
+        }
+
+        public long getHighPrice(int id) {
+            return columns[HIGH_PRICE][id];
+        }
+
+        public long getLowPrice(int id) {
+            return columns[LOW_PRICE][id];
+        }
+
+        public double getTotalTradedBaseAssetVolume(int id) {
+            return Double.longBitsToDouble(columns[TOTAL_TRADED_BASE_ASSET_VOLUME][id]);
+        }
+
+        public double getTotalTradedQuoteAssetVolume(int id) {
+            return Double.longBitsToDouble(columns[TOTAL_TRADED_QUOTE_ASSET_VOLUME][id]);
+        }
+
+        public long getStatisticsOpenTime(int id) {
+            return columns[STATISTICS_OPEN_TIME][id];
+        }
+
+        public long getStatisticsCloseTime(int id) {
+            return columns[STATISTICS_CLOSE_TIME][id];
+        }
+
+        public long getFirstTradeId(int id) {
+            return columns[FIRST_TRADE_ID][id];
+        }
+
+        public long getLastTradeId(int id) {
+            return columns[LAST_TRADE_ID][id];
+        }
+
+        public long getTotalNumberOfTrades(int id) {
+            return columns[TOTAL_NUMBER_OF_TRADES][id];
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.binance.api.client.marketdata;
+
+import java.util.Arrays;
+
+/**
+ * Symbols ranked by one field of a {@link MarketBoard}, e.g. {@link MarketBoard#PRICE_CHANGE_PERCENT} or
+ * {@link MarketBoard#TOTAL_TRADED_QUOTE_ASSET_VOLUME}, from the highest value (rank 0) to the lowest, ties ordered by
+ * symbol id. Keep one ranking per field.
+ * <p>
+ * The ranking is an order-statistic treap whose nodes are the symbol ids, in primitive arrays: each update moves one
+ * symbol in O(log n), {@link #rankOf(int)} and {@link #idAt(int)} take O(log n), and {@link #top(int, int[])} takes
+ * O(log n + N). {@link #update(MarketBoard.Snapshot)} only moves the symbols changed since the previous update,
+ * instead of sorting the market on every frame.
+ * <p>
+ * Not thread-safe: update and query a ranking from one thread, e.g. the one taking the snapshots.
+ */
+public class SymbolRanking {
+
+    private static final int NIL = -1;
+
+    private final int field;
+
+    private final long[] values;
+
+    private final boolean[] ranked;
+
+    private final int[] left;
+
+    private final int[] right;
+
+    private final int[] sizes;
+
+    private final int[] priorities;
+
+    private int root = NIL;
+
+    private long lastFrame;
+
+    private int[] stack = new int[64];
+
+    /**
+     * @param board the board whose symbols are ranked
+     * @param field the field to rank by, one of the field constants of {@link MarketBoard}
+     */
+    public SymbolRanking(MarketBoard board, int field) {
+        this(board.getIndex().size(), field);
+    }
+
+    /**
+     * @param capacity the number of symbol ids, from 0 to capacity - 1
+     * @param field the field to rank by in {@link #update(MarketBoard.Snapshot)}
+     */
+    public SymbolRanking(int capacity, int field) {
+        if (field < 0 || field >= MarketBoard.FIELDS) {
+            throw new IllegalArgumentException("Unknown field " + field);
+        }
+        this.field = field;
+        this.values = new long[capacity];
+        this.ranked = new boolean[capacity];
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.sizes = new int[capacity];
+        this.priorities = new int[capacity];
+        for (int id = 0; id < capacity; id++) {
+            int h = id * 0x9E3779B9;
+            priorities[id] = h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * Moves the symbols updated since the previous call: those of the last frame if no frame was skipped, otherwise
+     * those whose update frame is later than the previous snapshot.
+     */
+    public void update(MarketBoard.Snapshot snapshot) {
+        long frame = snapshot.getFrame();
+        if (frame == lastFrame) {
+            return;
+        }
+        if (frame == lastFrame + 1) {
+            for (int i = 0; i < snapshot.getChangedCount(); i++) {
+                int id = snapshot.getChangedId(i);
+                set(id, key(snapshot, id));
+            }
+        } else {
+            for (int id = 0; id < snapshot.size(); id++) {
+                if (snapshot.getUpdateFrame(id) > lastFrame) {
+                    set(id, key(snapshot, id));
+                }
+            }
+        }
+        lastFrame = frame;
+    }
+
+    /**
+     * @return the value of a symbol as a long ordered like the value: the field itself, or for the double fields of
+     * the board their bits with those of negative values flipped, which leaves the bits of non-negative values as is.
+     */
+    private long key(MarketBoard.Snapshot snapshot, int id) {
+        long value = snapshot.get(field, id);
+        return MarketBoard.isDouble(field) ? value ^ ((value >> 63) & Long.MAX_VALUE) : value;
+    }
+
+    /**
+     * Ranks a symbol by a value, moving it if it was ranked already.
+     */
+    public void set(int id, long value) {
+        if (ranked[id]) {
+            if (values[id] == value) {
+                return;
+            }
+            root = remove(root, id);
+        }
+        values[id] = value;
+        ranked[id] = true;
+        root = insert(root, id);
+    }
+
+    /**
+     * Removes a symbol from the ranking, e.g. when it is delisted.
+     */
+    public void remove(int id) {
+        if (ranked[id]) {
+            root = remove(root, id);
+            ranked[id] = false;
+        }
+    }
+
+    /**
+     * @return the number of ranked symbols.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * @return the rank of a symbol, 0 for the highest value, or -1 if it is not ranked.
+     */
+    public int rankOf(int id) {
+        if (!ranked[id]) {
+            return -1;
+        }
+        int rank = 0;
+        int node = root;
+        while (node != id) {
+            if (before(id, node)) {
+                node = left[node];
+            } else {
+                rank += size(left[node]) + 1;
+                node = right[node];
+            }
+        }
+        return rank + size(left[id]);
+    }
+
+    /**
+     * @return the id of the symbol with a rank.
+     * @throws IndexOutOfBoundsException if the rank is not below {@link #size()}
+     */
+    public int idAt(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank " + rank + ", size " + size());
+        }
+        int node = root;
+        while (true) {
+            int leftSize = size(left[node]);
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank == leftSize) {
+                return node;
+            } else {
+                rank -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * @return the value a symbol is ranked by, for a quantity or a volume the bits of the double, see
+     * {@link MarketBoard#isDouble(int)}.
+     */
+    public long getValue(int id) {
+        return values[id];
+    }
+
+    /**
+     * Copies the ids of the symbols with the highest values, highest first.
+     *
+     * @return the number of ids copied, at most the length of the array
+     */
+    public int top(int n, int[] ids) {
+        return collect(Math.min(n, ids.length), ids, false);
+    }
+
+    /**
+     * Copies the ids of the symbols with the lowest values, lowest first.
+     *
+     * @return the number of ids copied, at most the length of the array
+     */
+    public int bottom(int n, int[] ids) {
+        return collect(Math.min(n, ids.length), ids, true);
+    }
+
+    /**
+     * In-order walk from the highest value, or from the lowest if reversed.
+     */
+    private int collect(int n, int[] ids, boolean reversed) {
+        int count = 0;
+        int depth = 0;
+        int node = root;
+        while (count < n && (node != NIL || depth > 0)) {
+            if (node != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                node = reversed ? right[node] : left[node];
+            } else {
+                node = stack[--depth];
+                ids[count++] = node;
+                node = reversed ? left[node] : right[node];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return true if symbol a ranks before symbol b.
+     */
+    private boolean before(int a, int b) {
+        return values[a] != values[b] ? values[a] > values[b] : a < b;
+    }
+
+    private int size(int node) {
+        return node == NIL ? 0 : sizes[node];
+    }
+
+    private void resize(int node) {
+        sizes[node] = size(left[node]) + size(right[node]) + 1;
+    }
+
+    private int insert(int node, int id) {
+        if (node == NIL) {
+            left[id] = NIL;
+            right[id] = NIL;
+            sizes[id] = 1;
+            return id;
+        }
+        if (before(id, node)) {
+            left[node] = insert(left[node], id);
+            if (priorities[left[node]] > priorities[node]) {
+                node = rotateRight(node);
+            }
+        } else {
+            right[node] = insert(right[node], id);
+            if (priorities[right[node]] > priorities[node]) {
+                node = rotateLeft(node);
+            }
+        }
+        resize(node);
+        return node;
+    }
+
+    private int remove(int node, int id) {
+        if (node == id) {
+            return merge(left[node], right[node]);
+        }
+        if (before(id, node)) {
+            left[node] = remove(left[node], id);
+        } else {
+            right[node] = remove(right[node], id);
+        }
+        resize(node);
+        return node;
+    }
+
+    /**
+     * Joins two treaps, every node of the first ranking before every node of the second.
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            resize(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        resize(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        resize(node);
+        resize(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        resize(node);
+        resize(pivot);
+        return pivot;
+    }
+}
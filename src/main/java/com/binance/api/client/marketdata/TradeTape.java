@@ -0,0 +1,466 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.market.AggTrade;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The aggregate trades of a symbol, appended from {@link com.binance.api.client.BinanceApiWebSocketClient#onAggTradeEvent}
+ * into compact columnar chunks, instead of keeping an {@link AggTrade} object per trade.
+ * <p>
+ * Each chunk holds up to {@value #CHUNK_TRADES} trades as varints of the differences from the previous trade: the
+ * id, the time, the price (scaled by 10^{@value ExchangeInfoIndex#SCALE}), the first and last trade ids, and the
+ * quantity. Prices and quantities are stored without their trailing decimal zeros, so a typical trade takes 7 to 10
+ * bytes, see {@link #sizeInBytes()}. Values too large for that encoding are stored whole after an escape.
+ * <p>
+ * Aggregate trade ids of a symbol are consecutive. When a trade arrives whose id is not the one after the last
+ * trade, e.g. after a reconnect, the missing trades are fetched in the background with
+ * {@link BinanceApiRestClient#getAggTrades(String, String, Integer, Long, Long)} while later events are queued, then
+ * the queue is appended. Trades which still cannot be fetched are counted by {@link #getMissingCount()}, and the
+ * failure of the last backfill which failed is kept by {@link #getLastBackfillFailure()}.
+ * <p>
+ * All methods are thread-safe. {@link #scan} calls its visitor while holding the lock of the tape.
+ */
+public class TradeTape {
+
+    /**
+     * Number of trades per chunk.
+     */
+    public static final int CHUNK_TRADES = 4096;
+
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Count of removed zeros marking a value stored whole, as a second varint.
+     */
+    private static final int ESCAPE = 15;
+
+    /**
+     * Upper bound of the bytes taken by a trade.
+     */
+    private static final int MAX_TRADE_BYTES = 7 * 10;
+
+    private static final ExecutorService BACKFILL_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "binance-trade-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Receives the trades of a scan, as scaled primitives.
+     */
+    public interface Visitor {
+
+        void onTrade(long aggregatedTradeId, long tradeTime, long price, long quantity, long firstBreakdownTradeId,
+                     long lastBreakdownTradeId, boolean buyerMaker);
+    }
+
+    private final String symbol;
+
+    private final BinanceApiRestClient client;
+
+    private final Executor executor;
+
+    private byte[][] chunks = new byte[16][];
+
+    private long[] chunkFirstIds = new long[16];
+
+    private int[] chunkLengths = new int[16];
+
+    private int chunkCount;
+
+    private byte[] buffer = new byte[CHUNK_TRADES * 8];
+
+    private int position;
+
+    private int bufferTrades;
+
+    private long bufferFirstId;
+
+    private final Cursor last = new Cursor();
+
+    private long size;
+
+    private long missingCount;
+
+    private boolean backfilling;
+
+    private RuntimeException lastBackfillFailure;
+
+    private final Deque<AggTrade> queued = new ArrayDeque<>();
+
+    /**
+     * @param symbol the symbol of the trades
+     * @param client the client fetching missing trades, or null to only count them
+     */
+    public TradeTape(String symbol, BinanceApiRestClient client) {
+        this(symbol, client, BACKFILL_EXECUTOR);
+    }
+
+    TradeTape(String symbol, BinanceApiRestClient client, Executor executor) {
+        this.symbol = symbol.toUpperCase();
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * Appends a trade event, so this method can be passed directly to
+     * {@link com.binance.api.client.BinanceApiWebSocketClient#onAggTradeEvent}. A gap before it starts a backfill.
+     */
+    public synchronized void onAggTradeEvent(AggTradeEvent event) {
+        if (backfilling) {
+            queued.add(event);
+            return;
+        }
+        long id = event.getAggregatedTradeId();
+        if (size > 0 && id > last.id + 1 && client != null) {
+            backfilling = true;
+            queued.add(event);
+            long fromId = last.id + 1;
+            executor.execute(() -> backfill(fromId, id - 1));
+            return;
+        }
+        append(event);
+    }
+
+    /**
+     * Appends trades in order, e.g. from {@link BinanceApiRestClient#getAggTrades(String)} to seed the tape.
+     */
+    public synchronized void load(List<? extends AggTrade> trades) {
+        for (AggTrade trade : trades) {
+            append(trade);
+        }
+    }
+
+    private void append(AggTrade trade) {
+        append(trade.getAggregatedTradeId(), trade.getTradeTime(), ExchangeInfoIndex.parse(trade.getPrice()),
+                ExchangeInfoIndex.parse(trade.getQuantity()), trade.getFirstBreakdownTradeId(),
+                trade.getLastBreakdownTradeId(), trade.isBuyerMaker());
+    }
+
+    /**
+     * Appends a trade. Trades not after the last one are ignored, and the ids skipped by a trade are counted as
+     * missing.
+     */
+    public synchronized void append(long aggregatedTradeId, long tradeTime, long price, long quantity,
+                                    long firstBreakdownTradeId, long lastBreakdownTradeId, boolean buyerMaker) {
+        if (size > 0) {
+            if (aggregatedTradeId <= last.id) {
+                return;
+            }
+            missingCount += aggregatedTradeId - last.id - 1;
+        }
+        if (bufferTrades == CHUNK_TRADES) {
+            seal();
+        }
+        if (bufferTrades == 0) {
+            bufferFirstId = aggregatedTradeId;
+            last.reset();
+        }
+        if (buffer.length - position < MAX_TRADE_BYTES) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        position = writeVarint(buffer, position, aggregatedTradeId - last.id - 1);
+        position = writeVarint(buffer, position, zigZag(tradeTime - last.time));
+        position = writeDecimal(buffer, position, price - last.price);
+        position = writeDecimal(buffer, position, quantity);
+        position = writeVarint(buffer, position, zigZag(firstBreakdownTradeId - last.lastBreakdownTradeId - 1));
+        position = writeVarint(buffer, position, (lastBreakdownTradeId - firstBreakdownTradeId) << 1 | (buyerMaker ? 1 : 0));
+        last.set(aggregatedTradeId, tradeTime, price, quantity, firstBreakdownTradeId, lastBreakdownTradeId, buyerMaker);
+        bufferTrades++;
+        size++;
+    }
+
+    private void seal() {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            chunkFirstIds = Arrays.copyOf(chunkFirstIds, chunkCount * 2);
+            chunkLengths = Arrays.copyOf(chunkLengths, chunkCount * 2);
+        }
+        chunks[chunkCount] = Arrays.copyOf(buffer, position);
+        chunkFirstIds[chunkCount] = bufferFirstId;
+        chunkLengths[chunkCount] = bufferTrades;
+        chunkCount++;
+        position = 0;
+        bufferTrades = 0;
+    }
+
+    private void backfill(long fromId, long toId) {
+        long from = fromId;
+        try {
+            while (from <= toId) {
+                int limit = (int) Math.min(PAGE_SIZE, toId - from + 1);
+                List<AggTrade> page = client.getAggTrades(symbol, Long.toString(from), limit, null, null);
+                if (page.isEmpty()) {
+                    break;
+                }
+                synchronized (this) {
+                    for (AggTrade trade : page) {
+                        if (trade.getAggregatedTradeId() <= toId) {
+                            append(trade);
+                        }
+                    }
+                }
+                from = page.get(page.size() - 1).getAggregatedTradeId() + 1;
+            }
+        } catch (RuntimeException e) {
+            // The trades not fetched are counted as missing once the queue is appended
+            synchronized (this) {
+                lastBackfillFailure = e;
+            }
+        } finally {
+            synchronized (this) {
+                while (!queued.isEmpty()) {
+                    append(queued.poll());
+                }
+                backfilling = false;
+            }
+        }
+    }
+
+    /**
+     * Passes the trades with ids between two ids, inclusive, to a visitor, in order.
+     */
+    public synchronized void scan(long fromId, long toId, Visitor visitor) {
+        int chunk = Math.max(0, chunkAt(fromId));
+        Cursor cursor = new Cursor();
+        for (; chunk <= chunkCount; chunk++) {
+            byte[] bytes = chunk < chunkCount ? chunks[chunk] : buffer;
+            int trades = chunk < chunkCount ? chunkLengths[chunk] : bufferTrades;
+            cursor.reset();
+            int offset = 0;
+            for (int i = 0; i < trades; i++) {
+                offset = cursor.read(bytes, offset);
+                if (cursor.id > toId) {
+                    return;
+                }
+                if (cursor.id >= fromId) {
+                    visitor.onTrade(cursor.id, cursor.time, cursor.price, cursor.quantity,
+                            cursor.firstBreakdownTradeId, cursor.lastBreakdownTradeId, cursor.buyerMaker);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the trades with ids between two ids, inclusive, in order.
+     */
+    public List<AggTrade> getAggTrades(long fromId, long toId) {
+        List<AggTrade> trades = new ArrayList<>();
+        scan(fromId, toId, (id, time, price, quantity, firstId, lastId, buyerMaker) -> {
+            AggTrade trade = new AggTrade();
+            trade.setAggregatedTradeId(id);
+            trade.setTradeTime(time);
+            trade.setPrice(ExchangeInfoIndex.format(price));
+            trade.setQuantity(ExchangeInfoIndex.format(quantity));
+            trade.setFirstBreakdownTradeId(firstId);
+            trade.setLastBreakdownTradeId(lastId);
+            trade.setBuyerMaker(buyerMaker);
+            trades.add(trade);
+        });
+        return trades;
+    }
+
+    /**
+     * @return the index of the last sealed chunk starting at or before an id, -1 if none, or the number of sealed
+     * chunks if the id is in the chunk being filled.
+     */
+    private int chunkAt(long id) {
+        if (bufferTrades > 0 && id >= bufferFirstId) {
+            return chunkCount;
+        }
+        int lo = 0;
+        int hi = chunkCount - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (chunkFirstIds[mid] <= id) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return the number of trades.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * @return the id of the last trade, or -1 if there is none.
+     */
+    public synchronized long getLastId() {
+        return size > 0 ? last.id : -1;
+    }
+
+    /**
+     * @return the number of trade ids skipped between the trades of the tape, which could not be backfilled.
+     */
+    public synchronized long getMissingCount() {
+        return missingCount;
+    }
+
+    /**
+     * @return true while a gap is being backfilled.
+     */
+    public synchronized boolean isBackfilling() {
+        return backfilling;
+    }
+
+    /**
+     * @return the failure of the last backfill which failed, or null if none has.
+     */
+    public synchronized RuntimeException getLastBackfillFailure() {
+        return lastBackfillFailure;
+    }
+
+    /**
+     * @return the number of bytes holding the encoded trades.
+     */
+    public synchronized long sizeInBytes() {
+        long bytes = position;
+        for (int i = 0; i < chunkCount; i++) {
+            bytes += chunks[i].length;
+        }
+        return bytes;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes a scaled value as its zig-zag mantissa without trailing decimal zeros, shifted left by 4 bits, and the
+     * number of zeros removed. A mantissa which does not fit in the remaining 60 bits is written whole as a second
+     * varint, after the {@link #ESCAPE} count.
+     */
+    private static int writeDecimal(byte[] bytes, int position, long value) {
+        int zeros = 0;
+        long mantissa = value;
+        while (mantissa != 0 && mantissa % 10 == 0 && zeros < ESCAPE - 1) {
+            mantissa /= 10;
+            zeros++;
+        }
+        long encoded = zigZag(mantissa);
+        if (encoded >>> 60 != 0) {
+            position = writeVarint(bytes, position, ESCAPE);
+            return writeVarint(bytes, position, zigZag(value));
+        }
+        return writeVarint(bytes, position, encoded << 4 | zeros);
+    }
+
+    private static int writeVarint(byte[] bytes, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * The previous trade, which the next one is encoded relative to.
+     */
+    private static final class Cursor {
+
+        long id;
+
+        long time;
+
+        long price;
+
+        long quantity;
+
+        long firstBreakdownTradeId;
+
+        long lastBreakdownTradeId;
+
+        boolean buyerMaker;
+
+        int offset;
+
+        /**
+         * Resets to the state at the start of a chunk.
+         */
+        void reset() {
+            set(-1, 0, 0, 0, 0, -1, false);
+        }
+
+        void set(long id, long time, long price, long quantity, long firstBreakdownTradeId, long lastBreakdownTradeId,
+                 boolean buyerMaker) {
+            this.id = id;
+            this.time = time;
+            this.price = price;
+            this.quantity = quantity;
+            this.firstBreakdownTradeId = firstBreakdownTradeId;
+            this.lastBreakdownTradeId = lastBreakdownTradeId;
+            this.buyerMaker = buyerMaker;
+        }
+
+        /**
+         * Decodes the next trade.
+         *
+         * @return the offset after it
+         */
+        int read(byte[] bytes, int offset) {
+            this.offset = offset;
+            id += readVarint(bytes) + 1;
+            time += unZigZag(readVarint(bytes));
+            price += readDecimal(bytes);
+            quantity = readDecimal(bytes);
+            firstBreakdownTradeId = lastBreakdownTradeId + 1 + unZigZag(readVarint(bytes));
+            long breakdown = readVarint(bytes);
+            lastBreakdownTradeId = firstBreakdownTradeId + (breakdown >>> 1);
+            buyerMaker = (breakdown & 1) != 0;
+            return this.offset;
+        }
+
+        private long readDecimal(byte[] bytes) {
+            long encoded = readVarint(bytes);
+            int zeros = (int) (encoded & 0xF);
+            if (zeros == ESCAPE) {
+                return unZigZag(readVarint(bytes));
+            }
+            long value = unZigZag(encoded >>> 4);
+            for (; zeros > 0; zeros--) {
+                value *= 10;
+            }
+            return value;
+        }
+
+        private long readVarint(byte[] bytes) {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.binance.api.client.marketdata.indicator;
+
+/**
+ * Average true range with Wilder's smoothing, seeded with the simple average of the true ranges of the first period.
+ * The true range of the first bar is its high minus its low.
+ */
+public class AverageTrueRange extends Indicator {
+
+    private final int period;
+
+    private long bars;
+
+    private double previousClose;
+
+    private double average;
+
+    public AverageTrueRange(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        this.period = period;
+    }
+
+    @Override
+    protected double compute(long openTime, double high, double low, double close, double volume, double quoteVolume,
+                             boolean commit) {
+        double trueRange = high - low;
+        if (bars > 0) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        }
+        double next = bars < period ? average + (trueRange - average) / (bars + 1)
+                : (average * (period - 1) + trueRange) / period;
+        long ranges = bars + 1;
+        if (commit) {
+            previousClose = close;
+            average = next;
+            bars++;
+        }
+        return ranges >= period ? next : Double.NaN;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,95 @@
+package com.binance.api.client.marketdata.indicator;
+
+/**
+ * Bollinger bands: the simple moving average of the close, as {@link #getValue()}, and bands a number of (population)
+ * standard deviations above and below it.
+ * <p>
+ * The sums over the window are maintained incrementally and recomputed from the window once per period, so that
+ * rounding errors do not accumulate.
+ */
+public class BollingerBands extends Indicator {
+
+    private final int period;
+
+    private final double width;
+
+    private final double[] window;
+
+    private long bars;
+
+    private double sum;
+
+    private double sumOfSquares;
+
+    private double upper = Double.NaN;
+
+    private double lower = Double.NaN;
+
+    /**
+     * @param period the number of bars of the moving average
+     * @param width the number of standard deviations between the average and the bands, usually 2
+     */
+    public BollingerBands(int period, double width) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        this.period = period;
+        this.width = width;
+        this.window = new double[period];
+    }
+
+    @Override
+    protected double compute(long openTime, double high, double low, double close, double volume, double quoteVolume,
+                             boolean commit) {
+        int slot = (int) (bars % period);
+        double nextSum = sum + close;
+        double nextSumOfSquares = sumOfSquares + close * close;
+        if (bars >= period) {
+            nextSum -= window[slot];
+            nextSumOfSquares -= window[slot] * window[slot];
+        }
+        long closes = Math.min(bars + 1, period);
+        if (commit) {
+            window[slot] = close;
+            bars++;
+            if (slot == period - 1) {
+                nextSum = 0;
+                nextSumOfSquares = 0;
+                for (double c : window) {
+                    nextSum += c;
+                    nextSumOfSquares += c * c;
+                }
+            }
+            sum = nextSum;
+            sumOfSquares = nextSumOfSquares;
+        }
+        if (closes < period) {
+            upper = Double.NaN;
+            lower = Double.NaN;
+            return Double.NaN;
+        }
+        double mean = nextSum / period;
+        double deviation = Math.sqrt(Math.max(0, nextSumOfSquares / period - mean * mean));
+        upper = mean + width * deviation;
+        lower = mean - width * deviation;
+        return mean;
+    }
+
+    /**
+     * @return the upper band including the newest bar, or NaN if there are not enough bars yet.
+     */
+    public double getUpper() {
+        return upper;
+    }
+
+    /**
+     * @return the lower band including the newest bar, or NaN if there are not enough bars yet.
+     */
+    public double getLower() {
+        return lower;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
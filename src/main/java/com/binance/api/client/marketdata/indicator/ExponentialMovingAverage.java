@@ -0,0 +1,39 @@
+package com.binance.api.client.marketdata.indicator;
+
+/**
+ * Exponential moving average of the close, seeded with the simple average of the first period.
+ */
+public class ExponentialMovingAverage extends Indicator {
+
+    private final int period;
+
+    private final double alpha;
+
+    private long bars;
+
+    private double average;
+
+    public ExponentialMovingAverage(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    @Override
+    protected double compute(long openTime, double high, double low, double close, double volume, double quoteVolume,
+                             boolean commit) {
+        double next = bars < period ? average + (close - average) / (bars + 1) : average + alpha * (close - average);
+        long closes = bars + 1;
+        if (commit) {
+            average = next;
+            bars++;
+        }
+        return closes >= period ? next : Double.NaN;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,126 @@
+package com.binance.api.client.marketdata.indicator;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.marketdata.CandleSeries;
+
+/**
+ * A technical indicator updated in constant time per candlestick, on primitive state, without allocating.
+ * <p>
+ * Register it with {@link CandleSeries#addListener} on a series fed by
+ * {@link com.binance.api.client.BinanceApiWebSocketClient#onCandlestickEvent}, or by a
+ * {@link com.binance.api.client.marketdata.CandleAggregator} fed by trades, or pass {@link #onCandlestickEvent}
+ * directly to the stream. A final bar is committed to the state of the indicator. A bar which is still open only
+ * updates {@link #getValue()} provisionally: the committed state is left untouched, so each update of the open bar
+ * replaces the previous one, as if it had been rolled back. An open bar followed by a later bar without having been
+ * reported final is committed as it was last seen.
+ * <p>
+ * Not thread-safe: update and read an indicator from the thread of its stream, or synchronize externally.
+ */
+public abstract class Indicator implements CandleSeries.Listener {
+
+    private static final double ONE = ExchangeInfoIndex.ONE;
+
+    private long openTime = Long.MIN_VALUE;
+
+    private boolean pending;
+
+    private long pendingHigh;
+
+    private long pendingLow;
+
+    private long pendingClose;
+
+    private double pendingVolume;
+
+    private double pendingQuoteVolume;
+
+    private long count;
+
+    private double value = Double.NaN;
+
+    @Override
+    public void onBar(CandleSeries series, boolean closed) {
+        int i = series.size() - 1;
+        update(series.getOpenTime(i), series.getHigh(i), series.getLow(i), series.getClose(i), series.getVolume(i),
+                series.getQuoteAssetVolume(i), closed);
+    }
+
+    /**
+     * Applies a candlestick event, so this method can be passed directly to
+     * {@link com.binance.api.client.BinanceApiWebSocketClient#onCandlestickEvent}.
+     */
+    public void onCandlestickEvent(CandlestickEvent e) {
+        update(e.getOpenTime(), ExchangeInfoIndex.parse(e.getHigh()), ExchangeInfoIndex.parse(e.getLow()),
+                ExchangeInfoIndex.parse(e.getClose()), ExchangeInfoIndex.parseVolume(e.getVolume()),
+                ExchangeInfoIndex.parseVolume(e.getQuoteAssetVolume()), Boolean.TRUE.equals(e.getBarFinal()));
+    }
+
+    /**
+     * Applies a bar. Bars older than the newest one, and updates of a bar which was already final, are ignored.
+     *
+     * @param high the scaled high price
+     * @param low the scaled low price
+     * @param close the scaled close price
+     * @param volume the base asset volume
+     * @param quoteVolume the quote asset volume
+     * @param closed true if the bar is final, false if it may still change
+     */
+    public void update(long openTime, long high, long low, long close, double volume, double quoteVolume,
+                       boolean closed) {
+        if (openTime < this.openTime || (openTime == this.openTime && !pending)) {
+            return;
+        }
+        if (pending && openTime > this.openTime) {
+            commit(this.openTime, pendingHigh, pendingLow, pendingClose, pendingVolume, pendingQuoteVolume);
+        }
+        this.openTime = openTime;
+        if (closed) {
+            commit(openTime, high, low, close, volume, quoteVolume);
+        } else {
+            pending = true;
+            pendingHigh = high;
+            pendingLow = low;
+            pendingClose = close;
+            pendingVolume = volume;
+            pendingQuoteVolume = quoteVolume;
+            value = compute(openTime, high / ONE, low / ONE, close / ONE, volume, quoteVolume, false);
+        }
+    }
+
+    private void commit(long openTime, long high, long low, long close, double volume, double quoteVolume) {
+        pending = false;
+        value = compute(openTime, high / ONE, low / ONE, close / ONE, volume, quoteVolume, true);
+        count++;
+    }
+
+    /**
+     * Computes the value of the indicator including a bar.
+     *
+     * @param commit true to make the bar part of the state, false to leave the state unchanged
+     * @return the value, or NaN if there are not enough bars yet
+     */
+    protected abstract double compute(long openTime, double high, double low, double close, double volume,
+                                      double quoteVolume, boolean commit);
+
+    /**
+     * @return the value including the newest bar, final or not, or NaN if there are not enough bars yet.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return the number of final bars applied.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return true if the newest bar applied is still open.
+     */
+    public boolean isProvisional() {
+        return pending;
+    }
+}
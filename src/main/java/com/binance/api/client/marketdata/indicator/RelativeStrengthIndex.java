@@ -0,0 +1,67 @@
+package com.binance.api.client.marketdata.indicator;
+
+/**
+ * Relative strength index of the close with Wilder's smoothing, from 0 to 100, seeded with the simple averages of the
+ * gains and losses of the first period.
+ */
+public class RelativeStrengthIndex extends Indicator {
+
+    private final int period;
+
+    private long bars;
+
+    private double previousClose;
+
+    private double averageGain;
+
+    private double averageLoss;
+
+    public RelativeStrengthIndex(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        this.period = period;
+    }
+
+    @Override
+    protected double compute(long openTime, double high, double low, double close, double volume, double quoteVolume,
+                             boolean commit) {
+        if (bars == 0) {
+            if (commit) {
+                previousClose = close;
+                bars++;
+            }
+            return Double.NaN;
+        }
+        double change = close - previousClose;
+        double gain = Math.max(change, 0);
+        double loss = Math.max(-change, 0);
+        long changes = bars;
+        double nextGain;
+        double nextLoss;
+        if (changes <= period) {
+            nextGain = averageGain + (gain - averageGain) / changes;
+            nextLoss = averageLoss + (loss - averageLoss) / changes;
+        } else {
+            nextGain = (averageGain * (period - 1) + gain) / period;
+            nextLoss = (averageLoss * (period - 1) + loss) / period;
+        }
+        if (commit) {
+            previousClose = close;
+            averageGain = nextGain;
+            averageLoss = nextLoss;
+            bars++;
+        }
+        if (changes < period) {
+            return Double.NaN;
+        }
+        if (nextLoss == 0) {
+            return nextGain == 0 ? 50 : 100;
+        }
+        return 100 - 100 / (1 + nextGain / nextLoss);
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
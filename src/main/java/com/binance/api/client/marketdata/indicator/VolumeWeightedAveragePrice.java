@@ -0,0 +1,53 @@
+package com.binance.api.client.marketdata.indicator;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.marketdata.CandleAggregator;
+
+/**
+ * Volume weighted average price since the start of a session, e.g. the UTC day, restarting with each session.
+ * <p>
+ * The average is the quote asset volume divided by the base asset volume of the bars of the session, so it weights
+ * every trade by its own price rather than approximating each bar by a typical price.
+ */
+public class VolumeWeightedAveragePrice extends Indicator {
+
+    private final CandlestickInterval session;
+
+    private long sessionCloseTime = Long.MIN_VALUE;
+
+    private long nextSessionCloseTime = Long.MIN_VALUE;
+
+    private double quoteVolume;
+
+    private double volume;
+
+    /**
+     * @param session the interval of the sessions, aligned like candlesticks of that interval
+     */
+    public VolumeWeightedAveragePrice(CandlestickInterval session) {
+        this.session = session;
+    }
+
+    @Override
+    protected double compute(long openTime, double high, double low, double close, double volume, double quoteVolume,
+                             boolean commit) {
+        double nextQuoteVolume = quoteVolume;
+        double nextVolume = volume;
+        if (openTime <= sessionCloseTime) {
+            nextQuoteVolume += this.quoteVolume;
+            nextVolume += this.volume;
+        } else if (openTime > nextSessionCloseTime) {
+            nextSessionCloseTime = CandleAggregator.closeTimeOf(session, CandleAggregator.openTimeOf(session, openTime));
+        }
+        if (commit) {
+            sessionCloseTime = Math.max(sessionCloseTime, nextSessionCloseTime);
+            this.quoteVolume = nextQuoteVolume;
+            this.volume = nextVolume;
+        }
+        return nextVolume == 0 ? Double.NaN : nextQuoteVolume / nextVolume;
+    }
+
+    public CandlestickInterval getSession() {
+        return session;
+    }
+}
@@ -0,0 +1,142 @@
+package com.binance.api.client.store;
+
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.market.Candlestick;
+
+/**
+ * A batch of candlesticks stored column by column in primitive arrays, as read from or written to a
+ * {@link KlineStore}. Prices are longs scaled by 10^{@value ExchangeInfoIndex#SCALE}; volumes, which exceed the
+ * range of those longs for tokens with a large supply, are doubles, held in the long columns as their
+ * {@link Double#doubleToLongBits bits}.
+ * <p>
+ * Batches are reused from one block to the next during a scan, so their content must be copied if kept.
+ */
+public final class KlineColumns {
+
+    /**
+     * Number of columns.
+     */
+    static final int COLUMNS = 11;
+
+    static final int OPEN_TIME = 0;
+    static final int OPEN = 1;
+    static final int HIGH = 2;
+    static final int LOW = 3;
+    static final int CLOSE = 4;
+    static final int VOLUME = 5;
+    static final int CLOSE_TIME = 6;
+    static final int QUOTE_VOLUME = 7;
+    static final int TRADES = 8;
+    static final int TAKER_BUY_BASE_VOLUME = 9;
+    static final int TAKER_BUY_QUOTE_VOLUME = 10;
+
+    final long[][] columns;
+
+    int size;
+
+    KlineColumns(int capacity) {
+        this.columns = new long[COLUMNS][capacity];
+    }
+
+    /**
+     * @return the number of candlesticks in the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getOpenTime(int row) {
+        return columns[OPEN_TIME][row];
+    }
+
+    public long getOpen(int row) {
+        return columns[OPEN][row];
+    }
+
+    public long getHigh(int row) {
+        return columns[HIGH][row];
+    }
+
+    public long getLow(int row) {
+        return columns[LOW][row];
+    }
+
+    public long getClose(int row) {
+        return columns[CLOSE][row];
+    }
+
+    public double getVolume(int row) {
+        return Double.longBitsToDouble(columns[VOLUME][row]);
+    }
+
+    public long getCloseTime(int row) {
+        return columns[CLOSE_TIME][row];
+    }
+
+    public double getQuoteAssetVolume(int row) {
+        return Double.longBitsToDouble(columns[QUOTE_VOLUME][row]);
+    }
+
+    public long getNumberOfTrades(int row) {
+        return columns[TRADES][row];
+    }
+
+    public double getTakerBuyBaseAssetVolume(int row) {
+        return Double.longBitsToDouble(columns[TAKER_BUY_BASE_VOLUME][row]);
+    }
+
+    public double getTakerBuyQuoteAssetVolume(int row) {
+        return Double.longBitsToDouble(columns[TAKER_BUY_QUOTE_VOLUME][row]);
+    }
+
+    /**
+     * @return a new candlestick holding the given row.
+     */
+    public Candlestick toCandlestick(int row) {
+        Candlestick candlestick = new Candlestick();
+        candlestick.setOpenTime(getOpenTime(row));
+        candlestick.setOpen(ExchangeInfoIndex.format(getOpen(row)));
+        candlestick.setHigh(ExchangeInfoIndex.format(getHigh(row)));
+        candlestick.setLow(ExchangeInfoIndex.format(getLow(row)));
+        candlestick.setClose(ExchangeInfoIndex.format(getClose(row)));
+        candlestick.setVolume(Decimal.formatDouble(getVolume(row)));
+        candlestick.setCloseTime(getCloseTime(row));
+        candlestick.setQuoteAssetVolume(Decimal.formatDouble(getQuoteAssetVolume(row)));
+        candlestick.setNumberOfTrades(getNumberOfTrades(row));
+        candlestick.setTakerBuyBaseAssetVolume(Decimal.formatDouble(getTakerBuyBaseAssetVolume(row)));
+        candlestick.setTakerBuyQuoteAssetVolume(Decimal.formatDouble(getTakerBuyQuoteAssetVolume(row)));
+        return candlestick;
+    }
+
+    void set(int row, long openTime, String open, String high, String low, String close, String volume, long closeTime,
+             String quoteVolume, long trades, String takerBuyBaseVolume, String takerBuyQuoteVolume) {
+        columns[OPEN_TIME][row] = openTime;
+        columns[OPEN][row] = ExchangeInfoIndex.parse(open);
+        columns[HIGH][row] = ExchangeInfoIndex.parse(high);
+        columns[LOW][row] = ExchangeInfoIndex.parse(low);
+        columns[CLOSE][row] = ExchangeInfoIndex.parse(close);
+        columns[VOLUME][row] = parseVolume(volume);
+        columns[CLOSE_TIME][row] = closeTime;
+        columns[QUOTE_VOLUME][row] = parseVolume(quoteVolume);
+        columns[TRADES][row] = trades;
+        columns[TAKER_BUY_BASE_VOLUME][row] = parseVolume(takerBuyBaseVolume);
+        columns[TAKER_BUY_QUOTE_VOLUME][row] = parseVolume(takerBuyQuoteVolume);
+    }
+
+    private static long parseVolume(String volume) {
+        return Double.doubleToLongBits(ExchangeInfoIndex.parseVolume(volume));
+    }
+
+    /**
+     * Keeps rows [from, to) only, moving them to the front.
+     */
+    void retain(int from, int to) {
+        if (from > 0) {
+            for (long[] column : columns) {
+                System.arraycopy(column, from, column, 0, to - from);
+            }
+        }
+        size = to - from;
+    }
+}
@@ -0,0 +1,562 @@
+package com.binance.api.client.store;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Stores closed candlesticks on disk, one pair of files per symbol and interval, for fast reloads and range scans.
+ * <p>
+ * Candlesticks are grouped in blocks of {@value #BLOCK_ROWS}. Within a block each field is a column of longs
+ * (prices scaled by 10^8, the bits of the volumes, see {@link KlineColumns}), stored as zig-zag varint deltas from the
+ * previous row, so regular open times and slowly moving prices take one or two bytes. Sealed blocks are appended to a
+ * <code>.klines</code> file which is memory-mapped for reads, and scanned block by block into reusable
+ * {@link KlineColumns} without copying the file into the heap. Candlesticks of the block being filled are kept in memory and in a <code>.tail</code> file of fixed-size
+ * rows, so every append is a single small write. Files partially written by a crash are truncated to the last complete
+ * block and row when opened.
+ * <p>
+ * At most {@link #KlineStore(Path, int) maxOpenSeries} series keep their files open, so watching the whole market
+ * does not exhaust file descriptors: the least recently used series is closed when another one is opened, and
+ * reloaded from its files when used again.
+ * <p>
+ * Appends must be in open time order; older or duplicate candlesticks are ignored. Writes are not forced to disk
+ * unless {@link #flush()} is called. Methods are thread-safe; scans of a series block appends to it while running.
+ */
+public class KlineStore implements Closeable {
+
+    /**
+     * Number of candlesticks per block.
+     */
+    public static final int BLOCK_ROWS = 1024;
+
+    /**
+     * Number of series whose files are kept open by default, two files each.
+     */
+    public static final int DEFAULT_MAX_OPEN_SERIES = 256;
+
+    /**
+     * "KLN2": files of the first version held volumes scaled by 10^8.
+     */
+    private static final int MAGIC = 0x4B4C4E32;
+
+    private static final int FILE_HEADER_BYTES = 8;
+
+    /**
+     * Row count, first and last open times, payload length.
+     */
+    private static final int BLOCK_HEADER_BYTES = 4 + 8 + 8 + 4;
+
+    private static final int TAIL_ROW_BYTES = KlineColumns.COLUMNS * 8;
+
+    private final Path directory;
+
+    private final int maxOpenSeries;
+
+    /**
+     * Open series from the least to the most recently used, guarded by itself.
+     */
+    private final Map<String, Series> series = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Files of the series closed since the last flush, forced by the next one. Guarded by {@link #series}.
+     */
+    private final Set<Path> unflushed = new HashSet<>();
+
+    public KlineStore(Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_OPEN_SERIES);
+    }
+
+    /**
+     * @param maxOpenSeries the number of series whose files are kept open
+     */
+    public KlineStore(Path directory, int maxOpenSeries) throws IOException {
+        if (maxOpenSeries < 1) {
+            throw new IllegalArgumentException("maxOpenSeries must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxOpenSeries = maxOpenSeries;
+    }
+
+    /**
+     * Appends the candlestick of an event if it is closed, so this method can be passed directly to
+     * {@link com.binance.api.client.BinanceApiWebSocketClient#onCandlestickEvent}.
+     *
+     * @throws UncheckedIOException if the candlestick is malformed or cannot be written
+     */
+    public void onCandlestickEvent(CandlestickEvent event) {
+        if (!Boolean.TRUE.equals(event.getBarFinal())) {
+            return;
+        }
+        CandlestickInterval interval = CandlestickInterval.fromIntervalId(event.getIntervalId());
+        try {
+            withSeries(event.getSymbol(), interval, s -> s.append(event.getOpenTime(), event.getOpen(),
+                    event.getHigh(), event.getLow(), event.getClose(), event.getVolume(), event.getCloseTime(),
+                    event.getQuoteAssetVolume(), event.getNumberOfTrades(), event.getTakerBuyBaseAssetVolume(),
+                    event.getTakerBuyQuoteAssetVolume()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NumberFormatException e) {
+            throw new UncheckedIOException(new IOException("Malformed candlestick of " + event.getSymbol(), e));
+        }
+    }
+
+    /**
+     * Appends closed candlesticks, e.g. from {@link com.binance.api.client.BinanceApiRestClient#getCandlestickBars}.
+     * The last candlestick of a REST response may still be open: it must not be appended.
+     *
+     * @return the number of candlesticks appended, excluding those not newer than the last stored one
+     */
+    public int append(String symbol, CandlestickInterval interval, List<Candlestick> candlesticks) throws IOException {
+        return withSeries(symbol, interval, s -> {
+            int appended = 0;
+            for (Candlestick c : candlesticks) {
+                if (s.append(c.getOpenTime(), c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume(),
+                        c.getCloseTime(), c.getQuoteAssetVolume(), c.getNumberOfTrades(),
+                        c.getTakerBuyBaseAssetVolume(), c.getTakerBuyQuoteAssetVolume())) {
+                    appended++;
+                }
+            }
+            return appended;
+        });
+    }
+
+    /**
+     * @return the open time of the last stored candlestick, or -1 if there is none.
+     */
+    public long getLastOpenTime(String symbol, CandlestickInterval interval) throws IOException {
+        return withSeries(symbol, interval, s -> s.lastOpenTime);
+    }
+
+    /**
+     * Passes the candlesticks opened between two times, inclusive, to the consumer in batches of at most one block,
+     * in order. The batch is reused between calls.
+     */
+    public void scan(String symbol, CandlestickInterval interval, long fromTime, long toTime,
+                     Consumer<KlineColumns> consumer) throws IOException {
+        withSeries(symbol, interval, s -> {
+            s.scan(fromTime, toTime, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * @return the candlesticks opened between two times, inclusive, in order.
+     */
+    public List<Candlestick> read(String symbol, CandlestickInterval interval, long fromTime, long toTime)
+            throws IOException {
+        List<Candlestick> candlesticks = new ArrayList<>();
+        scan(symbol, interval, fromTime, toTime, batch -> {
+            for (int row = 0; row < batch.size(); row++) {
+                candlesticks.add(batch.toCandlestick(row));
+            }
+        });
+        return candlesticks;
+    }
+
+    /**
+     * Forces all appended candlesticks to disk.
+     */
+    public void flush() throws IOException {
+        synchronized (series) {
+            for (Series s : series.values()) {
+                synchronized (s) {
+                    s.data.force(false);
+                    s.tail.force(false);
+                }
+            }
+            for (Iterator<Path> it = unflushed.iterator(); it.hasNext(); ) {
+                try (FileChannel channel = FileChannel.open(it.next(), StandardOpenOption.WRITE)) {
+                    channel.force(false);
+                }
+                it.remove();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (series) {
+            for (Series s : series.values()) {
+                s.close();
+            }
+            series.clear();
+            unflushed.clear();
+        }
+    }
+
+    /**
+     * @return the number of series whose files are open.
+     */
+    int openSeriesCount() {
+        synchronized (series) {
+            return series.size();
+        }
+    }
+
+    /**
+     * Runs an action on the open series of a symbol and interval, holding its lock, opening it if needed.
+     */
+    private <T> T withSeries(String symbol, CandlestickInterval interval, SeriesAction<T> action) throws IOException {
+        while (true) {
+            Series s = series(symbol, interval);
+            synchronized (s) {
+                // Retry if the series was closed by an eviction since it was looked up
+                if (s.open) {
+                    return action.apply(s);
+                }
+            }
+        }
+    }
+
+    private Series series(String symbol, CandlestickInterval interval) throws IOException {
+        String name = symbol + "-" + interval.name();
+        synchronized (series) {
+            Series s = series.get(name);
+            if (s == null) {
+                if (series.size() >= maxOpenSeries) {
+                    // Closed before the lock is released, so a series is never open twice
+                    Iterator<Series> eldest = series.values().iterator();
+                    Series evicted = eldest.next();
+                    eldest.remove();
+                    evicted.close();
+                    unflushed.add(evicted.dataPath);
+                    unflushed.add(evicted.tailPath);
+                }
+                s = new Series(directory.resolve(name + ".klines"), directory.resolve(name + ".tail"));
+                series.put(name, s);
+                unflushed.remove(s.dataPath);
+                unflushed.remove(s.tailPath);
+            }
+            return s;
+        }
+    }
+
+    private interface SeriesAction<T> {
+
+        T apply(Series s) throws IOException;
+    }
+
+    /**
+     * Files and block index of one symbol and interval.
+     */
+    private static final class Series {
+
+        private final Path dataPath;
+
+        private final Path tailPath;
+
+        private final FileChannel data;
+
+        private final FileChannel tail;
+
+        private boolean open = true;
+
+        private final KlineColumns tailRows = new KlineColumns(BLOCK_ROWS);
+
+        private final KlineColumns batch = new KlineColumns(BLOCK_ROWS);
+
+        private final ByteBuffer rowBuffer = ByteBuffer.allocate(TAIL_ROW_BYTES);
+
+        private long[] blockOffsets = new long[16];
+
+        private long[] blockFirstOpenTimes = new long[16];
+
+        private long[] blockLastOpenTimes = new long[16];
+
+        private int blockCount;
+
+        private long dataSize;
+
+        private MappedByteBuffer mapped;
+
+        private long lastOpenTime = -1;
+
+        private Series(Path dataPath, Path tailPath) throws IOException {
+            this.dataPath = dataPath;
+            this.tailPath = tailPath;
+            this.data = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                this.tail = FileChannel.open(tailPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                data.close();
+                throw e;
+            }
+            try {
+                loadBlocks();
+                loadTail();
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Closes the files, waiting for the operation running on the series if any.
+         */
+        private synchronized void close() throws IOException {
+            open = false;
+            mapped = null;
+            try {
+                data.close();
+            } finally {
+                tail.close();
+            }
+        }
+
+        private void loadBlocks() throws IOException {
+            long size = data.size();
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+            if (size < FILE_HEADER_BYTES) {
+                header.limit(FILE_HEADER_BYTES);
+                header.putInt(MAGIC).putInt(BLOCK_ROWS).flip();
+                data.truncate(0);
+                writeFully(data, header, 0);
+                dataSize = FILE_HEADER_BYTES;
+                return;
+            }
+            header.limit(FILE_HEADER_BYTES);
+            readFully(data, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != BLOCK_ROWS) {
+                throw new IOException("Not a kline store file of this version");
+            }
+            long position = FILE_HEADER_BYTES;
+            while (position + BLOCK_HEADER_BYTES <= size) {
+                header.clear();
+                readFully(data, header, position);
+                long end = position + BLOCK_HEADER_BYTES + header.getInt(20);
+                if (end > size) {
+                    break;
+                }
+                addBlock(position, header.getLong(4), header.getLong(12));
+                position = end;
+            }
+            if (position != size) {
+                data.truncate(position);
+            }
+            dataSize = position;
+        }
+
+        private void loadTail() throws IOException {
+            long rows = Math.min(tail.size() / TAIL_ROW_BYTES, BLOCK_ROWS);
+            // Read at once, since evicted series are reloaded often
+            ByteBuffer buffer = ByteBuffer.allocate((int) rows * TAIL_ROW_BYTES);
+            readFully(tail, buffer, 0);
+            int kept = 0;
+            for (int row = 0; row < rows; row++) {
+                int position = row * TAIL_ROW_BYTES;
+                long openTime = buffer.getLong(position);
+                if (openTime > lastOpenTime) {
+                    for (int column = 0; column < KlineColumns.COLUMNS; column++) {
+                        tailRows.columns[column][kept] = buffer.getLong(position + column * 8);
+                    }
+                    kept++;
+                    lastOpenTime = openTime;
+                }
+            }
+            tailRows.size = kept;
+            if (kept != rows || tail.size() != rows * TAIL_ROW_BYTES) {
+                // Drop rows already sealed into a block, or partially written
+                tail.truncate(0);
+                for (int row = 0; row < kept; row++) {
+                    writeTailRow(row);
+                }
+            }
+            if (kept == BLOCK_ROWS) {
+                seal();
+            }
+        }
+
+        private boolean append(Long openTime, String open, String high, String low, String close, String volume,
+                               Long closeTime, String quoteVolume, Long trades, String takerBuyBaseVolume,
+                               String takerBuyQuoteVolume) throws IOException {
+            if (openTime == null || openTime <= lastOpenTime) {
+                return false;
+            }
+            int row = tailRows.size;
+            tailRows.set(row, openTime, open, high, low, close, volume, closeTime != null ? closeTime : 0,
+                    quoteVolume, trades != null ? trades : 0, takerBuyBaseVolume, takerBuyQuoteVolume);
+            writeTailRow(row);
+            tailRows.size++;
+            lastOpenTime = openTime;
+            if (tailRows.size == BLOCK_ROWS) {
+                seal();
+            }
+            return true;
+        }
+
+        private void writeTailRow(int row) throws IOException {
+            rowBuffer.clear();
+            for (int column = 0; column < KlineColumns.COLUMNS; column++) {
+                rowBuffer.putLong(tailRows.columns[column][row]);
+            }
+            rowBuffer.flip();
+            writeFully(tail, rowBuffer, (long) row * TAIL_ROW_BYTES);
+        }
+
+        /**
+         * Encodes the tail rows into a block appended to the data file, then empties the tail.
+         */
+        private void seal() throws IOException {
+            int rows = tailRows.size;
+            Encoder encoder = new Encoder(BLOCK_HEADER_BYTES + rows * KlineColumns.COLUMNS * 2);
+            encoder.position = BLOCK_HEADER_BYTES;
+            for (long[] column : tailRows.columns) {
+                long previous = 0;
+                for (int row = 0; row < rows; row++) {
+                    encoder.writeVarLong(column[row] - previous);
+                    previous = column[row];
+                }
+            }
+            long first = tailRows.columns[KlineColumns.OPEN_TIME][0];
+            long last = tailRows.columns[KlineColumns.OPEN_TIME][rows - 1];
+            ByteBuffer block = ByteBuffer.wrap(encoder.bytes, 0, encoder.position);
+            block.putInt(0, rows).putLong(4, first).putLong(12, last).putInt(20, encoder.position - BLOCK_HEADER_BYTES);
+            writeFully(data, block, dataSize);
+            addBlock(dataSize, first, last);
+            dataSize += encoder.position;
+            tail.truncate(0);
+            tailRows.size = 0;
+        }
+
+        private void addBlock(long offset, long firstOpenTime, long lastOpenTime) {
+            if (blockCount == blockOffsets.length) {
+                blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+                blockFirstOpenTimes = Arrays.copyOf(blockFirstOpenTimes, blockCount * 2);
+                blockLastOpenTimes = Arrays.copyOf(blockLastOpenTimes, blockCount * 2);
+            }
+            blockOffsets[blockCount] = offset;
+            blockFirstOpenTimes[blockCount] = firstOpenTime;
+            blockLastOpenTimes[blockCount] = lastOpenTime;
+            blockCount++;
+            this.lastOpenTime = lastOpenTime;
+        }
+
+        private void scan(long fromTime, long toTime, Consumer<KlineColumns> consumer) throws IOException {
+            // Blocks are in open time order: skip those ending before the range
+            int lo = 0;
+            int hi = blockCount;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (blockLastOpenTimes[mid] < fromTime) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            for (int block = lo; block < blockCount && blockFirstOpenTimes[block] <= toTime; block++) {
+                decode(blockOffsets[block]);
+                emit(fromTime, toTime, consumer);
+            }
+            if (tailRows.size > 0 && tailRows.columns[KlineColumns.OPEN_TIME][0] <= toTime) {
+                for (int column = 0; column < KlineColumns.COLUMNS; column++) {
+                    System.arraycopy(tailRows.columns[column], 0, batch.columns[column], 0, tailRows.size);
+                }
+                batch.size = tailRows.size;
+                emit(fromTime, toTime, consumer);
+            }
+        }
+
+        private void emit(long fromTime, long toTime, Consumer<KlineColumns> consumer) {
+            long[] openTimes = batch.columns[KlineColumns.OPEN_TIME];
+            int from = 0;
+            while (from < batch.size && openTimes[from] < fromTime) {
+                from++;
+            }
+            int to = batch.size;
+            while (to > from && openTimes[to - 1] > toTime) {
+                to--;
+            }
+            if (to > from) {
+                batch.retain(from, to);
+                consumer.accept(batch);
+            }
+        }
+
+        private void decode(long offset) throws IOException {
+            if (mapped == null || mapped.capacity() < dataSize) {
+                if (dataSize > Integer.MAX_VALUE) {
+                    throw new IOException("Kline store file larger than 2GB");
+                }
+                mapped = data.map(FileChannel.MapMode.READ_ONLY, 0, dataSize);
+            }
+            int position = (int) offset;
+            int rows = mapped.getInt(position);
+            position += BLOCK_HEADER_BYTES;
+            for (long[] column : batch.columns) {
+                long value = 0;
+                for (int row = 0; row < rows; row++) {
+                    long raw = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = mapped.get(position++);
+                        raw |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    value += (raw >>> 1) ^ -(raw & 1);
+                    column[row] = value;
+                }
+            }
+            batch.size = rows;
+        }
+
+        private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of kline store file");
+                }
+            }
+        }
+
+        private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        }
+    }
+
+    /**
+     * Growable byte array of zig-zag varints.
+     */
+    private static final class Encoder {
+
+        private byte[] bytes;
+
+        private int position;
+
+        private Encoder(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void writeVarLong(long value) {
+            if (position + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2 + 10);
+            }
+            long zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                bytes[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+                zigZag >>>= 7;
+            }
+            bytes[position++] = (byte) zigZag;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.AssetBalance;
+import com.binance.api.client.domain.event.AccountUpdateEvent;
+import com.binance.api.client.domain.event.BalanceUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local copy of the balances of an account, kept up to date by the user data stream.
+ * <p>
+ * Seeded with {@link #refresh(BinanceApiRestClient)} (or {@link #seed(Account)}) and fed by passing
+ * {@link #onUserDataUpdateEvent(UserDataUpdateEvent)} to
+ * {@link com.binance.api.client.BinanceApiWebSocketClient#onUserDataUpdateEvent}. Each update publishes a new
+ * immutable {@link Snapshot} through a single atomic reference, so readers on any thread see consistent balances
+ * without locking and without REST calls.
+ * <p>
+ * Events received before the cache is seeded, or while {@link #refresh(BinanceApiRestClient)} waits for the account,
+ * are held back and replayed on seeding, so the stream can be opened before calling
+ * {@link BinanceApiRestClient#getAccount()} without losing updates. Events no newer than the account are never
+ * applied, as its balances already reflect them. Refresh after the stream reconnects, as events may have been missed.
+ */
+public class AccountStateCache {
+
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(Snapshot.UNSEEDED);
+
+    /**
+     * Reseeds the cache with the current account state, using a single REST call. Events received during the call
+     * are applied to the current balances meanwhile, and replayed on the new ones if more recent than the account.
+     */
+    public void refresh(BinanceApiRestClient client) {
+        state.updateAndGet(current -> current.withRefreshes(current.refreshes + 1));
+        Account account;
+        try {
+            account = client.getAccount();
+        } catch (RuntimeException e) {
+            state.updateAndGet(current -> current.withRefreshes(current.refreshes - 1));
+            throw e;
+        }
+        seed(account, true);
+    }
+
+    /**
+     * Replaces the cached balances with those of the given account, then applies the events held back before
+     * seeding which are more recent than the account.
+     */
+    public void seed(Account account) {
+        seed(account, false);
+    }
+
+    private void seed(Account account, boolean endsRefresh) {
+        Map<String, Balance> balances = new HashMap<>();
+        for (AssetBalance balance : account.getBalances()) {
+            balances.put(balance.getAsset(), new Balance(balance));
+        }
+        long updateTime = account.getUpdateTime();
+        state.updateAndGet(current -> {
+            int refreshes = endsRefresh ? current.refreshes - 1 : current.refreshes;
+            // Another refresh still in progress keeps the events it has held back
+            List<UserDataUpdateEvent> pending = refreshes > 0 ? current.pending : Collections.emptyList();
+            Snapshot snapshot = new Snapshot(true, updateTime, updateTime, balances, pending, refreshes);
+            for (UserDataUpdateEvent event : current.pending) {
+                snapshot = snapshot.update(event, snapshot.pending);
+            }
+            return snapshot;
+        });
+    }
+
+    /**
+     * Applies a user data update event. Order updates are ignored, as the balances they change are sent as separate
+     * account updates.
+     */
+    public void onUserDataUpdateEvent(UserDataUpdateEvent event) {
+        if (event.getEventType() == UserDataUpdateEvent.UserDataUpdateEventType.ORDER_TRADE_UPDATE) {
+            return;
+        }
+        state.updateAndGet(current -> current.apply(event));
+    }
+
+    /**
+     * @return the current balances, which never change once returned.
+     */
+    public Snapshot getSnapshot() {
+        return state.get();
+    }
+
+    /**
+     * @return the current balance of the asset, or a zero balance if the account does not hold it.
+     */
+    public Balance getBalance(String asset) {
+        return state.get().getBalance(asset);
+    }
+
+    /**
+     * Immutable balances of an account at a point in time.
+     */
+    public static final class Snapshot {
+
+        private static final Snapshot UNSEEDED = new Snapshot(false, 0, 0, Collections.emptyMap(), Collections.emptyList(), 0);
+
+        private final boolean seeded;
+
+        private final long updateTime;
+
+        /**
+         * Update time of the account the balances were seeded with.
+         */
+        private final long accountUpdateTime;
+
+        private final Map<String, Balance> balances;
+
+        /**
+         * Events held back until the next seeding, oldest first: those received before seeding or during a refresh.
+         */
+        private final List<UserDataUpdateEvent> pending;
+
+        /**
+         * Number of refreshes waiting for their account.
+         */
+        private final int refreshes;
+
+        private Snapshot(boolean seeded, long updateTime, long accountUpdateTime, Map<String, Balance> balances,
+                         List<UserDataUpdateEvent> pending, int refreshes) {
+            this.seeded = seeded;
+            this.updateTime = updateTime;
+            this.accountUpdateTime = accountUpdateTime;
+            this.balances = Collections.unmodifiableMap(balances);
+            this.pending = pending;
+            this.refreshes = refreshes;
+        }
+
+        private Snapshot withRefreshes(int refreshes) {
+            List<UserDataUpdateEvent> events = seeded && refreshes == 0 ? Collections.emptyList() : pending;
+            return new Snapshot(seeded, updateTime, accountUpdateTime, balances, events, refreshes);
+        }
+
+        private Snapshot apply(UserDataUpdateEvent event) {
+            List<UserDataUpdateEvent> events = pending;
+            if (!seeded || refreshes > 0) {
+                events = new ArrayList<>(pending.size() + 1);
+                events.addAll(pending);
+                events.add(event);
+                events = Collections.unmodifiableList(events);
+            }
+            if (!seeded) {
+                return new Snapshot(false, updateTime, accountUpdateTime, balances, events, refreshes);
+            }
+            return update(event, events);
+        }
+
+        /**
+         * Applies an event to the balances, unless the account they were seeded with already reflects it.
+         */
+        private Snapshot update(UserDataUpdateEvent event, List<UserDataUpdateEvent> events) {
+            if (event.getEventTime() <= accountUpdateTime) {
+                return events == pending ? this : new Snapshot(true, updateTime, accountUpdateTime, balances, events, refreshes);
+            }
+            Map<String, Balance> updated = new HashMap<>(balances);
+            if (event.getEventType() == UserDataUpdateEvent.UserDataUpdateEventType.ACCOUNT_POSITION_UPDATE) {
+                AccountUpdateEvent accountUpdate = event.getOutboundAccountPositionUpdateEvent();
+                for (AssetBalance balance : accountUpdate.getBalances()) {
+                    updated.put(balance.getAsset(), new Balance(balance));
+                }
+            } else if (event.getEventType() == UserDataUpdateEvent.UserDataUpdateEventType.BALANCE_UPDATE) {
+                BalanceUpdateEvent balanceUpdate = event.getBalanceUpdateEvent();
+                Balance balance = getBalance(balanceUpdate.getAsset());
+                Decimal free = balance.getFree().add(Decimal.parse(balanceUpdate.getBalanceDelta()));
+                updated.put(balance.getAsset(), new Balance(balance.getAsset(), free, balance.getLocked()));
+            } else {
+                return events == pending ? this : new Snapshot(true, updateTime, accountUpdateTime, balances, events, refreshes);
+            }
+            return new Snapshot(true, event.getEventTime(), accountUpdateTime, updated, events, refreshes);
+        }
+
+        /**
+         * @return false until the cache is seeded with an account, in which case it has no balances.
+         */
+        public boolean isSeeded() {
+            return seeded;
+        }
+
+        /**
+         * @return the time of the account or event these balances reflect.
+         */
+        public long getUpdateTime() {
+            return updateTime;
+        }
+
+        /**
+         * @return the balances by asset.
+         */
+        public Map<String, Balance> getBalances() {
+            return balances;
+        }
+
+        /**
+         * @return the balance of the asset, or a zero balance if the account does not hold it.
+         */
+        public Balance getBalance(String asset) {
+            Balance balance = balances.get(asset);
+            return balance != null ? balance : new Balance(asset, Decimal.ZERO, Decimal.ZERO);
+        }
+    }
+
+    /**
+     * Immutable balance of an asset.
+     */
+    public static final class Balance {
+
+        private final String asset;
+
+        private final Decimal free;
+
+        private final Decimal locked;
+
+        private Balance(AssetBalance balance) {
+            this(balance.getAsset(), balance.getFreeDecimal(), balance.getLockedDecimal());
+        }
+
+        private Balance(String asset, Decimal free, Decimal locked) {
+            this.asset = asset;
+            this.free = free;
+            this.locked = locked;
+        }
+
+        public String getAsset() {
+            return asset;
+        }
+
+        public Decimal getFree() {
+            return free;
+        }
+
+        public Decimal getLocked() {
+            return locked;
+        }
+
+        /**
+         * @return free plus locked.
+         */
+        public Decimal getTotal() {
+            return free.add(locked);
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+                    .append("asset", asset)
+                    .append("free", free)
+                    .append("locked", locked)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.general.SymbolStatus;
+import com.binance.api.client.domain.market.BookTicker;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.ONE;
+
+/**
+ * Scans the triangular cycles of the exchange, e.g. BTC to ETH to BNB to BTC, for conversions which end with more
+ * than they started with after fees.
+ * <p>
+ * The cycles are enumerated once from the trading symbols of an {@link ExchangeInfoIndex}, in both directions, along
+ * with the cycles each symbol is part of; build a new scanner when the exchange information is refreshed. A book
+ * ticker update, e.g. from {@link com.binance.api.client.BinanceApiWebSocketClient#onAllBookTickersEvent}, only
+ * re-evaluates the cycles of its symbol. Each leg sells at the bid or buys at the ask and pays the taker commission.
+ * Prices are kept in fixed point scaled by 10^{@value ExchangeInfoIndex#SCALE}, but a cycle is evaluated as the
+ * product of its rates in double: its relative precision does not depend on the value of the start asset, whereas
+ * carrying one unit of a cheap asset in fixed point truncates most of its digits on the first leg. Profitable cycles
+ * are passed to a {@link Listener} with the time taken from receiving the update to the decision.
+ * <p>
+ * Evaluations ignore the quantities at the top of the book and the filters of the symbols, which an order placed on
+ * an opportunity still has to satisfy, see {@link OrderValidator}.
+ */
+public class ArbitrageScanner {
+
+    /**
+     * Receives profitable cycles.
+     */
+    public interface Listener {
+
+        void onOpportunity(Opportunity opportunity);
+    }
+
+    private static final int LEGS = 3;
+
+    private static final double BASIS_POINTS = 10_000;
+
+    private static final double UNIT = ONE;
+
+    private final ExchangeInfoIndex index;
+
+    private final Listener listener;
+
+    /**
+     * Symbol ids of the legs, {@value #LEGS} per cycle.
+     */
+    private final int[] cycleSymbols;
+
+    /**
+     * True for legs selling the base asset of their symbol, false for legs buying it.
+     */
+    private final boolean[] cycleSells;
+
+    private final String[] cycleStartAssets;
+
+    /**
+     * Cycle ids by symbol id.
+     */
+    private final int[][] symbolCycles;
+
+    private final long[] bids;
+
+    private final long[] asks;
+
+    /**
+     * Fraction of each leg left after the commission.
+     */
+    private double feeFactor = (BASIS_POINTS - 10) / BASIS_POINTS;
+
+    private double minProfit;
+
+    private long evaluationCount;
+
+    /**
+     * @param index the index whose trading symbols form the cycles
+     * @param listener the listener of profitable cycles
+     */
+    public ArbitrageScanner(ExchangeInfoIndex index, Listener listener) {
+        this.index = index;
+        this.listener = listener;
+        int size = index.size();
+        this.bids = new long[size];
+        this.asks = new long[size];
+
+        Map<String, Map<String, Integer>> symbolsByAssets = new HashMap<>();
+        for (int id = 0; id < size; id++) {
+            SymbolInfo info = index.getSymbolInfo(id);
+            if (info.getStatus() == null || info.getStatus() == SymbolStatus.TRADING) {
+                symbolsByAssets.computeIfAbsent(info.getBaseAsset(), a -> new HashMap<>()).put(info.getQuoteAsset(), id);
+                symbolsByAssets.computeIfAbsent(info.getQuoteAsset(), a -> new HashMap<>()).put(info.getBaseAsset(), id);
+            }
+        }
+        List<int[]> triangles = new ArrayList<>();
+        List<String[]> triangleAssets = new ArrayList<>();
+        for (int first = 0; first < size; first++) {
+            SymbolInfo info = index.getSymbolInfo(first);
+            String a = info.getBaseAsset();
+            String b = info.getQuoteAsset();
+            Map<String, Integer> fromA = symbolsByAssets.get(a);
+            Map<String, Integer> fromB = symbolsByAssets.get(b);
+            if (fromA == null || fromB == null || !Integer.valueOf(first).equals(fromA.get(b))) {
+                continue;
+            }
+            // Each triangle once, from its symbol with the lowest id
+            for (Map.Entry<String, Integer> bc : fromB.entrySet()) {
+                String c = bc.getKey();
+                Integer ca = fromA.get(c);
+                if (!c.equals(a) && bc.getValue() > first && ca != null && ca > first) {
+                    triangles.add(new int[]{first, bc.getValue(), ca});
+                    triangleAssets.add(new String[]{a, b, c});
+                }
+            }
+        }
+
+        int cycles = triangles.size() * 2;
+        this.cycleSymbols = new int[cycles * LEGS];
+        this.cycleSells = new boolean[cycles * LEGS];
+        this.cycleStartAssets = new String[cycles];
+        int[] counts = new int[size];
+        for (int t = 0; t < triangles.size(); t++) {
+            int[] symbols = triangles.get(t);
+            String[] assets = triangleAssets.get(t);
+            // a -> b -> c -> a, then a -> c -> b -> a
+            setCycle(2 * t, assets[0], new String[]{assets[0], assets[1], assets[2]}, symbols[0], symbols[1], symbols[2]);
+            setCycle(2 * t + 1, assets[0], new String[]{assets[0], assets[2], assets[1]}, symbols[2], symbols[1], symbols[0]);
+            for (int symbol : symbols) {
+                counts[symbol] += 2;
+            }
+        }
+        this.symbolCycles = new int[size][];
+        for (int id = 0; id < size; id++) {
+            symbolCycles[id] = new int[counts[id]];
+            counts[id] = 0;
+        }
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            for (int leg = 0; leg < LEGS; leg++) {
+                int symbol = cycleSymbols[cycle * LEGS + leg];
+                symbolCycles[symbol][counts[symbol]++] = cycle;
+            }
+        }
+    }
+
+    private void setCycle(int cycle, String startAsset, String[] assets, int... symbols) {
+        cycleStartAssets[cycle] = startAsset;
+        for (int leg = 0; leg < LEGS; leg++) {
+            cycleSymbols[cycle * LEGS + leg] = symbols[leg];
+            cycleSells[cycle * LEGS + leg] = index.getSymbolInfo(symbols[leg]).getBaseAsset().equals(assets[leg]);
+        }
+    }
+
+    /**
+     * Sets the commission paid on each leg from the taker commission of an account.
+     */
+    public ArbitrageScanner fees(Account account) {
+        return takerCommission(account.getTakerCommission());
+    }
+
+    /**
+     * Sets the commission paid on each leg, in basis points, 10 (0.1%) by default.
+     */
+    public synchronized ArbitrageScanner takerCommission(int basisPoints) {
+        this.feeFactor = (BASIS_POINTS - basisPoints) / BASIS_POINTS;
+        return this;
+    }
+
+    /**
+     * Sets the scaled profit a cycle must exceed to be reported, 0 by default, e.g.
+     * {@code ExchangeInfoIndex.parse("0.001")} for 0.1%.
+     */
+    public synchronized ArbitrageScanner minProfit(long minProfit) {
+        this.minProfit = (double) minProfit / ONE;
+        return this;
+    }
+
+    /**
+     * Updates the prices of a symbol from a book ticker stream and evaluates its cycles.
+     */
+    public void onBookTicker(BookTickerEvent event) {
+        long receivedNanos = System.nanoTime();
+        int id = index.idOf(event.getSymbol());
+        if (id >= 0) {
+            update(id, ExchangeInfoIndex.parse(event.getBidPrice()), ExchangeInfoIndex.parse(event.getAskPrice()),
+                    receivedNanos);
+        }
+    }
+
+    /**
+     * Updates the prices of symbols, e.g. from {@link com.binance.api.client.BinanceApiRestClient#getBookTickers()},
+     * without evaluating any cycle.
+     */
+    public synchronized void updateBookTickers(Iterable<BookTicker> bookTickers) {
+        for (BookTicker bookTicker : bookTickers) {
+            int id = index.idOf(bookTicker.getSymbol());
+            if (id >= 0) {
+                bids[id] = ExchangeInfoIndex.parse(bookTicker.getBidPrice());
+                asks[id] = ExchangeInfoIndex.parse(bookTicker.getAskPrice());
+            }
+        }
+    }
+
+    /**
+     * Updates the scaled prices of a symbol and evaluates its cycles.
+     *
+     * @param receivedNanos the {@link System#nanoTime()} at which the update was received
+     */
+    public synchronized void update(int symbolId, long bid, long ask, long receivedNanos) {
+        bids[symbolId] = bid;
+        asks[symbolId] = ask;
+        for (int cycle : symbolCycles[symbolId]) {
+            evaluationCount++;
+            double result = evaluate(cycle);
+            if (result - 1 > minProfit) {
+                listener.onOpportunity(newOpportunity(cycle, result, System.nanoTime() - receivedNanos));
+            }
+        }
+    }
+
+    /**
+     * @return the amount of the start asset a cycle ends with per unit, the product of its rates after fees, or 0 if
+     * a price is missing.
+     */
+    private double evaluate(int cycle) {
+        double product = 1;
+        for (int leg = cycle * LEGS; leg < cycle * LEGS + LEGS; leg++) {
+            int symbol = cycleSymbols[leg];
+            if (cycleSells[leg]) {
+                if (bids[symbol] <= 0) {
+                    return 0;
+                }
+                product *= bids[symbol] / UNIT;
+            } else {
+                if (asks[symbol] <= 0) {
+                    return 0;
+                }
+                product /= asks[symbol] / UNIT;
+            }
+            product *= feeFactor;
+        }
+        return product;
+    }
+
+    private Opportunity newOpportunity(int cycle, double result, long decisionLatencyNanos) {
+        String[] symbols = new String[LEGS];
+        OrderSide[] sides = new OrderSide[LEGS];
+        long[] prices = new long[LEGS];
+        for (int leg = 0; leg < LEGS; leg++) {
+            int symbol = cycleSymbols[cycle * LEGS + leg];
+            boolean sell = cycleSells[cycle * LEGS + leg];
+            symbols[leg] = index.getSymbol(symbol);
+            sides[leg] = sell ? OrderSide.SELL : OrderSide.BUY;
+            prices[leg] = sell ? bids[symbol] : asks[symbol];
+        }
+        return new Opportunity(cycleStartAssets[cycle], symbols, sides, prices, Math.round((result - 1) * ONE),
+                decisionLatencyNanos);
+    }
+
+    /**
+     * @return the number of cycles, each triangle counted once per direction.
+     */
+    public int getCycleCount() {
+        return cycleStartAssets.length;
+    }
+
+    /**
+     * @return the number of cycles a symbol is part of.
+     */
+    public int getCycleCount(String symbol) {
+        return symbolCycles[index.requireId(symbol)].length;
+    }
+
+    /**
+     * @return the number of cycle evaluations so far.
+     */
+    public synchronized long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    /**
+     * A profitable cycle, with the prices it was evaluated at.
+     */
+    public static final class Opportunity {
+
+        private final String startAsset;
+
+        private final String[] symbols;
+
+        private final OrderSide[] sides;
+
+        private final long[] prices;
+
+        private final long profit;
+
+        private final long decisionLatencyNanos;
+
+        private Opportunity(String startAsset, String[] symbols, OrderSide[] sides, long[] prices, long profit,
+                            long decisionLatencyNanos) {
+            this.startAsset = startAsset;
+            this.symbols = symbols;
+            this.sides = sides;
+            this.prices = prices;
+            this.profit = profit;
+            this.decisionLatencyNanos = decisionLatencyNanos;
+        }
+
+        /**
+         * @return the asset the cycle starts and ends with.
+         */
+        public String getStartAsset() {
+            return startAsset;
+        }
+
+        public String getSymbol(int leg) {
+            return symbols[leg];
+        }
+
+        public OrderSide getSide(int leg) {
+            return sides[leg];
+        }
+
+        /**
+         * @return the scaled bid (sell) or ask (buy) price of a leg.
+         */
+        public long getPrice(int leg) {
+            return prices[leg];
+        }
+
+        /**
+         * @return the scaled profit per unit of the start asset, after fees, e.g. 0.002 for 0.2%.
+         */
+        public long getProfit() {
+            return profit;
+        }
+
+        /**
+         * @return the time from receiving the price update to detecting the opportunity.
+         */
+        public long getDecisionLatencyNanos() {
+            return decisionLatencyNanos;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+                    .append("startAsset", startAsset)
+                    .append("symbols", Arrays.toString(symbols))
+                    .append("sides", Arrays.toString(sides))
+                    .append("profit", ExchangeInfoIndex.format(profit))
+                    .append("decisionLatencyNanos", decisionLatencyNanos)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.binance.api.client.trading;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressed hash map with primitive long keys, which neither boxes keys nor allocates entries. Not thread-safe.
+ *
+ * @param <V> the type of values, which must not be null
+ */
+final class LongHashMap<V> {
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int mask;
+
+    private int size;
+
+    LongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int slot = slot(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    void put(long key, V value) {
+        int slot = slot(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > values.length) {
+            resize();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int slot = slot(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V removed = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Empties a slot, moving later entries of its probe sequence back so that no lookup stops at the hole.
+     */
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = slot(keys[slot]);
+            // Move the entry unless its home lies cyclically in (hole, slot]
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        values[hole] = null;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,180 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.domain.ExecutionType;
+import com.binance.api.client.domain.OrderRejectReason;
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.OrderStatus;
+import com.binance.api.client.domain.OrderType;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Immutable state of an order tracked by an {@link OrderTracker}.
+ */
+public final class OrderState {
+
+    /**
+     * Order id of orders registered locally and not acknowledged by Binance yet.
+     */
+    public static final long UNKNOWN_ORDER_ID = -1;
+
+    private final String symbol;
+
+    private final long orderId;
+
+    private final String clientOrderId;
+
+    private final OrderSide side;
+
+    private final OrderType type;
+
+    private final Decimal price;
+
+    private final Decimal origQty;
+
+    private final OrderStatus status;
+
+    private final ExecutionType executionType;
+
+    private final OrderRejectReason rejectReason;
+
+    private final Decimal executedQty;
+
+    private final Decimal cumulativeQuoteQty;
+
+    private final long updateTime;
+
+    OrderState(String symbol, long orderId, String clientOrderId, OrderSide side, OrderType type, Decimal price,
+               Decimal origQty, OrderStatus status, ExecutionType executionType, OrderRejectReason rejectReason,
+               Decimal executedQty, Decimal cumulativeQuoteQty, long updateTime) {
+        this.symbol = symbol;
+        this.orderId = orderId;
+        this.clientOrderId = clientOrderId;
+        this.side = side;
+        this.type = type;
+        this.price = price;
+        this.origQty = origQty;
+        this.status = status;
+        this.executionType = executionType;
+        this.rejectReason = rejectReason;
+        this.executedQty = executedQty;
+        this.cumulativeQuoteQty = cumulativeQuoteQty;
+        this.updateTime = updateTime;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return the order id assigned by Binance, or {@link #UNKNOWN_ORDER_ID} until the order is acknowledged.
+     */
+    public long getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * @return the client order id the order was placed with.
+     */
+    public String getClientOrderId() {
+        return clientOrderId;
+    }
+
+    public OrderSide getSide() {
+        return side;
+    }
+
+    public OrderType getType() {
+        return type;
+    }
+
+    /**
+     * @return the limit price, or null if unknown or not applicable.
+     */
+    public Decimal getPrice() {
+        return price;
+    }
+
+    /**
+     * @return the original quantity, or null if unknown (e.g. quote quantity market orders).
+     */
+    public Decimal getOrigQty() {
+        return origQty;
+    }
+
+    /**
+     * @return the status of the order, or null until it is acknowledged.
+     */
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the execution type of the last update received from the user data stream, if any.
+     */
+    public ExecutionType getExecutionType() {
+        return executionType;
+    }
+
+    public OrderRejectReason getRejectReason() {
+        return rejectReason;
+    }
+
+    /**
+     * @return the cumulative filled quantity.
+     */
+    public Decimal getExecutedQty() {
+        return executedQty;
+    }
+
+    /**
+     * @return the cumulative filled quote quantity.
+     */
+    public Decimal getCumulativeQuoteQty() {
+        return cumulativeQuoteQty;
+    }
+
+    /**
+     * @return the time of the last update, in milliseconds.
+     */
+    public long getUpdateTime() {
+        return updateTime;
+    }
+
+    /**
+     * @return true while the order can still be filled, including while it is not acknowledged yet.
+     */
+    public boolean isOpen() {
+        return !isFinal(status);
+    }
+
+    static boolean isFinal(OrderStatus status) {
+        return status == OrderStatus.FILLED || status == OrderStatus.CANCELED || status == OrderStatus.REJECTED
+                || status == OrderStatus.EXPIRED;
+    }
+
+    OrderState withOrderId(long orderId) {
+        return new OrderState(symbol, orderId, clientOrderId, side, type, price, origQty, status, executionType,
+                rejectReason, executedQty, cumulativeQuoteQty, updateTime);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, BinanceApiConstants.TO_STRING_BUILDER_STYLE)
+                .append("symbol", symbol)
+                .append("orderId", orderId)
+                .append("clientOrderId", clientOrderId)
+                .append("side", side)
+                .append("type", type)
+                .append("price", price)
+                .append("origQty", origQty)
+                .append("status", status)
+                .append("executionType", executionType)
+                .append("rejectReason", rejectReason)
+                .append("executedQty", executedQty)
+                .append("cumulativeQuoteQty", cumulativeQuoteQty)
+                .append("updateTime", updateTime)
+                .toString();
+    }
+}
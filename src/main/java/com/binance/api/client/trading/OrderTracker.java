@@ -0,0 +1,315 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.domain.ExecutionType;
+import com.binance.api.client.domain.OrderStatus;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.account.NewOrderResponse;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.BinanceApiError;
+import com.binance.api.client.exception.BinanceApiException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the state of orders from the moment they are placed, so that their status is known without polling
+ * {@link com.binance.api.client.BinanceApiRestClient#getOpenOrders} or
+ * {@link com.binance.api.client.BinanceApiRestClient#getOrderStatus}.
+ * <p>
+ * Orders are registered when placed, either explicitly with {@link #register(NewOrder)} and
+ * {@link #onNewOrderResponse(NewOrderResponse)} or by setting the tracker on the REST client, and advanced by the
+ * execution reports of the user data stream, passed to {@link #onUserDataUpdateEvent(UserDataUpdateEvent)}. Orders
+ * placed elsewhere on the account are tracked from their first execution report. Updates older than the tracked state
+ * (a smaller cumulative filled quantity, or a non final status after a final one) are ignored, so reports and REST
+ * responses may arrive in any order.
+ * <p>
+ * Orders are indexed by order id, in a primitive long map per symbol as order ids are only unique within a symbol,
+ * and by client order id. Lookups and updates take constant time; finished orders stay queryable until
+ * {@link #removeCompleted()}. After a gap in the user data stream, missed updates are recovered with
+ * {@link #reconcileOpenOrders(String, List)}.
+ */
+public class OrderTracker {
+
+    private static final AtomicLong CLIENT_ORDER_ID_SEQUENCE = new AtomicLong();
+
+    private static final String CLIENT_ORDER_ID_PREFIX = "ot-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+    /**
+     * Error codes of the API meaning that an order may have been placed although the request failed.
+     */
+    private static final Set<Integer> UNKNOWN_STATUS_ERROR_CODES = new HashSet<>(Arrays.asList(-1006, -1007));
+
+    private final Map<String, LongHashMap<Entry>> byOrderId = new HashMap<>();
+
+    private final Map<String, Entry> byClientOrderId = new HashMap<>();
+
+    /**
+     * Registers an order about to be placed, assigning it a unique client order id if it has none. Binance accepts a
+     * client order id again once the order which had it is closed, so such an order, or one of another symbol, is
+     * replaced; it stays queryable by its order id until {@link #removeCompleted()}.
+     *
+     * @return the client order id of the order
+     */
+    public synchronized String register(NewOrder order) {
+        if (order.getNewClientOrderId() == null) {
+            order.newClientOrderId(CLIENT_ORDER_ID_PREFIX + CLIENT_ORDER_ID_SEQUENCE.incrementAndGet());
+        }
+        String clientOrderId = order.getNewClientOrderId();
+        Entry existing = byClientOrderId.get(clientOrderId);
+        if (existing == null || !existing.state.isOpen() || !existing.state.getSymbol().equals(order.getSymbol())) {
+            OrderState state = new OrderState(order.getSymbol(), OrderState.UNKNOWN_ORDER_ID, clientOrderId,
+                    order.getSide(), order.getType(), decimal(order.getPrice()), decimal(order.getQuantity()), null,
+                    null, null, Decimal.ZERO, Decimal.ZERO, System.currentTimeMillis());
+            byClientOrderId.put(clientOrderId, new Entry(state));
+        }
+        return clientOrderId;
+    }
+
+    /**
+     * Applies the response to a new order request, which assigns it an order id.
+     */
+    public synchronized void onNewOrderResponse(NewOrderResponse response) {
+        long time = response.getTransactTime() != null ? response.getTransactTime() : System.currentTimeMillis();
+        Entry entry = lookup(response.getSymbol(), response.getOrderId(), response.getClientOrderId());
+        OrderState current = entry != null ? entry.state : null;
+        OrderState state = new OrderState(response.getSymbol(), response.getOrderId(), response.getClientOrderId(),
+                response.getSide() != null || current == null ? response.getSide() : current.getSide(),
+                response.getType() != null || current == null ? response.getType() : current.getType(),
+                response.getPrice() != null || current == null ? decimal(response.getPrice()) : current.getPrice(),
+                response.getOrigQty() != null || current == null ? decimal(response.getOrigQty()) : current.getOrigQty(),
+                response.getStatus() != null ? response.getStatus() : OrderStatus.NEW, null, null,
+                orZero(response.getExecutedQty()), orZero(response.getCummulativeQuoteQty()), time);
+        apply(entry, state);
+    }
+
+    /**
+     * Applies the failure of the request placing a registered order. An order the API rejected is tracked as
+     * rejected. When the outcome is unknown, e.g. after a timeout or an internal error of the API, the order is not
+     * tracked anymore: if it was placed after all, its execution reports track it again. Orders already acknowledged
+     * are left as they are.
+     */
+    public synchronized void onNewOrderFailure(String clientOrderId, RuntimeException failure) {
+        Entry entry = byClientOrderId.get(clientOrderId);
+        if (entry == null || entry.state.getOrderId() != OrderState.UNKNOWN_ORDER_ID || entry.state.getStatus() != null) {
+            return;
+        }
+        BinanceApiError error = failure instanceof BinanceApiException ? ((BinanceApiException) failure).getError() : null;
+        if (error == null || UNKNOWN_STATUS_ERROR_CODES.contains(error.getCode())) {
+            byClientOrderId.remove(clientOrderId);
+            return;
+        }
+        OrderState state = entry.state;
+        entry.state = new OrderState(state.getSymbol(), OrderState.UNKNOWN_ORDER_ID, clientOrderId, state.getSide(),
+                state.getType(), state.getPrice(), state.getOrigQty(), OrderStatus.REJECTED, ExecutionType.REJECTED,
+                null, Decimal.ZERO, Decimal.ZERO, System.currentTimeMillis());
+    }
+
+    /**
+     * Applies an execution report. Other user data events are ignored, so this method can be passed directly to
+     * {@link com.binance.api.client.BinanceApiWebSocketClient#onUserDataUpdateEvent}.
+     */
+    public void onUserDataUpdateEvent(UserDataUpdateEvent event) {
+        if (event.getEventType() == UserDataUpdateEvent.UserDataUpdateEventType.ORDER_TRADE_UPDATE) {
+            onOrderTradeUpdate(event.getOrderTradeUpdateEvent());
+        }
+    }
+
+    /**
+     * Applies an execution report.
+     */
+    public synchronized void onOrderTradeUpdate(OrderTradeUpdateEvent event) {
+        // On cancellation, the client order id of the report is the one of the cancel request
+        Entry entry = lookup(event.getSymbol(), event.getOrderId(), event.getNewClientOrderId());
+        String clientOrderId = entry != null ? entry.state.getClientOrderId() : event.getNewClientOrderId();
+        long time = event.getEventTime() != null ? event.getEventTime() : System.currentTimeMillis();
+        OrderState state = new OrderState(event.getSymbol(), event.getOrderId(), clientOrderId, event.getSide(),
+                event.getType(), decimal(event.getPrice()), decimal(event.getOriginalQuantity()),
+                event.getOrderStatus(), event.getExecutionType(), event.getOrderRejectReason(),
+                orZero(event.getAccumulatedQuantity()), orZero(event.getCumulativeQuoteQty()), time);
+        apply(entry, state);
+    }
+
+    /**
+     * Applies the state of an order queried with the REST API.
+     */
+    public synchronized void reconcile(Order order) {
+        Entry entry = lookup(order.getSymbol(), order.getOrderId(), order.getClientOrderId());
+        OrderState state = new OrderState(order.getSymbol(), order.getOrderId(), order.getClientOrderId(),
+                order.getSide(), order.getType(), decimal(order.getPrice()), decimal(order.getOrigQty()),
+                order.getStatus(), null, null, orZero(order.getExecutedQty()), orZero(order.getCummulativeQuoteQty()),
+                order.getUpdateTime());
+        apply(entry, state);
+    }
+
+    /**
+     * Applies the result of {@link com.binance.api.client.BinanceApiRestClient#getOpenOrders}, typically after a gap
+     * in the user data stream.
+     *
+     * @param symbol the symbol the open orders were requested for, or null if they were requested for all symbols
+     * @param openOrders the open orders
+     * @return the orders tracked as open which are not open anymore, whose final state must be queried with
+     * {@link com.binance.api.client.BinanceApiRestClient#getOrderStatus} and passed to {@link #reconcile(Order)}
+     */
+    public synchronized List<OrderState> reconcileOpenOrders(String symbol, List<Order> openOrders) {
+        Set<Entry> open = new HashSet<>();
+        for (Order order : openOrders) {
+            reconcile(order);
+            open.add(lookup(order.getSymbol(), order.getOrderId(), order.getClientOrderId()));
+        }
+        List<OrderState> missing = new ArrayList<>();
+        for (Entry entry : byClientOrderId.values()) {
+            OrderState state = entry.state;
+            if (state.isOpen() && state.getOrderId() != OrderState.UNKNOWN_ORDER_ID
+                    && (symbol == null || symbol.equals(state.getSymbol())) && !open.contains(entry)) {
+                missing.add(state);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * @return the state of the order of the symbol, or null if it is not tracked.
+     */
+    public synchronized OrderState getOrder(String symbol, long orderId) {
+        Entry entry = lookup(symbol, orderId, null);
+        return entry != null ? entry.state : null;
+    }
+
+    /**
+     * @return the state of the order placed with the given client order id, or null if it is not tracked.
+     */
+    public synchronized OrderState getOrder(String clientOrderId) {
+        Entry entry = byClientOrderId.get(clientOrderId);
+        return entry != null ? entry.state : null;
+    }
+
+    /**
+     * @return the orders which can still be filled, including those not acknowledged yet.
+     */
+    public synchronized List<OrderState> getOpenOrders() {
+        return getOpenOrders(null);
+    }
+
+    /**
+     * @return the orders of the symbol which can still be filled, including those not acknowledged yet.
+     */
+    public synchronized List<OrderState> getOpenOrders(String symbol) {
+        List<OrderState> openOrders = new ArrayList<>();
+        for (Entry entry : byClientOrderId.values()) {
+            OrderState state = entry.state;
+            if (state.isOpen() && (symbol == null || symbol.equals(state.getSymbol()))) {
+                openOrders.add(state);
+            }
+        }
+        return openOrders;
+    }
+
+    /**
+     * @return the number of tracked orders.
+     */
+    public synchronized int size() {
+        return byClientOrderId.size();
+    }
+
+    /**
+     * Stops tracking filled, canceled, rejected and expired orders.
+     *
+     * @return the number of orders removed
+     */
+    public synchronized int removeCompleted() {
+        Set<Entry> removed = new HashSet<>();
+        for (Iterator<Entry> it = byClientOrderId.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (!entry.state.isOpen()) {
+                it.remove();
+                removed.add(entry);
+            }
+        }
+        // Also finds orders whose client order id was reused, which are only indexed by order id
+        List<OrderState> completed = new ArrayList<>();
+        for (LongHashMap<Entry> orders : byOrderId.values()) {
+            orders.forEachValue(entry -> {
+                if (!entry.state.isOpen()) {
+                    removed.add(entry);
+                    completed.add(entry.state);
+                }
+            });
+        }
+        for (OrderState state : completed) {
+            byOrderId.get(state.getSymbol()).remove(state.getOrderId());
+        }
+        return removed.size();
+    }
+
+    /**
+     * Finds the entry of an order by order id, or else by client order id unless that entry is of another symbol or
+     * already has another order id, i.e. it is an earlier order with the same client order id.
+     */
+    private Entry lookup(String symbol, Long orderId, String clientOrderId) {
+        LongHashMap<Entry> orders = orderId != null ? byOrderId.get(symbol) : null;
+        Entry entry = orders != null ? orders.get(orderId) : null;
+        if (entry == null && clientOrderId != null) {
+            entry = byClientOrderId.get(clientOrderId);
+            if (entry != null && (!entry.state.getSymbol().equals(symbol) || (orderId != null
+                    && entry.state.getOrderId() != OrderState.UNKNOWN_ORDER_ID && entry.state.getOrderId() != orderId))) {
+                return null;
+            }
+        }
+        return entry;
+    }
+
+    private void apply(Entry entry, OrderState update) {
+        if (entry == null) {
+            entry = new Entry(update);
+            byClientOrderId.put(update.getClientOrderId(), entry);
+        } else if (isStale(entry.state, update)) {
+            if (entry.state.getOrderId() == OrderState.UNKNOWN_ORDER_ID) {
+                entry.state = entry.state.withOrderId(update.getOrderId());
+            }
+        } else {
+            entry.state = update;
+        }
+        if (entry.state.getOrderId() != OrderState.UNKNOWN_ORDER_ID) {
+            byOrderId.computeIfAbsent(entry.state.getSymbol(), symbol -> new LongHashMap<>(16))
+                    .put(entry.state.getOrderId(), entry);
+        }
+    }
+
+    private static boolean isStale(OrderState current, OrderState update) {
+        int filled = update.getExecutedQty().compareTo(current.getExecutedQty());
+        if (filled != 0) {
+            return filled < 0;
+        }
+        return OrderState.isFinal(current.getStatus()) && !OrderState.isFinal(update.getStatus());
+    }
+
+    private static Decimal decimal(String value) {
+        return value != null ? Decimal.parse(value) : null;
+    }
+
+    private static Decimal orZero(String value) {
+        return value != null ? Decimal.parse(value) : Decimal.ZERO;
+    }
+
+    /**
+     * Holder shared by both indexes, so that an update replaces the state once.
+     */
+    private static final class Entry {
+
+        private OrderState state;
+
+        private Entry(OrderState state) {
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.OrderType;
+import com.binance.api.client.domain.account.MarginNewOrder;
+import com.binance.api.client.domain.account.NewOCO;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.FilterType;
+import com.binance.api.client.exception.OrderValidationException;
+
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.format;
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.multiply;
+
+/**
+ * Checks orders against the filters of their symbol before they are sent, so that orders Binance would reject with a
+ * filter failure do not cost a round trip, request weight and an order count slot.
+ * <p>
+ * PRICE_FILTER, LOT_SIZE and MIN_NOTIONAL (or both bounds of NOTIONAL) are always checked, as is MARKET_LOT_SIZE for the
+ * quantity of MARKET orders. PERCENT_PRICE needs the
+ * average price of the symbol and MAX_NUM_ORDERS its number of open orders; they are only checked when a source for
+ * them is set. All arithmetic is done on longs scaled by 10^{@value ExchangeInfoIndex#SCALE}; a price or quantity that
+ * does not fit, e.g. with more decimals, is reported as a failure of the filter checking it.
+ * <p>
+ * Optionally, prices and quantities are first snapped to the filter grids: quantities are rounded down to the step
+ * size, the market step size too for MARKET orders, and prices to the tick size towards the passive side, i.e. down for
+ * buy orders and up for sell orders.
+ */
+public class OrderValidator {
+
+    private final Supplier<ExchangeInfoIndex> index;
+
+    private boolean snapToFilters;
+
+    private IntToLongFunction averagePrices;
+
+    private IntUnaryOperator openOrderCounts;
+
+    public OrderValidator(ExchangeInfoIndex index) {
+        this(() -> index);
+    }
+
+    /**
+     * @param index supplies the current exchange information index, e.g. a caching client's index
+     */
+    public OrderValidator(Supplier<ExchangeInfoIndex> index) {
+        this.index = index;
+    }
+
+    /**
+     * @param snapToFilters whether prices and quantities are rounded to the tick and step sizes before being checked
+     */
+    public OrderValidator snapToFilters(boolean snapToFilters) {
+        this.snapToFilters = snapToFilters;
+        return this;
+    }
+
+    /**
+     * @param averagePrices average price by symbol id, scaled by 10^8, or 0 when unknown; enables PERCENT_PRICE and
+     *                      MIN_NOTIONAL checks of MARKET orders
+     */
+    public OrderValidator averagePrices(IntToLongFunction averagePrices) {
+        this.averagePrices = averagePrices;
+        return this;
+    }
+
+    /**
+     * @param openOrderCounts number of open orders of the account by symbol id; enables MAX_NUM_ORDERS checks
+     */
+    public OrderValidator openOrderCounts(IntUnaryOperator openOrderCounts) {
+        this.openOrderCounts = openOrderCounts;
+        return this;
+    }
+
+    /**
+     * Snaps the order to the filter grids if enabled, and checks it.
+     *
+     * @throws OrderValidationException if the order violates a filter of its symbol
+     */
+    public void validate(NewOrder order) {
+        ExchangeInfoIndex idx = index.get();
+        int id = idx.requireId(order.getSymbol());
+        OrderSide side = order.getSide();
+        if (snapToFilters) {
+            order.price(snapPrice(idx, id, side, order.getPrice()))
+                    .stopPrice(snapPrice(idx, id, side, order.getStopPrice()))
+                    .stopLimitPrice(snapPrice(idx, id, side, order.getStopLimitPrice()))
+                    .quantity(snapQuantity(idx, id, order.getType(), order.getQuantity()))
+                    .icebergQty(snapQuantity(idx, id, order.getIcebergQty()));
+        }
+        checkPrice(idx, id, order.getPrice());
+        checkPrice(idx, id, order.getStopPrice());
+        checkPrice(idx, id, order.getStopLimitPrice());
+        checkQuantity(idx, id, order.getQuantity());
+        checkMarketQuantity(idx, id, order.getType(), order.getQuantity());
+        checkQuantity(idx, id, order.getIcebergQty());
+        checkNotional(idx, id, order.getType(), order.getPrice(), order.getQuantity(), order.getQuoteOrderQty());
+        checkPercentPrice(idx, id, order.getPrice());
+        checkOpenOrders(idx, id, 1);
+    }
+
+    /**
+     * Snaps the order to the filter grids if enabled, and checks it.
+     *
+     * @throws OrderValidationException if the order violates a filter of its symbol
+     */
+    public void validate(MarginNewOrder order) {
+        ExchangeInfoIndex idx = index.get();
+        int id = idx.requireId(order.getSymbol());
+        OrderSide side = order.getSide();
+        if (snapToFilters) {
+            order.price(snapPrice(idx, id, side, order.getPrice()))
+                    .stopPrice(snapPrice(idx, id, side, order.getStopPrice()))
+                    .quantity(snapQuantity(idx, id, order.getType(), order.getQuantity()))
+                    .icebergQty(snapQuantity(idx, id, order.getIcebergQty()));
+        }
+        checkPrice(idx, id, order.getPrice());
+        checkPrice(idx, id, order.getStopPrice());
+        checkQuantity(idx, id, order.getQuantity());
+        checkMarketQuantity(idx, id, order.getType(), order.getQuantity());
+        checkQuantity(idx, id, order.getIcebergQty());
+        checkNotional(idx, id, order.getType(), order.getPrice(), order.getQuantity(), order.getQuoteOrderQty());
+        checkPercentPrice(idx, id, order.getPrice());
+        checkOpenOrders(idx, id, 1);
+    }
+
+    /**
+     * Snaps both legs of the OCO order to the filter grids if enabled, and checks them.
+     *
+     * @throws OrderValidationException if the order violates a filter of its symbol
+     */
+    public void validate(NewOCO oco) {
+        ExchangeInfoIndex idx = index.get();
+        int id = idx.requireId(oco.getSymbol());
+        OrderSide side = oco.getSide();
+        if (snapToFilters) {
+            oco.setPrice(snapPrice(idx, id, side, oco.getPrice()));
+            oco.setStopPrice(snapPrice(idx, id, side, oco.getStopPrice()));
+            oco.setStopLimitPrice(snapPrice(idx, id, side, oco.getStopLimitPrice()));
+            oco.setQuantity(snapQuantity(idx, id, oco.getQuantity()));
+            oco.setLimitIcebergQty(snapQuantity(idx, id, oco.getLimitIcebergQty()));
+            oco.setStopIcebergQty(snapQuantity(idx, id, oco.getStopIcebergQty()));
+        }
+        checkPrice(idx, id, oco.getPrice());
+        checkPrice(idx, id, oco.getStopPrice());
+        checkPrice(idx, id, oco.getStopLimitPrice());
+        checkQuantity(idx, id, oco.getQuantity());
+        checkQuantity(idx, id, oco.getLimitIcebergQty());
+        checkQuantity(idx, id, oco.getStopIcebergQty());
+        checkNotional(idx, id, OrderType.LIMIT_MAKER, oco.getPrice(), oco.getQuantity(), null);
+        checkNotional(idx, id, OrderType.STOP_LOSS_LIMIT, oco.getStopLimitPrice() != null ? oco.getStopLimitPrice() : oco.getStopPrice(),
+                oco.getQuantity(), null);
+        checkPercentPrice(idx, id, oco.getPrice());
+        checkOpenOrders(idx, id, 2);
+    }
+
+    private static String snapPrice(ExchangeInfoIndex idx, int id, OrderSide side, String price) {
+        if (price == null || idx.getTickSize(id) == 0) {
+            return price;
+        }
+        long value = parse(FilterType.PRICE_FILTER, "price", price);
+        long snapped = snap(value, idx.getMinPrice(id), idx.getTickSize(id), side == OrderSide.SELL);
+        return snapped == value ? price : format(snapped);
+    }
+
+    private static String snapQuantity(ExchangeInfoIndex idx, int id, String quantity) {
+        if (quantity == null || idx.getStepSize(id) == 0) {
+            return quantity;
+        }
+        long value = parse(FilterType.LOT_SIZE, "quantity", quantity);
+        long snapped = snap(value, idx.getMinQty(id), idx.getStepSize(id), false);
+        return snapped == value ? quantity : format(snapped);
+    }
+
+    private static String snapQuantity(ExchangeInfoIndex idx, int id, OrderType type, String quantity) {
+        String snapped = snapQuantity(idx, id, quantity);
+        if (snapped == null || type != OrderType.MARKET || idx.getMarketStepSize(id) == 0) {
+            return snapped;
+        }
+        long value = parse(FilterType.MARKET_LOT_SIZE, "quantity", snapped);
+        long marketSnapped = snap(value, idx.getMarketMinQty(id), idx.getMarketStepSize(id), false);
+        return marketSnapped == value ? snapped : format(marketSnapped);
+    }
+
+    /**
+     * @return the value rounded to the grid of the given step starting at <code>min</code>.
+     */
+    private static long snap(long value, long min, long step, boolean up) {
+        long remainder = (value - min) % step;
+        if (value < min || remainder == 0) {
+            return value;
+        }
+        return value - remainder + (up ? step : 0);
+    }
+
+    private static void checkPrice(ExchangeInfoIndex idx, int id, String price) {
+        if (price == null) {
+            return;
+        }
+        long value = parse(FilterType.PRICE_FILTER, "price", price);
+        long min = idx.getMinPrice(id);
+        long max = idx.getMaxPrice(id);
+        long tick = idx.getTickSize(id);
+        if (min != 0 && value < min) {
+            throw new OrderValidationException(FilterType.PRICE_FILTER, "price " + price + " is below " + format(min));
+        }
+        if (max != 0 && value > max) {
+            throw new OrderValidationException(FilterType.PRICE_FILTER, "price " + price + " is above " + format(max));
+        }
+        if (tick != 0 && (value - min) % tick != 0) {
+            throw new OrderValidationException(FilterType.PRICE_FILTER, "price " + price + " is not a multiple of tick size " + format(tick));
+        }
+    }
+
+    private static void checkQuantity(ExchangeInfoIndex idx, int id, String quantity) {
+        checkQuantity(FilterType.LOT_SIZE, idx.getMinQty(id), idx.getMaxQty(id), idx.getStepSize(id), quantity);
+    }
+
+    private static void checkMarketQuantity(ExchangeInfoIndex idx, int id, OrderType type, String quantity) {
+        if (type == OrderType.MARKET) {
+            checkQuantity(FilterType.MARKET_LOT_SIZE, idx.getMarketMinQty(id), idx.getMarketMaxQty(id),
+                    idx.getMarketStepSize(id), quantity);
+        }
+    }
+
+    private static void checkQuantity(FilterType filterType, long min, long max, long step, String quantity) {
+        if (quantity == null) {
+            return;
+        }
+        long value = parse(filterType, "quantity", quantity);
+        if (min != 0 && value < min) {
+            throw new OrderValidationException(filterType, "quantity " + quantity + " is below " + format(min));
+        }
+        if (max != 0 && value > max) {
+            throw new OrderValidationException(filterType, "quantity " + quantity + " is above " + format(max));
+        }
+        if (step != 0 && (value - min) % step != 0) {
+            throw new OrderValidationException(filterType, "quantity " + quantity + " is not a multiple of step size " + format(step));
+        }
+    }
+
+    private void checkNotional(ExchangeInfoIndex idx, int id, OrderType type, String price, String quantity, String quoteOrderQty) {
+        boolean market = type == OrderType.MARKET;
+        long minNotional = market && !idx.isMinNotionalAppliedToMarket(id) ? 0 : idx.getMinNotional(id);
+        long maxNotional = market && !idx.isMaxNotionalAppliedToMarket(id) ? 0 : idx.getMaxNotional(id);
+        if (minNotional == 0 && maxNotional == 0) {
+            return;
+        }
+        FilterType filterType = idx.getNotionalFilterType(id);
+        long notional;
+        if (market && quoteOrderQty != null) {
+            notional = parse(filterType, "quote order quantity", quoteOrderQty);
+        } else {
+            long unitPrice;
+            if (market) {
+                unitPrice = averagePrices != null ? averagePrices.applyAsLong(id) : 0;
+                if (unitPrice == 0) {
+                    return;
+                }
+            } else {
+                if (price == null) {
+                    return;
+                }
+                unitPrice = parse(FilterType.PRICE_FILTER, "price", price);
+            }
+            if (quantity == null) {
+                return;
+            }
+            try {
+                notional = multiply(unitPrice, parse(FilterType.LOT_SIZE, "quantity", quantity));
+            } catch (ArithmeticException e) {
+                // Beyond the range of scaled values, so above any maximum and any minimum
+                if (maxNotional != 0) {
+                    throw new OrderValidationException(filterType, "notional of " + quantity + " x " + format(unitPrice) + " is above " + format(maxNotional));
+                }
+                return;
+            }
+        }
+        if (minNotional != 0 && notional < minNotional) {
+            throw new OrderValidationException(filterType, "notional " + format(notional) + " is below " + format(minNotional));
+        }
+        if (maxNotional != 0 && notional > maxNotional) {
+            throw new OrderValidationException(filterType, "notional " + format(notional) + " is above " + format(maxNotional));
+        }
+    }
+
+    private void checkPercentPrice(ExchangeInfoIndex idx, int id, String price) {
+        long up = idx.getMultiplierUp(id);
+        long down = idx.getMultiplierDown(id);
+        if (price == null || averagePrices == null || (up == 0 && down == 0)) {
+            return;
+        }
+        long averagePrice = averagePrices.applyAsLong(id);
+        if (averagePrice == 0) {
+            return;
+        }
+        long value = parse(FilterType.PERCENT_PRICE, "price", price);
+        if (up != 0) {
+            long max;
+            try {
+                max = multiply(averagePrice, up);
+            } catch (ArithmeticException e) {
+                // Beyond the range of scaled values, so no price is above it
+                max = Long.MAX_VALUE;
+            }
+            if (value > max) {
+                throw new OrderValidationException(FilterType.PERCENT_PRICE, "price " + price + " is above " + format(up) + " x " + format(averagePrice));
+            }
+        }
+        if (down != 0 && value < multiply(averagePrice, down)) {
+            throw new OrderValidationException(FilterType.PERCENT_PRICE, "price " + price + " is below " + format(down) + " x " + format(averagePrice));
+        }
+    }
+
+    private void checkOpenOrders(ExchangeInfoIndex idx, int id, int newOrders) {
+        int max = idx.getMaxNumOrders(id);
+        if (max == 0 || openOrderCounts == null) {
+            return;
+        }
+        int open = openOrderCounts.applyAsInt(id);
+        if (open + newOrders > max) {
+            throw new OrderValidationException(FilterType.MAX_NUM_ORDERS, open + " orders already open, maximum is " + max);
+        }
+    }
+
+    /**
+     * @return the scaled value of an order field, a malformed value failing the filter checking the field.
+     */
+    private static long parse(FilterType filterType, String field, String value) {
+        try {
+            return ExchangeInfoIndex.parse(value);
+        } catch (NumberFormatException e) {
+            throw new OrderValidationException(filterType, "invalid " + field + ": " + e.getMessage());
+        }
+    }
+}
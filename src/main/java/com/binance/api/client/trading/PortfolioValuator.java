@@ -0,0 +1,276 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.AssetBalance;
+import com.binance.api.client.domain.account.MarginAccount;
+import com.binance.api.client.domain.account.MarginAssetBalance;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.general.SymbolStatus;
+import com.binance.api.client.domain.market.BookTicker;
+import com.binance.api.client.domain.market.TickerPrice;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values balances in any asset from locally held prices, without any REST call per asset.
+ * <p>
+ * Assets are the nodes of a graph whose edges are the trading symbols. Prices come from a single
+ * {@link BinanceApiRestClient#getBookTickers()} or {@link BinanceApiRestClient#getAllPrices()} snapshot, or are kept
+ * live by passing {@link #onBookTicker(BookTickerEvent)} to
+ * {@link com.binance.api.client.BinanceApiWebSocketClient#onAllBookTickersEvent}. An amount is converted through the
+ * path with the fewest symbols between its asset and the quote asset, selling at the bid and buying at the ask.
+ * <p>
+ * Valuations are approximate: they use doubles and ignore fees and order book depth. Prices may be updated while a
+ * valuation reads them, in which case it mixes prices of consecutive updates.
+ */
+public class PortfolioValuator {
+
+    private final ExchangeInfoIndex index;
+
+    private final Map<String, Integer> assetIds = new HashMap<>();
+
+    private final int[] baseAssets;
+
+    private final int[] quoteAssets;
+
+    /**
+     * Symbol ids by asset id.
+     */
+    private final int[][] symbolsByAsset;
+
+    private final double[] bids;
+
+    private final double[] asks;
+
+    /**
+     * Incremented whenever a symbol starts or stops being priced, so that routes follow the set of priced symbols.
+     */
+    private volatile int pricedSymbolsVersion;
+
+    private final Map<Integer, Routes> routes = new ConcurrentHashMap<>();
+
+    public PortfolioValuator(ExchangeInfoIndex index) {
+        this.index = index;
+        int size = index.size();
+        this.baseAssets = new int[size];
+        this.quoteAssets = new int[size];
+        this.bids = new double[size];
+        this.asks = new double[size];
+        List<List<Integer>> adjacency = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            SymbolInfo info = index.getSymbolInfo(id);
+            baseAssets[id] = assetId(info.getBaseAsset(), adjacency);
+            quoteAssets[id] = assetId(info.getQuoteAsset(), adjacency);
+            if (info.getStatus() == null || info.getStatus() == SymbolStatus.TRADING) {
+                adjacency.get(baseAssets[id]).add(id);
+                adjacency.get(quoteAssets[id]).add(id);
+            }
+        }
+        this.symbolsByAsset = new int[adjacency.size()][];
+        for (int asset = 0; asset < symbolsByAsset.length; asset++) {
+            symbolsByAsset[asset] = adjacency.get(asset).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private int assetId(String asset, List<List<Integer>> adjacency) {
+        return assetIds.computeIfAbsent(asset, a -> {
+            adjacency.add(new ArrayList<>());
+            return adjacency.size() - 1;
+        });
+    }
+
+    /**
+     * Replaces the prices with a book ticker snapshot of all symbols, using a single REST call. Symbols missing from
+     * the snapshot are no longer priced.
+     */
+    public void refresh(BinanceApiRestClient client) {
+        List<BookTicker> bookTickers = client.getBookTickers();
+        boolean[] listed = new boolean[bids.length];
+        for (BookTicker bookTicker : bookTickers) {
+            int id = index.idOf(bookTicker.getSymbol());
+            if (id >= 0) {
+                listed[id] = true;
+            }
+        }
+        updateBookTickers(bookTickers);
+        for (int id = 0; id < listed.length; id++) {
+            if (!listed[id]) {
+                update(id, 0, 0);
+            }
+        }
+    }
+
+    public void updateBookTickers(List<BookTicker> bookTickers) {
+        for (BookTicker bookTicker : bookTickers) {
+            update(bookTicker.getSymbol(), bookTicker.getBidPrice(), bookTicker.getAskPrice());
+        }
+    }
+
+    /**
+     * Uses last prices as both bid and ask prices.
+     */
+    public void updatePrices(List<TickerPrice> prices) {
+        for (TickerPrice price : prices) {
+            update(price.getSymbol(), price.getPrice(), price.getPrice());
+        }
+    }
+
+    /**
+     * Applies a book ticker update, e.g. from {@link com.binance.api.client.BinanceApiWebSocketClient#onAllBookTickersEvent}.
+     */
+    public void onBookTicker(BookTickerEvent event) {
+        update(event.getSymbol(), event.getBidPrice(), event.getAskPrice());
+    }
+
+    private void update(String symbol, String bidPrice, String askPrice) {
+        int id = index.idOf(symbol);
+        if (id < 0 || bidPrice == null || askPrice == null) {
+            return;
+        }
+        update(id, Double.parseDouble(bidPrice), Double.parseDouble(askPrice));
+    }
+
+    private void update(int id, double bid, double ask) {
+        boolean wasPriced = isPriced(id);
+        bids[id] = bid;
+        asks[id] = ask;
+        if (wasPriced != isPriced(id)) {
+            synchronized (this) {
+                pricedSymbolsVersion++;
+            }
+        }
+    }
+
+    private boolean isPriced(int symbolId) {
+        return bids[symbolId] > 0 && asks[symbolId] > 0;
+    }
+
+    /**
+     * @return the amount of <code>fromAsset</code> converted to <code>toAsset</code>, or NaN if no priced path links them.
+     */
+    public double convert(String fromAsset, double amount, String toAsset) {
+        if (fromAsset.equals(toAsset)) {
+            return amount;
+        }
+        Integer from = assetIds.get(fromAsset);
+        Integer to = assetIds.get(toAsset);
+        if (from == null || to == null) {
+            return Double.NaN;
+        }
+        return amount * routes(to).rate(from);
+    }
+
+    /**
+     * @return the total value of the free and locked balances of a spot account in the quote asset. Balances which
+     * cannot be converted are ignored.
+     */
+    public double value(Account account, String quoteAsset) {
+        double total = 0;
+        for (AssetBalance balance : account.getBalances()) {
+            double amount = Double.parseDouble(balance.getFree()) + Double.parseDouble(balance.getLocked());
+            total += valueOf(balance.getAsset(), amount, quoteAsset);
+        }
+        return total;
+    }
+
+    /**
+     * @return the total net value (assets minus borrowed amounts and interest) of a margin account in the quote asset.
+     * Balances which cannot be converted are ignored.
+     */
+    public double value(MarginAccount account, String quoteAsset) {
+        double total = 0;
+        for (MarginAssetBalance balance : account.getUserAssets()) {
+            total += valueOf(balance.getAsset(), Double.parseDouble(balance.getNetAsset()), quoteAsset);
+        }
+        return total;
+    }
+
+    private double valueOf(String asset, double amount, String quoteAsset) {
+        if (amount == 0) {
+            return 0;
+        }
+        double value = convert(asset, amount, quoteAsset);
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    private Routes routes(int target) {
+        int version = pricedSymbolsVersion;
+        Routes current = routes.get(target);
+        if (current == null || current.pricedSymbolsVersion != version) {
+            current = new Routes(target, version);
+            routes.put(target, current);
+        }
+        return current;
+    }
+
+    /**
+     * Shortest conversion paths from every asset to one target asset, found by a breadth-first search from the target
+     * over the symbols priced when it was built.
+     */
+    private final class Routes {
+
+        private final int pricedSymbolsVersion;
+
+        private final int target;
+
+        /**
+         * Symbol of the first hop towards the target, by asset id; -1 if the asset cannot reach the target.
+         */
+        private final int[] viaSymbol;
+
+        private final int[] nextAsset;
+
+        private Routes(int target, int pricedSymbolsVersion) {
+            this.target = target;
+            this.pricedSymbolsVersion = pricedSymbolsVersion;
+            this.viaSymbol = new int[symbolsByAsset.length];
+            this.nextAsset = new int[symbolsByAsset.length];
+            Arrays.fill(viaSymbol, -1);
+            boolean[] visited = new boolean[symbolsByAsset.length];
+            visited[target] = true;
+            Queue<Integer> queue = new ArrayDeque<>();
+            queue.add(target);
+            while (!queue.isEmpty()) {
+                int asset = queue.poll();
+                for (int symbol : symbolsByAsset[asset]) {
+                    if (!isPriced(symbol)) {
+                        continue;
+                    }
+                    int neighbour = baseAssets[symbol] == asset ? quoteAssets[symbol] : baseAssets[symbol];
+                    if (!visited[neighbour]) {
+                        visited[neighbour] = true;
+                        viaSymbol[neighbour] = symbol;
+                        nextAsset[neighbour] = asset;
+                        queue.add(neighbour);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the amount of target asset one unit of the given asset converts to, at current prices.
+         */
+        private double rate(int asset) {
+            double rate = 1;
+            while (asset != target) {
+                int symbol = viaSymbol[asset];
+                if (symbol < 0) {
+                    return Double.NaN;
+                }
+                rate = baseAssets[symbol] == asset ? rate * bids[symbol] : rate / asks[symbol];
+                asset = nextAsset[asset];
+            }
+            return rate;
+        }
+    }
+}
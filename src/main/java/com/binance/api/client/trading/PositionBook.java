@@ -0,0 +1,302 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.domain.ExecutionType;
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.market.BookTicker;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.divide;
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.multiply;
+
+/**
+ * Positions, average costs and profit and loss per symbol, updated incrementally from the fills of the execution
+ * reports of the user data stream instead of replaying {@link com.binance.api.client.BinanceApiRestClient#getMyTrades}.
+ * <p>
+ * Quantities, prices and amounts are longs scaled by 10^{@value ExchangeInfoIndex#SCALE}, like the filter values of
+ * {@link ExchangeInfoIndex}, which {@link ExchangeInfoIndex#format(long)} turns back into decimals. Positions are
+ * signed, negative for short (margin) positions, and valued at their average cost; profit and loss is in the quote
+ * asset of the symbol. Each fill and each price update takes constant time.
+ * <p>
+ * Commissions paid in the quote asset are deducted from the realized profit and those paid in the base asset from
+ * the position. Commissions paid in other assets (e.g. BNB) are accumulated per asset, see {@link #getFees(String)}.
+ * Fills are deduplicated by trade id, so reports replayed after {@link #restore(InputStream)} are not counted twice.
+ */
+public class PositionBook {
+
+    private static final int SNAPSHOT_MAGIC = 0x504E4C31;
+
+    private final ExchangeInfoIndex index;
+
+    private final String[] baseAssets;
+
+    private final String[] quoteAssets;
+
+    private final long[] positions;
+
+    private final long[] averagePrices;
+
+    private final long[] realizedPnl;
+
+    private final long[] lastTradeIds;
+
+    private final long[] bids;
+
+    private final long[] asks;
+
+    private final Map<String, Long> fees = new HashMap<>();
+
+    public PositionBook(ExchangeInfoIndex index) {
+        this.index = index;
+        int size = index.size();
+        this.baseAssets = new String[size];
+        this.quoteAssets = new String[size];
+        this.positions = new long[size];
+        this.averagePrices = new long[size];
+        this.realizedPnl = new long[size];
+        this.lastTradeIds = new long[size];
+        this.bids = new long[size];
+        this.asks = new long[size];
+        Arrays.fill(lastTradeIds, -1);
+        for (int id = 0; id < size; id++) {
+            SymbolInfo info = index.getSymbolInfo(id);
+            baseAssets[id] = info.getBaseAsset();
+            quoteAssets[id] = info.getQuoteAsset();
+        }
+    }
+
+    /**
+     * Applies the fill of an execution report. Other user data events are ignored, so this method can be passed
+     * directly to {@link com.binance.api.client.BinanceApiWebSocketClient#onUserDataUpdateEvent}.
+     */
+    public void onUserDataUpdateEvent(UserDataUpdateEvent event) {
+        if (event.getEventType() == UserDataUpdateEvent.UserDataUpdateEventType.ORDER_TRADE_UPDATE) {
+            onOrderTradeUpdate(event.getOrderTradeUpdateEvent());
+        }
+    }
+
+    /**
+     * Applies the fill of an execution report, if it reports a trade.
+     */
+    public void onOrderTradeUpdate(OrderTradeUpdateEvent event) {
+        if (event.getExecutionType() != ExecutionType.TRADE) {
+            return;
+        }
+        int id = index.idOf(event.getSymbol());
+        if (id < 0) {
+            return;
+        }
+        long quantity = ExchangeInfoIndex.parse(event.getQuantityLastFilledTrade());
+        fill(id, event.getTradeId() != null ? event.getTradeId() : -1,
+                event.getSide() == OrderSide.BUY ? quantity : -quantity,
+                ExchangeInfoIndex.parse(event.getPriceOfLastFilledTrade()),
+                ExchangeInfoIndex.parse(event.getCommission()), event.getCommissionAsset());
+    }
+
+    /**
+     * Applies a fill.
+     *
+     * @param symbolId the id of the symbol in the index
+     * @param tradeId the trade id, or -1 to skip deduplication
+     * @param quantity the scaled filled quantity, negative for sells
+     * @param price the scaled fill price
+     * @param commission the scaled commission
+     * @param commissionAsset the asset the commission was paid in
+     */
+    public synchronized void fill(int symbolId, long tradeId, long quantity, long price, long commission,
+                                  String commissionAsset) {
+        if (tradeId >= 0) {
+            if (tradeId <= lastTradeIds[symbolId]) {
+                return;
+            }
+            lastTradeIds[symbolId] = tradeId;
+        }
+        long position = positions[symbolId];
+        long average = averagePrices[symbolId];
+        if (position == 0 || (position > 0) == (quantity > 0)) {
+            // Opening or increasing: the average moves towards the fill price
+            long size = Math.abs(position) + Math.abs(quantity);
+            average = size == 0 ? 0 : divide(multiply(Math.abs(position), average) + multiply(Math.abs(quantity), price), size);
+            position += quantity;
+        } else {
+            // Reducing, and possibly reversing: the reduced part is realized at the average cost
+            long closed = Math.min(Math.abs(position), Math.abs(quantity));
+            long pnl = multiply(closed, price - average);
+            realizedPnl[symbolId] += position > 0 ? pnl : -pnl;
+            position += quantity;
+            if (position == 0) {
+                average = 0;
+            } else if ((position > 0) == (quantity > 0)) {
+                average = price;
+            }
+        }
+        if (commission != 0 && commissionAsset != null) {
+            if (commissionAsset.equals(quoteAssets[symbolId])) {
+                realizedPnl[symbolId] -= commission;
+            } else if (commissionAsset.equals(baseAssets[symbolId])) {
+                position -= commission;
+                if (position == 0) {
+                    average = 0;
+                }
+            } else {
+                fees.merge(commissionAsset, commission, Long::sum);
+            }
+        }
+        positions[symbolId] = position;
+        averagePrices[symbolId] = average;
+    }
+
+    /**
+     * Updates the mark prices from a book ticker stream, e.g.
+     * {@link com.binance.api.client.BinanceApiWebSocketClient#onAllBookTickersEvent}.
+     */
+    public void onBookTicker(BookTickerEvent event) {
+        mark(event.getSymbol(), event.getBidPrice(), event.getAskPrice());
+    }
+
+    public void updateBookTickers(Iterable<BookTicker> bookTickers) {
+        for (BookTicker bookTicker : bookTickers) {
+            mark(bookTicker.getSymbol(), bookTicker.getBidPrice(), bookTicker.getAskPrice());
+        }
+    }
+
+    private void mark(String symbol, String bidPrice, String askPrice) {
+        int id = index.idOf(symbol);
+        if (id >= 0) {
+            mark(id, ExchangeInfoIndex.parse(bidPrice), ExchangeInfoIndex.parse(askPrice));
+        }
+    }
+
+    /**
+     * Sets the scaled prices long positions are marked at (bid) and short positions are marked at (ask).
+     */
+    public synchronized void mark(int symbolId, long bid, long ask) {
+        bids[symbolId] = bid;
+        asks[symbolId] = ask;
+    }
+
+    /**
+     * @return the scaled position in the base asset, negative if short.
+     */
+    public synchronized long getPosition(String symbol) {
+        return positions[index.requireId(symbol)];
+    }
+
+    /**
+     * @return the scaled average cost of the position, 0 if flat.
+     */
+    public synchronized long getAveragePrice(String symbol) {
+        return averagePrices[index.requireId(symbol)];
+    }
+
+    /**
+     * @return the scaled realized profit and loss in the quote asset, net of quote asset commissions.
+     */
+    public synchronized long getRealizedPnl(String symbol) {
+        return realizedPnl[index.requireId(symbol)];
+    }
+
+    /**
+     * @return the scaled unrealized profit and loss of the position in the quote asset at the bid (long) or ask
+     * (short), or 0 if the symbol has no price yet.
+     */
+    public synchronized long getUnrealizedPnl(String symbol) {
+        int id = index.requireId(symbol);
+        long position = positions[id];
+        long mark = position > 0 ? bids[id] : asks[id];
+        if (position == 0 || mark == 0) {
+            return 0;
+        }
+        long pnl = multiply(Math.abs(position), mark - averagePrices[id]);
+        return position > 0 ? pnl : -pnl;
+    }
+
+    /**
+     * @return the scaled commissions paid in an asset which is neither the base nor the quote asset of the fills.
+     */
+    public synchronized long getFees(String asset) {
+        return fees.getOrDefault(asset, 0L);
+    }
+
+    /**
+     * Writes the positions, average prices, realized profit and loss, last trade ids and fees, so that a restarted
+     * process can {@link #restore(InputStream)} them instead of replaying the trade history. Mark prices are not
+     * written. Symbols are written by name, so the snapshot survives exchange information changes.
+     */
+    public synchronized void snapshot(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(SNAPSHOT_MAGIC);
+        int count = 0;
+        for (int id = 0; id < positions.length; id++) {
+            if (isUsed(id)) {
+                count++;
+            }
+        }
+        data.writeInt(count);
+        for (int id = 0; id < positions.length; id++) {
+            if (isUsed(id)) {
+                data.writeUTF(index.getSymbol(id));
+                data.writeLong(positions[id]);
+                data.writeLong(averagePrices[id]);
+                data.writeLong(realizedPnl[id]);
+                data.writeLong(lastTradeIds[id]);
+            }
+        }
+        data.writeInt(fees.size());
+        for (Map.Entry<String, Long> fee : fees.entrySet()) {
+            data.writeUTF(fee.getKey());
+            data.writeLong(fee.getValue());
+        }
+        data.flush();
+    }
+
+    /**
+     * Replaces the state with a snapshot written by {@link #snapshot(OutputStream)}. Symbols which are not in the
+     * index anymore are skipped.
+     *
+     * @throws IOException if the stream cannot be read or is not a snapshot
+     */
+    public synchronized void restore(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a position snapshot");
+        }
+        Arrays.fill(positions, 0);
+        Arrays.fill(averagePrices, 0);
+        Arrays.fill(realizedPnl, 0);
+        Arrays.fill(lastTradeIds, -1);
+        fees.clear();
+        for (int count = data.readInt(); count > 0; count--) {
+            int id = index.idOf(data.readUTF());
+            long position = data.readLong();
+            long average = data.readLong();
+            long realized = data.readLong();
+            long lastTradeId = data.readLong();
+            if (id >= 0) {
+                positions[id] = position;
+                averagePrices[id] = average;
+                realizedPnl[id] = realized;
+                lastTradeIds[id] = lastTradeId;
+            }
+        }
+        for (int count = data.readInt(); count > 0; count--) {
+            fees.put(data.readUTF(), data.readLong());
+        }
+    }
+
+    private boolean isUsed(int id) {
+        return positions[id] != 0 || realizedPnl[id] != 0 || lastTradeIds[id] >= 0;
+    }
+}
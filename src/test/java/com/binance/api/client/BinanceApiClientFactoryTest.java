@@ -0,0 +1,74 @@
+package com.binance.api.client;
+
+import com.binance.api.client.config.BinanceApiConfig;
+import com.binance.api.client.config.TrafficClass;
+import com.binance.api.client.config.TrafficLaneConfig;
+import com.binance.api.client.impl.BinanceApiServiceGenerator;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see BinanceApiClientFactory.Builder
+ */
+public class BinanceApiClientFactoryTest {
+
+    @Test
+    public void shouldOwnHttpClientWithoutTouchingSharedClient() {
+        OkHttpClient shared = BinanceApiServiceGenerator.getSharedClient();
+        Proxy proxy = new Proxy(Proxy.Type.HTTP, InetSocketAddress.createUnresolved("localhost", 3128));
+
+        BinanceApiClientFactory factory = BinanceApiClientFactory.builder()
+                .connectionPool(2, 30, TimeUnit.SECONDS)
+                .dispatcher(16, 8)
+                .readTimeout(3, TimeUnit.SECONDS)
+                .proxy(proxy)
+                .protocols(Collections.singletonList(Protocol.HTTP_1_1))
+                .trafficLane(TrafficClass.TRADING, new TrafficLaneConfig(4, 4, 1, 60_000L))
+                .build();
+        OkHttpClient client = factory.getHttpClient();
+
+        assertSame(shared, BinanceApiServiceGenerator.getSharedClient());
+        assertNull(shared.proxy());
+        assertNotSame(shared.connectionPool(), client.connectionPool());
+        assertEquals(proxy, client.proxy());
+        assertEquals(16, client.dispatcher().getMaxRequests());
+        assertEquals(8, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(3_000, client.readTimeoutMillis());
+        assertEquals(Collections.singletonList(Protocol.HTTP_1_1), client.protocols());
+        assertNotSame(client, BinanceApiClientFactory.builder().build().getHttpClient());
+    }
+
+    @Test
+    public void shouldKeepEndpointsPerFactory() {
+        boolean useTestnet = BinanceApiConfig.useTestnet;
+        String baseDomain = BinanceApiConfig.getBaseDomain();
+
+        BinanceApiClientFactory testnet = BinanceApiClientFactory.builder().testnet(true, true).build();
+        BinanceApiClientFactory production = BinanceApiClientFactory.builder()
+                .baseDomain("binance.us")
+                .apiHostPrefixes("api", "api1")
+                .build();
+
+        assertEquals(useTestnet, BinanceApiConfig.useTestnet);
+        assertEquals(baseDomain, BinanceApiConfig.getBaseDomain());
+        assertEquals("https://testnet.binance.vision", testnet.getEndpoints().getApiBaseUrl());
+        assertEquals("wss://testnet.binance.vision/ws", testnet.getEndpoints().getStreamApiBaseUrl());
+        assertEquals("testnet.binance.vision", testnet.getEndpointSelector().getBestHost());
+        assertEquals("https://api.binance.us", production.getEndpoints().getApiBaseUrl());
+        assertEquals(Arrays.asList("api.binance.us", "api1.binance.us"), production.getEndpoints().getApiHosts());
+        assertTrue(production.getEndpoints().getApiHosts().contains(production.getEndpointSelector().getBestHost()));
+    }
+}
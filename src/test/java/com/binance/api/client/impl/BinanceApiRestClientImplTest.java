@@ -0,0 +1,65 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.domain.OrderStatus;
+import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.exception.BinanceApiException;
+import com.binance.api.client.trading.OrderTracker;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see BinanceApiRestClientImpl
+ */
+public class BinanceApiRestClientImplTest {
+
+    private final OrderTracker tracker = new OrderTracker();
+
+    @Test
+    public void shouldTrackOrdersRejectedByTheApiAsRejected() {
+        BinanceApiRestClientImpl client = client(400, "{\"code\":-2010,\"msg\":\"Account has insufficient balance\"}");
+        NewOrder order = NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "2", "0.065");
+        try {
+            client.newOrder(order);
+            fail();
+        } catch (BinanceApiException expected) {
+            assertEquals(-2010, expected.getError().getCode());
+        }
+        assertEquals(OrderStatus.REJECTED, tracker.getOrder(order.getNewClientOrderId()).getStatus());
+        assertTrue(tracker.getOpenOrders().isEmpty());
+    }
+
+    @Test
+    public void shouldStopTrackingOrdersWhosePlacementOutcomeIsUnknown() {
+        BinanceApiRestClientImpl client = client(503, "{\"code\":-1007,\"msg\":\"Timeout waiting for response\"}");
+        try {
+            client.newOrder(NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "2", "0.065"));
+            fail();
+        } catch (BinanceApiException expected) {
+            assertEquals(0, tracker.size());
+        }
+    }
+
+    private BinanceApiRestClientImpl client(int code, String body) {
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(code)
+                        .message("")
+                        .body(ResponseBody.create(body, MediaType.get("application/json")))
+                        .build())
+                .build();
+        BinanceApiRestClientImpl client = new BinanceApiRestClientImpl("key", "secret", new TrafficLanes(httpClient));
+        client.setOrderTracker(tracker);
+        return client;
+    }
+}
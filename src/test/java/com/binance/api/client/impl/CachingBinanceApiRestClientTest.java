@@ -0,0 +1,112 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.general.Asset;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.SymbolInfo;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see CachingBinanceApiRestClient
+ */
+public class CachingBinanceApiRestClientTest {
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+    private final CachingBinanceApiRestClient client = new CachingBinanceApiRestClient(fakeClient(), 60_000, 60_000,
+            60_000, 0.8);
+
+    @After
+    public void close() {
+        client.close();
+    }
+
+    @Test
+    public void shouldServeReferenceDataFromMemory() {
+        ExchangeInfo exchangeInfo = client.getExchangeInfo();
+        assertSame(exchangeInfo, client.getExchangeInfo());
+        assertSame(client.getAllAssets(), client.getAllAssets());
+        assertEquals(1, calls.get("getExchangeInfo").get());
+        assertEquals(1, calls.get("getAllAssets").get());
+        assertEquals(1, client.getExchangeInfoCache().getMissCount());
+        assertEquals(1, client.getExchangeInfoCache().getHitCount());
+
+        client.getServerTime();
+        client.getServerTime();
+        assertEquals(2, calls.get("getServerTime").get());
+    }
+
+    @Test
+    public void shouldRebuildTheIndexWhenTheExchangeInfoIsRefreshed() {
+        assertSame(client.getExchangeInfoIndex(), client.getExchangeInfoIndex());
+        Object index = client.getExchangeInfoIndex();
+        client.getExchangeInfoCache().invalidate();
+        assertNotSame(index, client.getExchangeInfoIndex());
+        assertEquals(1, client.getExchangeInfoIndex().size());
+    }
+
+    @Test
+    public void shouldRefreshBeforeExpiryWithoutReads() throws InterruptedException {
+        CachingBinanceApiRestClient refreshing = new CachingBinanceApiRestClient(fakeClient(), 100, 60_000, 60_000, 0.5);
+        try {
+            ExchangeInfo first = refreshing.getExchangeInfo();
+            for (int i = 0; i < 100 && refreshing.getExchangeInfoCache().getRefreshCount() == 0; i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(refreshing.getExchangeInfoCache().getRefreshCount() > 0);
+            assertNotSame(first, refreshing.getExchangeInfo());
+            assertEquals(1, refreshing.getExchangeInfoCache().getMissCount());
+        } finally {
+            refreshing.close();
+        }
+    }
+
+    @Test
+    public void shouldShareUnmodifiableLists() {
+        try {
+            client.getAllAssets().clear();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+            assertEquals(1, client.getAllAssets().size());
+        }
+    }
+
+    private BinanceApiRestClient fakeClient() {
+        return (BinanceApiRestClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, (proxy, method, args) -> {
+                    calls.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+                    switch (method.getName()) {
+                        case "getExchangeInfo":
+                            SymbolInfo symbol = new SymbolInfo();
+                            symbol.setSymbol("ETHBTC");
+                            symbol.setFilters(Collections.emptyList());
+                            ExchangeInfo exchangeInfo = new ExchangeInfo();
+                            exchangeInfo.setSymbols(Collections.singletonList(symbol));
+                            return exchangeInfo;
+                        case "getAllAssets":
+                            List<Asset> assets = new ArrayList<>();
+                            assets.add(new Asset());
+                            return assets;
+                        case "getServerTime":
+                            return System.currentTimeMillis();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package com.binance.api.client.impl;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see ConnectionWarmer
+ */
+public class ConnectionWarmerTest {
+
+    private final List<String> pingedHosts = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+
+    private HttpServer server;
+
+    private String baseUrl;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            String host = exchange.getRequestHeaders().getFirst("Host");
+            int code = 200;
+            if (host.startsWith("localhost")) {
+                code = 503;
+            } else if (exchange.getRequestURI().getPath().endsWith("/ping")) {
+                pingedHosts.add(host);
+                try {
+                    // Keeps the pings of a round concurrent, so that each needs its own connection
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(code, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldWarmConnectionsToThePreferredHostWithoutScoringThem() throws Exception {
+        EndpointSelector selector = new EndpointSelector(Arrays.asList("localhost", "127.0.0.1"));
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(selector)
+                .protocols(Collections.singletonList(Protocol.HTTP_1_1))
+                .build();
+
+        // The default host fails, so the selector prefers the other one
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl + "/api/v3/time").build()).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals("127.0.0.1", selector.getBestHost());
+        long rttNanos = selector.getRttNanos("127.0.0.1");
+        client.connectionPool().evictAll();
+
+        ConnectionWarmer warmer = new ConnectionWarmer(Collections.singletonList(client), baseUrl, selector, 3, 60_000L);
+        try {
+            warmer.warm();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (client.connectionPool().idleConnectionCount() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            warmer.close();
+        }
+
+        assertEquals(3, pingedHosts.size());
+        for (String host : pingedHosts) {
+            assertTrue(host, host.startsWith("127.0.0.1:"));
+        }
+        assertEquals(3, client.connectionPool().connectionCount());
+        assertEquals(rttNanos, selector.getRttNanos("127.0.0.1"));
+    }
+}
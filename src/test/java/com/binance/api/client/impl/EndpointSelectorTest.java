@@ -0,0 +1,161 @@
+package com.binance.api.client.impl;
+
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @see EndpointSelector
+ */
+public class EndpointSelectorTest {
+
+    private final EndpointSelector selector = new EndpointSelector(Arrays.asList("api.binance.com", "api1.binance.com", "api2.binance.com"));
+
+    private final List<String> routedHosts = new CopyOnWriteArrayList<>();
+
+    private final Map<String, Interceptor> servers = new HashMap<>();
+
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(selector)
+            .addInterceptor(chain -> {
+                String host = chain.request().url().host();
+                routedHosts.add(host);
+                return servers.getOrDefault(host, EndpointSelectorTest::ok).intercept(chain);
+            })
+            .build();
+
+    @Test
+    public void shouldPreferTheHostWithTheLowestLatency() throws IOException {
+        servers.put("api.binance.com", chain -> {
+            sleep(150);
+            return ok(chain);
+        });
+        for (int i = 0; i < 5; i++) {
+            get();
+        }
+        assertEquals("api.binance.com", routedHosts.get(0));
+        assertEquals("api1.binance.com", routedHosts.get(1));
+        assertEquals(1, routedHosts.stream().filter("api.binance.com"::equals).count());
+        assertNotEquals("api.binance.com", selector.getBestHost());
+    }
+
+    @Test
+    public void shouldFailOverIdempotentCallsAndBackOffTheFailingHost() throws IOException {
+        servers.put("api.binance.com", chain -> {
+            throw new ConnectException("Connection refused");
+        });
+        try (Response response = get()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(Arrays.asList("api.binance.com", "api1.binance.com"), routedHosts);
+        assertEquals(-1, selector.getRttNanos("api.binance.com"));
+
+        get().close();
+        assertEquals("api1.binance.com", routedHosts.get(2));
+    }
+
+    @Test
+    public void shouldNotReplayOrdersWhichMayHaveReachedTheServer() {
+        servers.put("api.binance.com", chain -> {
+            throw new SocketTimeoutException("timeout");
+        });
+        Request order = new Request.Builder()
+                .url("https://api.binance.com/api/v3/order")
+                .post(RequestBody.create("symbol=BTCUSDT", MediaType.get("application/x-www-form-urlencoded")))
+                .build();
+        try {
+            client.newCall(order).execute();
+            fail();
+        } catch (IOException expected) {
+            assertEquals(1, routedHosts.size());
+        }
+    }
+
+    @Test
+    public void shouldBackOffRateLimitedHostsWithoutRetrying() throws IOException {
+        servers.put("api.binance.com", chain -> respond(chain, 429));
+        try (Response response = get()) {
+            assertEquals(429, response.code());
+        }
+        assertEquals(1, routedHosts.size());
+        assertNotEquals("api.binance.com", selector.getBestHost());
+    }
+
+    @Test
+    public void shouldNotScoreCancelledCalls() {
+        servers.put("api.binance.com", chain -> {
+            chain.call().cancel();
+            throw new IOException("Canceled");
+        });
+        try {
+            get();
+            fail();
+        } catch (IOException expected) {
+            assertEquals(1, routedHosts.size());
+        }
+        // Neither backing off nor counted in flight, the default host is still preferred
+        assertEquals("api.binance.com", selector.getBestHost());
+        assertEquals(-1, selector.getRttNanos("api.binance.com"));
+    }
+
+    @Test
+    public void shouldReleaseInFlightCallsOnRuntimeExceptions() {
+        servers.put("api.binance.com", chain -> {
+            throw new IllegalStateException("interceptor bug");
+        });
+        try {
+            get();
+            fail();
+        } catch (IllegalStateException | IOException expected) {
+            assertEquals(1, routedHosts.size());
+        }
+        assertEquals("api.binance.com", selector.getBestHost());
+    }
+
+    private Response get() throws IOException {
+        Call call = client.newCall(new Request.Builder().url("https://api.binance.com/api/v3/depth?symbol=BTCUSDT").build());
+        return call.execute();
+    }
+
+    private static Response ok(Interceptor.Chain chain) {
+        return respond(chain, 200);
+    }
+
+    private static Response respond(Interceptor.Chain chain, int code) {
+        return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.market.AggTrade;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see HistoryFetcher
+ */
+public class HistoryFetcherTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void shouldStreamCandlesticksInOrderAcrossParallelWindows() {
+        HistoryFetcher fetcher = new HistoryFetcher(fakeClient(), new WeightBudget(6000)).parallelism(8);
+        List<Candlestick> candlesticks = fetcher.getCandlesticks("ETHBTC", CandlestickInterval.ONE_MINUTE, 0, 4500 * MINUTE);
+
+        assertEquals(5, calls.get());
+        assertEquals(4501, candlesticks.size());
+        for (int i = 0; i < candlesticks.size(); i++) {
+            assertEquals(i * MINUTE, (long) candlesticks.get(i).getOpenTime());
+        }
+    }
+
+    @Test
+    public void shouldFetchAggTradesByIdWithoutDuplicates() {
+        HistoryFetcher fetcher = new HistoryFetcher(fakeClient(), null);
+        List<Long> ids = new ArrayList<>();
+        fetcher.fetchAggTradesById("ETHBTC", 10, 2509, trade -> ids.add(trade.getAggregatedTradeId()));
+
+        assertEquals(3, calls.get());
+        assertEquals(2500, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(10 + i, (long) ids.get(i));
+        }
+    }
+
+    /**
+     * Serves one candlestick per minute and one aggregate trade per id, answering after a random delay so that
+     * windows complete out of order.
+     */
+    private BinanceApiRestClient fakeClient() {
+        return (BinanceApiRestClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, (proxy, method, args) -> {
+                    calls.incrementAndGet();
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+                    if (method.getName().equals("getCandlestickBars")) {
+                        List<Candlestick> page = new ArrayList<>();
+                        for (long time = (Long) args[3]; time <= (Long) args[4] && page.size() < (Integer) args[2]; time += MINUTE) {
+                            Candlestick candlestick = new Candlestick();
+                            candlestick.setOpenTime(time);
+                            page.add(candlestick);
+                        }
+                        return page;
+                    } else if (method.getName().equals("getAggTrades")) {
+                        List<AggTrade> page = new ArrayList<>();
+                        long from = Long.parseLong((String) args[1]);
+                        for (long id = from; id < from + (Integer) args[2]; id++) {
+                            AggTrade trade = new AggTrade();
+                            trade.setAggregatedTradeId(id);
+                            page.add(trade);
+                        }
+                        return page;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,67 @@
+package com.binance.api.client.impl;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see RefreshAheadCache
+ */
+public class RefreshAheadCacheTest {
+
+    @Test
+    public void shouldServeCachedValueAndRefreshItInBackgroundWithoutReads() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        RefreshAheadCache<Integer> cache = new RefreshAheadCache<>(loads::incrementAndGet, 60_000, 50);
+        try {
+            assertEquals(1, (int) cache.get());
+            assertEquals(1, (int) cache.get());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(1, cache.getHitCount());
+
+            for (int i = 0; i < 100 && cache.getRefreshCount() == 0; i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(cache.getRefreshCount() > 0);
+            assertTrue(cache.get() > 1);
+            assertEquals(1, cache.getMissCount());
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void shouldKeepValueAndRetryWhenRefreshFails() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        RefreshAheadCache<Integer> cache = new RefreshAheadCache<>(() -> {
+            if (loads.incrementAndGet() > 1) {
+                throw new IllegalStateException("unavailable");
+            }
+            return 1;
+        }, 60_000, 10);
+        try {
+            assertEquals(1, (int) cache.get());
+            for (int i = 0; i < 100 && cache.getRefreshFailureCount() < 2; i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(cache.getRefreshFailureCount() >= 2);
+            assertEquals(1, (int) cache.get());
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void shouldStopRefreshingOnceClosed() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        RefreshAheadCache<Integer> cache = new RefreshAheadCache<>(loads::incrementAndGet, 60_000, 20);
+        assertEquals(1, (int) cache.get());
+        cache.close();
+        Thread.sleep(100);
+        assertEquals(0, cache.getRefreshCount());
+        assertEquals(1, (int) cache.get());
+    }
+}
@@ -0,0 +1,92 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see RequestCoalescer
+ */
+public class RequestCoalescerTest {
+
+    private final AtomicInteger sent = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(coalescer)
+            .addInterceptor(chain -> {
+                sent.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK")
+                        .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                        .build();
+            })
+            .build();
+
+    @Test
+    public void shouldShareOneCallBetweenConcurrentIdenticalReads() throws Exception {
+        Request request = new Request.Builder().url("https://api.binance.com/api/v1/depth?symbol=BTCUSDT&limit=10").build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> bodies = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                bodies.add(executor.submit(() -> {
+                    try (Response response = client.newCall(request).execute()) {
+                        return response.body().string();
+                    }
+                }));
+            }
+            while (sent.get() == 0 || coalescer.getCoalescedCount() + sent.get() < 4) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> body : bodies) {
+                assertEquals("{}", body.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, sent.get());
+            assertEquals(3, coalescer.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotCoalesceSignedRequests() throws Exception {
+        release.countDown();
+        Request request = new Request.Builder()
+                .url("https://api.binance.com/api/v3/account")
+                .header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_SIGNED, "#")
+                .build();
+        client.newCall(request).execute().close();
+        client.newCall(request).execute().close();
+        assertEquals(2, sent.get());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+}
@@ -0,0 +1,185 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.config.HedgingPolicy;
+import com.binance.api.client.constant.BinanceApiConstants;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see RequestHedger
+ */
+public class RequestHedgerTest {
+
+    private static final String DEPTH_URL = "https://api.binance.com/api/v1/depth?symbol=BTCUSDT";
+
+    private final HedgingPolicy policy = new HedgingPolicy(0.5, 5, 0.8, Collections.singleton("/api/v1/depth"));
+
+    private final WeightBudget budget = new WeightBudget(1200);
+
+    private final RequestHedger hedger = new RequestHedger(policy, budget);
+
+    private final EndpointSelector selector = new EndpointSelector(Arrays.asList("api.binance.com", "api1.binance.com"));
+
+    private final List<Request> received = new CopyOnWriteArrayList<>();
+
+    /**
+     * Delay of the first attempt of each call, in milliseconds.
+     */
+    private volatile long primaryDelayMillis;
+
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(budget)
+            .addInterceptor(selector)
+            .addInterceptor(chain -> {
+                Request request = chain.request();
+                received.add(request);
+                boolean hedge = RequestHedger.isHedge(request);
+                // The second host is slower, so the first one is preferred once both are sampled
+                waitUnlessCanceled(chain, (hedge ? 0 : primaryDelayMillis)
+                        + (request.url().host().equals("api1.binance.com") ? 20 : 0));
+                return respond(chain, hedge ? "hedge" : "primary");
+            })
+            .build();
+
+    @Test
+    public void shouldNotHedgeBeforeEnoughLatenciesAreKnown() throws IOException {
+        primaryDelayMillis = 100;
+        assertEquals("primary", get());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void shouldHedgeReadsSlowerThanTheLatencyPercentile() throws IOException {
+        warmUp();
+        primaryDelayMillis = 2_000;
+        long start = System.nanoTime();
+        assertEquals("hedge", get());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    public void shouldCancelTheLosingAttemptWithoutBackingOffItsHost() throws IOException {
+        warmUp();
+        assertEquals("api.binance.com", selector.getBestHost());
+        primaryDelayMillis = 2_000;
+
+        Call call = hedger.newCall(client, new Request.Builder().url(DEPTH_URL).build());
+        try (Response response = call.execute()) {
+            assertEquals("hedge", response.body().string());
+        }
+        assertFalse(call.isCanceled());
+        assertEquals("api.binance.com", received.get(0).url().host());
+        // The primary attempt lost the race, which says nothing about its host
+        primaryDelayMillis = 0;
+        waitForInFlightCalls();
+        assertEquals("api.binance.com", selector.getBestHost());
+    }
+
+    @Test
+    public void shouldFailCancelledCalls() throws Exception {
+        primaryDelayMillis = 2_000;
+        Call call = hedger.newCall(client, new Request.Builder().url(DEPTH_URL).build());
+        Thread canceller = new Thread(() -> {
+            sleep(50);
+            call.cancel();
+        });
+        canceller.start();
+        try {
+            call.execute();
+            fail();
+        } catch (IOException expected) {
+            assertTrue(call.isCanceled());
+        }
+        canceller.join();
+    }
+
+    @Test
+    public void shouldNotHedgeWhenTheWeightBudgetIsUsedUp() throws IOException {
+        warmUp();
+        budget.update(1000);
+        primaryDelayMillis = 100;
+        assertEquals("primary", get());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void shouldOnlyHedgeUnsignedReadsOfThePolicyPaths() {
+        assertTrue(hedger.isHedgeable(new Request.Builder().url(DEPTH_URL).build()));
+        assertFalse(hedger.isHedgeable(new Request.Builder().url("https://api.binance.com/api/v3/account").build()));
+        assertFalse(hedger.isHedgeable(new Request.Builder().url(DEPTH_URL)
+                .header(BinanceApiConstants.ENDPOINT_SECURITY_TYPE_APIKEY, "#").build()));
+    }
+
+    /**
+     * Sends enough fast calls for the latency percentile to be known, then forgets them.
+     */
+    private void warmUp() throws IOException {
+        for (int i = 0; i < 24; i++) {
+            get();
+        }
+        received.clear();
+    }
+
+    private String get() throws IOException {
+        try (Response response = hedger.newCall(client, new Request.Builder().url(DEPTH_URL).build()).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private void waitForInFlightCalls() {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (client.dispatcher().runningCallsCount() > 0 && System.currentTimeMillis() < deadline) {
+            sleep(5);
+        }
+    }
+
+    /**
+     * Stands for a slow server: fails the way OkHttp does when the call is cancelled meanwhile.
+     */
+    private static void waitUnlessCanceled(Interceptor.Chain chain, long millis) throws IOException {
+        long deadline = System.currentTimeMillis() + millis;
+        while (System.currentTimeMillis() < deadline) {
+            if (chain.call().isCanceled()) {
+                throw new IOException("Canceled");
+            }
+            sleep(5);
+        }
+    }
+
+    private static Response respond(Interceptor.Chain chain, String body) {
+        return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("")
+                .body(ResponseBody.create(body, MediaType.get("text/plain")))
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.binance.api.client.impl;
+
+import okhttp3.Request;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see RequestWeights
+ */
+public class RequestWeightsTest {
+
+    @Test
+    public void shouldWeighOrderBooksByTheirDepth() {
+        assertEquals(1, RequestWeights.of(get("/api/v1/depth?symbol=BTCUSDT")));
+        assertEquals(5, RequestWeights.of(get("/api/v1/depth?symbol=BTCUSDT&limit=500")));
+        assertEquals(10, RequestWeights.of(get("/api/v1/depth?symbol=BTCUSDT&limit=1000")));
+        assertEquals(50, RequestWeights.of(get("/api/v1/depth?symbol=BTCUSDT&limit=5000")));
+    }
+
+    @Test
+    public void shouldWeighAllSymbolsRequestsMore() {
+        assertEquals(3, RequestWeights.of(get("/api/v3/openOrders?symbol=BTCUSDT")));
+        assertEquals(40, RequestWeights.of(get("/api/v3/openOrders")));
+        assertEquals(1, RequestWeights.of(get("/api/v3/ticker/price?symbol=BTCUSDT")));
+        assertEquals(2, RequestWeights.of(get("/api/v3/ticker/price")));
+        assertEquals(1, RequestWeights.of(get("/api/v3/time")));
+    }
+
+    private static Request get(String pathAndQuery) {
+        return new Request.Builder().url("https://api.binance.com" + pathAndQuery).build();
+    }
+}
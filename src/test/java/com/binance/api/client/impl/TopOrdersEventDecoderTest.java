@@ -0,0 +1,46 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.domain.event.TopOrdersEvent;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @see TopOrdersEventDecoder
+ */
+public class TopOrdersEventDecoderTest {
+
+    @Test
+    public void shouldDecodeIntoTheSameEventAndEntries() {
+        List<String> received = new ArrayList<>();
+        TopOrdersEventDecoder decoder = new TopOrdersEventDecoder("ETHBTC", 2,
+                event -> received.add(event.getBids().get(0).getPrice()));
+
+        decoder.onResponse("{\"lastUpdateId\":160,\"bids\":[[\"0.00240000\",\"10.00000000\",[]],[\"0.00230000\",\"1.5\"]],"
+                + "\"asks\":[[\"0.00260000\",\"100.00000000\"]],\"extra\":{\"a\":[1]}}");
+        TopOrdersEvent first = decoder.decode("{\"lastUpdateId\":160,\"bids\":[[\"0.00240000\",\"10.00000000\"],"
+                + "[\"0.00230000\",\"1.5\"]],\"asks\":[[\"0.00260000\",\"100.00000000\"]]}");
+        assertEquals("ETHBTC", first.getSymbol());
+        assertEquals(160L, (long) first.getLastUpdateId());
+        assertEquals(2, first.getBids().size());
+        assertEquals("1.5", first.getBids().get(1).getQty());
+        assertEquals("0.00260000", first.getAsks().get(0).getPrice());
+        OrderBookEntry bestBid = first.getBids().get(0);
+
+        TopOrdersEvent second = decoder.decode("{\"lastUpdateId\":161,\"bids\":[[\"0.00250000\",\"2.00000000\"]],"
+                + "\"asks\":[[\"0.00260000\",\"90\"],[\"0.00270000\",\"1\"],[\"0.00280000\",\"3\"]]}");
+        assertSame(first, second);
+        assertSame(bestBid, second.getBids().get(0));
+        assertEquals(161L, (long) second.getLastUpdateId());
+        assertEquals(1, second.getBids().size());
+        assertEquals("0.00250000", second.getBids().get(0).getPrice());
+        assertEquals(3, second.getAsks().size());
+        assertEquals("3", second.getAsks().get(2).getQty());
+        assertEquals("[0.00240000]", received.toString());
+    }
+}
@@ -0,0 +1,58 @@
+package com.binance.api.client.impl;
+
+import com.binance.api.client.config.TrafficClass;
+import com.binance.api.client.constant.BinanceApiConstants;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @see TrafficLanes
+ */
+public class TrafficLanesTest {
+
+    private final BinanceApiService service = new Retrofit.Builder()
+            .baseUrl("https://api.binance.com")
+            .addConverterFactory(JacksonConverterFactory.create())
+            .client(new OkHttpClient())
+            .build()
+            .create(BinanceApiService.class);
+
+    @Test
+    public void shouldClassifyEndpointsByDecorators() {
+        assertEquals(TrafficClass.TRADING, TrafficLanes.classify(service.newOrder("BTCUSDT", null, null, null, "1", "1",
+                null, null, null, null, 5000L, 0L).request()));
+        assertEquals(TrafficClass.TRADING, TrafficLanes.classify(service.cancelOrder("BTCUSDT", 1L, null, null, 5000L, 0L).request()));
+        assertEquals(TrafficClass.ACCOUNT, TrafficLanes.classify(service.getAccount(5000L, 0L).request()));
+        assertEquals(TrafficClass.MARKET_DATA, TrafficLanes.classify(service.getOrderBook("BTCUSDT", 10).request()));
+        assertEquals(TrafficClass.BULK_HISTORY, TrafficLanes.classify(service.getCandlestickBars("BTCUSDT", "1m", null, null, null).request()));
+    }
+
+    @Test
+    public void shouldIsolateLanesAndStripTrafficClassHeader() {
+        TrafficLanes lanes = new TrafficLanes(new OkHttpClient());
+        OkHttpClient trading = lanes.getClient(TrafficClass.TRADING);
+        OkHttpClient marketData = lanes.getClient(TrafficClass.MARKET_DATA);
+        assertNotSame(trading.dispatcher(), marketData.dispatcher());
+        assertNotSame(trading.connectionPool(), marketData.connectionPool());
+
+        TrafficLanes authenticated = lanes.withInterceptor(chain -> chain.proceed(chain.request()));
+        assertSame(trading.dispatcher(), authenticated.getClient(TrafficClass.TRADING).dispatcher());
+        assertSame(trading.connectionPool(), authenticated.getClient(TrafficClass.TRADING).connectionPool());
+
+        Request request = new Request.Builder()
+                .url("https://api.binance.com/api/v3/order")
+                .header(BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS, TrafficClass.TRADING.name())
+                .build();
+        Call call = lanes.newCall(request);
+        assertNull(call.request().header(BinanceApiConstants.ENDPOINT_TRAFFIC_CLASS));
+    }
+}
@@ -0,0 +1,75 @@
+package com.binance.api.client.impl;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see WeightBudget
+ */
+public class WeightBudgetTest {
+
+    private final WeightBudget budget = new WeightBudget(100);
+
+    @Test
+    public void shouldChargeRequestsWithTheirWeight() throws IOException {
+        OkHttpClient client = clientReporting(null);
+        client.newCall(new Request.Builder().url("https://api.binance.com/api/v3/exchangeInfo").build()).execute().close();
+        client.newCall(new Request.Builder().url("https://api.binance.com/api/v1/ticker/24hr").build()).execute().close();
+        assertEquals(50, budget.getUsedWeight());
+    }
+
+    @Test
+    public void shouldCatchUpWithTheWeightUsedByOtherProcesses() throws IOException {
+        OkHttpClient client = clientReporting("70");
+        client.newCall(new Request.Builder().url("https://api.binance.com/api/v3/time").build()).execute().close();
+        assertEquals(70, budget.getUsedWeight());
+
+        // A lower figure reported by the server does not forget local requests it has not counted yet
+        budget.charge(10);
+        budget.update(75);
+        assertEquals(80, budget.getUsedWeight());
+    }
+
+    @Test
+    public void shouldKeepOptionalTrafficWithinTheUtilization() {
+        budget.charge(75);
+        assertTrue(budget.hasCapacity(5, 0.8));
+        assertFalse(budget.hasCapacity(6, 0.8));
+        assertTrue(budget.hasCapacity(25, 1.0));
+    }
+
+    @Test(timeout = 1_000)
+    public void shouldNotBlockWhenTheRequestFits() throws InterruptedException {
+        budget.charge(99);
+        budget.awaitCapacity(1);
+    }
+
+    private OkHttpClient clientReporting(String usedWeight) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(budget)
+                .addInterceptor(chain -> {
+                    Response.Builder response = new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("")
+                            .body(ResponseBody.create("{}", MediaType.get("application/json")));
+                    if (usedWeight != null) {
+                        response.header(WeightBudget.USED_WEIGHT_HEADER, usedWeight);
+                    }
+                    return response.build();
+                })
+                .build();
+    }
+}
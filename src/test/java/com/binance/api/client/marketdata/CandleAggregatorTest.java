@@ -0,0 +1,156 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see CandleAggregator
+ */
+public class CandleAggregatorTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void shouldDeriveCoarserBarsFromMinutes() {
+        CandleAggregator aggregator = new CandleAggregator(CandlestickInterval.FIVE_MINUTES, CandlestickInterval.HOURLY);
+        CandleSeries fiveMinutes = aggregator.getSeries(CandlestickInterval.FIVE_MINUTES);
+        CandleSeries hourly = aggregator.getSeries(CandlestickInterval.HOURLY);
+
+        for (int i = 0; i < 5; i++) {
+            // A live update, then the final one
+            minute(aggregator, i, 10 + i, 1, false);
+            minute(aggregator, i, 10 + i, 2, true);
+        }
+        assertEquals(1, fiveMinutes.size());
+        assertTrue(fiveMinutes.isLastClosed());
+        assertEquals(0, fiveMinutes.getOpenTime(0));
+        assertEquals(5 * MINUTE - 1, fiveMinutes.getCloseTime(0));
+        assertEquals(parse("10"), fiveMinutes.getOpen(0));
+        assertEquals(parse("14"), fiveMinutes.getClose(0));
+        assertEquals(parse("15"), fiveMinutes.getHigh(0));
+        assertEquals(parse("9"), fiveMinutes.getLow(0));
+        assertEquals(10, fiveMinutes.getVolume(0), 0);
+        assertEquals(5, fiveMinutes.getTakerBuyBaseAssetVolume(0), 0);
+        assertEquals(5, fiveMinutes.getNumberOfTrades(0));
+        assertFalse(hourly.isLastClosed());
+
+        // The live minute counts towards the open bars, but is not folded twice
+        minute(aggregator, 5, 20, 1, false);
+        assertEquals(11, hourly.getVolume(0), 0);
+        minute(aggregator, 5, 20, 3, true);
+        assertEquals(13, hourly.getVolume(0), 0);
+        assertEquals(3, fiveMinutes.getVolume(1), 0);
+        minute(aggregator, 5, 30, 7, true);
+        assertEquals(13, hourly.getVolume(0), 0);
+        assertEquals(parse("20"), hourly.getClose(0));
+    }
+
+    @Test
+    public void shouldFoldMinutesNeverReportedFinal() {
+        CandleAggregator aggregator = new CandleAggregator(CandlestickInterval.FIVE_MINUTES);
+        CandleSeries series = aggregator.getSeries(CandlestickInterval.FIVE_MINUTES);
+        minute(aggregator, 3, 10, 1, false);
+        minute(aggregator, 4, 11, 1, false);
+        minute(aggregator, 5, 12, 1, false);
+        assertEquals(2, series.size());
+        assertEquals(2, series.getVolume(0), 0);
+        assertEquals(parse("11"), series.getClose(0));
+
+        aggregator.onTime(6 * MINUTE);
+        assertEquals(1, series.getVolume(1), 0);
+        assertFalse(series.isLastClosed());
+        aggregator.onTime(10 * MINUTE);
+        assertTrue(series.isLastClosed());
+    }
+
+    @Test
+    public void shouldDeriveBarsFromTrades() {
+        CandleAggregator aggregator = new CandleAggregator(CandlestickInterval.ONE_MINUTE, CandlestickInterval.DAILY);
+        CandleSeries minutes = aggregator.getSeries(CandlestickInterval.ONE_MINUTE);
+        CandleSeries daily = aggregator.getSeries(CandlestickInterval.DAILY);
+
+        aggregator.onAggTradeEvent(trade(1, 1_000, "100", "0.5", false));
+        aggregator.onAggTradeEvent(trade(2, 2_000, "101", "0.25", true));
+        // Duplicate
+        aggregator.onAggTradeEvent(trade(2, 2_000, "101", "0.25", true));
+        aggregator.onAggTradeEvent(trade(3, MINUTE + 1, "99.5", "1", false));
+
+        assertEquals(2, minutes.size());
+        assertEquals(0.75, minutes.getVolume(0), 0);
+        assertEquals(75.25, minutes.getQuoteAssetVolume(0), 0);
+        assertEquals(0.5, minutes.getTakerBuyBaseAssetVolume(0), 0);
+        assertEquals(50, minutes.getTakerBuyQuoteAssetVolume(0), 0);
+        assertEquals(4, minutes.getNumberOfTrades(0));
+        assertEquals(1, daily.size());
+        assertEquals(1.75, daily.getVolume(0), 0);
+        assertEquals(parse("99.5"), daily.getLow(0));
+        assertEquals(parse("101"), daily.getHigh(0));
+    }
+
+    @Test
+    public void shouldSumVolumesBeyondTheScaledRange() {
+        CandleAggregator aggregator = new CandleAggregator(CandlestickInterval.HOURLY, CandlestickInterval.DAILY,
+                CandlestickInterval.MONTHLY);
+        // An hour of three billion units a minute, more than a long scaled by 10^8 holds
+        for (int i = 0; i < 60; i++) {
+            minute(aggregator, i, 1, 3e9, true);
+        }
+        aggregator.addTrade(60 * MINUTE, parse("0.00001"), 5e11, 1, false);
+        CandleSeries hourly = aggregator.getSeries(CandlestickInterval.HOURLY);
+        assertEquals(1.8e11, hourly.getVolume(0), 0);
+        assertEquals(0.9e11, hourly.getTakerBuyBaseAssetVolume(0), 0);
+        assertEquals(5e11, hourly.getVolume(1), 0);
+        assertEquals(5e6, hourly.getQuoteAssetVolume(1), 1e-6);
+        assertEquals(6.8e11, aggregator.getSeries(CandlestickInterval.DAILY).getVolume(0), 0);
+        assertEquals(6.8e11, aggregator.getSeries(CandlestickInterval.MONTHLY).getVolume(0), 0);
+    }
+
+    @Test
+    public void shouldAlignBarsToExchangeBoundaries() {
+        long time = Instant.parse("2024-02-15T13:47:12.345Z").toEpochMilli();
+        assertEquals(Instant.parse("2024-02-15T12:00:00Z").toEpochMilli(),
+                CandleAggregator.openTimeOf(CandlestickInterval.FOUR_HOURLY, time));
+        assertEquals(Instant.parse("2024-02-12T00:00:00Z").toEpochMilli(),
+                CandleAggregator.openTimeOf(CandlestickInterval.WEEKLY, time));
+        long month = CandleAggregator.openTimeOf(CandlestickInterval.MONTHLY, time);
+        assertEquals(Instant.parse("2024-02-01T00:00:00Z").toEpochMilli(), month);
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z").toEpochMilli() - 1,
+                CandleAggregator.closeTimeOf(CandlestickInterval.MONTHLY, month));
+        assertEquals(Instant.parse("2024-02-19T00:00:00Z").toEpochMilli() - 1, CandleAggregator.closeTimeOf(
+                CandlestickInterval.WEEKLY, CandleAggregator.openTimeOf(CandlestickInterval.WEEKLY, time)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectIntervalsNotAggregated() {
+        new CandleAggregator(CandlestickInterval.HOURLY).getSeries(CandlestickInterval.DAILY);
+    }
+
+    /**
+     * Applies a minute with the given close, a range of one around it, and half of its volume bought by takers.
+     */
+    private static void minute(CandleAggregator aggregator, int index, long close, double volume, boolean closed) {
+        aggregator.update(index * MINUTE, index * MINUTE + MINUTE - 1, parse("1") * close,
+                parse("1") * (close + 1), parse("1") * (close - 1), parse("1") * close, volume, volume * close, 1,
+                volume / 2, volume * close / 2, closed);
+    }
+
+    private static AggTradeEvent trade(long id, long time, String price, String quantity, boolean buyerMaker) {
+        AggTradeEvent event = new AggTradeEvent();
+        event.setAggregatedTradeId(id);
+        event.setTradeTime(time);
+        event.setPrice(price);
+        event.setQuantity(quantity);
+        event.setFirstBreakdownTradeId(id * 10);
+        event.setLastBreakdownTradeId(id * 10 + 1);
+        event.setBuyerMaker(buyerMaker);
+        return event;
+    }
+}
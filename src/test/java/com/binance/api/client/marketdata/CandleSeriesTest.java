@@ -0,0 +1,92 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see CandleSeries
+ */
+public class CandleSeriesTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void shouldUpdateLiveBarInPlaceAndRollOnNewBar() {
+        CandleSeries series = new CandleSeries(4);
+        AtomicInteger closedBars = new AtomicInteger();
+        series.addListener((s, closed) -> {
+            if (closed) {
+                closedBars.incrementAndGet();
+            }
+        });
+
+        series.onCandlestickEvent(event(0, "1.5", false));
+        series.onCandlestickEvent(event(0, "1.6", false));
+        assertEquals(1, series.size());
+        assertFalse(series.isLastClosed());
+        assertEquals(parse("1.6"), series.getClose(0));
+
+        series.onCandlestickEvent(event(0, "1.7", true));
+        series.onCandlestickEvent(event(MINUTE, "1.8", false));
+        assertEquals(2, series.size());
+        assertEquals(parse("1.7"), series.getClose(0));
+        assertEquals(parse("1.8"), series.getClose(1));
+        assertEquals(1, closedBars.get());
+
+        // Stale update
+        assertFalse(series.update(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, true));
+    }
+
+    @Test
+    public void shouldOverwriteOldestBarsAndFindBarsByTime() {
+        CandleSeries series = new CandleSeries(3);
+        assertEquals(4, series.capacity());
+        for (int i = 0; i < 10; i++) {
+            series.update(i * MINUTE, i * MINUTE + MINUTE - 1, 0, 0, 0, i, 0, 0, 0, 0, 0, true);
+        }
+        assertEquals(4, series.size());
+        assertEquals(10, series.getCount());
+        assertEquals(6 * MINUTE, series.getOpenTime(0));
+        assertEquals(9, series.getClose(3));
+        assertEquals(2, series.indexOf(8 * MINUTE));
+        assertEquals(-1, series.indexOf(2 * MINUTE));
+        assertEquals(1, series.indexAtOrAfter(6 * MINUTE + 1));
+        assertEquals(4, series.indexAtOrAfter(20 * MINUTE));
+        assertTrue(series.isLastClosed());
+    }
+
+    @Test
+    public void shouldKeepVolumesBeyondTheScaledRange() {
+        CandleSeries series = new CandleSeries(2);
+        CandlestickEvent event = event(0, "0.0000092", true);
+        event.setVolume("5123456789012.00");
+        event.setQuoteAssetVolume("46111111.10");
+        event.setTakerBuyBaseAssetVolume("2561728394506.50");
+        series.onCandlestickEvent(event);
+        assertEquals(5.123456789012e12, series.getVolume(0), 0);
+        assertEquals(46111111.1, series.getQuoteAssetVolume(0), 0);
+        assertEquals(2.5617283945065e12, series.getTakerBuyBaseAssetVolume(0), 0);
+        assertEquals(0, series.getTakerBuyQuoteAssetVolume(0), 0);
+        assertEquals(parse("0.0000092"), series.getClose(0));
+    }
+
+    private static CandlestickEvent event(long openTime, String close, boolean closed) {
+        CandlestickEvent event = new CandlestickEvent();
+        event.setOpenTime(openTime);
+        event.setCloseTime(openTime + MINUTE - 1);
+        event.setOpen("1.5");
+        event.setHigh("2");
+        event.setLow("1");
+        event.setClose(close);
+        event.setVolume("10");
+        event.setBarFinal(closed);
+        return event;
+    }
+}
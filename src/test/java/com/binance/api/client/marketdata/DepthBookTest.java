@@ -0,0 +1,156 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see DepthBook
+ */
+public class DepthBookTest {
+
+    @Test
+    public void shouldBufferEventsUntilTheSnapshotAndDropThoseItCovers() {
+        DepthBook book = new DepthBook();
+        book.onDepthEvent(event(95, 100, levels("0.05390000", "9"), levels()));
+        book.onDepthEvent(event(101, 102, levels("0.05390000", "0"), levels("0.05420000", "1")));
+        assertFalse(book.isSynced());
+        assertEquals(2, book.getPendingCount());
+
+        book.load(snapshot(100, levels("0.05390000", "2", "0.05380000", "3"), levels("0.05410000", "4")));
+        assertTrue(book.isSynced());
+        assertEquals(0, book.getPendingCount());
+        assertEquals(102, book.getLastUpdateId());
+
+        long[] prices = new long[3];
+        long[] quantities = new long[3];
+        assertEquals(1, book.copyBids(prices, quantities));
+        assertEquals(parse("0.0538"), prices[0]);
+        assertEquals(parse("3"), quantities[0]);
+        assertEquals(2, book.copyAsks(prices, quantities));
+        assertArrayEquals(new long[]{parse("0.0541"), parse("0.0542"), 0}, prices);
+        assertArrayEquals(new long[]{parse("4"), parse("1"), 0}, quantities);
+    }
+
+    @Test
+    public void shouldKeepLevelsSortedBestFirst() {
+        DepthBook book = new DepthBook();
+        book.load(snapshot(1, levels(), levels()));
+        List<OrderBookEntry> bids = new ArrayList<>();
+        List<OrderBookEntry> asks = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            bids.add(entry(Integer.toString(i * 41 % 301), "1"));
+            asks.add(entry(Integer.toString(1000 + i * 41 % 301), "1"));
+        }
+        book.onDepthEvent(event(2, 2, bids, asks));
+        assertEquals(300, book.getBidCount());
+
+        long[] bidPrices = new long[2];
+        long[] askPrices = new long[2];
+        long[] bidQuantities = new long[3];
+        long[] askQuantities = new long[2];
+        assertEquals(2, book.copyTop(bidPrices, bidQuantities, askPrices, askQuantities));
+        assertArrayEquals(new long[]{parse("300"), parse("299")}, bidPrices);
+        assertArrayEquals(new long[]{parse("1001"), parse("1002")}, askPrices);
+        assertArrayEquals(new long[]{parse("1"), parse("1"), 0}, bidQuantities);
+    }
+
+    @Test
+    public void shouldStopApplyingEventsAfterAGap() {
+        DepthBook book = new DepthBook();
+        book.load(snapshot(10, levels("1", "1"), levels("2", "1")));
+        book.onDepthEvent(event(11, 12, levels("1", "5"), levels()));
+        book.onDepthEvent(event(14, 15, levels("1", "0"), levels()));
+        assertFalse(book.isSynced());
+        assertEquals(12, book.getLastUpdateId());
+        assertEquals(1, book.getBidCount());
+
+        book.load(snapshot(14, levels("1", "6"), levels("2", "1")));
+        assertTrue(book.isSynced());
+        assertEquals(15, book.getLastUpdateId());
+        assertEquals(0, book.getBidCount());
+    }
+
+    @Test
+    public void shouldNeverCopyAHalfAppliedEvent() throws InterruptedException {
+        DepthBook book = new DepthBook();
+        book.load(snapshot(0, levels(), levels()));
+        AtomicBoolean torn = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            long[] bidPrices = new long[5];
+            long[] bidQuantities = new long[5];
+            long[] askPrices = new long[5];
+            long[] askQuantities = new long[5];
+            while (!done.get()) {
+                long updateId = book.copyTop(bidPrices, bidQuantities, askPrices, askQuantities);
+                // Every event sets all quantities of both sides to its update id
+                long quantity = updateId * ExchangeInfoIndex.ONE;
+                for (int i = 0; i < 5; i++) {
+                    if (updateId > 0 && (bidQuantities[i] != quantity || askQuantities[i] != quantity)) {
+                        torn.set(true);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int id = 1; id <= 20_000; id++) {
+            List<OrderBookEntry> bids = new ArrayList<>();
+            List<OrderBookEntry> asks = new ArrayList<>();
+            String quantity = Integer.toString(id);
+            for (int level = 0; level < 5; level++) {
+                bids.add(entry(Integer.toString(100 - level), quantity));
+                asks.add(entry(Integer.toString(101 + level), quantity));
+            }
+            book.onDepthEvent(event(id, id, bids, asks));
+        }
+        done.set(true);
+        reader.join();
+        assertFalse(torn.get());
+    }
+
+    private static DepthEvent event(long firstUpdateId, long finalUpdateId, List<OrderBookEntry> bids,
+                                    List<OrderBookEntry> asks) {
+        DepthEvent event = new DepthEvent();
+        event.setFirstUpdateId(firstUpdateId);
+        event.setFinalUpdateId(finalUpdateId);
+        event.setBids(bids);
+        event.setAsks(asks);
+        return event;
+    }
+
+    private static OrderBook snapshot(long lastUpdateId, List<OrderBookEntry> bids, List<OrderBookEntry> asks) {
+        OrderBook orderBook = new OrderBook();
+        orderBook.setLastUpdateId(lastUpdateId);
+        orderBook.setBids(bids);
+        orderBook.setAsks(asks);
+        return orderBook;
+    }
+
+    private static List<OrderBookEntry> levels(String... pricesAndQuantities) {
+        List<OrderBookEntry> entries = new ArrayList<>();
+        for (int i = 0; i < pricesAndQuantities.length; i += 2) {
+            entries.add(entry(pricesAndQuantities[i], pricesAndQuantities[i + 1]));
+        }
+        return entries;
+    }
+
+    private static OrderBookEntry entry(String price, String quantity) {
+        OrderBookEntry entry = new OrderBookEntry();
+        entry.setPrice(price);
+        entry.setQty(quantity);
+        return entry;
+    }
+}
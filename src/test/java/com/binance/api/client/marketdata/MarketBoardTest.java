@@ -0,0 +1,137 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.event.TickerEvent;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.SymbolInfo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see MarketBoard
+ */
+public class MarketBoardTest {
+
+    private static final String FRAME = "[{\"e\":\"24hrTicker\",\"E\":1700000000123,\"s\":\"ETHBTC\",\"p\":\"-0.00010000\","
+            + "\"P\":\"-0.187\",\"w\":\"0.05350000\",\"x\":\"0.05360000\",\"c\":\"0.05350000\",\"Q\":\"1.50000000\","
+            + "\"b\":\"0.05349000\",\"B\":\"10.00000000\",\"a\":\"0.05351000\",\"A\":\"12.00000000\",\"o\":\"0.05360000\","
+            + "\"h\":\"0.05400000\",\"l\":\"0.05300000\",\"v\":\"1000.00000000\",\"q\":\"53.50000000\",\"O\":1699913600123,"
+            + "\"C\":1700000000123,\"F\":100,\"L\":200,\"n\":101},"
+            + "{\"e\":\"24hrTicker\",\"E\":1700000000124,\"s\":\"NEWBTC\",\"c\":\"1.0\"},"
+            + "{\"e\":\"24hrTicker\",\"E\":1700000000125,\"s\":\"BNBBTC\",\"c\":\"0.00750000\",\"n\":7}]";
+
+    @Test
+    public void shouldDecodeFramesIntoColumnsBySymbolId() {
+        ExchangeInfoIndex index = index("BNBBTC", "ETHBTC", "LTCBTC");
+        MarketBoard board = new MarketBoard(index);
+        board.onMessage(FRAME);
+
+        MarketBoard.Snapshot snapshot = board.newSnapshot();
+        board.snapshot(snapshot);
+        int ethBtc = index.idOf("ETHBTC");
+        assertEquals(1, snapshot.getFrame());
+        assertEquals(1700000000123L, snapshot.getEventTime(ethBtc));
+        assertEquals(parse("-0.0001"), snapshot.getPriceChange(ethBtc));
+        assertEquals(parse("-0.187"), snapshot.getPriceChangePercent(ethBtc));
+        assertEquals(parse("0.05349"), snapshot.getBestBidPrice(ethBtc));
+        assertEquals(12, snapshot.getBestAskQuantity(ethBtc), 0);
+        assertEquals(53.5, snapshot.getTotalTradedQuoteAssetVolume(ethBtc), 0);
+        assertEquals(1699913600123L, snapshot.getStatisticsOpenTime(ethBtc));
+        assertEquals(101, snapshot.getTotalNumberOfTrades(ethBtc));
+        assertEquals(parse("0.0075"), snapshot.getCurrentDaysClosePrice(index.idOf("BNBBTC")));
+
+        // The unknown symbol is skipped, and LTCBTC was not in the frame
+        assertEquals(2, snapshot.getChangedCount());
+        assertEquals(ethBtc, snapshot.getChangedId(0));
+        assertEquals(0, snapshot.getUpdateFrame(index.idOf("LTCBTC")));
+
+        TickerEvent ticker = new TickerEvent();
+        ticker.setSymbol("LTCBTC");
+        ticker.setCurrentDaysClosePrice("0.002");
+        board.update(Collections.singletonList(ticker));
+        long[] row = new long[MarketBoard.FIELDS];
+        assertEquals(2, board.read(index.idOf("LTCBTC"), row));
+        assertEquals(parse("0.002"), row[MarketBoard.CURRENT_DAYS_CLOSE_PRICE]);
+    }
+
+    @Test
+    public void shouldKeepVolumesBeyondTheScaledRangeAndSkipOnlyMalformedTickers() {
+        ExchangeInfoIndex index = index("BNBBTC", "SHIBUSDT", "LTCBTC");
+        MarketBoard board = new MarketBoard(index);
+        board.onMessage("[{\"s\":\"SHIBUSDT\",\"c\":\"0.00000900\",\"v\":\"5123456789012.00\","
+                + "\"q\":\"46111111.10\"},{\"s\":\"LTCBTC\",\"c\":\"0.00200000\"}]");
+        board.onMessage("[{\"s\":\"SHIBUSDT\",\"c\":\"0.00000950\",\"v\":\"5123456789012.00x\"},"
+                + "{\"s\":\"BNBBTC\",\"c\":\"0.00750000\"}]");
+
+        MarketBoard.Snapshot snapshot = board.newSnapshot();
+        board.snapshot(snapshot);
+        int shibUsdt = index.idOf("SHIBUSDT");
+        assertEquals(2, snapshot.getFrame());
+        assertEquals(1, board.getMalformedCount());
+        assertEquals(5.123456789012e12, snapshot.getTotalTradedBaseAssetVolume(shibUsdt), 0);
+        assertEquals(5.123456789012e12, snapshot.getDouble(MarketBoard.TOTAL_TRADED_BASE_ASSET_VOLUME, shibUsdt), 0);
+        assertEquals(parse("0.000009"), snapshot.getCurrentDaysClosePrice(shibUsdt));
+        assertEquals(1, snapshot.getChangedCount());
+        assertEquals(parse("0.0075"), snapshot.getCurrentDaysClosePrice(index.idOf("BNBBTC")));
+        assertEquals(parse("0.002"), snapshot.getCurrentDaysClosePrice(index.idOf("LTCBTC")));
+
+        SymbolRanking ranking = new SymbolRanking(board, MarketBoard.TOTAL_TRADED_BASE_ASSET_VOLUME);
+        ranking.update(snapshot);
+        assertEquals(shibUsdt, ranking.idAt(0));
+    }
+
+    @Test
+    public void shouldTakeConsistentSnapshotsWhileFramesArePublished() throws InterruptedException {
+        String[] symbols = new String[50];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = "SYM" + i + "BTC";
+        }
+        ExchangeInfoIndex index = index(symbols);
+        MarketBoard board = new MarketBoard(index);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            for (int frame = 1; running.get(); frame++) {
+                StringBuilder text = new StringBuilder("[");
+                for (String symbol : symbols) {
+                    text.append(text.length() > 1 ? "," : "").append("{\"s\":\"").append(symbol).append("\",\"E\":")
+                            .append(frame).append(",\"n\":").append(frame).append('}');
+                }
+                board.onMessage(text.append(']').toString());
+            }
+        });
+        writer.start();
+        MarketBoard.Snapshot snapshot = board.newSnapshot();
+        try {
+            for (int i = 0; i < 2000; i++) {
+                board.snapshot(snapshot);
+                for (int id = 0; id < snapshot.size(); id++) {
+                    assertEquals(snapshot.getFrame(), snapshot.getEventTime(id));
+                    assertEquals(snapshot.getFrame(), snapshot.getTotalNumberOfTrades(id));
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    private static ExchangeInfoIndex index(String... symbols) {
+        List<SymbolInfo> infos = new ArrayList<>();
+        for (String symbol : symbols) {
+            SymbolInfo info = new SymbolInfo();
+            info.setSymbol(symbol);
+            info.setFilters(Collections.emptyList());
+            infos.add(info);
+        }
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setSymbols(infos);
+        return ExchangeInfoIndex.of(exchangeInfo);
+    }
+}
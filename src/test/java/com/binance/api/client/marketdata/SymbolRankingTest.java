@@ -0,0 +1,95 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.SymbolInfo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see SymbolRanking
+ */
+public class SymbolRankingTest {
+
+    @Test
+    public void shouldMatchASortedListAfterRandomUpdates() {
+        int capacity = 500;
+        SymbolRanking ranking = new SymbolRanking(capacity, MarketBoard.PRICE_CHANGE_PERCENT);
+        long[] values = new long[capacity];
+        boolean[] ranked = new boolean[capacity];
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(capacity);
+            if (random.nextInt(10) == 0) {
+                ranking.remove(id);
+                ranked[id] = false;
+            } else {
+                values[id] = random.nextInt(200) - 100;
+                ranked[id] = true;
+                ranking.set(id, values[id]);
+            }
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int id = 0; id < capacity; id++) {
+            if (ranked[id]) {
+                expected.add(id);
+            }
+        }
+        expected.sort(Comparator.<Integer>comparingLong(id -> -values[id]).thenComparingInt(id -> id));
+        assertEquals(expected.size(), ranking.size());
+        for (int rank = 0; rank < expected.size(); rank++) {
+            assertEquals(rank, ranking.rankOf(expected.get(rank)));
+            assertEquals((int) expected.get(rank), ranking.idAt(rank));
+        }
+
+        int[] top = new int[10];
+        assertEquals(10, ranking.top(10, top));
+        for (int i = 0; i < 10; i++) {
+            assertEquals((int) expected.get(i), top[i]);
+        }
+        assertEquals(10, ranking.bottom(10, top));
+        for (int i = 0; i < 10; i++) {
+            assertEquals((int) expected.get(expected.size() - 1 - i), top[i]);
+        }
+    }
+
+    @Test
+    public void shouldMoveOnlyTheSymbolsChangedSinceTheLastSnapshot() {
+        List<SymbolInfo> infos = new ArrayList<>();
+        for (String symbol : new String[]{"BNBBTC", "ETHBTC", "LTCBTC"}) {
+            SymbolInfo info = new SymbolInfo();
+            info.setSymbol(symbol);
+            info.setFilters(Collections.emptyList());
+            infos.add(info);
+        }
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setSymbols(infos);
+        MarketBoard board = new MarketBoard(ExchangeInfoIndex.of(exchangeInfo));
+        SymbolRanking gainers = new SymbolRanking(board, MarketBoard.PRICE_CHANGE_PERCENT);
+        MarketBoard.Snapshot snapshot = board.newSnapshot();
+
+        board.onMessage("[{\"s\":\"BNBBTC\",\"P\":\"1.5\"},{\"s\":\"ETHBTC\",\"P\":\"-2\"}]");
+        board.snapshot(snapshot);
+        gainers.update(snapshot);
+        assertEquals(2, gainers.size());
+        assertEquals(0, gainers.idAt(0));
+
+        // Two frames before the next snapshot
+        board.onMessage("[{\"s\":\"LTCBTC\",\"P\":\"3\"}]");
+        board.onMessage("[{\"s\":\"ETHBTC\",\"P\":\"4\"}]");
+        board.snapshot(snapshot);
+        gainers.update(snapshot);
+        assertEquals(3, gainers.size());
+        assertEquals(1, gainers.idAt(0));
+        assertEquals(1, gainers.rankOf(2));
+        assertEquals(2, gainers.rankOf(0));
+    }
+}
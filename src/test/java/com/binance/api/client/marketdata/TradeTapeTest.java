@@ -0,0 +1,139 @@
+package com.binance.api.client.marketdata;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.event.AggTradeEvent;
+import com.binance.api.client.domain.market.AggTrade;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see TradeTape
+ */
+public class TradeTapeTest {
+
+    @Test
+    public void shouldStoreTradesCompactlyAndReadThemBack() {
+        TradeTape tape = new TradeTape("ethbtc", null);
+        int count = 3 * TradeTape.CHUNK_TRADES + 100;
+        for (int i = 0; i < count; i++) {
+            tape.onAggTradeEvent(trade(1_000_000 + i));
+        }
+
+        assertEquals(count, tape.size());
+        assertEquals(1_000_000 + count - 1, tape.getLastId());
+        assertTrue(tape.sizeInBytes() < 12L * count);
+
+        List<AggTrade> trades = tape.getAggTrades(1_000_000 + TradeTape.CHUNK_TRADES - 2, 1_000_000 + TradeTape.CHUNK_TRADES + 1);
+        assertEquals(4, trades.size());
+        for (AggTrade read : trades) {
+            AggTrade expected = trade(read.getAggregatedTradeId());
+            assertEquals(expected.getTradeTime(), read.getTradeTime());
+            assertEquals(parse(expected.getPrice()), parse(read.getPrice()));
+            assertEquals(parse(expected.getQuantity()), parse(read.getQuantity()));
+            assertEquals(expected.getFirstBreakdownTradeId(), read.getFirstBreakdownTradeId());
+            assertEquals(expected.getLastBreakdownTradeId(), read.getLastBreakdownTradeId());
+            assertEquals(expected.isBuyerMaker(), read.isBuyerMaker());
+        }
+    }
+
+    @Test
+    public void shouldBackfillGapsAndAppendQueuedTrades() {
+        List<String> requests = new ArrayList<>();
+        BinanceApiRestClient client = (BinanceApiRestClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, (proxy, method, args) -> {
+                    requests.add(args[1] + "/" + args[2]);
+                    List<AggTrade> page = new ArrayList<>();
+                    long from = Long.parseLong((String) args[1]);
+                    for (long id = from; id < from + (Integer) args[2]; id++) {
+                        page.add(trade(id));
+                    }
+                    return page;
+                });
+        List<Runnable> backfills = new ArrayList<>();
+        TradeTape tape = new TradeTape("ETHBTC", client, backfills::add);
+
+        tape.onAggTradeEvent(trade(1));
+        tape.onAggTradeEvent(trade(1502));
+        tape.onAggTradeEvent(trade(1503));
+        assertTrue(tape.isBackfilling());
+        assertEquals(1, tape.size());
+
+        backfills.get(0).run();
+        assertFalse(tape.isBackfilling());
+        assertEquals(1503, tape.size());
+        assertEquals(0, tape.getMissingCount());
+        assertEquals("[2/1000, 1002/500]", requests.toString());
+    }
+
+    @Test
+    public void shouldStoreValuesTooLargeForTheCompactEncoding() {
+        TradeTape tape = new TradeTape("ETHBTC", null);
+        long[] values = {1, Long.MAX_VALUE, 3, 700_000_000_000_000_001L, Long.MAX_VALUE - 9, 100_000_000};
+        for (int i = 0; i < values.length; i++) {
+            tape.append(i, 1_600_000_000_000L + i, values[i], values[values.length - 1 - i], 2 * i, 2 * i, false);
+        }
+        List<Long> prices = new ArrayList<>();
+        List<Long> quantities = new ArrayList<>();
+        tape.scan(0, values.length, (id, time, price, quantity, firstId, lastId, buyerMaker) -> {
+            prices.add(price);
+            quantities.add(quantity);
+        });
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], (long) prices.get(i));
+            assertEquals(values[values.length - 1 - i], (long) quantities.get(i));
+        }
+    }
+
+    @Test
+    public void shouldKeepTheFailureOfTheLastBackfill() {
+        IllegalStateException failure = new IllegalStateException("rate limited");
+        BinanceApiRestClient client = (BinanceApiRestClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, (proxy, method, args) -> {
+                    throw failure;
+                });
+        List<Runnable> backfills = new ArrayList<>();
+        TradeTape tape = new TradeTape("ETHBTC", client, backfills::add);
+
+        tape.onAggTradeEvent(trade(1));
+        tape.onAggTradeEvent(trade(5));
+        assertNull(tape.getLastBackfillFailure());
+        backfills.get(0).run();
+
+        assertSame(failure, tape.getLastBackfillFailure());
+        assertEquals(2, tape.size());
+        assertEquals(3, tape.getMissingCount());
+    }
+
+    @Test
+    public void shouldCountTradesWhichCannotBeBackfilled() {
+        TradeTape tape = new TradeTape("ETHBTC", null);
+        tape.onAggTradeEvent(trade(1));
+        tape.onAggTradeEvent(trade(5));
+        // Duplicate
+        tape.onAggTradeEvent(trade(5));
+        assertEquals(2, tape.size());
+        assertEquals(3, tape.getMissingCount());
+    }
+
+    private static AggTradeEvent trade(long id) {
+        AggTradeEvent trade = new AggTradeEvent();
+        trade.setAggregatedTradeId(id);
+        trade.setTradeTime(1_600_000_000_000L + id * 37);
+        trade.setPrice(String.format("%d.%02d", 30_000 + id % 7, id % 100));
+        trade.setQuantity(String.format("0.%05d", id % 1000 + 1));
+        trade.setFirstBreakdownTradeId(id * 2);
+        trade.setLastBreakdownTradeId(id * 2 + id % 2);
+        trade.setBuyerMaker(id % 3 == 0);
+        return trade;
+    }
+}
@@ -0,0 +1,24 @@
+package com.binance.api.client.marketdata.indicator;
+
+import org.junit.Test;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see AverageTrueRange
+ */
+public class AverageTrueRangeTest {
+
+    @Test
+    public void shouldIncludeGapsFromThePreviousClose() {
+        AverageTrueRange atr = new AverageTrueRange(2);
+        atr.update(0, parse("2"), parse("1"), parse("1.5"), 0, 0, true);
+        assertTrue(Double.isNaN(atr.getValue()));
+        atr.update(1, parse("3"), parse("2"), parse("2.5"), 0, 0, true);
+        assertEquals(1.25, atr.getValue(), 1e-9);
+        atr.update(2, parse("2.5"), parse("1"), parse("2"), 0, 0, true);
+        assertEquals(1.375, atr.getValue(), 1e-9);
+    }
+}
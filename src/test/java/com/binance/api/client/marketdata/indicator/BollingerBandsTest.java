@@ -0,0 +1,41 @@
+package com.binance.api.client.marketdata.indicator;
+
+import org.junit.Test;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.ONE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see BollingerBands
+ */
+public class BollingerBandsTest {
+
+    @Test
+    public void shouldMatchAverageAndDeviationOfTheWindow() {
+        BollingerBands bands = new BollingerBands(20, 2);
+        long[] closes = new long[500];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = 60_000 * ONE + (i * 7919L % 1000) * ONE / 100;
+            bands.update(i, 0, 0, closes[i], 0, 0, true);
+            if (i < 19) {
+                assertTrue(Double.isNaN(bands.getValue()));
+                continue;
+            }
+            double sum = 0;
+            for (int j = i - 19; j <= i; j++) {
+                sum += closes[j] / (double) ONE;
+            }
+            double mean = sum / 20;
+            double variance = 0;
+            for (int j = i - 19; j <= i; j++) {
+                double d = closes[j] / (double) ONE - mean;
+                variance += d * d;
+            }
+            double deviation = Math.sqrt(variance / 20);
+            assertEquals(mean, bands.getValue(), 1e-6);
+            assertEquals(mean + 2 * deviation, bands.getUpper(), 1e-4);
+            assertEquals(mean - 2 * deviation, bands.getLower(), 1e-4);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.binance.api.client.marketdata.indicator;
+
+import org.junit.Test;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.ONE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see ExponentialMovingAverage
+ */
+public class ExponentialMovingAverageTest {
+
+    @Test
+    public void shouldSeedWithSimpleAverageThenSmooth() {
+        ExponentialMovingAverage ema = new ExponentialMovingAverage(3);
+        double[] expected = {Double.NaN, Double.NaN, 2, 3, 4};
+        for (int i = 0; i < expected.length; i++) {
+            ema.update(i, 0, 0, (i + 1) * ONE, 0, 0, true);
+            if (Double.isNaN(expected[i])) {
+                assertTrue(Double.isNaN(ema.getValue()));
+            } else {
+                assertEquals(expected[i], ema.getValue(), 1e-9);
+            }
+        }
+    }
+}
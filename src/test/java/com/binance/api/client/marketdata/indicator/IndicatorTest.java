@@ -0,0 +1,57 @@
+package com.binance.api.client.marketdata.indicator;
+
+import com.binance.api.client.marketdata.CandleSeries;
+import org.junit.Test;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.ONE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see Indicator
+ */
+public class IndicatorTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void shouldReplaceProvisionalUpdatesOfTheOpenBar() {
+        ExponentialMovingAverage ema = new ExponentialMovingAverage(1);
+        CandleSeries series = new CandleSeries(8);
+        series.addListener(ema);
+
+        bar(series, 0, 10, true);
+        bar(series, MINUTE, 40, false);
+        assertTrue(ema.isProvisional());
+        assertEquals(40, ema.getValue(), 1e-9);
+        bar(series, MINUTE, 20, false);
+        assertEquals(20, ema.getValue(), 1e-9);
+        assertEquals(1, ema.getCount());
+
+        bar(series, MINUTE, 30, true);
+        assertFalse(ema.isProvisional());
+        assertEquals(2, ema.getCount());
+        // A repeated final update is ignored
+        bar(series, MINUTE, 50, true);
+        assertEquals(30, ema.getValue(), 1e-9);
+        assertEquals(2, ema.getCount());
+    }
+
+    @Test
+    public void shouldCommitAnOpenBarFollowedByALaterBar() {
+        ExponentialMovingAverage ema = new ExponentialMovingAverage(2);
+        ema.update(0, 0, 0, 10 * ONE, 0, 0, false);
+        ema.update(MINUTE, 0, 0, 20 * ONE, 0, 0, false);
+        assertEquals(1, ema.getCount());
+        assertEquals(15, ema.getValue(), 1e-9);
+        // An older bar is ignored
+        ema.update(0, 0, 0, 90 * ONE, 0, 0, true);
+        assertEquals(1, ema.getCount());
+    }
+
+    private static void bar(CandleSeries series, long openTime, long close, boolean closed) {
+        series.update(openTime, openTime + MINUTE - 1, close * ONE, close * ONE, close * ONE, close * ONE, 1, close,
+                1, 0, 0, closed);
+    }
+}
@@ -0,0 +1,29 @@
+package com.binance.api.client.marketdata.indicator;
+
+import org.junit.Test;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.ONE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see RelativeStrengthIndex
+ */
+public class RelativeStrengthIndexTest {
+
+    @Test
+    public void shouldSmoothGainsAndLosses() {
+        RelativeStrengthIndex rsi = new RelativeStrengthIndex(2);
+        rsi.update(0, 0, 0, ONE, 0, 0, true);
+        rsi.update(1, 0, 0, 2 * ONE, 0, 0, true);
+        assertTrue(Double.isNaN(rsi.getValue()));
+        rsi.update(2, 0, 0, 4 * ONE, 0, 0, true);
+        assertEquals(100, rsi.getValue(), 1e-9);
+
+        // Gains average 0.75 and losses 0.5
+        rsi.update(3, 0, 0, 3 * ONE, 0, 0, false);
+        assertEquals(60, rsi.getValue(), 1e-9);
+        rsi.update(3, 0, 0, 4 * ONE, 0, 0, true);
+        assertEquals(100, rsi.getValue(), 1e-9);
+    }
+}
@@ -0,0 +1,28 @@
+package com.binance.api.client.marketdata.indicator;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see VolumeWeightedAveragePrice
+ */
+public class VolumeWeightedAveragePriceTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    public void shouldRestartWithEachSession() {
+        VolumeWeightedAveragePrice vwap = new VolumeWeightedAveragePrice(CandlestickInterval.DAILY);
+        vwap.update(0, 0, 0, 0, 1, 100, true);
+        vwap.update(HOUR, 0, 0, 0, 3, 330, true);
+        assertEquals(107.5, vwap.getValue(), 1e-9);
+
+        vwap.update(24 * HOUR, 0, 0, 0, 2, 220, false);
+        assertEquals(110, vwap.getValue(), 1e-9);
+        vwap.update(24 * HOUR, 0, 0, 0, 2, 240, true);
+        vwap.update(25 * HOUR, 0, 0, 0, 2, 200, true);
+        assertEquals(110, vwap.getValue(), 1e-9);
+    }
+}
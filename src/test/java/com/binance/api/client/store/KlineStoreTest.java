@@ -0,0 +1,170 @@
+package com.binance.api.client.store;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see KlineStore
+ */
+public class KlineStoreTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private static final long DAY = 24 * 60 * MINUTE;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldScanRangesAcrossBlocksAndTailAfterReopening() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        int bars = KlineStore.BLOCK_ROWS * 2 + 100;
+        try (KlineStore store = new KlineStore(directory)) {
+            List<Candlestick> candlesticks = new ArrayList<>();
+            for (int i = 0; i < bars; i++) {
+                candlesticks.add(candlestick(i));
+            }
+            assertEquals(bars, store.append("ETHBTC", CandlestickInterval.ONE_MINUTE, candlesticks));
+            assertEquals(0, store.append("ETHBTC", CandlestickInterval.ONE_MINUTE, candlesticks.subList(0, 10)));
+        }
+
+        try (KlineStore store = new KlineStore(directory)) {
+            assertEquals((bars - 1) * MINUTE, store.getLastOpenTime("ETHBTC", CandlestickInterval.ONE_MINUTE));
+            List<Candlestick> read = store.read("ETHBTC", CandlestickInterval.ONE_MINUTE, 1000 * MINUTE, (bars - 50) * MINUTE);
+            assertEquals(bars - 50 - 1000 + 1, read.size());
+            for (int i = 0; i < read.size(); i++) {
+                Candlestick expected = candlestick(1000 + i);
+                Candlestick actual = read.get(i);
+                assertEquals(expected.getOpenTime(), actual.getOpenTime());
+                assertEquals(parse(expected.getOpen()), parse(actual.getOpen()));
+                assertEquals(parse(expected.getClose()), parse(actual.getClose()));
+                assertEquals(expected.getVolume(), actual.getVolume());
+                assertEquals(expected.getNumberOfTrades(), actual.getNumberOfTrades());
+                assertEquals(expected.getCloseTime(), actual.getCloseTime());
+            }
+            assertEquals(0, store.read("ETHBTC", CandlestickInterval.HOURLY, 0, Long.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    public void shouldAppendOnlyClosedBarsFromEvents() throws IOException {
+        try (KlineStore store = new KlineStore(folder.getRoot().toPath())) {
+            CandlestickEvent event = new CandlestickEvent();
+            event.setSymbol("ETHBTC");
+            event.setIntervalId("1m");
+            event.setOpenTime(0L);
+            event.setCloseTime(MINUTE - 1);
+            event.setOpen("0.065");
+            event.setHigh("0.066");
+            event.setLow("0.064");
+            event.setClose("0.0655");
+            event.setVolume("10");
+            event.setBarFinal(false);
+            store.onCandlestickEvent(event);
+            assertEquals(-1, store.getLastOpenTime("ETHBTC", CandlestickInterval.ONE_MINUTE));
+            event.setBarFinal(true);
+            store.onCandlestickEvent(event);
+            assertEquals("0.0655", store.read("ETHBTC", CandlestickInterval.ONE_MINUTE, 0, 0).get(0).getClose());
+        }
+    }
+
+    @Test
+    public void shouldKeepABoundedNumberOfSeriesOpen() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        String[] symbols = {"BNBBTC", "ETHBTC", "LTCBTC", "NEOBTC", "XRPBTC"};
+        try (KlineStore store = new KlineStore(directory, 2)) {
+            for (int i = 0; i < KlineStore.BLOCK_ROWS + 10; i++) {
+                for (String symbol : symbols) {
+                    store.append(symbol, CandlestickInterval.ONE_MINUTE, Collections.singletonList(candlestick(i)));
+                    assertTrue(store.openSeriesCount() <= 2);
+                }
+            }
+            store.flush();
+            for (String symbol : symbols) {
+                assertEquals((KlineStore.BLOCK_ROWS + 9) * MINUTE, store.getLastOpenTime(symbol, CandlestickInterval.ONE_MINUTE));
+            }
+        }
+
+        try (KlineStore store = new KlineStore(directory, 1)) {
+            for (String symbol : symbols) {
+                List<Candlestick> read = store.read(symbol, CandlestickInterval.ONE_MINUTE, 0, Long.MAX_VALUE);
+                assertEquals(KlineStore.BLOCK_ROWS + 10, read.size());
+                assertEquals(candlestick(KlineStore.BLOCK_ROWS + 9).getVolume(), read.get(read.size() - 1).getVolume());
+                assertEquals(1, store.openSeriesCount());
+            }
+        }
+    }
+
+    @Test
+    public void shouldStoreVolumesBeyondTheScaledRange() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (KlineStore store = new KlineStore(directory)) {
+            CandlestickEvent event = new CandlestickEvent();
+            event.setSymbol("SHIBUSDT");
+            event.setIntervalId("1d");
+            event.setOpenTime(0L);
+            event.setOpen("0.00000900");
+            event.setHigh("0.00000950");
+            event.setLow("0.00000880");
+            event.setClose("0.00000920");
+            event.setVolume("5123456789012.00");
+            event.setQuoteAssetVolume("46111111.10");
+            event.setTakerBuyBaseAssetVolume("2561728394506.50");
+            event.setBarFinal(true);
+            store.onCandlestickEvent(event);
+            event.setOpenTime(DAY);
+            event.setVolume("5123456789012x");
+            try {
+                store.onCandlestickEvent(event);
+                fail();
+            } catch (UncheckedIOException expected) {
+                assertTrue(expected.getCause().getCause() instanceof NumberFormatException);
+            }
+        }
+
+        try (KlineStore store = new KlineStore(directory)) {
+            store.scan("SHIBUSDT", CandlestickInterval.DAILY, 0, Long.MAX_VALUE, batch -> {
+                assertEquals(1, batch.size());
+                assertEquals(5.123456789012e12, batch.getVolume(0), 0);
+                assertEquals(2.5617283945065e12, batch.getTakerBuyBaseAssetVolume(0), 0);
+                assertEquals(parse("0.0000092"), batch.getClose(0));
+            });
+            Candlestick read = store.read("SHIBUSDT", CandlestickInterval.DAILY, 0, Long.MAX_VALUE).get(0);
+            assertEquals("5123456789012", read.getVolume());
+            assertEquals("46111111.1", read.getQuoteAssetVolume());
+            assertEquals("0", read.getTakerBuyQuoteAssetVolume());
+        }
+    }
+
+    private static Candlestick candlestick(int i) {
+        Candlestick candlestick = new Candlestick();
+        candlestick.setOpenTime(i * MINUTE);
+        candlestick.setCloseTime(i * MINUTE + MINUTE - 1);
+        candlestick.setOpen("0.0" + (65000 + i % 97));
+        candlestick.setHigh("0.0" + (65100 + i % 97));
+        candlestick.setLow("0.0" + (64900 + i % 97));
+        candlestick.setClose("0.0" + (65000 + (i + 1) % 97));
+        candlestick.setVolume(i + ".5");
+        candlestick.setQuoteAssetVolume("1.25");
+        candlestick.setNumberOfTrades((long) i);
+        candlestick.setTakerBuyBaseAssetVolume("0.5");
+        candlestick.setTakerBuyQuoteAssetVolume("0.03");
+        return candlestick;
+    }
+}
@@ -0,0 +1,125 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.AssetBalance;
+import com.binance.api.client.domain.event.AccountUpdateEvent;
+import com.binance.api.client.domain.event.BalanceUpdateEvent;
+import com.binance.api.client.domain.event.UserDataUpdateEvent;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see AccountStateCache
+ */
+public class AccountStateCacheTest {
+
+    @Test
+    public void shouldApplyEventsAfterSeeding() {
+        AccountStateCache cache = new AccountStateCache();
+        cache.seed(account(1000, balance("BTC", "1", "0"), balance("ETH", "2", "0.5")));
+        AccountStateCache.Snapshot seeded = cache.getSnapshot();
+
+        cache.onUserDataUpdateEvent(positionUpdate(1001, balance("ETH", "1.5", "1")));
+        cache.onUserDataUpdateEvent(balanceUpdate(1002, "BTC", "-0.25"));
+        cache.onUserDataUpdateEvent(balanceUpdate(1003, "USDT", "100"));
+
+        assertEquals(Decimal.parse("0.75"), cache.getBalance("BTC").getFree());
+        assertEquals(Decimal.parse("2.5"), cache.getBalance("ETH").getTotal());
+        assertEquals(Decimal.parse("100"), cache.getBalance("USDT").getFree());
+        assertEquals(Decimal.ZERO, cache.getBalance("XRP").getTotal());
+        assertEquals(1003, cache.getSnapshot().getUpdateTime());
+        assertEquals(Decimal.parse("1"), seeded.getBalance("BTC").getFree());
+    }
+
+    @Test
+    public void shouldReplayEventsReceivedBeforeSeedingOnlyIfNewer() {
+        AccountStateCache cache = new AccountStateCache();
+        cache.onUserDataUpdateEvent(balanceUpdate(999, "BTC", "5"));
+        cache.onUserDataUpdateEvent(balanceUpdate(1001, "BTC", "0.5"));
+        assertFalse(cache.getSnapshot().isSeeded());
+
+        cache.seed(account(1000, balance("BTC", "6", "0")));
+        assertTrue(cache.getSnapshot().isSeeded());
+        assertEquals(Decimal.parse("6.5"), cache.getBalance("BTC").getFree());
+        assertEquals(1001, cache.getSnapshot().getUpdateTime());
+    }
+
+    @Test
+    public void shouldReplayEventsReceivedDuringARefresh() {
+        AccountStateCache cache = new AccountStateCache();
+        cache.seed(account(1000, balance("BTC", "1", "0")));
+        BinanceApiRestClient client = (BinanceApiRestClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, (proxy, method, args) -> {
+                    // Received while the account is on its way: the first is already in it, the second is not
+                    cache.onUserDataUpdateEvent(balanceUpdate(1003, "BTC", "0.25"));
+                    cache.onUserDataUpdateEvent(balanceUpdate(1005, "BTC", "0.5"));
+                    assertEquals(Decimal.parse("1.75"), cache.getBalance("BTC").getFree());
+                    return account(1004, balance("BTC", "1.25", "0"));
+                });
+
+        cache.refresh(client);
+        assertEquals(Decimal.parse("1.75"), cache.getBalance("BTC").getFree());
+        assertEquals(1005, cache.getSnapshot().getUpdateTime());
+
+        // Held back events are dropped once the refresh is over
+        cache.seed(account(1010, balance("BTC", "2", "0")));
+        assertEquals(Decimal.parse("2"), cache.getBalance("BTC").getFree());
+    }
+
+    @Test
+    public void shouldNotApplyEventsAlreadyReflectedInTheAccount() {
+        AccountStateCache cache = new AccountStateCache();
+        cache.seed(account(1000, balance("BTC", "1", "0")));
+        cache.onUserDataUpdateEvent(balanceUpdate(1000, "BTC", "0.5"));
+        cache.onUserDataUpdateEvent(positionUpdate(999, balance("BTC", "0.5", "0")));
+        assertEquals(Decimal.parse("1"), cache.getBalance("BTC").getFree());
+        assertEquals(1000, cache.getSnapshot().getUpdateTime());
+    }
+
+    private static Account account(long updateTime, AssetBalance... balances) {
+        Account account = new Account();
+        account.setUpdateTime(updateTime);
+        account.setBalances(Arrays.asList(balances));
+        return account;
+    }
+
+    private static AssetBalance balance(String asset, String free, String locked) {
+        AssetBalance balance = new AssetBalance();
+        balance.setAsset(asset);
+        balance.setFree(free);
+        balance.setLocked(locked);
+        return balance;
+    }
+
+    private static UserDataUpdateEvent positionUpdate(long eventTime, AssetBalance balance) {
+        AccountUpdateEvent accountUpdate = new AccountUpdateEvent();
+        accountUpdate.setEventTime(eventTime);
+        accountUpdate.setBalances(Collections.singletonList(balance));
+        UserDataUpdateEvent event = new UserDataUpdateEvent();
+        event.setEventType(UserDataUpdateEvent.UserDataUpdateEventType.ACCOUNT_POSITION_UPDATE);
+        event.setEventTime(eventTime);
+        event.setOutboundAccountPositionUpdateEvent(accountUpdate);
+        return event;
+    }
+
+    private static UserDataUpdateEvent balanceUpdate(long eventTime, String asset, String delta) {
+        BalanceUpdateEvent balanceUpdate = new BalanceUpdateEvent();
+        balanceUpdate.setEventTime(eventTime);
+        balanceUpdate.setAsset(asset);
+        balanceUpdate.setBalanceDelta(delta);
+        UserDataUpdateEvent event = new UserDataUpdateEvent();
+        event.setEventType(UserDataUpdateEvent.UserDataUpdateEventType.BALANCE_UPDATE);
+        event.setEventTime(eventTime);
+        event.setBalanceUpdateEvent(balanceUpdate);
+        return event;
+    }
+}
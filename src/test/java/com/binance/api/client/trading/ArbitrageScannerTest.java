@@ -0,0 +1,119 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.event.BookTickerEvent;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.market.BookTicker;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see ArbitrageScanner
+ */
+public class ArbitrageScannerTest {
+
+    @Test
+    public void shouldEvaluateOnlyTheCyclesOfTheUpdatedSymbol() {
+        List<ArbitrageScanner.Opportunity> opportunities = new ArrayList<>();
+        ArbitrageScanner scanner = new ArbitrageScanner(newIndex(), opportunities::add);
+        assertEquals(2, scanner.getCycleCount());
+        assertEquals(2, scanner.getCycleCount("ETHBTC"));
+        assertEquals(0, scanner.getCycleCount("BNBBTC"));
+
+        scanner.updateBookTickers(Arrays.asList(bookTicker("BTCUSDT", "30000", "30001"),
+                bookTicker("ETHUSDT", "2000", "2001")));
+        assertEquals(0, scanner.getEvaluationCount());
+        scanner.onBookTicker(event("BNBBTC", "0.01", "0.0101"));
+        assertEquals(0, scanner.getEvaluationCount());
+
+        // BTC -> USDT -> ETH -> BTC ends with 2010 / 2001 BTC before three commissions of 0.1%
+        scanner.onBookTicker(event("ETHBTC", "0.067", "0.0671"));
+        assertEquals(2, scanner.getEvaluationCount());
+        assertEquals(1, opportunities.size());
+        ArbitrageScanner.Opportunity opportunity = opportunities.get(0);
+        assertEquals("BTC", opportunity.getStartAsset());
+        assertEquals("BTCUSDT", opportunity.getSymbol(0));
+        assertEquals(OrderSide.SELL, opportunity.getSide(0));
+        assertEquals(OrderSide.BUY, opportunity.getSide(1));
+        assertEquals(parse("2001"), opportunity.getPrice(1));
+        assertEquals(OrderSide.SELL, opportunity.getSide(2));
+        assertTrue(opportunity.getProfit() > parse("0.00148") && opportunity.getProfit() < parse("0.00149"));
+        assertTrue(opportunity.getDecisionLatencyNanos() >= 0);
+
+        // 0.5% per leg eats the profit
+        Account account = new Account();
+        account.setTakerCommission(50);
+        scanner.fees(account);
+        scanner.onBookTicker(event("ETHBTC", "0.067", "0.0671"));
+        assertEquals(1, opportunities.size());
+    }
+
+    @Test
+    public void shouldFindCyclesStartingWithAnAssetOfLowUnitValue() {
+        List<ArbitrageScanner.Opportunity> opportunities = new ArrayList<>();
+        ArbitrageScanner scanner = new ArbitrageScanner(newIndex(new String[][]{{"DOGE", "USDT"}, {"BTC", "USDT"},
+                {"DOGE", "BTC"}}), opportunities::add).takerCommission(0);
+        scanner.updateBookTickers(Arrays.asList(bookTicker("DOGEUSDT", "0.1", "0.10001"),
+                bookTicker("BTCUSDT", "60000", "60001")));
+
+        // DOGE -> USDT -> BTC -> DOGE ends with 0.1 / 60001 / 0.00000166 DOGE, 0.40% more, although one DOGE is only
+        // worth 166 units of BTC at 10^-8
+        scanner.onBookTicker(event("DOGEBTC", "0.00000165", "0.00000166"));
+        assertEquals(1, opportunities.size());
+        ArbitrageScanner.Opportunity opportunity = opportunities.get(0);
+        assertEquals("DOGE", opportunity.getStartAsset());
+        assertEquals(OrderSide.SELL, opportunity.getSide(0));
+        assertEquals(OrderSide.BUY, opportunity.getSide(1));
+        assertEquals(OrderSide.BUY, opportunity.getSide(2));
+        assertTrue(opportunity.getProfit() > parse("0.00399") && opportunity.getProfit() < parse("0.00400"));
+
+        // Below the minimum profit
+        scanner.minProfit(parse("0.004"));
+        scanner.onBookTicker(event("DOGEBTC", "0.00000165", "0.00000166"));
+        assertEquals(1, opportunities.size());
+    }
+
+    private static ExchangeInfoIndex newIndex() {
+        return newIndex(new String[][]{{"BTC", "USDT"}, {"ETH", "USDT"}, {"ETH", "BTC"}, {"BNB", "BTC"}});
+    }
+
+    private static ExchangeInfoIndex newIndex(String[][] pairs) {
+        List<SymbolInfo> symbols = new ArrayList<>();
+        for (String[] assets : pairs) {
+            SymbolInfo info = new SymbolInfo();
+            info.setSymbol(assets[0] + assets[1]);
+            info.setBaseAsset(assets[0]);
+            info.setQuoteAsset(assets[1]);
+            symbols.add(info);
+        }
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setSymbols(symbols);
+        return ExchangeInfoIndex.of(exchangeInfo);
+    }
+
+    private static BookTicker bookTicker(String symbol, String bid, String ask) {
+        BookTicker bookTicker = new BookTicker();
+        bookTicker.setSymbol(symbol);
+        bookTicker.setBidPrice(bid);
+        bookTicker.setAskPrice(ask);
+        return bookTicker;
+    }
+
+    private static BookTickerEvent event(String symbol, String bid, String ask) {
+        BookTickerEvent event = new BookTickerEvent();
+        event.setSymbol(symbol);
+        event.setBidPrice(bid);
+        event.setAskPrice(ask);
+        return event;
+    }
+}
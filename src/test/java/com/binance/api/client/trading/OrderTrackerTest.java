@@ -0,0 +1,223 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.BinanceApiError;
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.domain.ExecutionType;
+import com.binance.api.client.domain.OrderStatus;
+import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.account.NewOrderResponse;
+import com.binance.api.client.domain.account.Order;
+import com.binance.api.client.domain.event.OrderTradeUpdateEvent;
+import com.binance.api.client.exception.BinanceApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see OrderTracker
+ */
+public class OrderTrackerTest {
+
+    private final OrderTracker tracker = new OrderTracker();
+
+    @Test
+    public void shouldFollowOrderFromRegistrationToFill() throws IOException {
+        NewOrder order = NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "2", "0.065");
+        String clientOrderId = tracker.register(order);
+        assertNotNull(order.getNewClientOrderId());
+        assertNull(tracker.getOrder(clientOrderId).getStatus());
+        assertEquals(1, tracker.getOpenOrders("ETHBTC").size());
+
+        tracker.onNewOrderResponse(response(clientOrderId, 42L));
+        assertEquals(OrderStatus.NEW, tracker.getOrder("ETHBTC", 42L).getStatus());
+
+        tracker.onOrderTradeUpdate(event(clientOrderId, 42L, ExecutionType.TRADE, OrderStatus.FILLED, "2", 1002));
+        // Delivered late: must not regress the order
+        tracker.onOrderTradeUpdate(event(clientOrderId, 42L, ExecutionType.TRADE, OrderStatus.PARTIALLY_FILLED, "1", 1001));
+
+        OrderState state = tracker.getOrder(clientOrderId);
+        assertEquals(OrderStatus.FILLED, state.getStatus());
+        assertEquals(Decimal.parse("2"), state.getExecutedQty());
+        assertEquals(Decimal.parse("0.065"), state.getPrice());
+        assertFalse(state.isOpen());
+        assertTrue(tracker.getOpenOrders().isEmpty());
+
+        assertEquals(1, tracker.removeCompleted());
+        assertNull(tracker.getOrder("ETHBTC", 42L));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    public void shouldTrackCancellationByOrderIdAndForeignOrders() throws IOException {
+        tracker.onOrderTradeUpdate(event("web-1", 7L, ExecutionType.NEW, OrderStatus.NEW, "0", 1000));
+        assertEquals(1, tracker.getOpenOrders().size());
+        tracker.onOrderTradeUpdate(event("cancel-request", 7L, ExecutionType.CANCELED, OrderStatus.CANCELED, "0", 1001));
+
+        OrderState state = tracker.getOrder("web-1");
+        assertEquals(OrderStatus.CANCELED, state.getStatus());
+        assertEquals(7L, state.getOrderId());
+        assertNull(tracker.getOrder("cancel-request"));
+    }
+
+    @Test
+    public void shouldReportOrdersMissingFromOpenOrders() throws IOException {
+        tracker.onOrderTradeUpdate(event("a", 1L, ExecutionType.NEW, OrderStatus.NEW, "0", 1000));
+        tracker.onOrderTradeUpdate(event("b", 2L, ExecutionType.NEW, OrderStatus.NEW, "0", 1000));
+        Order open = new Order();
+        open.setSymbol("ETHBTC");
+        open.setOrderId(2L);
+        open.setClientOrderId("b");
+        open.setStatus(OrderStatus.PARTIALLY_FILLED);
+        open.setExecutedQty("0.5");
+
+        List<OrderState> missing = tracker.reconcileOpenOrders("ETHBTC", Collections.singletonList(open));
+        assertEquals(1, missing.size());
+        assertEquals(1L, missing.get(0).getOrderId());
+        assertEquals(OrderStatus.PARTIALLY_FILLED, tracker.getOrder("ETHBTC", 2L).getStatus());
+    }
+
+    @Test
+    public void shouldKeepOrdersOfDifferentSymbolsWithTheSameOrderIdApart() throws IOException {
+        tracker.onOrderTradeUpdate(event("ETHBTC", "a", 5L, ExecutionType.NEW, OrderStatus.NEW, "0", 1000));
+        tracker.onOrderTradeUpdate(event("LTCBTC", "b", 5L, ExecutionType.NEW, OrderStatus.NEW, "0", 1000));
+        tracker.onOrderTradeUpdate(event("LTCBTC", "b", 5L, ExecutionType.TRADE, OrderStatus.FILLED, "2", 1001));
+
+        assertEquals(OrderStatus.NEW, tracker.getOrder("ETHBTC", 5L).getStatus());
+        assertEquals(OrderStatus.FILLED, tracker.getOrder("LTCBTC", 5L).getStatus());
+        assertTrue(tracker.reconcileOpenOrders(null, Collections.singletonList(open("ETHBTC", "a", 5L))).isEmpty());
+
+        assertEquals(1, tracker.removeCompleted());
+        assertEquals("a", tracker.getOrder("ETHBTC", 5L).getClientOrderId());
+        assertNull(tracker.getOrder("LTCBTC", 5L));
+    }
+
+    @Test
+    public void shouldTrackOrdersRejectedOnPlacementAsRejected() {
+        String clientOrderId = tracker.register(NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "2", "0.065"));
+        tracker.onNewOrderFailure(clientOrderId, new BinanceApiException(error(-2010)));
+
+        assertEquals(OrderStatus.REJECTED, tracker.getOrder(clientOrderId).getStatus());
+        assertTrue(tracker.getOpenOrders().isEmpty());
+        assertEquals(1, tracker.removeCompleted());
+    }
+
+    @Test
+    public void shouldForgetOrdersWhosePlacementOutcomeIsUnknown() throws IOException {
+        String timedOut = tracker.register(NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "2", "0.065"));
+        tracker.onNewOrderFailure(timedOut, new BinanceApiException(new SocketTimeoutException("timeout")));
+        String unknown = tracker.register(NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "2", "0.065"));
+        tracker.onNewOrderFailure(unknown, new BinanceApiException(error(-1007)));
+        assertEquals(0, tracker.size());
+
+        // Placed after all: the execution report tracks it again
+        tracker.onOrderTradeUpdate(event(timedOut, 3L, ExecutionType.NEW, OrderStatus.NEW, "0", 1000));
+        assertEquals(OrderStatus.NEW, tracker.getOrder(timedOut).getStatus());
+
+        // Failures of orders already acknowledged change nothing
+        tracker.onNewOrderFailure(timedOut, new BinanceApiException(error(-2010)));
+        assertEquals(OrderStatus.NEW, tracker.getOrder("ETHBTC", 3L).getStatus());
+    }
+
+    @Test
+    public void shouldTrackARetryWithTheClientOrderIdOfARejectedOrderAsANewOrder() {
+        NewOrder order = NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "2", "0.065").newClientOrderId("retry-1");
+        tracker.register(order);
+        tracker.onNewOrderFailure("retry-1", new BinanceApiException(error(-1013)));
+        assertEquals(OrderStatus.REJECTED, tracker.getOrder("retry-1").getStatus());
+
+        tracker.register(NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "2", "0.066").newClientOrderId("retry-1"));
+        NewOrderResponse response = response("retry-1", 99L);
+        response.setPrice("0.06600000");
+        tracker.onNewOrderResponse(response);
+
+        OrderState state = tracker.getOrder("retry-1");
+        assertEquals(OrderStatus.NEW, state.getStatus());
+        assertEquals(99L, state.getOrderId());
+        assertEquals(Decimal.parse("0.066"), state.getPrice());
+        assertEquals(1, tracker.getOpenOrders().size());
+    }
+
+    @Test
+    public void shouldNotMergeOrdersReusingTheClientOrderIdOfAClosedOrder() throws IOException {
+        tracker.onOrderTradeUpdate(event("reused", 5L, ExecutionType.TRADE, OrderStatus.FILLED, "2", 1000));
+        tracker.onOrderTradeUpdate(event("reused", 6L, ExecutionType.NEW, OrderStatus.NEW, "0", 1001));
+
+        assertEquals(OrderStatus.FILLED, tracker.getOrder("ETHBTC", 5L).getStatus());
+        assertEquals(OrderStatus.NEW, tracker.getOrder("ETHBTC", 6L).getStatus());
+        assertEquals(6L, tracker.getOrder("reused").getOrderId());
+
+        // The earlier order is only indexed by order id now, and is removed all the same
+        assertEquals(1, tracker.removeCompleted());
+        assertNull(tracker.getOrder("ETHBTC", 5L));
+        assertEquals(1, tracker.size());
+    }
+
+    @Test
+    public void shouldRemoveKeysFromLongHashMap() {
+        LongHashMap<String> map = new LongHashMap<>(4);
+        for (long key = 0; key < 1000; key++) {
+            map.put(key * 1024, Long.toString(key));
+        }
+        for (long key = 0; key < 1000; key += 2) {
+            assertEquals(Long.toString(key), map.remove(key * 1024));
+        }
+        assertEquals(500, map.size());
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(key % 2 == 0 ? null : Long.toString(key), map.get(key * 1024));
+        }
+    }
+
+    private static Order open(String symbol, String clientOrderId, long orderId) {
+        Order order = new Order();
+        order.setSymbol(symbol);
+        order.setOrderId(orderId);
+        order.setClientOrderId(clientOrderId);
+        order.setStatus(OrderStatus.NEW);
+        order.setExecutedQty("0");
+        return order;
+    }
+
+    private static BinanceApiError error(int code) {
+        BinanceApiError error = new BinanceApiError();
+        error.setCode(code);
+        error.setMsg("error " + code);
+        return error;
+    }
+
+    private static NewOrderResponse response(String clientOrderId, long orderId) {
+        NewOrderResponse response = new NewOrderResponse();
+        response.setSymbol("ETHBTC");
+        response.setOrderId(orderId);
+        response.setClientOrderId(clientOrderId);
+        response.setTransactTime(1000L);
+        response.setStatus(OrderStatus.NEW);
+        response.setExecutedQty("0");
+        return response;
+    }
+
+    private static OrderTradeUpdateEvent event(String clientOrderId, long orderId, ExecutionType executionType,
+                                               OrderStatus status, String executedQty, long time) throws IOException {
+        return event("ETHBTC", clientOrderId, orderId, executionType, status, executedQty, time);
+    }
+
+    private static OrderTradeUpdateEvent event(String symbol, String clientOrderId, long orderId,
+                                               ExecutionType executionType, OrderStatus status, String executedQty,
+                                               long time) throws IOException {
+        String json = "{\"e\":\"executionReport\",\"E\":" + time + ",\"s\":\"" + symbol + "\",\"c\":\"" + clientOrderId + "\","
+                + "\"S\":\"BUY\",\"o\":\"LIMIT\",\"f\":\"GTC\",\"q\":\"2.00000000\",\"p\":\"0.06500000\","
+                + "\"x\":\"" + executionType + "\",\"X\":\"" + status + "\",\"r\":\"NONE\",\"i\":" + orderId + ","
+                + "\"z\":\"" + executedQty + "\",\"Z\":\"0\"}";
+        return new ObjectMapper().readValue(json, OrderTradeUpdateEvent.class);
+    }
+}
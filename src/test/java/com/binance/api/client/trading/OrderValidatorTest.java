@@ -0,0 +1,159 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.TimeInForce;
+import com.binance.api.client.domain.account.NewOCO;
+import com.binance.api.client.domain.account.NewOrder;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.FilterType;
+import com.binance.api.client.domain.general.SymbolFilter;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.exception.OrderValidationException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @see OrderValidator
+ */
+public class OrderValidatorTest {
+
+    private final ExchangeInfoIndex index = newIndex();
+
+    @Test
+    public void shouldAcceptValidOrder() {
+        new OrderValidator(index).validate(NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "1.001", "0.065432"));
+    }
+
+    @Test
+    public void shouldRejectFilterViolations() {
+        OrderValidator validator = new OrderValidator(index)
+                .averagePrices(id -> ExchangeInfoIndex.parse("0.065"))
+                .openOrderCounts(id -> 199);
+        assertRejected(validator, NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "1", "0.0654321"), FilterType.PRICE_FILTER);
+        assertRejected(validator, NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "1.0001", "0.065"), FilterType.LOT_SIZE);
+        assertRejected(validator, NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "0.001", "0.065"), FilterType.MIN_NOTIONAL);
+        assertRejected(validator, NewOrder.marketBuy("ETHBTC", "0.001"), FilterType.MIN_NOTIONAL);
+        assertRejected(validator, NewOrder.limitSell("ETHBTC", TimeInForce.GTC, "1", "0.5"), FilterType.PERCENT_PRICE);
+        try {
+            validator.validate(new NewOCO("ETHBTC", OrderSide.SELL, "1", "0.066", "0.064"));
+            fail();
+        } catch (OrderValidationException e) {
+            assertEquals(FilterType.MAX_NUM_ORDERS, e.getFilterType());
+        }
+    }
+
+    @Test
+    public void shouldCheckBothBoundsOfTheNotionalFilter() {
+        OrderValidator validator = new OrderValidator(index).averagePrices(id -> ExchangeInfoIndex.parse("30000"));
+        validator.validate(NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.001", "30000"));
+        assertRejected(validator, NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "0.0001", "30000"), FilterType.NOTIONAL);
+        assertRejected(validator, NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "10", "30000"), FilterType.NOTIONAL);
+        assertRejected(validator, NewOrder.marketBuy("BTCUSDT", "0.0001"), FilterType.NOTIONAL);
+        // The maximum does not apply to MARKET orders
+        validator.validate(NewOrder.marketBuy("BTCUSDT", "10"));
+    }
+
+    @Test
+    public void shouldCheckMarketOrderQuantitiesAgainstTheMarketLotSize() {
+        OrderValidator validator = new OrderValidator(index);
+        validator.validate(NewOrder.marketBuy("ETHBTC", "500"));
+        assertRejected(validator, NewOrder.marketBuy("ETHBTC", "500.001"), FilterType.MARKET_LOT_SIZE);
+        assertRejected(validator, NewOrder.marketSell("ETHBTC", "1000"), FilterType.MARKET_LOT_SIZE);
+        // Limit orders only need to fit LOT_SIZE
+        validator.validate(NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "1000", "0.065"));
+    }
+
+    @Test
+    public void shouldRejectValuesWithMoreDecimalsThanTheScale() {
+        OrderValidator validator = new OrderValidator(index).snapToFilters(true);
+        assertRejected(validator, NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "1", "0.065432001"), FilterType.PRICE_FILTER);
+        assertRejected(validator, NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "1.0000000001", "0.065"), FilterType.LOT_SIZE);
+        assertRejected(validator, NewOrder.marketBuy("BTCUSDT", "0.001").quoteOrderQty("30.000000001"), FilterType.NOTIONAL);
+    }
+
+    @Test
+    public void shouldSnapPricesTowardsPassiveSideAndQuantitiesDown() {
+        OrderValidator validator = new OrderValidator(index).snapToFilters(true);
+        NewOrder buy = NewOrder.limitBuy("ETHBTC", TimeInForce.GTC, "1.23456", "0.06543219");
+        validator.validate(buy);
+        assertEquals("0.065432", buy.getPrice());
+        assertEquals("1.234", buy.getQuantity());
+
+        NewOrder sell = NewOrder.limitSell("ETHBTC", TimeInForce.GTC, "2", "0.06543211");
+        validator.validate(sell);
+        assertEquals("0.065433", sell.getPrice());
+        assertEquals("2", sell.getQuantity());
+    }
+
+    @Test
+    public void shouldTreatOverflowingNotionalsAsAboveAnyMaximum() {
+        OrderValidator validator = new OrderValidator(index).averagePrices(id -> ExchangeInfoIndex.parse("30000"));
+        assertRejected(validator, NewOrder.limitBuy("BTCUSDT", TimeInForce.GTC, "9000000000", "9000000000"), FilterType.NOTIONAL);
+        // Without a maximum for MARKET orders, an overflowing notional passes the minimum
+        validator.validate(NewOrder.marketBuy("BTCUSDT", "90000000000"));
+    }
+
+    private static void assertRejected(OrderValidator validator, NewOrder order, FilterType filterType) {
+        try {
+            validator.validate(order);
+            fail("Expected " + filterType + " failure");
+        } catch (OrderValidationException e) {
+            assertEquals(filterType, e.getFilterType());
+        }
+    }
+
+    private static ExchangeInfoIndex newIndex() {
+        SymbolFilter priceFilter = new SymbolFilter();
+        priceFilter.setFilterType(FilterType.PRICE_FILTER);
+        priceFilter.setMinPrice("0.00000100");
+        priceFilter.setMaxPrice("100000.00000000");
+        priceFilter.setTickSize("0.00000100");
+        SymbolFilter lotSize = new SymbolFilter();
+        lotSize.setFilterType(FilterType.LOT_SIZE);
+        lotSize.setMinQty("0.00100000");
+        lotSize.setMaxQty("100000.00000000");
+        lotSize.setStepSize("0.00100000");
+        SymbolFilter marketLotSize = new SymbolFilter();
+        marketLotSize.setFilterType(FilterType.MARKET_LOT_SIZE);
+        marketLotSize.setMinQty("0.00100000");
+        marketLotSize.setMaxQty("500.00000000");
+        marketLotSize.setStepSize("0.00000000");
+        SymbolFilter minNotional = new SymbolFilter();
+        minNotional.setFilterType(FilterType.MIN_NOTIONAL);
+        minNotional.setMinNotional("0.00010000");
+        minNotional.setApplyToMarket(true);
+        minNotional.setAvgPriceMins(5);
+        SymbolFilter percentPrice = new SymbolFilter();
+        percentPrice.setFilterType(FilterType.PERCENT_PRICE);
+        percentPrice.setMultiplierUp("5");
+        percentPrice.setMultiplierDown("0.2");
+        percentPrice.setAvgPriceMins(5);
+        SymbolFilter maxNumOrders = new SymbolFilter();
+        maxNumOrders.setFilterType(FilterType.MAX_NUM_ORDERS);
+        maxNumOrders.setMaxNumOrders(200);
+
+        SymbolInfo ethBtc = new SymbolInfo();
+        ethBtc.setSymbol("ETHBTC");
+        ethBtc.setFilters(Arrays.asList(priceFilter, lotSize, marketLotSize, minNotional, percentPrice, maxNumOrders));
+
+        SymbolFilter notional = new SymbolFilter();
+        notional.setFilterType(FilterType.NOTIONAL);
+        notional.setMinNotional("5.00000000");
+        notional.setApplyMinToMarket(true);
+        notional.setMaxNotional("100000.00000000");
+        notional.setApplyMaxToMarket(false);
+        notional.setAvgPriceMins(5);
+        SymbolInfo btcUsdt = new SymbolInfo();
+        btcUsdt.setSymbol("BTCUSDT");
+        btcUsdt.setFilters(Collections.singletonList(notional));
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setSymbols(Arrays.asList(ethBtc, btcUsdt));
+        return ExchangeInfoIndex.of(exchangeInfo);
+    }
+}
@@ -0,0 +1,123 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.BinanceApiRestClient;
+import com.binance.api.client.domain.account.Account;
+import com.binance.api.client.domain.account.AssetBalance;
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.market.BookTicker;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see PortfolioValuator
+ */
+public class PortfolioValuatorTest {
+
+    private final PortfolioValuator valuator = new PortfolioValuator(newIndex());
+
+    @Test
+    public void shouldConvertThroughShortestPath() {
+        valuator.updateBookTickers(Arrays.asList(
+                bookTicker("ETHBTC", "0.05", "0.06"),
+                bookTicker("BTCUSDT", "20000", "20010"),
+                bookTicker("BNBETH", "0.2", "0.25")));
+        assertEquals(0.1, valuator.convert("ETH", 2, "BTC"), 1e-12);
+        assertEquals(2000, valuator.convert("ETH", 2, "USDT"), 1e-9);
+        assertEquals(200, valuator.convert("BNB", 1, "USDT"), 1e-9);
+        assertEquals(1 / 0.06 / 20010, valuator.convert("USDT", 1, "ETH"), 1e-12);
+        assertTrue(Double.isNaN(valuator.convert("XRP", 1, "USDT")));
+    }
+
+    @Test
+    public void shouldRerouteWhenNewSymbolsArePriced() {
+        valuator.updateBookTickers(Arrays.asList(
+                bookTicker("ETHBTC", "0.05", "0.06"),
+                bookTicker("BTCUSDT", "20000", "20010")));
+        assertEquals(1000, valuator.convert("ETH", 1, "USDT"), 1e-9);
+        valuator.updateBookTickers(Arrays.asList(bookTicker("ETHUSDT", "1100", "1101")));
+        assertEquals(1100, valuator.convert("ETH", 1, "USDT"), 1e-9);
+    }
+
+    @Test
+    public void shouldRerouteWhenPricedSymbolsAreSwapped() {
+        valuator.updateBookTickers(Arrays.asList(
+                bookTicker("ETHBTC", "0.05", "0.06"),
+                bookTicker("BTCUSDT", "20000", "20010")));
+        assertEquals(1000, valuator.convert("ETH", 1, "USDT"), 1e-9);
+        // As many symbols are priced as before, but not the same ones
+        valuator.updateBookTickers(Arrays.asList(
+                bookTicker("ETHBTC", "0", "0"),
+                bookTicker("ETHUSDT", "1100", "1101")));
+        assertEquals(1100, valuator.convert("ETH", 1, "USDT"), 1e-9);
+    }
+
+    @Test
+    public void shouldForgetSymbolsMissingFromASnapshot() {
+        List<BookTicker> snapshot = new ArrayList<>(Arrays.asList(
+                bookTicker("ETHBTC", "0.05", "0.06"),
+                bookTicker("BTCUSDT", "20000", "20010")));
+        BinanceApiRestClient client = (BinanceApiRestClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BinanceApiRestClient.class}, (proxy, method, args) -> snapshot);
+        valuator.refresh(client);
+        assertEquals(1000, valuator.convert("ETH", 1, "USDT"), 1e-9);
+
+        snapshot.set(0, bookTicker("ETHUSDT", "1100", "1101"));
+        valuator.refresh(client);
+        assertEquals(1100, valuator.convert("ETH", 1, "USDT"), 1e-9);
+        // No longer through the ETHBTC price of the first snapshot
+        assertEquals(1100.0 / 20010, valuator.convert("ETH", 1, "BTC"), 1e-12);
+    }
+
+    @Test
+    public void shouldValueAccountIgnoringUnpricedAssets() {
+        valuator.updateBookTickers(Arrays.asList(
+                bookTicker("ETHBTC", "0.05", "0.06"),
+                bookTicker("BTCUSDT", "20000", "20010")));
+        Account account = new Account();
+        account.setBalances(Arrays.asList(
+                balance("BTC", "0.5", "0.5"),
+                balance("ETH", "1", "0"),
+                balance("USDT", "10", "0"),
+                balance("XRP", "100", "0")));
+        assertEquals(20000 + 1000 + 10, valuator.value(account, "USDT"), 1e-9);
+    }
+
+    private static BookTicker bookTicker(String symbol, String bid, String ask) {
+        BookTicker bookTicker = new BookTicker();
+        bookTicker.setSymbol(symbol);
+        bookTicker.setBidPrice(bid);
+        bookTicker.setAskPrice(ask);
+        return bookTicker;
+    }
+
+    private static AssetBalance balance(String asset, String free, String locked) {
+        AssetBalance balance = new AssetBalance();
+        balance.setAsset(asset);
+        balance.setFree(free);
+        balance.setLocked(locked);
+        return balance;
+    }
+
+    private static ExchangeInfoIndex newIndex() {
+        List<SymbolInfo> symbols = new ArrayList<>();
+        for (String[] pair : new String[][]{{"ETH", "BTC"}, {"BTC", "USDT"}, {"BNB", "ETH"}, {"ETH", "USDT"}, {"XRP", "BNB"}}) {
+            SymbolInfo info = new SymbolInfo();
+            info.setSymbol(pair[0] + pair[1]);
+            info.setBaseAsset(pair[0]);
+            info.setQuoteAsset(pair[1]);
+            symbols.add(info);
+        }
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setSymbols(symbols);
+        return ExchangeInfoIndex.of(exchangeInfo);
+    }
+}
@@ -0,0 +1,81 @@
+package com.binance.api.client.trading;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.SymbolInfo;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+
+import static com.binance.api.client.domain.general.ExchangeInfoIndex.parse;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see PositionBook
+ */
+public class PositionBookTest {
+
+    private final ExchangeInfoIndex index = newIndex();
+
+    private final PositionBook book = new PositionBook(index);
+
+    @Test
+    public void shouldAverageCostAndRealizeOnReduction() {
+        book.fill(0, 1, parse("1"), parse("20000"), parse("0.5"), "BNB");
+        book.fill(0, 2, parse("1"), parse("22000"), parse("0.001"), "BTC");
+        assertEquals(parse("1.999"), book.getPosition("BTCUSDT"));
+        assertEquals(parse("21000"), book.getAveragePrice("BTCUSDT"));
+
+        book.fill(0, 3, parse("-0.999"), parse("23000"), parse("10"), "USDT");
+        assertEquals(parse("1"), book.getPosition("BTCUSDT"));
+        assertEquals(parse("1988"), book.getRealizedPnl("BTCUSDT"));
+
+        book.mark(0, parse("20500"), parse("20501"));
+        assertEquals(parse("-500"), book.getUnrealizedPnl("BTCUSDT"));
+        assertEquals(parse("0.5"), book.getFees("BNB"));
+
+        // Duplicate trade id
+        book.fill(0, 3, parse("-0.999"), parse("23000"), parse("10"), "USDT");
+        assertEquals(parse("1"), book.getPosition("BTCUSDT"));
+    }
+
+    @Test
+    public void shouldReverseIntoShortAtFillPrice() {
+        book.fill(0, 1, parse("1"), parse("20000"), 0, null);
+        book.fill(0, 2, parse("-3"), parse("19000"), 0, null);
+        assertEquals(parse("-2"), book.getPosition("BTCUSDT"));
+        assertEquals(parse("19000"), book.getAveragePrice("BTCUSDT"));
+        assertEquals(parse("-1000"), book.getRealizedPnl("BTCUSDT"));
+
+        book.mark(0, parse("17999"), parse("18000"));
+        assertEquals(parse("2000"), book.getUnrealizedPnl("BTCUSDT"));
+    }
+
+    @Test
+    public void shouldRestoreSnapshot() throws IOException {
+        book.fill(0, 5, parse("0.3"), parse("20000.5"), parse("0.1"), "BNB");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        book.snapshot(out);
+
+        PositionBook restored = new PositionBook(index);
+        restored.restore(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(parse("0.3"), restored.getPosition("BTCUSDT"));
+        assertEquals(parse("20000.5"), restored.getAveragePrice("BTCUSDT"));
+        assertEquals(parse("0.1"), restored.getFees("BNB"));
+        restored.fill(0, 5, parse("0.3"), parse("20000.5"), 0, null);
+        assertEquals(parse("0.3"), restored.getPosition("BTCUSDT"));
+    }
+
+    private static ExchangeInfoIndex newIndex() {
+        SymbolInfo btcUsdt = new SymbolInfo();
+        btcUsdt.setSymbol("BTCUSDT");
+        btcUsdt.setBaseAsset("BTC");
+        btcUsdt.setQuoteAsset("USDT");
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setSymbols(Collections.singletonList(btcUsdt));
+        return ExchangeInfoIndex.of(exchangeInfo);
+    }
+}
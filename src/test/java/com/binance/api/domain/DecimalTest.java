@@ -0,0 +1,116 @@
+package com.binance.api.domain;
+
+import com.binance.api.client.constant.BinanceApiConstants;
+import com.binance.api.client.domain.Decimal;
+import com.binance.api.client.domain.market.OrderBook;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see Decimal
+ */
+public class DecimalTest {
+
+  @Test
+  public void shouldParseAndFormatWithScale() {
+    Decimal price = Decimal.parse("0.00100000");
+    assertEquals(100_000L, price.unscaledValue());
+    assertEquals(8, price.scale());
+    assertEquals("0.00100000", price.toString());
+    assertEquals("-12.5", Decimal.parse("-12.5").toString());
+    assertEquals("42", Decimal.parse("42").toString());
+    byte[] ascii = "x4.25x".getBytes(StandardCharsets.US_ASCII);
+    assertEquals(Decimal.parse("4.25"), Decimal.parse(ascii, 1, 4));
+  }
+
+  @Test
+  public void shouldComputeExactly() {
+    Decimal a = Decimal.parse("0.1");
+    Decimal b = Decimal.parse("0.20");
+    assertEquals("0.30", a.add(b).toString());
+    assertEquals("-0.10", a.subtract(b).toString());
+    assertEquals("0.020", a.multiply(b).toString());
+    assertEquals("0.33333333", Decimal.ONE.divide(Decimal.parse("3"), 8, RoundingMode.DOWN).toString());
+    assertEquals("0.66666667", Decimal.parse("2").divide(Decimal.parse("3"), 8, RoundingMode.HALF_UP).toString());
+    assertEquals("1.2", Decimal.parse("1.25").setScale(1, RoundingMode.HALF_EVEN).toString());
+    assertEquals(100_000L, Decimal.parse("0.001").unscaledValue(8));
+  }
+
+  @Test
+  public void shouldCompareNumerically() {
+    assertEquals(Decimal.parse("1.50"), Decimal.parse("1.5"));
+    assertEquals(Decimal.parse("1.50").hashCode(), Decimal.parse("1.5").hashCode());
+    assertNotEquals(Decimal.parse("1.5"), Decimal.parse("1.05"));
+    assertTrue(Decimal.parse("-1.5").compareTo(Decimal.parse("-1.25")) < 0);
+    assertTrue(Decimal.parse("123456789.1").compareTo(Decimal.parse("123456789.000000001")) > 0);
+  }
+
+  @Test
+  public void shouldMultiplyApiValuesWithEightDecimals() {
+    Decimal notional = Decimal.parse("65000.00000000").multiply(Decimal.parse("0.50000000"));
+    assertEquals(Decimal.parse("32500"), notional);
+    assertEquals(3_250_000_000_000L, notional.unscaledValue(8));
+    assertEquals(Decimal.parse("0.00001525"), Decimal.parse("0.00610000").multiply(Decimal.parse("0.00250000")));
+    assertEquals(16, Decimal.parse("1.00000000").multiply(Decimal.parse("0.12345678")).scale());
+  }
+
+  @Test
+  public void shouldParseEverySourceTheSameWay() {
+    char[] chars = "[-0.00000005000]".toCharArray();
+    byte[] ascii = "[-0.00000005000]".getBytes(StandardCharsets.US_ASCII);
+    assertEquals(Decimal.parse("-0.00000005000"), Decimal.parse(chars, 1, 14));
+    assertEquals(Decimal.parse("-0.00000005000"), Decimal.parse(ascii, 1, 14));
+    assertEquals(11, Decimal.parse(chars, 1, 14).scale());
+    assertEquals(-5L, Decimal.parseScaled("-0.00000005000", 8));
+    assertEquals(-5L, Decimal.parseScaled(chars, 1, 14, 8));
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void shouldRejectDigitsBeyondTheScale() {
+    Decimal.parseScaled("0.000000001", 8);
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void shouldRejectOverflow() {
+    Decimal.parse("9000000000.00000000").multiply(Decimal.parse("9000000000.00000000"));
+  }
+
+  @Test
+  public void shouldParseValuesBeyondTheScaledRangeIntoDoubles() {
+    assertEquals(5.123456789012e12, Decimal.parseDouble("5123456789012.00"), 0);
+    assertEquals(0.1, Decimal.parseDouble("0.10000000"), 0);
+    assertEquals(-53.5, Decimal.parseDouble("-53.50"), 0);
+    assertEquals(1e30, Decimal.parseDouble("1000000000000000000000000000000"), 0);
+    assertEquals(123456789.123456789, Decimal.parseDouble("123456789.123456789000"), 0);
+    assertEquals(12.5, Decimal.parseDouble("x12.5x".toCharArray(), 1, 4), 0);
+    for (String invalid : new String[] {"", "-", ".", "1.2.3", "1e5", "12a"}) {
+      try {
+        Decimal.parseDouble(invalid);
+        throw new AssertionError(invalid);
+      } catch (NumberFormatException expected) {
+      }
+    }
+  }
+
+  @Test
+  public void shouldDecodeOrderBookEntriesIntoDecimals() throws IOException {
+    String json = "{\"lastUpdateId\":1,\"bids\":[[\"0.06543200\",\"1.50000000\",[]]],\"asks\":[[\"0.06543300\",\"0.25000000\"]]}";
+    BinanceApiConstants.DECODE_DECIMALS = true;
+    try {
+      OrderBook orderBook = new ObjectMapper().readValue(json, OrderBook.class);
+      assertEquals(Decimal.parse("0.065432"), orderBook.getBids().get(0).getPriceDecimal());
+      assertEquals("1.50000000", orderBook.getBids().get(0).getQty());
+      assertEquals(Decimal.parse("0.25"), orderBook.getAsks().get(0).getQtyDecimal());
+    } finally {
+      BinanceApiConstants.DECODE_DECIMALS = false;
+    }
+  }
+}
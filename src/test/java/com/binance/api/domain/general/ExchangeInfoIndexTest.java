@@ -0,0 +1,112 @@
+package com.binance.api.domain.general;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.ExchangeInfoIndex;
+import com.binance.api.client.domain.general.FilterType;
+import com.binance.api.client.domain.general.SymbolFilter;
+import com.binance.api.client.domain.general.SymbolInfo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see ExchangeInfoIndex
+ */
+public class ExchangeInfoIndexTest {
+
+  @Test
+  public void shouldIndexSymbolsAndScaleFilters() {
+    List<SymbolInfo> symbols = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      symbols.add(symbolInfo("SYM" + i + "BTC"));
+    }
+    SymbolFilter priceFilter = new SymbolFilter();
+    priceFilter.setFilterType(FilterType.PRICE_FILTER);
+    priceFilter.setMinPrice("0.00000100");
+    priceFilter.setMaxPrice("100000.00000000");
+    priceFilter.setTickSize("0.00000100");
+    SymbolFilter lotSize = new SymbolFilter();
+    lotSize.setFilterType(FilterType.LOT_SIZE);
+    lotSize.setMinQty("0.00100000");
+    lotSize.setMaxQty("9000000000.00000000");
+    lotSize.setStepSize("0.00100000");
+    SymbolFilter marketLotSize = new SymbolFilter();
+    marketLotSize.setFilterType(FilterType.MARKET_LOT_SIZE);
+    marketLotSize.setMinQty("0.00000000");
+    marketLotSize.setMaxQty("5000.00000000");
+    marketLotSize.setStepSize("0.01000000");
+    SymbolInfo ethBtc = symbolInfo("ETHBTC");
+    ethBtc.setFilters(Arrays.asList(priceFilter, lotSize, marketLotSize));
+    symbols.add(ethBtc);
+
+    ExchangeInfo exchangeInfo = new ExchangeInfo();
+    exchangeInfo.setSymbols(symbols);
+    ExchangeInfoIndex index = ExchangeInfoIndex.of(exchangeInfo);
+
+    assertEquals(101, index.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, index.idOf("SYM" + i + "BTC"));
+    }
+    int id = index.idOf("ETHBTC");
+    assertEquals(100, id);
+    assertEquals(-1, index.idOf("BTCETH"));
+    char[] buffer = "{\"s\":\"ETHBTC\"}".toCharArray();
+    assertEquals(100, index.idOf(buffer, 6, 6));
+    assertEquals(-1, index.idOf(buffer, 6, 5));
+    assertEquals(100L, index.getTickSize(id));
+    assertEquals(100_000L * ExchangeInfoIndex.ONE, index.getMaxPrice(id));
+    assertEquals(100_000L, index.getStepSize(id));
+    assertEquals(9_000_000_000L * ExchangeInfoIndex.ONE, index.getMaxQty(id));
+    assertEquals(0L, index.getMarketMinQty(id));
+    assertEquals(5_000L * ExchangeInfoIndex.ONE, index.getMarketMaxQty(id));
+    assertEquals(1_000_000L, index.getMarketStepSize(id));
+    assertEquals(0L, index.getMinNotional(id));
+  }
+
+  @Test
+  public void shouldParseAndFormatScaledDecimals() {
+    assertEquals(123_450_000L, ExchangeInfoIndex.parse("1.2345"));
+    assertEquals(-5L, ExchangeInfoIndex.parse("-0.00000005000"));
+    assertEquals(700_000_000L, ExchangeInfoIndex.parse("7"));
+    assertEquals("1.2345", ExchangeInfoIndex.format(123_450_000L));
+    assertEquals("0.00000005", ExchangeInfoIndex.format(5L));
+    assertEquals("-7", ExchangeInfoIndex.format(-700_000_000L));
+    char[] buffer = "[\"-0.00000005000\"]".toCharArray();
+    assertEquals(-5L, ExchangeInfoIndex.parse(buffer, 2, 14));
+  }
+
+  @Test
+  public void shouldDivideLargeScaledValues() {
+    assertEquals(ExchangeInfoIndex.parse("33333.33333333"), ExchangeInfoIndex.divide(ExchangeInfoIndex.parse("100000000"), ExchangeInfoIndex.parse("3000")));
+  }
+
+  @Test
+  public void shouldMultiplyLargeScaledValues() {
+    assertEquals(ExchangeInfoIndex.parse("6000000"), ExchangeInfoIndex.multiply(ExchangeInfoIndex.parse("100"), ExchangeInfoIndex.parse("60000")));
+    assertEquals(ExchangeInfoIndex.parse("-0.5"), ExchangeInfoIndex.multiply(ExchangeInfoIndex.parse("-0.25"), ExchangeInfoIndex.parse("2")));
+    assertEquals(ExchangeInfoIndex.parse("6.5"), ExchangeInfoIndex.multiply(ExchangeInfoIndex.parse("0.065"), ExchangeInfoIndex.parse("100")));
+    assertEquals(ExchangeInfoIndex.parse("9000000000"), ExchangeInfoIndex.multiply(ExchangeInfoIndex.parse("100000"), ExchangeInfoIndex.parse("90000")));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void shouldFailMultiplicationsOverflowingTheScale() {
+    ExchangeInfoIndex.multiply(ExchangeInfoIndex.parse("9000000000"), ExchangeInfoIndex.parse("9000000000"));
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void shouldRejectDigitsBeyondScale() {
+    ExchangeInfoIndex.parse("0.000000001");
+  }
+
+  private static SymbolInfo symbolInfo(String symbol) {
+    SymbolInfo info = new SymbolInfo();
+    info.setSymbol(symbol);
+    info.setFilters(Collections.emptyList());
+    return info;
+  }
+}